@@ -0,0 +1,111 @@
+package reactivestreams.commons.publisher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.publisher.internal.PerfSubscriber;
+
+/**
+ * Runs a range through the buffer/window operators whose boundaries are signalled
+ * by other Publishers, either with boundaries that never fire (uncontended) or with
+ * a background thread firing boundaries in a tight loop (contended).
+ * <p>
+ * Run from command line as
+ * <br>
+ * gradle jmh -Pjmh='PublisherBoundaryPerf'
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class PublisherBoundaryPerf {
+
+    @Param({"bufferBoundary", "bufferBoundaryAndSize", "bufferStartEnd", "windowBoundaryAndSize", "windowBeginEnd"})
+    public String operator;
+
+    @Param({"1000", "1000000"})
+    public int count;
+
+    @Param({"false", "true"})
+    public boolean contended;
+
+    SimpleProcessor<Integer> boundary;
+
+    Publisher<?> source;
+
+    Thread emitter;
+
+    volatile boolean running;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        boundary = new SimpleProcessor<>();
+
+        source = operator(operator, PublisherBase.range(1, count), boundary, contended);
+
+        if (contended) {
+            running = true;
+            emitter = new Thread(() -> {
+                SimpleProcessor<Integer> sp = boundary;
+                while (running) {
+                    sp.onNext(1);
+                }
+            }, "boundary-emitter");
+            emitter.setDaemon(true);
+            emitter.start();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardown() throws InterruptedException {
+        if (contended) {
+            running = false;
+            emitter.join();
+        }
+    }
+
+    @Benchmark
+    public void bench(Blackhole bh) {
+        source.subscribe(new PerfSubscriber(bh));
+    }
+
+    /**
+     * Applies the named operator to the source; the start-end variants keep a single
+     * buffer or window open for the whole sequence and always run uncontended, as an
+     * unthrottled emitter opens buffers faster than they can be closed.
+     *
+     * @param name the operator name
+     * @param p the source
+     * @param boundary the boundary fired by the emitter thread
+     * @param contended use the boundary fired by the emitter thread?
+     * @return the Publisher to benchmark
+     */
+    static Publisher<?> operator(String name, PublisherBase<Integer> p, PublisherBase<Integer> boundary,
+            boolean contended) {
+        PublisherBase<Integer> b = contended ? boundary : PublisherBase.never();
+        PublisherBase<Integer> start = PublisherBase.just(0).concatWith(PublisherBase.never());
+        Function<Integer, PublisherBase<Integer>> end = v -> PublisherBase.never();
+
+        switch (name) {
+        case "bufferBoundary":
+            return p.buffer(b);
+        case "bufferBoundaryAndSize":
+            return p.buffer(b, 16);
+        case "bufferStartEnd":
+            return p.buffer(start, end);
+        case "windowBoundaryAndSize":
+            return p.window(b, 16).flatMap(w -> w);
+        case "windowBeginEnd":
+            return p.window2(start, end).flatMap(w -> w);
+        default:
+            throw new IllegalArgumentException("Unknown operator: " + name);
+        }
+    }
+}
@@ -72,6 +72,20 @@ public class PublisherFlatMapPerf {
         }
     }
 
+    @State(Scope.Thread)
+    public static class Recycling {
+        @Param({"false", "true"})
+        boolean recycle;
+
+        Publisher<Integer> rangeFlatMapShortRange;
+
+        @Setup
+        public void setup() {
+            rangeFlatMapShortRange = PublisherBase.range(0, 100_000).hide()
+                    .flatMap(v -> PublisherBase.range(v, 10).hide(), false, 32, 32, recycle);
+        }
+    }
+
     @Benchmark
     public void baseline(Regular o, Blackhole bh) {
         o.baseline.subscribe(new PerfSubscriber(bh));
@@ -106,4 +120,9 @@ public class PublisherFlatMapPerf {
     public void rangeFlatMapArray(CrossRange o, Blackhole bh) {
         o.rangeFlatMapArray.subscribe(new PerfSubscriber(bh));
     }
+
+    @Benchmark
+    public void rangeFlatMapShortRange(Recycling o, Blackhole bh) {
+        o.rangeFlatMapShortRange.subscribe(new PerfSubscriber(bh));
+    }
 }
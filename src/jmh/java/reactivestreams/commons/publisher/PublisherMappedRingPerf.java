@@ -0,0 +1,65 @@
+package reactivestreams.commons.publisher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import reactivestreams.commons.publisher.internal.PerfAsyncSubscriber;
+import reactivestreams.commons.subscriber.MappedRingSubscriber;
+import reactivestreams.commons.util.MappedRingBuffer;
+
+/**
+ * Streams small messages through a memory-mapped ring buffer, from a MappedRingSubscriber
+ * to a PublisherMappedRing using separate mappings of the same file.
+ * <br>
+ * gradle jmh -Pjmh='PublisherMappedRingPerf'
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class PublisherMappedRingPerf {
+
+    @Param({"1000000"})
+    public int count;
+
+    @Param({"16", "256"})
+    public int messageSize;
+
+    @Param({"65536", "1048576"})
+    public int capacity;
+
+    Path file;
+
+    PublisherBase<ByteBuffer> source;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("rsc-ring", ".bin");
+        ByteBuffer message = ByteBuffer.allocate(messageSize);
+        source = PublisherBase.range(1, count).map(v -> message);
+    }
+
+    @TearDown
+    public void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void stream(Blackhole bh) throws IOException {
+        try (MappedRingBuffer producer = MappedRingBuffer.create(file, capacity);
+             MappedRingBuffer consumer = MappedRingBuffer.open(file)) {
+            PerfAsyncSubscriber s = new PerfAsyncSubscriber(bh);
+            new PublisherMappedRing(consumer).subscribe(s);
+            source.subscribe(new MappedRingSubscriber(producer, 256));
+            s.await(count);
+        }
+    }
+}
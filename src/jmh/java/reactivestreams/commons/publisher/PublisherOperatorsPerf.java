@@ -0,0 +1,262 @@
+package reactivestreams.commons.publisher;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reactivestreams.Publisher;
+
+import reactivestreams.commons.publisher.internal.PerfConditionalSubscriber;
+import reactivestreams.commons.publisher.internal.PerfSubscriber;
+
+/**
+ * Runs the synchronous {@link PublisherBase} operators over a range source with
+ * every combination of source size, source fusion (plain vs. {@code hide()}) and
+ * downstream type (plain vs. {@code ConditionalSubscriber}).
+ * <p>
+ * The parameter matrix is generated by JMH from the {@code @Param} values; the
+ * operator names map to the chains built in {@link #operator(String, PublisherBase, int)}.
+ * Run from command line as
+ * <br>
+ * gradle jmh -Pjmh='PublisherOperatorsPerf' -PjmhProfilers=gc
+ * <br>
+ * or run the {@link #main(String[])} method to have the GC profiler attached,
+ * optionally passing an operator name regex.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class PublisherOperatorsPerf {
+
+    @Param({"accumulate", "all", "ambWith", "any", "buffer", "bufferArray", "bufferBoundary",
+        "bufferBoundaryAndSize", "bufferInts", "bufferLongs", "bufferOverlap", "bufferSkip", "bufferStartEnd",
+        "collect", "combineLatest", "concatArray", "concatMap", "concatMapEager", "concatWith", "count",
+        "defaultIfEmpty", "delaySubscription", "distinct", "distinctUntilChanged", "doOnNext", "elementAt",
+        "exists", "filter", "flatMap", "flatMapRange", "hide", "ignoreElements", "lift", "map", "mergeArray",
+        "mergeOrdered", "next", "onBackpressureDrop", "onBackpressureLatest", "onErrorResumeNext",
+        "onErrorReturn", "reduce", "repeatWhen", "retry", "retryWhen", "sample", "scan", "skip", "skipLast",
+        "skipUntil", "skipWhile", "stream", "switchIfEmpty", "switchMap", "take", "takeLast", "takeUntil",
+        "takeUntilPredicate", "takeWhile", "throttleFirst", "throttleLast", "throttleTimeout", "timeout",
+        "toIterable", "toList", "windowBoundary", "windowBoundaryAndSize", "windowStartEnd", "withLatestFrom",
+        "zipWith", "zipWithIterable"})
+    public String operator;
+
+    @Param({"1", "1000", "1000000"})
+    public int count;
+
+    @Param({"true", "false"})
+    public boolean fused;
+
+    @Param({"true", "false"})
+    public boolean conditional;
+
+    Publisher<?> source;
+
+    @Setup
+    public void setup() {
+        PublisherBase<Integer> range = PublisherBase.range(1, count);
+
+        source = operator(operator, fused ? range : range.hide(), count);
+    }
+
+    @Benchmark
+    public void bench(Blackhole bh) {
+        if (conditional) {
+            source.subscribe(new PerfConditionalSubscriber(bh));
+        } else {
+            source.subscribe(new PerfSubscriber(bh));
+        }
+    }
+
+    /**
+     * Applies the named operator to the source with parameters that let all
+     * source items flow through it.
+     *
+     * @param name the operator name
+     * @param p the source
+     * @param count the number of items the source emits
+     * @return the Publisher to benchmark
+     */
+    static Publisher<?> operator(String name, PublisherBase<Integer> p, int count) {
+        switch (name) {
+        case "accumulate":
+            return p.accumulate((a, b) -> b);
+        case "all":
+            return p.all(v -> true);
+        case "ambWith":
+            return p.ambWith(PublisherBase.never());
+        case "any":
+            return p.any(v -> false);
+        case "buffer":
+            return p.buffer(16);
+        case "bufferArray":
+            return p.bufferArray(16, Integer[]::new);
+        case "bufferBoundary":
+            return p.buffer(PublisherBase.never());
+        case "bufferBoundaryAndSize":
+            return p.buffer(PublisherBase.never(), 16);
+        case "bufferInts":
+            return p.bufferInts(16, v -> v);
+        case "bufferLongs":
+            return p.bufferLongs(16, v -> v);
+        case "bufferOverlap":
+            return p.buffer(16, 8);
+        case "bufferSkip":
+            return p.buffer(8, 16);
+        case "bufferStartEnd":
+            return p.buffer(PublisherBase.just(1), v -> PublisherBase.never());
+        case "collect":
+            return p.collect(ArrayList::new, (a, b) -> a.add(b));
+        case "combineLatest":
+            return PublisherBase.combineLatest(p, PublisherBase.just(1), (a, b) -> a);
+        case "concatArray":
+            return PublisherBase.concatArray(p, PublisherBase.empty());
+        case "concatMap":
+            return p.concatMap(PublisherBase::just);
+        case "concatMapEager":
+            return p.concatMapEager(PublisherBase::just);
+        case "concatWith":
+            return p.concatWith(PublisherBase.empty());
+        case "count":
+            return p.count();
+        case "defaultIfEmpty":
+            return p.defaultIfEmpty(0);
+        case "delaySubscription":
+            return p.delaySubscription(PublisherBase.just(1));
+        case "distinct":
+            return p.distinct();
+        case "distinctUntilChanged":
+            return p.distinctUntilChanged();
+        case "doOnNext":
+            return p.doOnNext(v -> { });
+        case "elementAt":
+            return p.elementAt(Integer.MAX_VALUE, 0);
+        case "exists":
+            return p.exists(0);
+        case "filter":
+            return p.filter(v -> true);
+        case "flatMap":
+            return p.flatMap(PublisherBase::just);
+        case "flatMapRange":
+            return p.flatMap(v -> PublisherBase.range(v, 2));
+        case "hide":
+            return p.hide();
+        case "ignoreElements":
+            return p.ignoreElements();
+        case "lift":
+            return p.<Integer>lift(s -> s);
+        case "map":
+            return p.map(v -> v + 1);
+        case "mergeArray":
+            return PublisherBase.mergeArray(p, PublisherBase.empty());
+        case "mergeOrdered":
+            return PublisherBase.mergeOrdered(Comparator.<Integer>naturalOrder(), p, PublisherBase.<Integer>empty());
+        case "next":
+            return p.next();
+        case "onBackpressureDrop":
+            return p.onBackpressureDrop();
+        case "onBackpressureLatest":
+            return p.onBackpressureLatest();
+        case "onErrorResumeNext":
+            return p.onErrorResumeNext(PublisherBase.empty());
+        case "onErrorReturn":
+            return p.onErrorReturn(0);
+        case "reduce":
+            return p.reduce(() -> 0, (a, b) -> a + b);
+        case "repeatWhen":
+            return p.repeatWhen(v -> PublisherBase.empty());
+        case "retry":
+            return p.retry();
+        case "retryWhen":
+            return p.retryWhen(e -> e);
+        case "sample":
+            return p.sample(PublisherBase.never());
+        case "scan":
+            return p.scan(0, (a, b) -> b);
+        case "skip":
+            return p.skip(count >> 1);
+        case "skipLast":
+            return p.skipLast(16);
+        case "skipUntil":
+            return p.skipUntil(PublisherBase.just(1));
+        case "skipWhile":
+            return p.skipWhile(v -> v <= (count >> 1));
+        case "stream":
+            return PublisherBase.fromIterable(() -> p.stream().iterator());
+        case "switchIfEmpty":
+            return p.switchIfEmpty(PublisherBase.just(1));
+        case "switchMap":
+            return p.switchMap(PublisherBase::just);
+        case "take":
+            return p.take(count);
+        case "takeLast":
+            return p.takeLast(16);
+        case "takeUntil":
+            return p.takeUntil(PublisherBase.never());
+        case "takeUntilPredicate":
+            return p.takeUntil(v -> false);
+        case "takeWhile":
+            return p.takeWhile(v -> true);
+        case "throttleFirst":
+            return p.throttleFirst(v -> PublisherBase.never());
+        case "throttleLast":
+            return p.throttleLast(PublisherBase.never());
+        case "throttleTimeout":
+            return p.throttleTimeout(v -> PublisherBase.never());
+        case "timeout":
+            return p.timeout(PublisherBase.never(), v -> PublisherBase.never());
+        case "toIterable":
+            return PublisherBase.fromIterable(p.toIterable());
+        case "toList":
+            return p.toList();
+        case "windowBoundary":
+            return p.window(PublisherBase.never()).flatMap(w -> w);
+        case "windowBoundaryAndSize":
+            return p.window(PublisherBase.never(), 16).flatMap(w -> w);
+        case "windowStartEnd":
+            return p.window(PublisherBase.just(1), v -> PublisherBase.never()).flatMap(w -> w);
+        case "withLatestFrom":
+            return p.withLatestFrom(PublisherBase.just(1), (a, b) -> a);
+        case "zipWith":
+            return p.zipWith(PublisherBase.range(1, count), (a, b) -> a);
+        case "zipWithIterable":
+            Integer[] values = new Integer[count];
+            Arrays.fill(values, 777);
+            return p.zipWith(Arrays.asList(values), (a, b) -> a);
+        default:
+            throw new IllegalArgumentException("Unknown operator: " + name);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length != 0 ? args[0] : ".*";
+
+        new Runner(new OptionsBuilder()
+                .include(PublisherOperatorsPerf.class.getSimpleName())
+                .param("operator", operatorNames(include))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    static String[] operatorNames(String include) {
+        List<String> names = new ArrayList<>();
+        try {
+            for (String s : PublisherOperatorsPerf.class.getField("operator").getAnnotation(Param.class).value()) {
+                if (s.matches(include)) {
+                    names.add(s);
+                }
+            }
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return names.toArray(new String[names.size()]);
+    }
+}
@@ -0,0 +1,79 @@
+package reactivestreams.commons.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import reactivestreams.commons.publisher.internal.PerfAsyncSubscriber;
+
+/**
+ * Compares the sequential reduce and collect against their fork-join based parallel
+ * counterparts over sized sources.
+ * <br>
+ * gradle jmh -Pjmh='PublisherParallelReducePerf'
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class PublisherParallelReducePerf {
+
+    @Param({"1000", "1000000", "10000000"})
+    public int count;
+
+    @Param({"range", "array", "list"})
+    public String source;
+
+    PublisherBase<Integer> publisher;
+
+    @Setup
+    public void setup() {
+        Integer[] values = new Integer[count];
+        Arrays.fill(values, 777);
+
+        switch (source) {
+        case "range":
+            publisher = PublisherBase.range(1, count);
+            break;
+        case "array":
+            publisher = PublisherBase.fromArray(values);
+            break;
+        default:
+            publisher = PublisherBase.fromIterable(Arrays.asList(values));
+        }
+    }
+
+    @Benchmark
+    public void reduce(Blackhole bh) {
+        PerfAsyncSubscriber s = new PerfAsyncSubscriber(bh);
+        publisher.reduce(() -> 0L, (a, b) -> a + b).subscribe(s);
+        s.await(count);
+    }
+
+    @Benchmark
+    public void parallelReduce(Blackhole bh) {
+        PerfAsyncSubscriber s = new PerfAsyncSubscriber(bh);
+        publisher.parallelReduce(() -> 0L, (a, b) -> a + b, (a, b) -> a + b).subscribe(s);
+        s.await(count);
+    }
+
+    @Benchmark
+    public void collect(Blackhole bh) {
+        PerfAsyncSubscriber s = new PerfAsyncSubscriber(bh);
+        publisher.collect(() -> new ArrayList<Integer>(), List::add).subscribe(s);
+        s.await(count);
+    }
+
+    @Benchmark
+    public void parallelCollect(Blackhole bh) {
+        PerfAsyncSubscriber s = new PerfAsyncSubscriber(bh);
+        publisher.parallelCollect(() -> new ArrayList<Integer>(), List::add, List::addAll).subscribe(s);
+        s.await(count);
+    }
+}
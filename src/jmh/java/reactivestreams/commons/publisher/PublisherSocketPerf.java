@@ -0,0 +1,112 @@
+package reactivestreams.commons.publisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import reactivestreams.commons.publisher.internal.PerfAsyncSubscriber;
+import reactivestreams.commons.util.ExecutorServiceScheduler;
+import reactivestreams.commons.util.NioEventLoop;
+
+/**
+ * Compares receiving a loopback TCP stream through the selector based PublisherSocket
+ * against a blocking read loop bridged via subscribeOn.
+ * <br>
+ * gradle jmh -Pjmh='PublisherSocketPerf'
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class PublisherSocketPerf {
+
+    @Param({"1048576", "16777216"})
+    public int size;
+
+    @Param({"8192", "65536"})
+    public int chunkSize;
+
+    ServerSocketChannel server;
+
+    ExecutorService executor;
+
+    NioEventLoop loop;
+
+    @Setup
+    public void setup() throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0));
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        });
+        loop = new NioEventLoop();
+    }
+
+    @TearDown
+    public void teardown() throws IOException {
+        loop.shutdown();
+        executor.shutdownNow();
+        server.close();
+    }
+
+    SocketChannel connect() throws IOException {
+        executor.execute(() -> {
+            try (SocketChannel c = server.accept()) {
+                ByteBuffer b = ByteBuffer.allocateDirect(65536);
+                int remaining = size;
+                while (remaining > 0) {
+                    b.clear();
+                    b.limit(Math.min(b.capacity(), remaining));
+                    remaining -= c.write(b);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return SocketChannel.open(server.getLocalAddress());
+    }
+
+    @Benchmark
+    public void nio(Blackhole bh) throws IOException {
+        try (SocketChannel c = connect()) {
+            PerfAsyncSubscriber s = new PerfAsyncSubscriber(bh);
+            new PublisherSocket(c, loop, chunkSize).subscribe(s);
+            s.await(size);
+        }
+    }
+
+    @Benchmark
+    public void blocking(Blackhole bh) throws IOException {
+        try (SocketChannel c = connect()) {
+            PerfAsyncSubscriber s = new PerfAsyncSubscriber(bh);
+            new PublisherSubscribeOn<>(new PublisherGenerate<ByteBuffer, Object>((state, o) -> {
+                ByteBuffer b = ByteBuffer.allocate(chunkSize);
+                try {
+                    if (c.read(b) < 0) {
+                        o.onComplete();
+                    } else {
+                        b.flip();
+                        o.onNext(b);
+                    }
+                } catch (IOException ex) {
+                    o.onError(ex);
+                }
+                return state;
+            }), new ExecutorServiceScheduler(executor)).subscribe(s);
+            s.await(size);
+        }
+    }
+}
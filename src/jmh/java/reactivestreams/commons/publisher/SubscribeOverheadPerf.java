@@ -0,0 +1,78 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import reactivestreams.commons.publisher.internal.PerfSubscriber;
+
+/**
+ * Measures the per-subscription overhead of short map/filter/take/skip chains over
+ * cold sources, with and without running them as a single subscription via {@link PublisherBase#linear()}.
+ * <br>
+ * gradle jmh -Pjmh='SubscribeOverheadPerf'
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class SubscribeOverheadPerf {
+
+    @Param({"range", "array", "just", "iterable"})
+    public String source;
+
+    @Param({"map", "mapFilter", "mapFilterSkipTake"})
+    public String chain;
+
+    @Param({"1", "10"})
+    public int count;
+
+    @Param({"true", "false"})
+    public boolean linear;
+
+    PublisherBase<Integer> publisher;
+
+    @Setup
+    public void setup() {
+        Integer[] values = new Integer[count];
+        Arrays.fill(values, 777);
+
+        PublisherBase<Integer> p;
+        switch (source) {
+        case "range":
+            p = PublisherBase.range(1, count);
+            break;
+        case "array":
+            p = PublisherBase.fromArray(values);
+            break;
+        case "just":
+            p = PublisherBase.just(1);
+            break;
+        default:
+            p = PublisherBase.fromIterable(Arrays.asList(values));
+        }
+
+        p = p.map(v -> v + 1);
+        if (!"map".equals(chain)) {
+            p = p.filter(v -> (v & 1) == 0);
+        }
+        if ("mapFilterSkipTake".equals(chain)) {
+            p = p.skip(1).take(count);
+        }
+
+        if (linear) {
+            p = p.linear();
+        }
+
+        publisher = p;
+    }
+
+    @Benchmark
+    public void subscribe(Blackhole bh) {
+        publisher.subscribe(new PerfSubscriber(bh));
+    }
+}
@@ -0,0 +1,44 @@
+package reactivestreams.commons.publisher.internal;
+
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+
+import reactivestreams.commons.flow.Fuseable;
+
+/**
+ * ConditionalSubscriber that relays all events into a black-hole.
+ */
+public final class PerfConditionalSubscriber implements Fuseable.ConditionalSubscriber<Object> {
+
+    final Blackhole bh;
+
+    public PerfConditionalSubscriber(Blackhole bh) {
+        this.bh = bh;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        s.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(Object t) {
+        bh.consume(t);
+    }
+
+    @Override
+    public boolean tryOnNext(Object t) {
+        bh.consume(t);
+        return true;
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        bh.consume(t);
+    }
+
+    @Override
+    public void onComplete() {
+        bh.consume(true);
+    }
+}
@@ -20,6 +20,7 @@ import reactivestreams.commons.state.Completable;
 import reactivestreams.commons.state.Failurable;
 import reactivestreams.commons.state.Requestable;
 import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.DrainTrace;
 import reactivestreams.commons.util.SubscriptionHelper;
 
 /**
@@ -92,6 +93,17 @@ implements Processor<T, T>, Fuseable.QueueSubscription<T>, Fuseable,
             return;
         }
         
+        DrainTrace trace = DrainTrace.begin(this, queue);
+        try {
+            drainLoop(trace);
+        } finally {
+            if (trace != null) {
+                trace.end();
+            }
+        }
+    }
+    
+    void drainLoop(DrainTrace trace) {
         int missed = 1;
         
         final Queue<T> q = queue;
@@ -119,6 +131,9 @@ implements Processor<T, T>, Fuseable.QueueSubscription<T>, Fuseable,
                     }
                     
                     a.onNext(t);
+                    if (trace != null) {
+                        trace.next();
+                    }
                     
                     e++;
                 }
@@ -0,0 +1,125 @@
+package reactivestreams.commons.publisher;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * Random access view over the elements of a cold source whose size is known
+ * upfront, allowing operators to partition the sequence into index ranges instead
+ * of subscribing to it.
+ *
+ * @param <T> the element type
+ */
+abstract class IndexedSource<T> {
+
+    final int size;
+
+    IndexedSource(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param index the index, between 0 (inclusive) and size (exclusive)
+     * @return the element, never null
+     * @throws NullPointerException if the underlying element is null
+     */
+    abstract T get(int index);
+
+    /**
+     * Returns the number of elements a single fork-join leaf task should process,
+     * aiming for a few partitions per worker of the common pool.
+     *
+     * @param minPartitionSize the minimum number of elements per partition
+     * @return the partition size
+     */
+    final int partitionSize(int minPartitionSize) {
+        int n = size / (ForkJoinPool.getCommonPoolParallelism() * 4);
+        return Math.max(minPartitionSize, n);
+    }
+
+    /**
+     * Returns an indexed view of the given publisher if it is a {@link PublisherArray},
+     * a {@link PublisherRange} or a {@link PublisherIterable} over a random access
+     * {@link List}.
+     *
+     * @param <T> the element type
+     * @param source the source publisher
+     * @return the indexed view or null if the source is not splittable
+     */
+    @SuppressWarnings("unchecked")
+    static <T> IndexedSource<T> of(Publisher<? extends T> source) {
+        if (source instanceof PublisherArray) {
+            return new ArraySource<>(((PublisherArray<T>)source).array);
+        }
+        if (source instanceof PublisherRange) {
+            PublisherRange r = (PublisherRange)source;
+            long n = r.end - r.start;
+            if (n <= Integer.MAX_VALUE) {
+                return (IndexedSource<T>)new RangeSource(r.start, (int)n);
+            }
+            return null;
+        }
+        if (source instanceof PublisherIterable) {
+            Iterable<? extends T> it = ((PublisherIterable<T>)source).iterable;
+            if (it instanceof List && it instanceof RandomAccess) {
+                return new ListSource<>((List<? extends T>)it);
+            }
+        }
+        return null;
+    }
+
+    static final class ArraySource<T> extends IndexedSource<T> {
+        final T[] array;
+
+        ArraySource(T[] array) {
+            super(array.length);
+            this.array = array;
+        }
+
+        @Override
+        T get(int index) {
+            T t = array[index];
+            if (t == null) {
+                throw new NullPointerException("The " + index + "th array element was null");
+            }
+            return t;
+        }
+    }
+
+    static final class RangeSource extends IndexedSource<Integer> {
+        final long start;
+
+        RangeSource(long start, int size) {
+            super(size);
+            this.start = start;
+        }
+
+        @Override
+        Integer get(int index) {
+            return (int)(start + index);
+        }
+    }
+
+    static final class ListSource<T> extends IndexedSource<T> {
+        final List<? extends T> list;
+
+        ListSource(List<? extends T> list) {
+            super(list.size());
+            this.list = list;
+        }
+
+        @Override
+        T get(int index) {
+            T t = list.get(index);
+            if (t == null) {
+                throw new NullPointerException("The " + index + "th list element was null");
+            }
+            return t;
+        }
+    }
+}
@@ -0,0 +1,643 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
+import reactivestreams.commons.flow.Fuseable.SynchronousSubscription;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+
+/**
+ * Runs a linear chain of map, filter, take and skip operators on top of a range, array,
+ * just or iterable source as a single subscription object instead of a subscription
+ * and a subscriber per stage.
+ * <p>
+ * The single subscription runs the whole chain in one loop when requested, or
+ * acts as a synchronous fused queue if the subscriber requests {@code SYNC} fusion
+ * so fusing operators further downstream keep working. The chain is resolved once by
+ * the {@link PublisherLinear} operator which opts into this mode.
+ */
+final class LinearChain {
+
+    static final byte MAP = 0;
+    static final byte FILTER = 1;
+    static final byte TAKE = 2;
+    static final byte SKIP = 3;
+
+    /** Indicates the source has no more values. */
+    static final Object DONE = new Object();
+
+    /** Indicates a value has been dropped by a filter or skip stage. */
+    static final Object DROPPED = new Object();
+
+    /** The source and the stages, innermost first, of a linear chain. */
+    final Publisher<?> source;
+
+    final Object[] stages;
+
+    final byte[] kinds;
+
+    /** The initial take and skip counts in stage order, null if there are none. */
+    final long[] counts;
+
+    LinearChain(Publisher<?> source, Object[] stages, byte[] kinds, long[] counts) {
+        this.source = source;
+        this.stages = stages;
+        this.kinds = kinds;
+        this.counts = counts;
+    }
+
+    /**
+     * Subscribes the subscriber to the chain as a single subscription.
+     *
+     * @param s the subscriber
+     */
+    @SuppressWarnings("unchecked")
+    void subscribe(Subscriber<?> s) {
+        Subscriber<Object> a = (Subscriber<Object>)s;
+        Publisher<?> p = source;
+
+        if (p instanceof PublisherRange) {
+            PublisherRange range = (PublisherRange)p;
+            if (range.start == range.end) {
+                EmptySubscription.complete(a);
+                return;
+            }
+            a.onSubscribe(new RangeChainSubscription(a, this, range.start, range.end));
+        } else
+        if (p instanceof PublisherArray) {
+            Object[] array = ((PublisherArray<?>)p).array;
+            if (array.length == 0) {
+                EmptySubscription.complete(a);
+                return;
+            }
+            a.onSubscribe(new ArrayChainSubscription(a, this, array));
+        } else
+        if (p instanceof PublisherJust) {
+            a.onSubscribe(new JustChainSubscription(a, this, ((PublisherJust<?>)p).value));
+        } else {
+            Iterator<?> it;
+            boolean b;
+
+            try {
+                it = ((PublisherIterable<?>)p).iterable.iterator();
+                if (it == null) {
+                    EmptySubscription.error(a, new NullPointerException("The iterator is null"));
+                    return;
+                }
+                b = it.hasNext();
+            } catch (Throwable e) {
+                ExceptionHelper.throwIfFatal(e);
+                EmptySubscription.error(a, e);
+                return;
+            }
+
+            if (!b) {
+                EmptySubscription.complete(a);
+                return;
+            }
+            a.onSubscribe(new IterableChainSubscription(a, this, it));
+        }
+    }
+
+    /**
+     * Walks the chain upstream and collects its stages.
+     *
+     * @param operator the outermost operator
+     * @return the LinearChain or null if the chain has no stages or contains other operators or sources
+     */
+    static LinearChain resolve(Publisher<?> operator) {
+        int n = 0;
+        int c = 0;
+        Publisher<?> p = operator;
+        for (;;) {
+            if (p instanceof PublisherMap || p instanceof PublisherMapFuseable
+                    || p instanceof PublisherFilter || p instanceof PublisherFilterFuseable) {
+                n++;
+            } else
+            if (p instanceof PublisherTake || p instanceof PublisherTakeFuseable) {
+                if (takeCount(p) == 0L) {
+                    return null;
+                }
+                n++;
+                c++;
+            } else
+            if (p instanceof PublisherSkip || p instanceof PublisherSkipFuseable) {
+                if (skipCount(p) != 0L) {
+                    n++;
+                    c++;
+                }
+            } else {
+                break;
+            }
+            p = ((PublisherSource<?, ?>)p).source;
+        }
+
+        if (n == 0 || !(p instanceof PublisherRange || p instanceof PublisherArray
+                || p instanceof PublisherJust || p instanceof PublisherIterable)) {
+            return null;
+        }
+
+        Object[] stages = new Object[n];
+        byte[] kinds = new byte[n];
+        long[] counts = c != 0 ? new long[c] : null;
+
+        Publisher<?> q = operator;
+        int i = n;
+        int j = c;
+        while (q != p) {
+            if (q instanceof PublisherMap) {
+                stages[--i] = ((PublisherMap<?, ?>)q).mapper;
+                kinds[i] = MAP;
+            } else
+            if (q instanceof PublisherMapFuseable) {
+                stages[--i] = ((PublisherMapFuseable<?, ?>)q).mapper;
+                kinds[i] = MAP;
+            } else
+            if (q instanceof PublisherFilter) {
+                stages[--i] = ((PublisherFilter<?>)q).predicate;
+                kinds[i] = FILTER;
+            } else
+            if (q instanceof PublisherFilterFuseable) {
+                stages[--i] = ((PublisherFilterFuseable<?>)q).predicate;
+                kinds[i] = FILTER;
+            } else
+            if (q instanceof PublisherTake || q instanceof PublisherTakeFuseable) {
+                kinds[--i] = TAKE;
+                counts[--j] = takeCount(q);
+            } else {
+                long k = skipCount(q);
+                if (k != 0L) {
+                    kinds[--i] = SKIP;
+                    counts[--j] = k;
+                }
+            }
+            q = ((PublisherSource<?, ?>)q).source;
+        }
+
+        return new LinearChain(p, stages, kinds, counts);
+    }
+
+    static long takeCount(Publisher<?> p) {
+        if (p instanceof PublisherTake) {
+            return ((PublisherTake<?>)p).n;
+        }
+        return ((PublisherTakeFuseable<?>)p).n;
+    }
+
+    static long skipCount(Publisher<?> p) {
+        if (p instanceof PublisherSkip) {
+            return ((PublisherSkip<?>)p).n;
+        }
+        return ((PublisherSkipFuseable<?>)p).n;
+    }
+
+    abstract static class ChainSubscription extends SynchronousSubscription<Object> {
+
+        final Subscriber<Object> actual;
+
+        /** The actual subscriber if it is a conditional one, null otherwise. */
+        final ConditionalSubscriber<Object> conditional;
+
+        final Object[] stages;
+
+        final byte[] kinds;
+
+        final long[] counts;
+
+        /** Set when a take stage let its last value through. */
+        boolean last;
+
+        /** The value looked at via peek() in fused mode, null if none. */
+        Object peeked;
+
+        volatile boolean cancelled;
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<ChainSubscription> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(ChainSubscription.class, "requested");
+
+        @SuppressWarnings("unchecked")
+        ChainSubscription(Subscriber<Object> actual, LinearChain chain) {
+            this.actual = actual;
+            this.conditional = actual instanceof ConditionalSubscriber ? (ConditionalSubscriber<Object>)actual : null;
+            this.stages = chain.stages;
+            this.kinds = chain.kinds;
+            long[] c = chain.counts;
+            this.counts = c != null ? c.clone() : null;
+        }
+
+        /**
+         * @return the next source value or DONE if there are no more values
+         */
+        abstract Object next();
+
+        /**
+         * @return true if the source is known to have no more values
+         */
+        abstract boolean sourceEmpty();
+
+        /**
+         * @return the number of values the source has left, or 1 if the source can only tell
+         * that it is not empty yet
+         */
+        abstract int sourceSize();
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (BackpressureHelper.addAndGet(REQUESTED, this, n) == 0) {
+                    if (n == Long.MAX_VALUE) {
+                        fastPath();
+                    } else {
+                        slowPath(n);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void fastPath() {
+            final Subscriber<Object> a = actual;
+
+            for (;;) {
+                if (cancelled) {
+                    return;
+                }
+
+                Object v;
+
+                try {
+                    v = next();
+                    if (v != DONE) {
+                        v = apply(v);
+                    }
+                } catch (Throwable e) {
+                    ExceptionHelper.throwIfFatal(e);
+                    a.onError(ExceptionHelper.unwrap(e));
+                    return;
+                }
+
+                if (v == DONE) {
+                    a.onComplete();
+                    return;
+                }
+
+                if (v != DROPPED) {
+                    a.onNext(v);
+                }
+
+                if (last) {
+                    if (!cancelled) {
+                        a.onComplete();
+                    }
+                    return;
+                }
+            }
+        }
+
+        void slowPath(long n) {
+            final Subscriber<Object> a = actual;
+            final ConditionalSubscriber<Object> cs = conditional;
+
+            long e = 0L;
+
+            for (;;) {
+
+                while (e != n) {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    Object v;
+
+                    try {
+                        v = next();
+                        if (v != DONE) {
+                            v = apply(v);
+                        }
+                    } catch (Throwable ex) {
+                        ExceptionHelper.throwIfFatal(ex);
+                        a.onError(ExceptionHelper.unwrap(ex));
+                        return;
+                    }
+
+                    if (v == DONE) {
+                        a.onComplete();
+                        return;
+                    }
+
+                    if (v != DROPPED) {
+                        if (cs != null) {
+                            if (cs.tryOnNext(v)) {
+                                e++;
+                            }
+                        } else {
+                            a.onNext(v);
+                            e++;
+                        }
+                    }
+
+                    if (last) {
+                        if (!cancelled) {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                }
+
+                if (cancelled) {
+                    return;
+                }
+
+                boolean empty;
+
+                try {
+                    empty = sourceEmpty();
+                } catch (Throwable ex) {
+                    ExceptionHelper.throwIfFatal(ex);
+                    a.onError(ex);
+                    return;
+                }
+
+                if (empty) {
+                    a.onComplete();
+                    return;
+                }
+
+                n = requested;
+                if (n == e) {
+                    n = REQUESTED.addAndGet(this, -e);
+                    if (n == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+
+        /**
+         * Applies the stages to a source value; stage failures are thrown.
+         *
+         * @param v the source value
+         * @return the value to emit or DROPPED if a stage dropped it
+         */
+        @SuppressWarnings("unchecked")
+        Object apply(Object v) {
+            final Object[] st = stages;
+            final byte[] k = kinds;
+            int c = 0;
+
+            for (int i = 0; i < st.length; i++) {
+                switch (k[i]) {
+                case MAP:
+                    v = ((Function<Object, Object>)st[i]).apply(v);
+                    if (v == null) {
+                        throw new NullPointerException("The mapper returned a null value.");
+                    }
+                    break;
+                case FILTER:
+                    if (!((Predicate<Object>)st[i]).test(v)) {
+                        return DROPPED;
+                    }
+                    break;
+                case TAKE: {
+                    long r = counts[c] - 1;
+                    counts[c++] = r;
+                    if (r == 0L) {
+                        last = true;
+                    }
+                    break;
+                }
+                default: {
+                    long r = counts[c];
+                    if (r != 0L) {
+                        counts[c] = r - 1;
+                        return DROPPED;
+                    }
+                    c++;
+                }
+                }
+            }
+            return v;
+        }
+
+        /**
+         * @return the next value passing all stages or null if the chain has no more values
+         */
+        Object pollNext() {
+            for (;;) {
+                if (last) {
+                    return null;
+                }
+                Object v = next();
+                if (v == DONE) {
+                    return null;
+                }
+                v = apply(v);
+                if (v != DROPPED) {
+                    return v;
+                }
+            }
+        }
+
+        @Override
+        public Object poll() {
+            Object v = peeked;
+            if (v != null) {
+                peeked = null;
+                return v;
+            }
+            return pollNext();
+        }
+
+        @Override
+        public Object peek() {
+            Object v = peeked;
+            if (v == null) {
+                v = pollNext();
+                peeked = v;
+            }
+            return v;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public void clear() {
+            peeked = null;
+            last = true;
+        }
+
+        @Override
+        public void drop() {
+            if (peeked != null) {
+                peeked = null;
+            } else {
+                pollNext();
+            }
+        }
+
+        /**
+         * Like the other fused queues, this is an estimate: filtering stages or an iterator source
+         * make it an upper bound or a mere non-empty indicator; only 0 means the queue is empty.
+         */
+        @Override
+        public int size() {
+            if (last) {
+                return peeked != null ? 1 : 0;
+            }
+            return sourceSize() + (peeked != null ? 1 : 0);
+        }
+    }
+
+    static final class RangeChainSubscription extends ChainSubscription {
+
+        final long end;
+
+        long index;
+
+        RangeChainSubscription(Subscriber<Object> actual, LinearChain chain, long start, long end) {
+            super(actual, chain);
+            this.index = start;
+            this.end = end;
+        }
+
+        @Override
+        Object next() {
+            long i = index;
+            if (i == end) {
+                return DONE;
+            }
+            index = i + 1;
+            return (int)i;
+        }
+
+        @Override
+        boolean sourceEmpty() {
+            return index == end;
+        }
+
+        @Override
+        int sourceSize() {
+            return (int)(end - index);
+        }
+    }
+
+    static final class ArrayChainSubscription extends ChainSubscription {
+
+        final Object[] array;
+
+        int index;
+
+        ArrayChainSubscription(Subscriber<Object> actual, LinearChain chain, Object[] array) {
+            super(actual, chain);
+            this.array = array;
+        }
+
+        @Override
+        Object next() {
+            int i = index;
+            Object[] a = array;
+            if (i == a.length) {
+                return DONE;
+            }
+            Object v = a[i];
+            if (v == null) {
+                throw new NullPointerException("The " + i + "th array element was null");
+            }
+            index = i + 1;
+            return v;
+        }
+
+        @Override
+        boolean sourceEmpty() {
+            return index == array.length;
+        }
+
+        @Override
+        int sourceSize() {
+            return array.length - index;
+        }
+    }
+
+    static final class JustChainSubscription extends ChainSubscription {
+
+        Object value;
+
+        JustChainSubscription(Subscriber<Object> actual, LinearChain chain, Object value) {
+            super(actual, chain);
+            this.value = value;
+        }
+
+        @Override
+        Object next() {
+            Object v = value;
+            if (v == null) {
+                return DONE;
+            }
+            value = null;
+            return v;
+        }
+
+        @Override
+        boolean sourceEmpty() {
+            return value == null;
+        }
+
+        @Override
+        int sourceSize() {
+            return value != null ? 1 : 0;
+        }
+    }
+
+    static final class IterableChainSubscription extends ChainSubscription {
+
+        final Iterator<?> iterator;
+
+        IterableChainSubscription(Subscriber<Object> actual, LinearChain chain, Iterator<?> iterator) {
+            super(actual, chain);
+            this.iterator = iterator;
+        }
+
+        @Override
+        Object next() {
+            Iterator<?> it = iterator;
+            if (!it.hasNext()) {
+                return DONE;
+            }
+            Object v = it.next();
+            if (v == null) {
+                throw new NullPointerException("The iterator returned a null value");
+            }
+            return v;
+        }
+
+        @Override
+        boolean sourceEmpty() {
+            return !iterator.hasNext();
+        }
+
+        /** An iterator can't tell how many values it has left without enumerating them. */
+        @Override
+        int sourceSize() {
+            return iterator.hasNext() ? 1 : 0;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.flow.MultiReceiver;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.state.Cancellable;
@@ -37,7 +38,11 @@ extends PublisherBase<T>
             EmptySubscription.complete(s);
             return;
         }
-        s.onSubscribe(new ArraySubscription<>(s, array));
+        if (s instanceof ConditionalSubscriber) {
+            s.onSubscribe(new ArraySubscriptionConditional<>((ConditionalSubscriber<? super T>)s, array));
+        } else {
+            s.onSubscribe(new ArraySubscription<>(s, array));
+        }
     }
 
     static final class ArraySubscription<T>
@@ -228,4 +233,193 @@ extends PublisherBase<T>
         }
     }
 
+    static final class ArraySubscriptionConditional<T>
+            extends SynchronousSubscription<T>
+      implements Producer, Requestable, Cancellable, MultiReceiver {
+        final ConditionalSubscriber<? super T> actual;
+
+        final T[] array;
+
+        int index;
+
+        volatile boolean cancelled;
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<ArraySubscriptionConditional> REQUESTED =
+          AtomicLongFieldUpdater.newUpdater(ArraySubscriptionConditional.class, "requested");
+
+        public ArraySubscriptionConditional(ConditionalSubscriber<? super T> actual, T[] array) {
+            this.actual = actual;
+            this.array = array;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (BackpressureHelper.addAndGet(REQUESTED, this, n) == 0) {
+                    if (n == Long.MAX_VALUE) {
+                        fastPath();
+                    } else {
+                        slowPath(n);
+                    }
+                }
+            }
+        }
+
+        void slowPath(long n) {
+            final T[] a = array;
+            final int len = a.length;
+            final ConditionalSubscriber<? super T> s = actual;
+
+            int i = index;
+            int e = 0;
+
+            for (; ; ) {
+                if (cancelled) {
+                    return;
+                }
+
+                while (i != len && e != n) {
+                    T t = a[i];
+
+                    if (t == null) {
+                        s.onError(new NullPointerException("The " + i + "th array element was null"));
+                        return;
+                    }
+
+                    boolean b = s.tryOnNext(t);
+
+                    if (cancelled) {
+                        return;
+                    }
+
+                    i++;
+                    if (b) {
+                        e++;
+                    }
+                }
+
+                if (i == len) {
+                    s.onComplete();
+                    return;
+                }
+
+                n = requested;
+
+                if (n == e) {
+                    index = i;
+                    n = REQUESTED.addAndGet(this, -e);
+                    if (n == 0) {
+                        return;
+                    }
+                    e = 0;
+                }
+            }
+        }
+
+        void fastPath() {
+            final T[] a = array;
+            final int len = a.length;
+            final ConditionalSubscriber<? super T> s = actual;
+
+            for (int i = index; i != len; i++) {
+                if (cancelled) {
+                    return;
+                }
+
+                T t = a[i];
+
+                if (t == null) {
+                    s.onError(new NullPointerException("The " + i + "th array element was null"));
+                    return;
+                }
+
+                s.tryOnNext(t);
+            }
+            if (cancelled) {
+                return;
+            }
+            s.onComplete();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+
+        @Override
+        public Iterator<?> upstreams() {
+            return array instanceof Publisher[] ? Arrays.asList(array).iterator() : null;
+        }
+
+        @Override
+        public long upstreamCount() {
+            return array instanceof Publisher[] ? array.length : -1;
+        }
+
+        @Override
+        public T poll() {
+            int i = index;
+            T[] a = array;
+            if (i != a.length) {
+                T t = a[i];
+                if (t == null) {
+                    throw new NullPointerException();
+                }
+                index = i + 1;
+                return t;
+            }
+            return null;
+        }
+
+        @Override
+        public T peek() {
+            int i = index;
+            T[] a = array;
+            if (i < a.length) {
+                T t = a[i];
+                if (t == null) {
+                    throw new NullPointerException();
+                }
+                return t;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return index == array.length;
+        }
+
+        @Override
+        public void clear() {
+            index = array.length;
+        }
+        
+        @Override
+        public void drop() {
+            index++;
+        }
+        
+        @Override
+        public int size() {
+            return array.length - index;
+        }
+    }
 }
@@ -0,0 +1,371 @@
+package reactivestreams.commons.publisher;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Backpressurable;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Failurable;
+import reactivestreams.commons.state.Requestable;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.MappedSpillQueue;
+import reactivestreams.commons.util.SpscArrayQueue;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Runs the source in unbounded mode and buffers the values the subscriber
+ * can't consume yet.
+ * <p>
+ * The in-memory buffer holds up to capacity values (rounded up to the next power of 2).
+ * Without an overflow tier, a full buffer cancels the source and signals an
+ * {@link IllegalStateException} after the buffered values. With an overflow tier, further
+ * values are serialized by the codec into memory-mapped segment files (see
+ * {@link MappedSpillQueue}) created lazily in the given directory, and read back in order
+ * once the in-memory buffer has been drained. Values keep going to the overflow tier as long
+ * as it is not empty, so the original order is kept.
+ * <p>
+ * Terminal signals are delivered after the buffered values.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherBackpressureBuffer<T> extends PublisherSource<T, T> {
+
+    final int capacity;
+
+    final Path spillDirectory;
+
+    final int segmentSize;
+
+    final MappedSpillQueue.Codec<T> codec;
+
+    public PublisherBackpressureBuffer(Publisher<? extends T> source, int capacity) {
+        super(source);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        this.capacity = capacity;
+        this.spillDirectory = null;
+        this.segmentSize = 0;
+        this.codec = null;
+    }
+
+    public PublisherBackpressureBuffer(Publisher<? extends T> source, int capacity, Path spillDirectory,
+                                       int segmentSize, MappedSpillQueue.Codec<T> codec) {
+        super(source);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        if (segmentSize < 8) {
+            throw new IllegalArgumentException("segmentSize >= 8 required but it was " + segmentSize);
+        }
+        this.capacity = capacity;
+        this.spillDirectory = Objects.requireNonNull(spillDirectory, "spillDirectory");
+        this.segmentSize = segmentSize;
+        this.codec = Objects.requireNonNull(codec, "codec");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        source.subscribe(new PublisherBackpressureBufferSubscriber<>(s, capacity, spillDirectory, segmentSize,
+                codec));
+    }
+
+    static final class PublisherBackpressureBufferSubscriber<T>
+            implements Subscriber<T>, Subscription, Cancellable, Failurable, Completable, Producer,
+                       Requestable, Receiver, Backpressurable {
+
+        final Subscriber<? super T> actual;
+
+        final SpscArrayQueue<T> queue;
+
+        final Path spillDirectory;
+
+        final int segmentSize;
+
+        final MappedSpillQueue.Codec<T> codec;
+
+        /** The overflow tier, created by the producer on the first overflow. */
+        volatile MappedSpillQueue<T> spill;
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherBackpressureBufferSubscriber> REQUESTED =
+          AtomicLongFieldUpdater.newUpdater(PublisherBackpressureBufferSubscriber.class, "requested");
+
+        volatile int wip;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherBackpressureBufferSubscriber> WIP =
+          AtomicIntegerFieldUpdater.newUpdater(PublisherBackpressureBufferSubscriber.class, "wip");
+
+        Subscription s;
+
+        Throwable error;
+        volatile boolean done;
+
+        volatile boolean cancelled;
+
+        public PublisherBackpressureBufferSubscriber(Subscriber<? super T> actual, int capacity, Path spillDirectory,
+                                                     int segmentSize, MappedSpillQueue.Codec<T> codec) {
+            this.actual = actual;
+            this.queue = new SpscArrayQueue<>(capacity);
+            this.spillDirectory = spillDirectory;
+            this.segmentSize = segmentSize;
+            this.codec = codec;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addAndGet(REQUESTED, this, n);
+
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+
+                cancelled = true;
+
+                s.cancel();
+
+                if (WIP.getAndIncrement(this) == 0) {
+                    clear();
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            MappedSpillQueue<T> sp = spill;
+            if ((sp == null || sp.isEmpty()) && queue.offer(t)) {
+                drain();
+                return;
+            }
+
+            if (codec == null) {
+                s.cancel();
+
+                onError(new IllegalStateException("The buffer of " + queue.length() + " values is full"));
+                return;
+            }
+
+            try {
+                if (sp == null) {
+                    sp = new MappedSpillQueue<>(spillDirectory, segmentSize, codec);
+                    spill = sp;
+                    if (cancelled) {
+                        sp.close();
+                        return;
+                    }
+                }
+                sp.offer(t);
+            } catch (Throwable e) {
+                ExceptionHelper.throwIfFatal(e);
+                s.cancel();
+
+                onError(ExceptionHelper.unwrap(e));
+                return;
+            }
+
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+            final Subscriber<? super T> a = actual;
+            final SpscArrayQueue<T> q = queue;
+
+            int missed = 1;
+
+            for (; ; ) {
+
+                long r = requested;
+                long e = 0L;
+
+                while (e != r) {
+                    boolean d = done;
+
+                    T v = q.poll();
+
+                    if (v == null) {
+                        MappedSpillQueue<T> sp = spill;
+                        if (sp != null) {
+                            try {
+                                v = sp.poll();
+                            } catch (Throwable ex) {
+                                ExceptionHelper.throwIfFatal(ex);
+                                s.cancel();
+                                clear();
+
+                                a.onError(ExceptionHelper.unwrap(ex));
+                                return;
+                            }
+                        }
+                    }
+
+                    boolean empty = v == null;
+
+                    if (checkTerminated(d, empty, a)) {
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+
+                    e++;
+                }
+
+                if (e == r) {
+                    if (checkTerminated(done, isEmpty(), a)) {
+                        return;
+                    }
+                }
+
+                if (e != 0L && r != Long.MAX_VALUE) {
+                    REQUESTED.addAndGet(this, -e);
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+            MappedSpillQueue<T> sp = spill;
+            return sp == null || sp.isEmpty();
+        }
+
+        void clear() {
+            queue.clear();
+            MappedSpillQueue<T> sp = spill;
+            if (sp != null) {
+                sp.close();
+            }
+        }
+
+        boolean checkTerminated(boolean d, boolean empty, Subscriber<? super T> a) {
+            if (cancelled) {
+                clear();
+                return true;
+            }
+
+            if (d && empty) {
+                clear();
+
+                Throwable e = error;
+                if (e != null) {
+                    a.onError(e);
+                } else {
+                    a.onComplete();
+                }
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !cancelled && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+
+        @Override
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+
+        @Override
+        public long getCapacity() {
+            return queue.length();
+        }
+
+        @Override
+        public long getPending() {
+            MappedSpillQueue<T> sp = spill;
+            return queue.size() + (sp != null ? sp.size() : 0L);
+        }
+    }
+}
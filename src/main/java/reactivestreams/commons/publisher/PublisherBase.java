@@ -1,5 +1,9 @@
 package reactivestreams.commons.publisher;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.*;
@@ -63,6 +67,9 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     }
     
     public final PublisherBase<T> take(long n) {
+        if (this instanceof Fuseable) {
+            return new PublisherTakeFuseable<>(this, n);
+        }
         return new PublisherTake<>(this, n);
     }
     
@@ -118,6 +125,22 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherWindowBoundaryAndSize<>(this, other, defaultQueueSupplier(Integer.MAX_VALUE), defaultQueueSupplier(Integer.MAX_VALUE), maxSize);
     }
 
+    public final PublisherBase<List<T>> buffer(long timespan, TimeUnit unit, ScheduledExecutorService executor) {
+        return buffer(timespan, unit, Integer.MAX_VALUE, executor);
+    }
+
+    public final PublisherBase<List<T>> buffer(long timespan, TimeUnit unit, int maxSize, ScheduledExecutorService executor) {
+        return buffer(timespan, unit, maxSize, executor, () -> new ArrayList<>());
+    }
+
+    public final <C extends Collection<? super T>> PublisherBase<C> buffer(long timespan, TimeUnit unit, int maxSize, ScheduledExecutorService executor, Supplier<C> bufferSupplier) {
+        return new PublisherBufferTimed<>(this, timespan, unit, executor, maxSize, bufferSupplier, defaultQueueSupplier(Integer.MAX_VALUE));
+    }
+
+    public final PublisherBase<PublisherBase<T>> window(long timespan, TimeUnit unit, ScheduledExecutorService executor) {
+        return new PublisherWindowTimed<>(this, timespan, unit, executor, defaultQueueSupplier(Integer.MAX_VALUE), defaultQueueSupplier(Integer.MAX_VALUE));
+    }
+
     public final PublisherBase<T> accumulate(BiFunction<T, ? super T, T> accumulator) {
         return new PublisherAccumulate<>(this, accumulator);
     }
@@ -146,9 +169,26 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherBuffer<>(this, count, skip, bufferSupplier);
     }
 
+    public final PublisherBase<T[]> bufferArray(int size, IntFunction<T[]> arrayFactory) {
+        return new PublisherBufferArray<>(this, size, arrayFactory);
+    }
+
+    public final PublisherBase<int[]> bufferInts(int size, ToIntFunction<? super T> mapper) {
+        return new PublisherBufferInts<>(this, size, mapper);
+    }
+
+    public final PublisherBase<long[]> bufferLongs(int size, ToLongFunction<? super T> mapper) {
+        return new PublisherBufferLongs<>(this, size, mapper);
+    }
+
     public final <R> PublisherBase<R> collect(Supplier<R> supplier, BiConsumer<R, ? super T> collector) {
         return new PublisherCollect<>(this, supplier, collector);
     }
+
+    public final <R> PublisherBase<R> parallelCollect(Supplier<R> supplier, BiConsumer<R, ? super T> collector,
+            BiConsumer<R, R> combiner) {
+        return new PublisherParallelCollect<>(this, supplier, collector, combiner);
+    }
     
     public final PublisherBase<List<T>> toList() {
         return collect(() -> new ArrayList<>(), (a, b) -> a.add(b));
@@ -171,6 +211,9 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     }
     
     public final <K> PublisherBase<T> distinct(Function<? super T, K> keyExtractor) {
+        if (this instanceof Fuseable) {
+            return new PublisherDistinctFuseable<>(this, keyExtractor, () -> new HashSet<>());
+        }
         return new PublisherDistinct<>(this, keyExtractor, () -> new HashSet<>());
     }
     
@@ -179,9 +222,21 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     }
     
     public final <K> PublisherBase<T> distinctUntilChanged(Function<? super T, K> keyExtractor) {
+        if (this instanceof Fuseable) {
+            return new PublisherDistinctUntilChangedFuseable<>(this, keyExtractor);
+        }
         return new PublisherDistinctUntilChanged<>(this, keyExtractor);
     }
     
+    public final PublisherBase<T> onBackpressureBuffer(int capacity) {
+        return new PublisherBackpressureBuffer<>(this, capacity);
+    }
+
+    public final PublisherBase<T> onBackpressureBuffer(int capacity, Path spillDirectory, int segmentSize,
+            MappedSpillQueue.Codec<T> codec) {
+        return new PublisherBackpressureBuffer<>(this, capacity, spillDirectory, segmentSize, codec);
+    }
+
     public final PublisherBase<T> onBackpressureDrop() {
         return new PublisherDrop<>(this);
     }
@@ -262,6 +317,11 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     public final <R> PublisherBase<R> reduce(Supplier<R> initialValue, BiFunction<R, ? super T, R> accumulator) {
         return new PublisherReduce<>(this, initialValue, accumulator);
     }
+
+    public final <R> PublisherBase<R> parallelReduce(Supplier<R> initialValue, BiFunction<R, ? super T, R> accumulator,
+            BiFunction<R, R, R> combiner) {
+        return new PublisherParallelReduce<>(this, initialValue, accumulator, combiner);
+    }
     
     public final PublisherBase<T> repeat() {
         return new PublisherRepeat<>(this);
@@ -275,6 +335,11 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherRepeatPredicate<>(this, predicate);
     }
 
+    public final PublisherBase<T> repeatBackoff(long maxRepeats, long firstDelay, long maxDelay, TimeUnit unit,
+            double jitter, ScheduledExecutorService executor) {
+        return new PublisherRepeatBackoff<>(this, maxRepeats, firstDelay, maxDelay, unit, jitter, executor);
+    }
+
     public final PublisherBase<T> retry() {
         return new PublisherRetry<>(this);
     }
@@ -283,6 +348,11 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherRetry<>(this, times);
     }
 
+    public final PublisherBase<T> retryBackoff(long maxRetries, long firstDelay, long maxDelay, TimeUnit unit,
+            double jitter, ScheduledExecutorService executor) {
+        return new PublisherRetryBackoff<>(this, maxRetries, firstDelay, maxDelay, unit, jitter, executor);
+    }
+
     public final PublisherBase<T> retry(Predicate<Throwable> predicate) {
         return new PublisherRetryPredicate<>(this, predicate);
     }
@@ -304,6 +374,9 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     }
     
     public final <R> PublisherBase<R> scan(R initialValue, BiFunction<R, ? super T, R> accumulator) {
+        if (this instanceof Fuseable) {
+            return new PublisherScanFuseable<>(this, initialValue, accumulator);
+        }
         return new PublisherScan<>(this, initialValue, accumulator);
     }
     
@@ -316,6 +389,9 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     }
 
     public final PublisherBase<T> skip(long n) {
+        if (this instanceof Fuseable) {
+            return new PublisherSkipFuseable<>(this, n);
+        }
         return new PublisherSkip<>(this, n);
     }
     
@@ -324,6 +400,9 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     }
     
     public final PublisherBase<T> skipWhile(Predicate<? super T> predicate) {
+        if (this instanceof Fuseable) {
+            return new PublisherSkipWhileFuseable<>(this, predicate);
+        }
         return new PublisherSkipWhile<>(this, predicate);
     }
 
@@ -367,6 +446,14 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherTimeout<>(this, firstTimeout, itemTimeout, other);
     }
 
+    public final PublisherBase<T> timeout(long timeout, TimeUnit unit, ScheduledExecutorService executor) {
+        return new PublisherTimeoutTimed<>(this, timeout, unit, executor);
+    }
+
+    public final PublisherBase<T> timeout(long timeout, TimeUnit unit, ScheduledExecutorService executor, Publisher<? extends T> other) {
+        return new PublisherTimeoutTimed<>(this, timeout, unit, executor, other);
+    }
+
     public final <U, R> PublisherBase<R> zipWith(Iterable<U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
         return new PublisherZipIterable<>(this, other, zipper);
     }
@@ -457,6 +544,26 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherFlatMap<>(this, mapper, delayError, maxConcurrency, defaultQueueSupplier(maxConcurrency), prefetch, defaultQueueSupplier(prefetch));
     }
 
+    public final <R> PublisherBase<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper, boolean delayError, int maxConcurrency, PrefetchPolicy prefetchPolicy) {
+        return new PublisherFlatMap<>(this, mapper, delayError, maxConcurrency, defaultQueueSupplier(maxConcurrency), prefetchPolicy, defaultQueueSupplier(prefetchPolicy.max()));
+    }
+
+    /**
+     * Maps the values into Publishers and merges them, optionally reusing the inner subscribers
+     * and their queues once the inner Publishers complete.
+     *
+     * @param <R> the output value type
+     * @param mapper the function mapping a value into a Publisher
+     * @param delayError delay errors until all sources terminate?
+     * @param maxConcurrency the maximum number of active inner Publishers
+     * @param prefetch the number of values to prefetch from each inner Publisher
+     * @param recycle reuse the completed inner subscribers and their queues?
+     * @return the new PublisherBase instance
+     */
+    public final <R> PublisherBase<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper, boolean delayError, int maxConcurrency, int prefetch, boolean recycle) {
+        return new PublisherFlatMap<>(this, mapper, delayError, maxConcurrency, defaultQueueSupplier(maxConcurrency), PrefetchPolicy.fixed(prefetch), defaultQueueSupplier(prefetch), recycle);
+    }
+
     @SuppressWarnings("unchecked")
     public final <U, R> PublisherBase<R> zipWith(Publisher<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
         return zipArray(new Publisher[] { this, other }, a -> {
@@ -475,6 +582,17 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     public final PublisherBase<T> hide() {
         return new PublisherHide<>(this);
     }
+
+    /**
+     * Runs this chain of map, filter, take and skip operators on top of a range, array,
+     * just or iterable source as a single subscription, or subscribes to this Publisher
+     * the regular way if the chain contains other operators or sources.
+     *
+     * @return the new PublisherBase running this chain as a single subscription
+     */
+    public final PublisherBase<T> linear() {
+        return new PublisherLinear<>(this);
+    }
     
     public final <R> PublisherBase<R> concatMap(Function<? super T, ? extends Publisher<? extends R>> mapper) {
         return concatMap(mapper, PublisherConcatMap.ErrorMode.IMMEDIATE, BUFFER_SIZE);
@@ -488,6 +606,22 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherConcatMap<>(this, mapper, defaultQueueSupplier(Integer.MAX_VALUE), prefetch, errorMode);
     }
 
+    public final <R> PublisherBase<R> concatMap(Function<? super T, ? extends Publisher<? extends R>> mapper, PublisherConcatMap.ErrorMode errorMode, PrefetchPolicy prefetchPolicy) {
+        return new PublisherConcatMap<>(this, mapper, defaultQueueSupplier(Integer.MAX_VALUE), prefetchPolicy, errorMode);
+    }
+
+    public final <R> PublisherBase<R> concatMapEager(Function<? super T, ? extends Publisher<? extends R>> mapper) {
+        return concatMapEager(mapper, PublisherConcatMap.ErrorMode.IMMEDIATE, Integer.MAX_VALUE, BUFFER_SIZE);
+    }
+
+    public final <R> PublisherBase<R> concatMapEager(Function<? super T, ? extends Publisher<? extends R>> mapper, int maxConcurrency, int prefetch) {
+        return concatMapEager(mapper, PublisherConcatMap.ErrorMode.IMMEDIATE, maxConcurrency, prefetch);
+    }
+
+    public final <R> PublisherBase<R> concatMapEager(Function<? super T, ? extends Publisher<? extends R>> mapper, PublisherConcatMap.ErrorMode errorMode, int maxConcurrency, int prefetch) {
+        return new PublisherConcatMapEager<>(this, mapper, maxConcurrency, prefetch, defaultQueueSupplier(prefetch), errorMode);
+    }
+
     /* public */final PublisherBase<T> observeOn(ExecutorService executor) {
         return observeOn(executor, true, BUFFER_SIZE);
     }
@@ -522,6 +656,15 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherObserveOn<>(this, schedulerFactory, delayError, prefetch, defaultQueueSupplier(prefetch));
     }
 
+    /* public */final PublisherBase<T> observeOn(Callable<? extends Consumer<Runnable>> schedulerFactory, boolean delayError, PrefetchPolicy prefetchPolicy) {
+        if (this instanceof Fuseable.ScalarSupplier) {
+            @SuppressWarnings("unchecked")
+            T value = ((Fuseable.ScalarSupplier<T>)this).get();
+            return new PublisherSubscribeOnValue<>(value, schedulerFactory, true);
+        }
+        return new PublisherObserveOn<>(this, schedulerFactory, delayError, prefetchPolicy, defaultQueueSupplier(prefetchPolicy.max()));
+    }
+
     /* public */final PublisherBase<T> subscribeOn(ExecutorService executor) {
         if (this instanceof Fuseable.ScalarSupplier) {
             @SuppressWarnings("unchecked")
@@ -654,6 +797,31 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return new PublisherIterable<>(iterable);
     }
 
+    public static PublisherBase<ByteBuffer> fromFile(Path path, int chunkSize) {
+        return new PublisherFile(path, chunkSize);
+    }
+
+    public static PublisherBase<ByteBuffer> fromFile(Path path, int chunkSize, int readAhead, boolean mapped) {
+        return new PublisherFile(path, chunkSize, readAhead, mapped);
+    }
+
+    public static PublisherBase<ByteBuffer> frame(Publisher<? extends ByteBuffer> source,
+            PublisherFrame.Framing framing, int maxFrameLength) {
+        return new PublisherFrame(source, framing, maxFrameLength);
+    }
+
+    public static PublisherBase<String> decode(Publisher<? extends ByteBuffer> source, Charset charset) {
+        return new PublisherDecode(source, charset);
+    }
+
+    public static PublisherBase<ByteBuffer> fromSocket(SocketChannel channel, NioEventLoop loop, int chunkSize) {
+        return new PublisherSocket(channel, loop, chunkSize);
+    }
+
+    public static PublisherBase<ByteBuffer> fromMappedRing(MappedRingBuffer ring) {
+        return new PublisherMappedRing(ring);
+    }
+
     public static <T> PublisherBase<T> fromCallable(Callable<? extends T> callable) {
         return new PublisherCallable<>(callable);
     }
@@ -678,6 +846,14 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     public static <T, R> PublisherBase<R> zipIterable(Iterable<? extends Publisher<? extends T>> sources, Function<? super Object[], ? extends R> zipper, int prefetch) {
         return new PublisherZip<>(sources, zipper, defaultQueueSupplier(prefetch), prefetch);
     }
+
+    public static <T, R> PublisherBase<R> zipArray(Publisher<? extends T>[] sources, Function<? super Object[], ? extends R> zipper, PrefetchPolicy prefetchPolicy) {
+        return new PublisherZip<>(sources, zipper, defaultQueueSupplier(prefetchPolicy.max()), prefetchPolicy);
+    }
+
+    public static <T, R> PublisherBase<R> zipIterable(Iterable<? extends Publisher<? extends T>> sources, Function<? super Object[], ? extends R> zipper, PrefetchPolicy prefetchPolicy) {
+        return new PublisherZip<>(sources, zipper, defaultQueueSupplier(prefetchPolicy.max()), prefetchPolicy);
+    }
     
     @SafeVarargs
     public static <T> PublisherBase<T> concatArray(Publisher<? extends T>... sources) {
@@ -699,6 +875,15 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
         return fromIterable(sources).flatMap(IDENTITY_FUNCTION);
     }
 
+    @SafeVarargs
+    public static <T> PublisherBase<T> mergeOrdered(Comparator<? super T> comparator, Publisher<? extends T>... sources) {
+        return mergeOrderedArray(sources, comparator, BUFFER_SIZE);
+    }
+
+    public static <T> PublisherBase<T> mergeOrderedArray(Publisher<? extends T>[] sources, Comparator<? super T> comparator, int prefetch) {
+        return new PublisherMergeOrdered<>(sources, comparator, defaultQueueSupplier(prefetch), prefetch);
+    }
+
     public static PublisherBase<Long> timer(long delay, TimeUnit unit, ScheduledExecutorService executor) {
         return new PublisherTimer(delay, unit, executor);
     }
@@ -715,6 +900,10 @@ public abstract class PublisherBase<T> implements Publisher<T>, Introspectable {
     public static <T, U, R> PublisherBase<R> combineLatest(Publisher<? extends T> p1, Publisher<? extends U> p2, BiFunction<? super T, ? super U, ? extends R> combiner) {
         return new PublisherCombineLatest<>(new Publisher[] { p1, p2 }, a -> combiner.apply((T)a[0], (U)a[1]), defaultQueueSupplier(Integer.MAX_VALUE), BUFFER_SIZE);
     }
+
+    public static <T, R> PublisherBase<R> combineLatestArray(Publisher<? extends T>[] sources, Function<Object[], R> combiner, boolean conflate) {
+        return new PublisherCombineLatest<>(sources, combiner, defaultQueueSupplier(Integer.MAX_VALUE), BUFFER_SIZE, conflate);
+    }
     
     @SuppressWarnings("rawtypes")
     static final Function IDENTITY_FUNCTION = new Function() {
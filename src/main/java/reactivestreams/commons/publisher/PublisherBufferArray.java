@@ -0,0 +1,384 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.IntFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Backpressurable;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Requestable;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Buffers a certain number of subsequent elements into exact-size arrays
+ * and emits the arrays.
+ * <p>
+ * The last array may be shorter if the source completes in the middle of a chunk.
+ * If the source supports synchronous fusion, the chunks are polled directly
+ * from it on each downstream request.
+ *
+ * @param <T> the source value type
+ */
+public final class PublisherBufferArray<T> extends PublisherSource<T, T[]> {
+
+    final int size;
+
+    final IntFunction<T[]> arrayFactory;
+
+    public PublisherBufferArray(Publisher<? extends T> source, int size, IntFunction<T[]> arrayFactory) {
+        super(source);
+        if (size <= 0) {
+            throw new IllegalArgumentException("size > 0 required but it was " + size);
+        }
+        this.size = size;
+        this.arrayFactory = Objects.requireNonNull(arrayFactory, "arrayFactory");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T[]> s) {
+        source.subscribe(new PublisherBufferArraySubscriber<>(s, size, arrayFactory));
+    }
+
+    @Override
+    public long getCapacity() {
+        return size;
+    }
+
+    /**
+     * Common request accounting and emission logic of the array buffering
+     * operators; subclasses manage the chunk of their specific array type.
+     *
+     * @param <T> the source value type
+     * @param <A> the array type
+     */
+    abstract static class PublisherBufferArrayBaseSubscriber<T, A>
+    implements Subscriber<T>, Subscription, Receiver, Producer, Completable, Cancellable, Requestable,
+               Backpressurable {
+
+        final Subscriber<? super A> actual;
+
+        final int size;
+
+        Subscription s;
+
+        /** Set if the upstream runs in synchronous-fused mode. */
+        Fuseable.QueueSubscription<T> qs;
+
+        /** The number of items in the current chunk. */
+        int count;
+
+        boolean done;
+
+        volatile boolean cancelled;
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherBufferArrayBaseSubscriber> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(PublisherBufferArrayBaseSubscriber.class, "requested");
+
+        public PublisherBufferArrayBaseSubscriber(Subscriber<? super A> actual, int size) {
+            this.actual = actual;
+            this.size = size;
+        }
+
+        /**
+         * Stores the value at the given index of the current chunk, creating
+         * the chunk if necessary.
+         * @param t the value
+         * @param index the index within the chunk
+         */
+        abstract void add(T t, int index);
+
+        /**
+         * Returns the current chunk, trimmed to the given length, and starts a new one.
+         * @param length the number of valid items in the chunk
+         * @return the chunk to emit
+         */
+        abstract A take(int length);
+
+        /**
+         * Polls up to size items from the synchronous queue into the current chunk.
+         * @param q the queue to poll
+         * @return the number of items polled
+         */
+        abstract int fill(Queue<T> q);
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                if (s instanceof Fuseable.QueueSubscription) {
+                    @SuppressWarnings("unchecked")
+                    Fuseable.QueueSubscription<T> f = (Fuseable.QueueSubscription<T>) s;
+
+                    if (f.requestFusion(Fuseable.SYNC) == Fuseable.SYNC) {
+                        qs = f;
+                    }
+                }
+
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            int c = count;
+
+            try {
+                add(t, c);
+            } catch (Throwable e) {
+                cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return;
+            }
+
+            if (++c == size) {
+                count = 0;
+                actual.onNext(take(c));
+            } else {
+                count = c;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            int c = count;
+            if (c != 0) {
+                count = 0;
+                actual.onNext(take(c));
+            }
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (qs != null) {
+                    if (BackpressureHelper.addAndGet(REQUESTED, this, n) == 0) {
+                        drainSync(n);
+                    }
+                } else {
+                    s.request(BackpressureHelper.multiplyCap(n, size));
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            s.cancel();
+        }
+
+        void drainSync(long n) {
+            final Subscriber<? super A> a = actual;
+            final Queue<T> q = qs;
+            final int size = this.size;
+
+            long e = 0L;
+
+            for (;;) {
+
+                while (e != n) {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    int c;
+
+                    try {
+                        c = fill(q);
+                    } catch (Throwable ex) {
+                        ExceptionHelper.throwIfFatal(ex);
+                        s.cancel();
+                        done = true;
+                        a.onError(ExceptionHelper.unwrap(ex));
+                        return;
+                    }
+
+                    if (cancelled) {
+                        return;
+                    }
+
+                    if (c != 0) {
+                        a.onNext(take(c));
+
+                        e++;
+                    }
+
+                    if (c != size) {
+                        if (!cancelled) {
+                            done = true;
+                            a.onComplete();
+                        }
+                        return;
+                    }
+
+                    // a source ending at a chunk boundary completes without waiting for more demand
+                    boolean empty;
+
+                    try {
+                        empty = q.isEmpty();
+                    } catch (Throwable ex) {
+                        ExceptionHelper.throwIfFatal(ex);
+                        s.cancel();
+                        done = true;
+                        a.onError(ExceptionHelper.unwrap(ex));
+                        return;
+                    }
+
+                    if (empty) {
+                        if (!cancelled) {
+                            done = true;
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                }
+
+                n = requested;
+                if (n == e) {
+                    n = REQUESTED.addAndGet(this, -e);
+                    if (n == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+
+        @Override
+        public long getPending() {
+            return count;
+        }
+
+        @Override
+        public long getCapacity() {
+            return size;
+        }
+    }
+
+    static final class PublisherBufferArraySubscriber<T> extends PublisherBufferArrayBaseSubscriber<T, T[]> {
+
+        final IntFunction<T[]> arrayFactory;
+
+        T[] chunk;
+
+        public PublisherBufferArraySubscriber(Subscriber<? super T[]> actual, int size, IntFunction<T[]> arrayFactory) {
+            super(actual, size);
+            this.arrayFactory = arrayFactory;
+        }
+
+        T[] create() {
+            T[] b = arrayFactory.apply(size);
+            if (b == null) {
+                throw new NullPointerException("The arrayFactory returned a null array");
+            }
+            if (b.length < size) {
+                throw new IllegalStateException("The arrayFactory returned a too short array: " + b.length);
+            }
+            return b;
+        }
+
+        @Override
+        void add(T t, int index) {
+            T[] b = chunk;
+            if (b == null) {
+                b = create();
+                chunk = b;
+            }
+            b[index] = t;
+        }
+
+        @Override
+        T[] take(int length) {
+            T[] b = chunk;
+            chunk = null;
+            if (length != b.length) {
+                T[] c = arrayFactory.apply(length);
+                System.arraycopy(b, 0, c, 0, length);
+                return c;
+            }
+            return b;
+        }
+
+        @Override
+        int fill(Queue<T> q) {
+            T[] b = create();
+            int n = size;
+            int i = 0;
+            while (i != n) {
+                T v = q.poll();
+                if (v == null) {
+                    break;
+                }
+                b[i++] = v;
+            }
+            chunk = b;
+            return i;
+        }
+    }
+}
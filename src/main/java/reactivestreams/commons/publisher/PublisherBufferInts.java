@@ -0,0 +1,96 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.ToIntFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Maps subsequent elements to ints and buffers them into exact-size
+ * {@code int[]} chunks without boxing.
+ * <p>
+ * The last chunk may be shorter if the source completes in the middle of a chunk.
+ * If the source supports synchronous fusion, the chunks are polled directly
+ * from it on each downstream request.
+ *
+ * @param <T> the source value type
+ */
+public final class PublisherBufferInts<T> extends PublisherSource<T, int[]> {
+
+    final int size;
+
+    final ToIntFunction<? super T> mapper;
+
+    public PublisherBufferInts(Publisher<? extends T> source, int size, ToIntFunction<? super T> mapper) {
+        super(source);
+        if (size <= 0) {
+            throw new IllegalArgumentException("size > 0 required but it was " + size);
+        }
+        this.size = size;
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super int[]> s) {
+        source.subscribe(new PublisherBufferIntsSubscriber<>(s, size, mapper));
+    }
+
+    @Override
+    public long getCapacity() {
+        return size;
+    }
+
+    static final class PublisherBufferIntsSubscriber<T>
+    extends PublisherBufferArray.PublisherBufferArrayBaseSubscriber<T, int[]> {
+
+        final ToIntFunction<? super T> mapper;
+
+        int[] chunk;
+
+        public PublisherBufferIntsSubscriber(Subscriber<? super int[]> actual, int size, ToIntFunction<? super T> mapper) {
+            super(actual, size);
+            this.mapper = mapper;
+        }
+
+        @Override
+        void add(T t, int index) {
+            int[] b = chunk;
+            if (b == null) {
+                b = new int[size];
+                chunk = b;
+            }
+            b[index] = mapper.applyAsInt(t);
+        }
+
+        @Override
+        int[] take(int length) {
+            int[] b = chunk;
+            chunk = null;
+            if (length != b.length) {
+                int[] c = new int[length];
+                System.arraycopy(b, 0, c, 0, length);
+                return c;
+            }
+            return b;
+        }
+
+        @Override
+        int fill(Queue<T> q) {
+            final ToIntFunction<? super T> f = mapper;
+            int[] b = new int[size];
+            int n = b.length;
+            int i = 0;
+            while (i != n) {
+                T v = q.poll();
+                if (v == null) {
+                    break;
+                }
+                b[i++] = f.applyAsInt(v);
+            }
+            chunk = b;
+            return i;
+        }
+    }
+}
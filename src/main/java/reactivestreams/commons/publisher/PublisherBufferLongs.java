@@ -0,0 +1,96 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.ToLongFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Maps subsequent elements to longs and buffers them into exact-size
+ * {@code long[]} chunks without boxing.
+ * <p>
+ * The last chunk may be shorter if the source completes in the middle of a chunk.
+ * If the source supports synchronous fusion, the chunks are polled directly
+ * from it on each downstream request.
+ *
+ * @param <T> the source value type
+ */
+public final class PublisherBufferLongs<T> extends PublisherSource<T, long[]> {
+
+    final int size;
+
+    final ToLongFunction<? super T> mapper;
+
+    public PublisherBufferLongs(Publisher<? extends T> source, int size, ToLongFunction<? super T> mapper) {
+        super(source);
+        if (size <= 0) {
+            throw new IllegalArgumentException("size > 0 required but it was " + size);
+        }
+        this.size = size;
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super long[]> s) {
+        source.subscribe(new PublisherBufferLongsSubscriber<>(s, size, mapper));
+    }
+
+    @Override
+    public long getCapacity() {
+        return size;
+    }
+
+    static final class PublisherBufferLongsSubscriber<T>
+    extends PublisherBufferArray.PublisherBufferArrayBaseSubscriber<T, long[]> {
+
+        final ToLongFunction<? super T> mapper;
+
+        long[] chunk;
+
+        public PublisherBufferLongsSubscriber(Subscriber<? super long[]> actual, int size, ToLongFunction<? super T> mapper) {
+            super(actual, size);
+            this.mapper = mapper;
+        }
+
+        @Override
+        void add(T t, int index) {
+            long[] b = chunk;
+            if (b == null) {
+                b = new long[size];
+                chunk = b;
+            }
+            b[index] = mapper.applyAsLong(t);
+        }
+
+        @Override
+        long[] take(int length) {
+            long[] b = chunk;
+            chunk = null;
+            if (length != b.length) {
+                long[] c = new long[length];
+                System.arraycopy(b, 0, c, 0, length);
+                return c;
+            }
+            return b;
+        }
+
+        @Override
+        int fill(Queue<T> q) {
+            final ToLongFunction<? super T> f = mapper;
+            long[] b = new long[size];
+            int n = b.length;
+            int i = 0;
+            while (i != n) {
+                T v = q.poll();
+                if (v == null) {
+                    break;
+                }
+                b[i++] = f.applyAsLong(v);
+            }
+            chunk = b;
+            return i;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Buffers elements into custom collections which are emitted periodically
+ * or when they reach a size limit, whichever happens first.
+ * <p>
+ * The periodic timer runs on the given ScheduledExecutorService; buffers which
+ * didn't receive any elements in a period are not emitted. A buffer emitted due to the
+ * size limit doesn't restart the period.
+ * <p>
+ * The current buffer is owned by whoever holds the work-in-progress counter: the main
+ * source adds items directly when it finds the counter zero and only queues them if the
+ * timer is busy emitting, so the buffers are rolled without taking any lock.
+ *
+ * @param <T> the source value type
+ * @param <C> the output collection type
+ */
+public final class PublisherBufferTimed<T, C extends Collection<? super T>> extends PublisherSource<T, C> {
+
+    final long timespan;
+
+    final TimeUnit unit;
+
+    final ScheduledExecutorService executor;
+
+    final int maxSize;
+
+    final Supplier<C> bufferSupplier;
+
+    final Supplier<? extends Queue<T>> queueSupplier;
+
+    public PublisherBufferTimed(Publisher<? extends T> source, long timespan, TimeUnit unit,
+            ScheduledExecutorService executor, int maxSize, Supplier<C> bufferSupplier,
+            Supplier<? extends Queue<T>> queueSupplier) {
+        super(source);
+        if (timespan <= 0L) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        this.timespan = timespan;
+        this.unit = Objects.requireNonNull(unit, "unit");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.maxSize = maxSize;
+        this.bufferSupplier = Objects.requireNonNull(bufferSupplier, "bufferSupplier");
+        this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super C> s) {
+        Queue<T> q;
+
+        try {
+            q = queueSupplier.get();
+        } catch (Throwable e) {
+            EmptySubscription.error(s, e);
+            return;
+        }
+
+        if (q == null) {
+            EmptySubscription.error(s, new NullPointerException("The queueSupplier returned a null queue"));
+            return;
+        }
+
+        PublisherBufferTimedSubscriber<T, C> parent = new PublisherBufferTimedSubscriber<>(s, maxSize,
+                bufferSupplier, q);
+
+        s.onSubscribe(parent);
+
+        Future<?> f;
+        try {
+            f = executor.scheduleAtFixedRate(parent, timespan, timespan, unit);
+        } catch (Throwable e) {
+            ExceptionHelper.throwIfFatal(e);
+            parent.cancel();
+            s.onError(ExceptionHelper.unwrap(e));
+            return;
+        }
+
+        if (parent.setTimer(f)) {
+            source.subscribe(parent);
+        }
+    }
+
+    static final class PublisherBufferTimedSubscriber<T, C extends Collection<? super T>>
+    implements Subscriber<T>, Subscription, Runnable {
+
+        final Subscriber<? super C> actual;
+
+        final int maxSize;
+
+        final Supplier<C> bufferSupplier;
+
+        /** Holds the items arriving while the timer owns the buffer. */
+        final Queue<T> queue;
+
+        /** The current buffer, accessed only by the owner of the wip counter. */
+        C buffer;
+
+        /** The timer ticks consumed by the owner of the wip counter. */
+        long consumedTicks;
+
+        /** Set by the owner of the wip counter once it signalled a terminal event. */
+        boolean terminated;
+
+        volatile Subscription s;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherBufferTimedSubscriber, Subscription> S =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherBufferTimedSubscriber.class, Subscription.class, "s");
+
+        volatile Future<?> timer;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherBufferTimedSubscriber, Future> TIMER =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherBufferTimedSubscriber.class, Future.class, "timer");
+
+        static final Future<?> CANCELLED = new FutureTask<>(() -> { }, null);
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherBufferTimedSubscriber> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(PublisherBufferTimedSubscriber.class, "requested");
+
+        volatile long ticks;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherBufferTimedSubscriber> TICKS =
+                AtomicLongFieldUpdater.newUpdater(PublisherBufferTimedSubscriber.class, "ticks");
+
+        volatile int wip;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherBufferTimedSubscriber> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherBufferTimedSubscriber.class, "wip");
+
+        volatile boolean done;
+        Throwable error;
+
+        volatile boolean cancelled;
+
+        public PublisherBufferTimedSubscriber(Subscriber<? super C> actual, int maxSize,
+                Supplier<C> bufferSupplier, Queue<T> queue) {
+            this.actual = actual;
+            this.maxSize = maxSize;
+            this.bufferSupplier = bufferSupplier;
+            this.queue = queue;
+        }
+
+        boolean setTimer(Future<?> f) {
+            if (!TIMER.compareAndSet(this, null, f)) {
+                f.cancel(false);
+                return false;
+            }
+            return true;
+        }
+
+        void cancelTimer() {
+            Future<?> f = timer;
+            if (f != CANCELLED) {
+                f = TIMER.getAndSet(this, CANCELLED);
+                if (f != null && f != CANCELLED) {
+                    f.cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addAndGet(REQUESTED, this, n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+
+                SubscriptionHelper.terminate(S, this);
+                cancelTimer();
+
+                drain();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(S, this, s)) {
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+            if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+                if (!terminated && !cancelled) {
+                    add(t);
+                }
+                if (WIP.decrementAndGet(this) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(t);
+                if (WIP.getAndIncrement(this) != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void run() {
+            TICKS.getAndIncrement(this);
+            drain();
+        }
+
+        void drain() {
+            if (WIP.getAndIncrement(this) == 0) {
+                drainLoop();
+            }
+        }
+
+        void drainLoop() {
+            final Queue<T> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                if (terminated) {
+                    q.clear();
+                } else {
+                    if (cancelled) {
+                        buffer = null;
+                        terminated = true;
+                        q.clear();
+                    } else {
+                        boolean d = done;
+
+                        T t;
+                        while ((t = q.poll()) != null) {
+                            if (!add(t)) {
+                                break;
+                            }
+                        }
+
+                        if (!terminated) {
+                            long tk = ticks;
+                            if (tk != consumedTicks) {
+                                consumedTicks = tk;
+                                flush();
+                            }
+                        }
+
+                        if (d && !terminated) {
+                            terminated = true;
+                            cancelTimer();
+
+                            Throwable e = error;
+                            if (e != null) {
+                                buffer = null;
+                                actual.onError(e);
+                            } else {
+                                if (flush()) {
+                                    actual.onComplete();
+                                }
+                            }
+                        }
+                    }
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Adds the item to the current buffer, creating it if necessary, and emits
+         * the buffer once it reaches the size limit.
+         *
+         * @param t the item
+         * @return false if the sequence has been terminated
+         */
+        boolean add(T t) {
+            C b = buffer;
+            if (b == null) {
+                try {
+                    b = bufferSupplier.get();
+                } catch (Throwable e) {
+                    ExceptionHelper.throwIfFatal(e);
+                    fail(ExceptionHelper.unwrap(e));
+                    return false;
+                }
+
+                if (b == null) {
+                    fail(new NullPointerException("The bufferSupplier returned a null buffer"));
+                    return false;
+                }
+                buffer = b;
+            }
+
+            b.add(t);
+
+            if (b.size() >= maxSize) {
+                buffer = null;
+                return emit(b);
+            }
+            return true;
+        }
+
+        boolean flush() {
+            C b = buffer;
+            if (b != null) {
+                buffer = null;
+                return emit(b);
+            }
+            return true;
+        }
+
+        boolean emit(C b) {
+            long r = requested;
+            if (r != 0L) {
+                actual.onNext(b);
+                if (r != Long.MAX_VALUE) {
+                    REQUESTED.decrementAndGet(this);
+                }
+                return true;
+            }
+            fail(new IllegalStateException("Could not emit buffer due to lack of requests"));
+            return false;
+        }
+
+        void fail(Throwable e) {
+            terminated = true;
+            buffer = null;
+
+            SubscriptionHelper.terminate(S, this);
+            cancelTimer();
+
+            actual.onError(e);
+        }
+    }
+}
@@ -29,6 +29,11 @@ import reactivestreams.commons.util.UnsignalledExceptions;
 
 /**
  * Combines the latest values from multiple sources through a function.
+ * <p>
+ * In conflating mode, the sources are consumed in an unbounded manner and only the
+ * newest value of each source is kept; the combiner is invoked with a snapshot of
+ * them only when the downstream can receive a value, skipping any intermediate
+ * combinations.
  *
  * @param <T> the value type of the sources
  * @param <R> the result type
@@ -47,9 +52,17 @@ extends PublisherBase<R>
     
     final int bufferSize;
 
+    final boolean conflate;
+
     public PublisherCombineLatest(Publisher<? extends T>[] array,
             Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndArray>> queueSupplier,
                     int bufferSize) {
+        this(array, combiner, queueSupplier, bufferSize, false);
+    }
+
+    public PublisherCombineLatest(Publisher<? extends T>[] array,
+            Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndArray>> queueSupplier,
+                    int bufferSize, boolean conflate) {
         if (bufferSize <= 0) {
             throw new IllegalArgumentException("BUFFER_SIZE > 0 required but it was " + bufferSize);
         }
@@ -59,11 +72,18 @@ extends PublisherBase<R>
         this.combiner = Objects.requireNonNull(combiner, "combiner");
         this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
         this.bufferSize = bufferSize;
+        this.conflate = conflate;
     }
     
     public PublisherCombineLatest(Iterable<? extends Publisher<? extends T>> iterable,
             Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndArray>> queueSupplier,
                     int bufferSize) {
+        this(iterable, combiner, queueSupplier, bufferSize, false);
+    }
+
+    public PublisherCombineLatest(Iterable<? extends Publisher<? extends T>> iterable,
+            Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndArray>> queueSupplier,
+                    int bufferSize, boolean conflate) {
         if (bufferSize <= 0) {
             throw new IllegalArgumentException("BUFFER_SIZE > 0 required but it was " + bufferSize);
         }
@@ -73,6 +93,7 @@ extends PublisherBase<R>
         this.combiner = Objects.requireNonNull(combiner, "combiner");
         this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
         this.bufferSize = bufferSize;
+        this.conflate = conflate;
     }
 
     @Override
@@ -155,7 +176,11 @@ extends PublisherBase<R>
             return;
         }
         if (n == 1) {
-            new PublisherMap<>(a[0], new Function<T, R>() {
+            Publisher<? extends T> p = a[0];
+            if (conflate) {
+                p = new PublisherLatest<>(p);
+            }
+            new PublisherMap<>(p, new Function<T, R>() {
                 @Override
                 public R apply(T t) {
                     return combiner.apply(new Object[] { t });
@@ -166,20 +191,24 @@ extends PublisherBase<R>
         
         Queue<SourceAndArray> queue;
         
-        try {
-            queue = queueSupplier.get();
-        } catch (Throwable e) {
-            EmptySubscription.error(s, e);
-            return;
-        }
-        
-        if (queue == null) {
-            EmptySubscription.error(s, new NullPointerException("The queueSupplier returned a null queue"));
-            return;
+        if (conflate) {
+            queue = null;
+        } else {
+            try {
+                queue = queueSupplier.get();
+            } catch (Throwable e) {
+                EmptySubscription.error(s, e);
+                return;
+            }
+            
+            if (queue == null) {
+                EmptySubscription.error(s, new NullPointerException("The queueSupplier returned a null queue"));
+                return;
+            }
         }
         
         PublisherCombineLatestCoordinator<T, R> coordinator = 
-                new PublisherCombineLatestCoordinator<>(s, combiner, n, queue, bufferSize);
+                new PublisherCombineLatestCoordinator<>(s, combiner, n, queue, bufferSize, conflate);
         
         s.onSubscribe(coordinator);
         
@@ -194,13 +223,19 @@ extends PublisherBase<R>
         
         final PublisherCombineLatestInner<T>[] subscribers;
         
+        /** The queue of combinations to emit, null in conflating mode. */
         final Queue<SourceAndArray> queue;
         
         final Object[] latest;
 
+        final boolean conflate;
+
         int nonEmptySources;
         
         int completedSources;
+
+        /** In conflating mode, indicates there is an unemitted combination in latest. */
+        boolean changed;
         
         volatile boolean cancelled;
         
@@ -224,17 +259,18 @@ extends PublisherBase<R>
         
         public PublisherCombineLatestCoordinator(Subscriber<? super R> actual, 
                 Function<Object[], R> combiner, int n, Queue<SourceAndArray> queue,
-                int bufferSize) {
+                int bufferSize, boolean conflate) {
             this.actual = actual;
             this.combiner = combiner;
             @SuppressWarnings("unchecked")
             PublisherCombineLatestInner<T>[] a = new PublisherCombineLatestInner[n];
             for (int i = 0; i < n; i++) {
-                a[i] = new PublisherCombineLatestInner<>(this, i, bufferSize);
+                a[i] = new PublisherCombineLatestInner<>(this, i, conflate ? Integer.MAX_VALUE : bufferSize);
             }
             this.subscribers = a;
             this.latest = new Object[n];
             this.queue = queue;
+            this.conflate = conflate;
         }
 
         @Override
@@ -292,6 +328,14 @@ extends PublisherBase<R>
                 
                 os[index] = value;
 
+                if (conflate) {
+                    if (os.length == localNonEmptySources) {
+                        changed = true;
+                        replenishInsteadOfDrain = false;
+                    } else {
+                        return;
+                    }
+                } else
                 if (os.length == localNonEmptySources) {
                     SourceAndArray sa = new SourceAndArray(subscribers[index], os.clone());
                     
@@ -345,6 +389,11 @@ extends PublisherBase<R>
                 return;
             }
             
+            if (conflate) {
+                drainConflate();
+                return;
+            }
+            
             final Subscriber<? super R> a = actual;
             final Queue<SourceAndArray> q = queue;
             
@@ -409,10 +458,91 @@ extends PublisherBase<R>
             }
         }
         
+        void drainConflate() {
+            final Subscriber<? super R> a = actual;
+            
+            int missed = 1;
+            
+            for (;;) {
+                
+                long r = requested;
+                long e = 0L;
+                
+                while (e != r) {
+                    boolean d = done;
+                    
+                    Object[] v = poll();
+                    
+                    boolean empty = v == null;
+                    
+                    if (checkTerminated(d, empty, a, null)) {
+                        return;
+                    }
+                    
+                    if (empty) {
+                        break;
+                    }
+                    
+                    R w;
+                    
+                    try {
+                        w = combiner.apply(v);
+                    } catch (Throwable ex) {
+                        innerError(ExceptionHelper.unwrap(ex));
+                        ExceptionHelper.throwIfFatal(ex);
+                        continue;
+                    }
+                    
+                    if (w == null) {
+                        innerError(new NullPointerException("The combiner returned a null value"));
+                        continue;
+                    }
+                    
+                    a.onNext(w);
+                    
+                    e++;
+                }
+                
+                if (e == r) {
+                    boolean d = done;
+                    boolean empty;
+                    synchronized (this) {
+                        empty = !changed;
+                    }
+                    if (checkTerminated(d, empty, a, null)) {
+                        return;
+                    }
+                }
+                
+                if (e != 0L && r != Long.MAX_VALUE) {
+                    REQUESTED.addAndGet(this, -e);
+                }
+                
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+        
+        /**
+         * Takes a snapshot of the latest values if they changed since the last call.
+         * @return the snapshot or null if there was no change
+         */
+        synchronized Object[] poll() {
+            if (changed) {
+                changed = false;
+                return latest.clone();
+            }
+            return null;
+        }
+        
         boolean checkTerminated(boolean d, boolean empty, Subscriber<?> a, Queue<?> q) {
             if (cancelled) {
                 cancelAll();
-                q.clear();
+                if (q != null) {
+                    q.clear();
+                }
                 return true;
             }
             
@@ -421,7 +551,9 @@ extends PublisherBase<R>
                 
                 if (e != null && e != ExceptionHelper.TERMINATED) {
                     cancelAll();
-                    q.clear();
+                    if (q != null) {
+                        q.clear();
+                    }
                     a.onError(e);
                     return true;
                 } else
@@ -467,7 +599,7 @@ extends PublisherBase<R>
         public PublisherCombineLatestInner(PublisherCombineLatestCoordinator<T, ?> parent, int index, int bufferSize) {
             this.parent = parent;
             this.index = index;
-            this.requested = bufferSize;
+            this.requested = bufferSize == Integer.MAX_VALUE ? Long.MAX_VALUE : bufferSize;
             this.limit = bufferSize - (bufferSize >> 2);
         }
 
@@ -12,8 +12,10 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactivestreams.commons.flow.Fuseable;
 import reactivestreams.commons.subscriber.MultiSubscriptionSubscriber;
+import reactivestreams.commons.util.DrainTrace;
 import reactivestreams.commons.util.EmptySubscription;
 import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.PrefetchPolicy;
 import reactivestreams.commons.util.ScalarSubscription;
 import reactivestreams.commons.util.SubscriptionHelper;
 import reactivestreams.commons.util.UnsignalledExceptions;
@@ -31,7 +33,7 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
     
     final Supplier<? extends Queue<T>> queueSupplier;
     
-    final int prefetch;
+    final PrefetchPolicy prefetchPolicy;
     
     final ErrorMode errorMode;
     
@@ -51,13 +53,17 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
             Function<? super T, ? extends Publisher<? extends R>> mapper, 
             Supplier<? extends Queue<T>> queueSupplier,
             int prefetch, ErrorMode errorMode) {
+        this(source, mapper, queueSupplier, PrefetchPolicy.fixed(prefetch), errorMode);
+    }
+
+    public PublisherConcatMap(Publisher<? extends T> source,
+            Function<? super T, ? extends Publisher<? extends R>> mapper, 
+            Supplier<? extends Queue<T>> queueSupplier,
+            PrefetchPolicy prefetchPolicy, ErrorMode errorMode) {
         super(source);
-        if (prefetch <= 0) {
-            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
-        }
         this.mapper = Objects.requireNonNull(mapper, "mapper");
         this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
-        this.prefetch = prefetch;
+        this.prefetchPolicy = Objects.requireNonNull(prefetchPolicy, "prefetchPolicy");
         this.errorMode = Objects.requireNonNull(errorMode, "errorMode");
     }
     
@@ -71,13 +77,13 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
         Subscriber<T> parent = null;
         switch (errorMode) {
         case BOUNDARY:
-            parent = new PublisherConcatMapDelayed<>(s, mapper, queueSupplier, prefetch, false);
+            parent = new PublisherConcatMapDelayed<>(s, mapper, queueSupplier, prefetchPolicy, false);
             break;
         case END:
-            parent = new PublisherConcatMapDelayed<>(s, mapper, queueSupplier, prefetch, true);
+            parent = new PublisherConcatMapDelayed<>(s, mapper, queueSupplier, prefetchPolicy, true);
             break;
         default:
-            parent = new PublisherConcatMapImmediate<>(s, mapper, queueSupplier, prefetch);
+            parent = new PublisherConcatMapImmediate<>(s, mapper, queueSupplier, prefetchPolicy);
         }
         source.subscribe(parent);
     }
@@ -92,9 +98,11 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
         
         final Supplier<? extends Queue<T>> queueSupplier;
         
-        final int prefetch;
+        final PrefetchPolicy prefetchPolicy;
+
+        int prefetch;
 
-        final int limit;
+        int limit;
         
         Subscription s;
 
@@ -130,12 +138,13 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
         
         public PublisherConcatMapImmediate(Subscriber<? super R> actual,
                 Function<? super T, ? extends Publisher<? extends R>> mapper,
-                Supplier<? extends Queue<T>> queueSupplier, int prefetch) {
+                Supplier<? extends Queue<T>> queueSupplier, PrefetchPolicy prefetchPolicy) {
             this.actual = actual;
             this.mapper = mapper;
             this.queueSupplier = queueSupplier;
-            this.prefetch = prefetch;
-            this.limit = prefetch - (prefetch >> 2);
+            this.prefetchPolicy = prefetchPolicy;
+            this.prefetch = prefetchPolicy.initial();
+            this.limit = PrefetchPolicy.limit(prefetch);
             this.inner = new PublisherConcatMapInner<>(this);
         }
 
@@ -274,7 +283,12 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
         }
         
         void drain() {
-            if (WIP.getAndIncrement(this) == 0) {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+            // a fused upstream queue may run user code in size(), so only the own queue is measured
+            DrainTrace trace = DrainTrace.begin(this, sourceMode == Fuseable.NONE ? queue : null);
+            try {
                 for (;;) {
                     if (cancelled) {
                         return;
@@ -302,6 +316,10 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
                         }
                         
                         if (!empty) {
+                            if (trace != null) {
+                                trace.next();
+                            }
+                            
                             Publisher<? extends R> p;
                             
                             try {
@@ -324,6 +342,16 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
                                 int c = consumed + 1;
                                 if (c == limit) {
                                     consumed = 0;
+                                    int pf = prefetch;
+                                    int next = prefetchPolicy.next(pf, queue);
+                                    if (next != pf) {
+                                        prefetch = next;
+                                        limit = PrefetchPolicy.limit(next);
+                                        c += next - pf;
+                                    }
+                                    if (trace != null) {
+                                        trace.request(c);
+                                    }
                                     s.request(c);
                                 } else {
                                     consumed = c;
@@ -377,6 +405,10 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
                         break;
                     }
                 }
+            } finally {
+                if (trace != null) {
+                    trace.end();
+                }
             }
         }
     }
@@ -417,9 +449,11 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
         
         final Supplier<? extends Queue<T>> queueSupplier;
         
-        final int prefetch;
+        final PrefetchPolicy prefetchPolicy;
 
-        final int limit;
+        int prefetch;
+
+        int limit;
         
         final boolean veryEnd;
         
@@ -452,12 +486,13 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
         
         public PublisherConcatMapDelayed(Subscriber<? super R> actual,
                 Function<? super T, ? extends Publisher<? extends R>> mapper,
-                Supplier<? extends Queue<T>> queueSupplier, int prefetch, boolean veryEnd) {
+                Supplier<? extends Queue<T>> queueSupplier, PrefetchPolicy prefetchPolicy, boolean veryEnd) {
             this.actual = actual;
             this.mapper = mapper;
             this.queueSupplier = queueSupplier;
-            this.prefetch = prefetch;
-            this.limit = prefetch - (prefetch >> 2);
+            this.prefetchPolicy = prefetchPolicy;
+            this.prefetch = prefetchPolicy.initial();
+            this.limit = PrefetchPolicy.limit(prefetch);
             this.veryEnd = veryEnd;
             this.inner = new PublisherConcatMapInner<>(this);
         }
@@ -582,7 +617,12 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
         }
         
         void drain() {
-            if (WIP.getAndIncrement(this) == 0) {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+            // a fused upstream queue may run user code in size(), so only the own queue is measured
+            DrainTrace trace = DrainTrace.begin(this, sourceMode == Fuseable.NONE ? queue : null);
+            try {
                 
                 for (;;) {
                     if (cancelled) {
@@ -628,6 +668,10 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
                         }
                         
                         if (!empty) {
+                            if (trace != null) {
+                                trace.next();
+                            }
+                            
                             Publisher<? extends R> p;
                             
                             try {
@@ -650,6 +694,16 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
                                 int c = consumed + 1;
                                 if (c == limit) {
                                     consumed = 0;
+                                    int pf = prefetch;
+                                    int next = prefetchPolicy.next(pf, queue);
+                                    if (next != pf) {
+                                        prefetch = next;
+                                        limit = PrefetchPolicy.limit(next);
+                                        c += next - pf;
+                                    }
+                                    if (trace != null) {
+                                        trace.request(c);
+                                    }
                                     s.request(c);
                                 } else {
                                     consumed = c;
@@ -691,6 +745,10 @@ public final class PublisherConcatMap<T, R> extends PublisherSource<T, R> {
                         break;
                     }
                 }
+            } finally {
+                if (trace != null) {
+                    trace.end();
+                }
             }
         }
     }
@@ -0,0 +1,509 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.publisher.PublisherConcatMap.ErrorMode;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.ScalarSubscription;
+import reactivestreams.commons.util.SpscArrayQueue;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Maps each upstream value into a Publisher, subscribes to up to maxConcurrency
+ * of them at once and relays their values in the order of the upstream values.
+ * <p>
+ * Each inner Publisher is buffered in its own queue while it waits for
+ * its turn to be emitted.
+ *
+ * @param <T> the source value type
+ * @param <R> the output value type
+ */
+public final class PublisherConcatMapEager<T, R> extends PublisherSource<T, R> {
+
+    final Function<? super T, ? extends Publisher<? extends R>> mapper;
+
+    final int maxConcurrency;
+
+    final int prefetch;
+
+    final Supplier<? extends Queue<R>> queueSupplier;
+
+    final ErrorMode errorMode;
+
+    public PublisherConcatMapEager(Publisher<? extends T> source,
+            Function<? super T, ? extends Publisher<? extends R>> mapper,
+            int maxConcurrency, int prefetch,
+            Supplier<? extends Queue<R>> queueSupplier, ErrorMode errorMode) {
+        super(source);
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+        this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+        this.errorMode = Objects.requireNonNull(errorMode, "errorMode");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> s) {
+
+        if (ScalarSubscription.trySubscribeScalarMap(source, s, mapper)) {
+            return;
+        }
+
+        source.subscribe(new PublisherConcatMapEagerMain<>(s, mapper, maxConcurrency, prefetch, queueSupplier, errorMode));
+    }
+
+    static final class PublisherConcatMapEagerMain<T, R> implements Subscriber<T>, Subscription {
+
+        final Subscriber<? super R> actual;
+
+        final Function<? super T, ? extends Publisher<? extends R>> mapper;
+
+        final int maxConcurrency;
+
+        final int prefetch;
+
+        final Supplier<? extends Queue<R>> queueSupplier;
+
+        final ErrorMode errorMode;
+
+        /** The active inner subscribers in the order of the upstream values. */
+        final Queue<PublisherConcatMapEagerInner<R>> subscribers;
+
+        Subscription s;
+
+        /** The inner whose values are currently emitted, accessed from the drain loop only. */
+        PublisherConcatMapEagerInner<R> current;
+
+        volatile boolean done;
+
+        volatile boolean cancelled;
+
+        volatile Throwable error;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherConcatMapEagerMain, Throwable> ERROR =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherConcatMapEagerMain.class, Throwable.class, "error");
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherConcatMapEagerMain> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(PublisherConcatMapEagerMain.class, "requested");
+
+        volatile int wip;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherConcatMapEagerMain> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherConcatMapEagerMain.class, "wip");
+
+        public PublisherConcatMapEagerMain(Subscriber<? super R> actual,
+                Function<? super T, ? extends Publisher<? extends R>> mapper, int maxConcurrency, int prefetch,
+                Supplier<? extends Queue<R>> queueSupplier, ErrorMode errorMode) {
+            this.actual = actual;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.queueSupplier = queueSupplier;
+            this.errorMode = errorMode;
+            if (maxConcurrency == Integer.MAX_VALUE) {
+                this.subscribers = new ConcurrentLinkedQueue<>();
+            } else {
+                this.subscribers = new SpscArrayQueue<>(maxConcurrency);
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+
+                if (maxConcurrency == Integer.MAX_VALUE) {
+                    s.request(Long.MAX_VALUE);
+                } else {
+                    s.request(maxConcurrency);
+                }
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            Publisher<? extends R> p;
+
+            try {
+                p = mapper.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(e);
+                return;
+            }
+
+            if (p == null) {
+                s.cancel();
+                onError(new NullPointerException("The mapper returned a null Publisher"));
+                return;
+            }
+
+            PublisherConcatMapEagerInner<R> inner = new PublisherConcatMapEagerInner<>(this, prefetch);
+
+            if (!subscribers.offer(inner)) {
+                s.cancel();
+                onError(new IllegalStateException("Too many active inner Publishers?!"));
+                return;
+            }
+
+            if (cancelled) {
+                return;
+            }
+
+            p.subscribe(inner);
+
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            if (ExceptionHelper.addThrowable(ERROR, this, t)) {
+                done = true;
+                drain();
+            } else {
+                UnsignalledExceptions.onErrorDropped(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addAndGet(REQUESTED, this, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                s.cancel();
+
+                if (WIP.getAndIncrement(this) == 0) {
+                    cancelAllInner();
+                }
+            }
+        }
+
+        void cancelAllInner() {
+            PublisherConcatMapEagerInner<R> inner = current;
+            current = null;
+
+            if (inner != null) {
+                inner.cancel();
+            }
+
+            while ((inner = subscribers.poll()) != null) {
+                inner.cancel();
+            }
+        }
+
+        void innerError(PublisherConcatMapEagerInner<R> inner, Throwable e) {
+            if (ExceptionHelper.addThrowable(ERROR, this, e)) {
+                if (errorMode != ErrorMode.END) {
+                    s.cancel();
+                    done = true;
+                }
+                inner.done = true;
+                drain();
+            } else {
+                UnsignalledExceptions.onErrorDropped(e);
+            }
+        }
+
+        void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            final Subscriber<? super R> a = actual;
+
+            PublisherConcatMapEagerInner<R> inner = current;
+
+            for (;;) {
+
+                if (inner == null) {
+                    if (checkTerminated(errorMode != ErrorMode.END, a)) {
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    inner = subscribers.poll();
+
+                    if (d && inner == null) {
+                        Throwable ex = ExceptionHelper.terminate(ERROR, this);
+                        if (ex != null && ex != ExceptionHelper.TERMINATED) {
+                            a.onError(ex);
+                        } else {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+
+                    current = inner;
+                }
+
+                boolean nextSource = false;
+
+                if (inner != null) {
+                    Queue<R> q = inner.queue;
+
+                    if (q != null) {
+                        long r = requested;
+                        long e = 0L;
+
+                        while (e != r) {
+                            if (checkTerminated(errorMode == ErrorMode.IMMEDIATE, a)) {
+                                return;
+                            }
+
+                            boolean d = inner.done;
+
+                            R v;
+
+                            try {
+                                v = q.poll();
+                            } catch (Throwable ex) {
+                                ExceptionHelper.throwIfFatal(ex);
+                                inner.cancel();
+                                innerError(inner, ex);
+                                v = null;
+                                d = true;
+                            }
+
+                            boolean empty = v == null;
+
+                            if (d && empty) {
+                                nextSource = true;
+                                break;
+                            }
+
+                            if (empty) {
+                                break;
+                            }
+
+                            a.onNext(v);
+
+                            e++;
+
+                            inner.requestOne();
+                        }
+
+                        if (e == r) {
+                            if (checkTerminated(errorMode == ErrorMode.IMMEDIATE, a)) {
+                                return;
+                            }
+
+                            if (inner.done && q.isEmpty()) {
+                                nextSource = true;
+                            }
+                        }
+
+                        if (e != 0L && r != Long.MAX_VALUE) {
+                            REQUESTED.addAndGet(this, -e);
+                        }
+                    }
+                }
+
+                if (nextSource) {
+                    inner = null;
+                    current = null;
+                    if (!done && maxConcurrency != Integer.MAX_VALUE) {
+                        s.request(1);
+                    }
+                    continue;
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        boolean checkTerminated(boolean reportError, Subscriber<?> a) {
+            if (cancelled) {
+                cancelAllInner();
+                return true;
+            }
+
+            if (reportError && error != null) {
+                Throwable ex = ExceptionHelper.terminate(ERROR, this);
+
+                s.cancel();
+                cancelAllInner();
+
+                if (ex != ExceptionHelper.TERMINATED) {
+                    a.onError(ex);
+                }
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    static final class PublisherConcatMapEagerInner<R> implements Subscriber<R> {
+
+        final PublisherConcatMapEagerMain<?, R> parent;
+
+        final int prefetch;
+
+        final int limit;
+
+        volatile Subscription s;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherConcatMapEagerInner, Subscription> S =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherConcatMapEagerInner.class, Subscription.class, "s");
+
+        volatile Queue<R> queue;
+
+        volatile boolean done;
+
+        int produced;
+
+        int sourceMode;
+
+        static final int SYNC = 1;
+        static final int ASYNC = 2;
+
+        public PublisherConcatMapEagerInner(PublisherConcatMapEagerMain<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(S, this, s)) {
+                if (s instanceof Fuseable.QueueSubscription) {
+                    @SuppressWarnings("unchecked") Fuseable.QueueSubscription<R> f = (Fuseable.QueueSubscription<R>)s;
+                    int m = f.requestFusion(Fuseable.ANY);
+                    if (m == Fuseable.SYNC) {
+                        sourceMode = SYNC;
+                        queue = f;
+                        done = true;
+                        parent.drain();
+                        return;
+                    } else
+                    if (m == Fuseable.ASYNC) {
+                        sourceMode = ASYNC;
+                        queue = f;
+                        s.request(prefetch);
+                        return;
+                    }
+                }
+
+                Queue<R> q;
+
+                try {
+                    q = parent.queueSupplier.get();
+                } catch (Throwable ex) {
+                    ExceptionHelper.throwIfFatal(ex);
+                    cancel();
+                    onError(ex);
+                    return;
+                }
+
+                if (q == null) {
+                    cancel();
+                    onError(new NullPointerException("The queueSupplier returned a null queue"));
+                    return;
+                }
+
+                queue = q;
+
+                s.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(R t) {
+            if (sourceMode != ASYNC) {
+                if (!queue.offer(t)) {
+                    cancel();
+                    onError(new IllegalStateException("Queue full?!"));
+                    return;
+                }
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            parent.innerError(this, t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        void requestOne() {
+            if (sourceMode != SYNC) {
+                int p = produced + 1;
+                if (p == limit) {
+                    produced = 0;
+                    s.request(p);
+                } else {
+                    produced = p;
+                }
+            }
+        }
+
+        void cancel() {
+            SubscriptionHelper.terminate(S, this);
+        }
+    }
+}
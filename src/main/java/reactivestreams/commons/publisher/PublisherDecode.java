@@ -0,0 +1,142 @@
+package reactivestreams.commons.publisher;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Decodes each {@link ByteBuffer}, typically a frame of {@link PublisherFrame}, into a String
+ * with the given charset.
+ * <p>
+ * Each subscriber reuses a single {@link CharsetDecoder}; malformed input and unmappable
+ * characters are replaced. The source buffers are not modified.
+ */
+public final class PublisherDecode extends PublisherSource<ByteBuffer, String> {
+
+    final Charset charset;
+
+    public PublisherDecode(Publisher<? extends ByteBuffer> source, Charset charset) {
+        super(source);
+        this.charset = Objects.requireNonNull(charset, "charset");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super String> s) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        source.subscribe(new PublisherDecodeSubscriber(s, decoder));
+    }
+
+    static final class PublisherDecodeSubscriber
+            implements Subscriber<ByteBuffer>, Subscription, Completable, Receiver, Producer {
+
+        final Subscriber<? super String> actual;
+
+        final CharsetDecoder decoder;
+
+        Subscription s;
+
+        boolean done;
+
+        public PublisherDecodeSubscriber(Subscriber<? super String> actual, CharsetDecoder decoder) {
+            this.actual = actual;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            String v;
+
+            try {
+                v = decoder.decode(t.duplicate()).toString();
+            } catch (CharacterCodingException e) {
+                // can't happen with the REPLACE actions
+                done = true;
+                s.cancel();
+                actual.onError(e);
+                return;
+            }
+
+            actual.onNext(v);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+    }
+}
@@ -23,9 +23,12 @@ import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.flow.Loopback;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.publisher.PublisherDistinctFuseable.PublisherDistinctFuseableSubscriber;
 import reactivestreams.commons.state.Completable;
 import reactivestreams.commons.util.EmptySubscription;
 import reactivestreams.commons.util.ExceptionHelper;
@@ -69,11 +72,19 @@ public final class PublisherDistinct<T, K, C extends Collection<? super K>> exte
             return;
         }
 
+        if (source instanceof Fuseable) {
+            source.subscribe(new PublisherDistinctFuseableSubscriber<>(s, collection, keyExtractor));
+            return;
+        }
+        if (s instanceof ConditionalSubscriber) {
+            source.subscribe(new PublisherDistinctConditionalSubscriber<>((ConditionalSubscriber<? super T>)s, collection, keyExtractor));
+            return;
+        }
         source.subscribe(new PublisherDistinctSubscriber<>(s, collection, keyExtractor));
     }
 
     static final class PublisherDistinctSubscriber<T, K, C extends Collection<? super K>>
-            implements Subscriber<T>, Receiver, Producer, Loopback, Completable, Subscription {
+            implements ConditionalSubscriber<T>, Receiver, Producer, Loopback, Completable, Subscription {
         final Subscriber<? super T> actual;
 
         final C collection;
@@ -137,6 +148,204 @@ public final class PublisherDistinct<T, K, C extends Collection<? super K>> exte
             }
         }
 
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return false;
+            }
+
+            boolean b;
+
+            try {
+                b = collection.add(k);
+            } catch (Throwable e) {
+                s.cancel();
+
+                onError(e);
+                return false;
+            }
+
+            if (b) {
+                actual.onNext(t);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return keyExtractor;
+        }
+
+        @Override
+        public Object connectedOutput() {
+            return null;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+        
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+        
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+    }
+
+    static final class PublisherDistinctConditionalSubscriber<T, K, C extends Collection<? super K>>
+            implements ConditionalSubscriber<T>, Receiver, Producer, Loopback, Completable, Subscription {
+        final ConditionalSubscriber<? super T> actual;
+
+        final C collection;
+
+        final Function<? super T, ? extends K> keyExtractor;
+
+        Subscription s;
+
+        boolean done;
+
+        public PublisherDistinctConditionalSubscriber(ConditionalSubscriber<? super T> actual, C collection,
+                                           Function<? super T, ? extends K> keyExtractor) {
+            this.actual = actual;
+            this.collection = collection;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return;
+            }
+
+            boolean b;
+
+            try {
+                b = collection.add(k);
+            } catch (Throwable e) {
+                s.cancel();
+
+                onError(e);
+                return;
+            }
+
+
+            if (b) {
+                actual.onNext(t);
+            } else {
+                s.request(1);
+            }
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return false;
+            }
+
+            boolean b;
+
+            try {
+                b = collection.add(k);
+            } catch (Throwable e) {
+                s.cancel();
+
+                onError(e);
+                return false;
+            }
+
+            if (b) {
+                return actual.tryOnNext(t);
+            }
+            return false;
+        }
+
         @Override
         public void onError(Throwable t) {
             if (done) {
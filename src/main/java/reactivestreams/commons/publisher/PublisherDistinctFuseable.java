@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactivestreams.commons.publisher;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Loopback;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * For each subscriber, tracks the source values that have been seen and
+ * filters out duplicates.
+ * <p>
+ * This variant allows composing fuseable stages.
+ *
+ * @param <T> the source value type
+ * @param <K> the key extacted from the source value to be used for duplicate testing
+ * @param <C> the collection type whose add() method is used for testing for duplicates
+ */
+public final class PublisherDistinctFuseable<T, K, C extends Collection<? super K>> extends PublisherSource<T, T>
+        implements Fuseable {
+
+    final Function<? super T, ? extends K> keyExtractor;
+
+    final Supplier<C> collectionSupplier;
+
+    public PublisherDistinctFuseable(Publisher<? extends T> source, Function<? super T, ? extends K> keyExtractor,
+                             Supplier<C> collectionSupplier) {
+        super(source);
+        if (!(source instanceof Fuseable)) {
+            throw new IllegalArgumentException("The source must implement the Fuseable interface for this operator to work");
+        }
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+        this.collectionSupplier = Objects.requireNonNull(collectionSupplier, "collectionSupplier");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        C collection;
+
+        try {
+            collection = collectionSupplier.get();
+        } catch (Throwable e) {
+            EmptySubscription.error(s, e);
+            return;
+        }
+
+        if (collection == null) {
+            EmptySubscription.error(s, new NullPointerException("The collectionSupplier returned a null collection"));
+            return;
+        }
+
+        source.subscribe(new PublisherDistinctFuseableSubscriber<>(s, collection, keyExtractor));
+    }
+
+    static final class PublisherDistinctFuseableSubscriber<T, K, C extends Collection<? super K>>
+    extends SynchronousSubscription<T>
+    implements ConditionalSubscriber<T>, Receiver, Producer, Loopback, Completable {
+
+        final Subscriber<? super T> actual;
+
+        /** The actual subscriber if it is a conditional one, null otherwise. */
+        final ConditionalSubscriber<? super T> conditional;
+
+        final C collection;
+
+        final Function<? super T, ? extends K> keyExtractor;
+
+        QueueSubscription<T> s;
+
+        boolean done;
+
+        int sourceMode;
+
+        @SuppressWarnings("unchecked")
+        public PublisherDistinctFuseableSubscriber(Subscriber<? super T> actual, C collection,
+                                           Function<? super T, ? extends K> keyExtractor) {
+            this.actual = actual;
+            this.conditional = actual instanceof ConditionalSubscriber ? (ConditionalSubscriber<? super T>)actual : null;
+            this.collection = collection;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = (QueueSubscription<T>)s;
+
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!tryOnNext(t) && !done) {
+                s.request(1);
+            }
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            if (sourceMode == ASYNC) {
+                actual.onNext(null);
+                return true;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return false;
+            }
+
+            boolean b;
+
+            try {
+                b = collection.add(k);
+            } catch (Throwable e) {
+                s.cancel();
+
+                onError(e);
+                return false;
+            }
+
+            if (b) {
+                return emit(t);
+            }
+            return false;
+        }
+
+        /**
+         * Relays a value, via tryOnNext if the actual subscriber is a conditional one.
+         *
+         * @param t the value
+         * @return false if the actual subscriber dropped the value
+         */
+        boolean emit(T t) {
+            ConditionalSubscriber<? super T> a = conditional;
+            if (a != null) {
+                return a.tryOnNext(t);
+            }
+            actual.onNext(t);
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return keyExtractor;
+        }
+
+        @Override
+        public Object connectedOutput() {
+            return null;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            int m = s.requestFusion(requestedMode);
+            sourceMode = m;
+            return m;
+        }
+
+        @Override
+        public T poll() {
+            long dropped = 0;
+            for (;;) {
+                T v = s.poll();
+
+                if (v == null || collection.add(keyExtractor.apply(v))) {
+                    if (dropped != 0 && sourceMode == ASYNC) {
+                        request(dropped);
+                    }
+                    return v;
+                }
+                dropped++;
+            }
+        }
+
+        @Override
+        public T peek() {
+            long dropped = 0;
+            for (;;) {
+                T v = s.peek();
+
+                if (v == null || !collection.contains(keyExtractor.apply(v))) {
+                    if (dropped != 0 && sourceMode == ASYNC) {
+                        request(dropped);
+                    }
+                    return v;
+                }
+                s.drop();
+                dropped++;
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public void clear() {
+            s.clear();
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public int size() {
+            return s.size();
+        }
+    }
+}
@@ -21,9 +21,12 @@ import java.util.function.Function;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.flow.Loopback;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.publisher.PublisherDistinctUntilChangedFuseable.PublisherDistinctUntilChangedFuseableSubscriber;
 import reactivestreams.commons.state.Completable;
 import reactivestreams.commons.util.ExceptionHelper;
 import reactivestreams.commons.util.SubscriptionHelper;
@@ -46,11 +49,19 @@ public final class PublisherDistinctUntilChanged<T, K> extends PublisherSource<T
 
     @Override
     public void subscribe(Subscriber<? super T> s) {
+        if (source instanceof Fuseable) {
+            source.subscribe(new PublisherDistinctUntilChangedFuseableSubscriber<>(s, keyExtractor));
+            return;
+        }
+        if (s instanceof ConditionalSubscriber) {
+            source.subscribe(new PublisherDistinctUntilChangedConditionalSubscriber<>((ConditionalSubscriber<? super T>)s, keyExtractor));
+            return;
+        }
         source.subscribe(new PublisherDistinctUntilChangedSubscriber<>(s, keyExtractor));
     }
 
     static final class PublisherDistinctUntilChangedSubscriber<T, K>
-            implements Subscriber<T>, Receiver, Producer, Loopback, Completable, Subscription {
+            implements ConditionalSubscriber<T>, Receiver, Producer, Loopback, Completable, Subscription {
         final Subscriber<? super T> actual;
 
         final Function<? super T, K> keyExtractor;
@@ -104,6 +115,176 @@ public final class PublisherDistinctUntilChanged<T, K> extends PublisherSource<T
             }
         }
 
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return false;
+            }
+
+            if (Objects.equals(lastKey, k)) {
+                lastKey = k;
+                return false;
+            }
+            lastKey = k;
+            actual.onNext(t);
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return keyExtractor;
+        }
+
+        @Override
+        public Object connectedOutput() {
+            return lastKey;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+        
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+        
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+    }
+
+    static final class PublisherDistinctUntilChangedConditionalSubscriber<T, K>
+            implements ConditionalSubscriber<T>, Receiver, Producer, Loopback, Completable, Subscription {
+        final ConditionalSubscriber<? super T> actual;
+
+        final Function<? super T, K> keyExtractor;
+
+        Subscription s;
+
+        boolean done;
+
+        K lastKey;
+
+        public PublisherDistinctUntilChangedConditionalSubscriber(ConditionalSubscriber<? super T> actual,
+                                                       Function<? super T, K> keyExtractor) {
+            this.actual = actual;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return;
+            }
+
+
+            if (Objects.equals(lastKey, k)) {
+                lastKey = k;
+                s.request(1);
+            } else {
+                lastKey = k;
+                actual.onNext(t);
+            }
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return false;
+            }
+
+            if (Objects.equals(lastKey, k)) {
+                lastKey = k;
+                return false;
+            }
+            lastKey = k;
+            return actual.tryOnNext(t);
+        }
+
         @Override
         public void onError(Throwable t) {
             if (done) {
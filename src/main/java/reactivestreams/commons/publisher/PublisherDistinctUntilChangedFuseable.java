@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Loopback;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Filters out subsequent and repeated elements.
+ * <p>
+ * This variant allows composing fuseable stages.
+ *
+ * @param <T> the value type
+ * @param <K> the key type used for comparing subsequent elements
+ */
+public final class PublisherDistinctUntilChangedFuseable<T, K> extends PublisherSource<T, T>
+        implements Fuseable {
+
+    final Function<? super T, K> keyExtractor;
+
+    public PublisherDistinctUntilChangedFuseable(Publisher<? extends T> source, Function<? super T, K> keyExtractor) {
+        super(source);
+        if (!(source instanceof Fuseable)) {
+            throw new IllegalArgumentException("The source must implement the Fuseable interface for this operator to work");
+        }
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        source.subscribe(new PublisherDistinctUntilChangedFuseableSubscriber<>(s, keyExtractor));
+    }
+
+    static final class PublisherDistinctUntilChangedFuseableSubscriber<T, K>
+    extends SynchronousSubscription<T>
+    implements ConditionalSubscriber<T>, Receiver, Producer, Loopback, Completable {
+
+        final Subscriber<? super T> actual;
+
+        /** The actual subscriber if it is a conditional one, null otherwise. */
+        final ConditionalSubscriber<? super T> conditional;
+
+        final Function<? super T, K> keyExtractor;
+
+        QueueSubscription<T> s;
+
+        boolean done;
+
+        int sourceMode;
+
+        K lastKey;
+
+        @SuppressWarnings("unchecked")
+        public PublisherDistinctUntilChangedFuseableSubscriber(Subscriber<? super T> actual,
+                                                               Function<? super T, K> keyExtractor) {
+            this.actual = actual;
+            this.conditional = actual instanceof ConditionalSubscriber ? (ConditionalSubscriber<? super T>)actual : null;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = (QueueSubscription<T>)s;
+
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!tryOnNext(t) && !done) {
+                s.request(1);
+            }
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            if (sourceMode == ASYNC) {
+                actual.onNext(null);
+                return true;
+            }
+
+            K k;
+
+            try {
+                k = keyExtractor.apply(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return false;
+            }
+
+            if (Objects.equals(lastKey, k)) {
+                lastKey = k;
+                return false;
+            }
+            lastKey = k;
+            return emit(t);
+        }
+
+        /**
+         * Relays a value, via tryOnNext if the actual subscriber is a conditional one.
+         *
+         * @param t the value
+         * @return false if the actual subscriber dropped the value
+         */
+        boolean emit(T t) {
+            ConditionalSubscriber<? super T> a = conditional;
+            if (a != null) {
+                return a.tryOnNext(t);
+            }
+            actual.onNext(t);
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return keyExtractor;
+        }
+
+        @Override
+        public Object connectedOutput() {
+            return lastKey;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            int m = s.requestFusion(requestedMode);
+            sourceMode = m;
+            return m;
+        }
+
+        @Override
+        public T poll() {
+            long dropped = 0;
+            for (;;) {
+                T v = s.poll();
+
+                if (v == null) {
+                    if (dropped != 0 && sourceMode == ASYNC) {
+                        request(dropped);
+                    }
+                    return null;
+                }
+
+                K k = keyExtractor.apply(v);
+                if (!Objects.equals(lastKey, k)) {
+                    lastKey = k;
+                    if (dropped != 0 && sourceMode == ASYNC) {
+                        request(dropped);
+                    }
+                    return v;
+                }
+                lastKey = k;
+                dropped++;
+            }
+        }
+
+        @Override
+        public T peek() {
+            long dropped = 0;
+            for (;;) {
+                T v = s.peek();
+
+                if (v == null || !Objects.equals(lastKey, keyExtractor.apply(v))) {
+                    if (dropped != 0 && sourceMode == ASYNC) {
+                        request(dropped);
+                    }
+                    return v;
+                }
+                s.drop();
+                dropped++;
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public void clear() {
+            s.clear();
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public int size() {
+            return s.size();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.flow.Receiver;
 import reactivestreams.commons.subscriber.DeferredScalarSubscriber;
 import reactivestreams.commons.util.ExceptionHelper;
@@ -49,7 +50,7 @@ public final class PublisherElementAt<T> extends PublisherSource<T, T> {
 
     static final class PublisherElementAtSubscriber<T>
             extends DeferredScalarSubscriber<T, T>
-            implements Receiver {
+            implements Receiver, ConditionalSubscriber<T> {
         final Supplier<? extends T> defaultSupplier;
 
         long index;
@@ -107,6 +108,12 @@ public final class PublisherElementAt<T> extends PublisherSource<T, T> {
             index = i - 1;
         }
 
+        @Override
+        public boolean tryOnNext(T t) {
+            onNext(t);
+            return true;
+        }
+
         @Override
         public void onError(Throwable t) {
             if (done) {
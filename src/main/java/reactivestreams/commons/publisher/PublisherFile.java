@@ -0,0 +1,347 @@
+package reactivestreams.commons.publisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Requestable;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Emits the contents of a file as {@link ByteBuffer} chunks of at most chunkSize bytes.
+ * <p>
+ * The file is opened when a subscriber subscribes and read only when there is demand
+ * for a chunk not already read. Each read fetches up to readAhead chunks at once: either
+ * with a single scattering read into freshly allocated heap buffers, or, in mapped mode,
+ * by mapping the next readAhead * chunkSize bytes read-only and slicing the region into
+ * chunks. The emitted buffers are owned by the subscriber.
+ * <p>
+ * The subscription supports SYNC fusion so parsers can poll the chunks directly; read
+ * errors are then thrown from poll() as {@link UncheckedIOException}.
+ */
+public final class PublisherFile extends PublisherBase<ByteBuffer> implements Fuseable {
+
+    final Path path;
+
+    final int chunkSize;
+
+    final int readAhead;
+
+    final boolean mapped;
+
+    public PublisherFile(Path path, int chunkSize) {
+        this(path, chunkSize, 1, false);
+    }
+
+    public PublisherFile(Path path, int chunkSize, int readAhead, boolean mapped) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        if (readAhead <= 0) {
+            throw new IllegalArgumentException("readAhead > 0 required but it was " + readAhead);
+        }
+        this.path = Objects.requireNonNull(path, "path");
+        this.chunkSize = chunkSize;
+        this.readAhead = readAhead;
+        this.mapped = mapped;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        FileChannel channel;
+
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (Throwable e) {
+            EmptySubscription.error(s, e);
+            return;
+        }
+
+        s.onSubscribe(new FileSubscription(s, channel, chunkSize, readAhead, mapped));
+    }
+
+    static final class FileSubscription
+            extends SynchronousSubscription<ByteBuffer>
+            implements Cancellable, Requestable, Producer {
+
+        final Subscriber<? super ByteBuffer> actual;
+
+        final FileChannel channel;
+
+        final int chunkSize;
+
+        final int readAhead;
+
+        final boolean mapped;
+
+        /** The chunks read ahead of the demand. */
+        final ArrayDeque<ByteBuffer> chunks;
+
+        /** The file position of the next mapped region. */
+        long position;
+
+        boolean eof;
+
+        boolean closed;
+
+        boolean outputFused;
+
+        volatile boolean cancelled;
+
+        volatile long requested;
+        static final AtomicLongFieldUpdater<FileSubscription> REQUESTED =
+          AtomicLongFieldUpdater.newUpdater(FileSubscription.class, "requested");
+
+        public FileSubscription(Subscriber<? super ByteBuffer> actual, FileChannel channel, int chunkSize,
+                                int readAhead, boolean mapped) {
+            this.actual = actual;
+            this.channel = channel;
+            this.chunkSize = chunkSize;
+            this.readAhead = readAhead;
+            this.mapped = mapped;
+            this.chunks = new ArrayDeque<>(readAhead);
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (BackpressureHelper.addAndGet(REQUESTED, this, n) == 0) {
+                    drain(n);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+
+                if (outputFused) {
+                    // the channel can be closed from any thread, the chunks are dropped by the next poll() or clear()
+                    closeChannel();
+                } else if (REQUESTED.getAndIncrement(this) == 0) {
+                    close();
+                }
+            }
+        }
+
+        void drain(long n) {
+            final Subscriber<? super ByteBuffer> a = actual;
+
+            long e = 0L;
+
+            for (;;) {
+
+                while (e != n) {
+                    if (cancelled) {
+                        close();
+                        return;
+                    }
+
+                    ByteBuffer b;
+
+                    try {
+                        b = next();
+                    } catch (IOException ex) {
+                        close();
+
+                        a.onError(ex);
+                        return;
+                    }
+
+                    if (b == null) {
+                        close();
+
+                        a.onComplete();
+                        return;
+                    }
+
+                    a.onNext(b);
+
+                    e++;
+                }
+
+                n = requested;
+                if (n == e) {
+                    n = REQUESTED.addAndGet(this, -e);
+                    if (n == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+
+        /**
+         * Returns the next chunk, reading the next batch from the file if needed.
+         *
+         * @return the next chunk or null if the end of the file has been reached
+         * @throws IOException if the read failed
+         */
+        ByteBuffer next() throws IOException {
+            ByteBuffer b = chunks.poll();
+            if (b == null && !eof) {
+                read();
+                b = chunks.poll();
+            }
+            return b;
+        }
+
+        void read() throws IOException {
+            if (mapped) {
+                long remaining = channel.size() - position;
+                if (remaining <= 0L) {
+                    eof = true;
+                    return;
+                }
+                int len = (int)Math.min(remaining, (long)chunkSize * readAhead);
+
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, len);
+                position += len;
+
+                for (int i = 0; i < len; i += chunkSize) {
+                    ByteBuffer b = region.duplicate();
+                    b.position(i);
+                    b.limit(Math.min(i + chunkSize, len));
+                    chunks.offer(b.slice());
+                }
+            } else {
+                ByteBuffer[] bufs = new ByteBuffer[readAhead];
+                for (int i = 0; i < bufs.length; i++) {
+                    bufs[i] = ByteBuffer.allocate(chunkSize);
+                }
+
+                long r = channel.read(bufs);
+                if (r < 0L) {
+                    eof = true;
+                    return;
+                }
+
+                for (ByteBuffer b : bufs) {
+                    if (b.position() == 0) {
+                        break;
+                    }
+                    b.flip();
+                    chunks.offer(b);
+                }
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                chunks.clear();
+                closeChannel();
+            }
+        }
+
+        void closeChannel() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                UnsignalledExceptions.onErrorDropped(ex);
+            }
+        }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            if ((requestedMode & Fuseable.SYNC) != 0) {
+                outputFused = true;
+                return Fuseable.SYNC;
+            }
+            return Fuseable.NONE;
+        }
+
+        @Override
+        public ByteBuffer poll() {
+            ByteBuffer b = peek();
+            if (b != null) {
+                chunks.poll();
+            }
+            return b;
+        }
+
+        @Override
+        public ByteBuffer peek() {
+            if (closed) {
+                return null;
+            }
+            if (cancelled) {
+                close();
+                return null;
+            }
+            ByteBuffer b = chunks.peek();
+            if (b == null) {
+                if (!eof) {
+                    try {
+                        read();
+                    } catch (IOException ex) {
+                        close();
+                        if (cancelled) {
+                            // the read failed because cancel() closed the channel
+                            return null;
+                        }
+                        throw new UncheckedIOException(ex);
+                    }
+                    b = chunks.peek();
+                }
+                if (b == null) {
+                    close();
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public int size() {
+            if (isEmpty()) {
+                return 0;
+            }
+            return chunks.size();
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public void clear() {
+            close();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+    }
+}
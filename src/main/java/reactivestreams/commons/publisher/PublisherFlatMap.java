@@ -16,9 +16,10 @@
 package reactivestreams.commons.publisher;
 
 import java.util.AbstractQueue;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -46,7 +47,9 @@ import reactivestreams.commons.state.Prefetchable;
 import reactivestreams.commons.state.Requestable;
 import reactivestreams.commons.util.BackpressureHelper;
 import reactivestreams.commons.util.CancelledSubscription;
+import reactivestreams.commons.util.DrainTrace;
 import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.PrefetchPolicy;
 import reactivestreams.commons.util.ScalarSubscription;
 import reactivestreams.commons.util.SpscArrayQueue;
 import reactivestreams.commons.util.SubscriptionHelper;
@@ -55,6 +58,12 @@ import reactivestreams.commons.util.UnsignalledExceptions;
 /**
  * Maps a sequence of values each into a Publisher and flattens them 
  * back into a single sequence, interleaving events from the various inner Publishers.
+ * <p>
+ * The active inner subscribers are tracked in an array of slots with a ring of free slot
+ * indexes, making adding and removing them amortized O(1). In recycling mode, the inner
+ * subscribers that completed without being cancelled are returned, together with the queue
+ * they may have created, to a free list of the subscription and reused for subsequent
+ * inner Publishers instead of allocating new ones.
  *
  * @param <T> the source value type
  * @param <R> the result value type
@@ -69,25 +78,36 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
     
     final Supplier<? extends Queue<R>> mainQueueSupplier;
 
-    final int prefetch;
+    final PrefetchPolicy prefetchPolicy;
     
     final Supplier<? extends Queue<R>> innerQueueSupplier;
+
+    final boolean recycle;
     
     public PublisherFlatMap(Publisher<? extends T> source, Function<? super T, ? extends Publisher<? extends R>> mapper,
             boolean delayError, int maxConcurrency, Supplier<? extends Queue<R>> mainQueueSupplier, int prefetch, Supplier<? extends Queue<R>> innerQueueSupplier) {
+        this(source, mapper, delayError, maxConcurrency, mainQueueSupplier, PrefetchPolicy.fixed(prefetch), innerQueueSupplier);
+    }
+
+    public PublisherFlatMap(Publisher<? extends T> source, Function<? super T, ? extends Publisher<? extends R>> mapper,
+            boolean delayError, int maxConcurrency, Supplier<? extends Queue<R>> mainQueueSupplier, PrefetchPolicy prefetchPolicy, Supplier<? extends Queue<R>> innerQueueSupplier) {
+        this(source, mapper, delayError, maxConcurrency, mainQueueSupplier, prefetchPolicy, innerQueueSupplier, false);
+    }
+
+    public PublisherFlatMap(Publisher<? extends T> source, Function<? super T, ? extends Publisher<? extends R>> mapper,
+            boolean delayError, int maxConcurrency, Supplier<? extends Queue<R>> mainQueueSupplier, PrefetchPolicy prefetchPolicy, Supplier<? extends Queue<R>> innerQueueSupplier,
+            boolean recycle) {
         super(source);
-        if (prefetch <= 0) {
-            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
-        }
         if (maxConcurrency <= 0) {
             throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
         }
         this.mapper = Objects.requireNonNull(mapper, "mapper");
         this.delayError = delayError;
-        this.prefetch = prefetch;
+        this.prefetchPolicy = Objects.requireNonNull(prefetchPolicy, "prefetchPolicy");
         this.maxConcurrency = maxConcurrency;
         this.mainQueueSupplier = Objects.requireNonNull(mainQueueSupplier, "mainQueueSupplier");
         this.innerQueueSupplier = Objects.requireNonNull(innerQueueSupplier, "innerQueueSupplier");
+        this.recycle = recycle;
     }
 
     @Override
@@ -97,7 +117,7 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
             return;
         }
         
-        source.subscribe(new PublisherFlatMapMain<>(s, mapper, delayError, maxConcurrency, mainQueueSupplier, prefetch, innerQueueSupplier));
+        source.subscribe(new PublisherFlatMapMain<>(s, mapper, delayError, maxConcurrency, mainQueueSupplier, prefetchPolicy, innerQueueSupplier, recycle));
 //        source.subscribe(new MergeSubscriber<>(s, mapper, delayError, maxConcurrency, prefetch));
     }
 
@@ -115,7 +135,7 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
         
         final Supplier<? extends Queue<R>> mainQueueSupplier;
 
-        final int prefetch;
+        final PrefetchPolicy prefetchPolicy;
 
         final Supplier<? extends Queue<R>> innerQueueSupplier;
         
@@ -144,6 +164,7 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
         static final AtomicIntegerFieldUpdater<PublisherFlatMapMain> WIP =
                 AtomicIntegerFieldUpdater.newUpdater(PublisherFlatMapMain.class, "wip");
         
+        /** The slots of the active inner subscribers, null if free; modified while holding this. */
         volatile PublisherFlatMapInner<R>[] subscribers;
         @SuppressWarnings("rawtypes")
         static final AtomicReferenceFieldUpdater<PublisherFlatMapMain, PublisherFlatMapInner[]> SUBSCRIBERS =
@@ -154,6 +175,29 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
         
         @SuppressWarnings("rawtypes")
         static final PublisherFlatMapInner[] TERMINATED = new PublisherFlatMapInner[0];
+
+        static final int[] FREE_EMPTY = new int[0];
+
+        /** Ring buffer of the free slot indexes, as long as the slot array; guarded by this. */
+        int[] free = FREE_EMPTY;
+
+        long freeProducerIndex;
+
+        long freeConsumerIndex;
+
+        /** The number of active inner subscribers. */
+        volatile int size;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherFlatMapMain> SIZE =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherFlatMapMain.class, "size");
+
+        /**
+         * The inner subscribers ready for reuse, null if not recycling; offered by the drain loop
+         * and polled by onNext.
+         */
+        final SpscArrayQueue<PublisherFlatMapInner<R>> recycled;
+
+        static final int RECYCLE_CAPACITY = 64;
         
         int lastIndex;
         
@@ -165,15 +209,17 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
         
         public PublisherFlatMapMain(Subscriber<? super R> actual,
                 Function<? super T, ? extends Publisher<? extends R>> mapper, boolean delayError, int maxConcurrency,
-                Supplier<? extends Queue<R>> mainQueueSupplier, int prefetch, Supplier<? extends Queue<R>> innerQueueSupplier) {
+                Supplier<? extends Queue<R>> mainQueueSupplier, PrefetchPolicy prefetchPolicy, Supplier<? extends Queue<R>> innerQueueSupplier,
+                boolean recycle) {
             this.actual = actual;
             this.mapper = mapper;
             this.delayError = delayError;
             this.maxConcurrency = maxConcurrency;
             this.mainQueueSupplier = mainQueueSupplier;
-            this.prefetch = prefetch;
+            this.prefetchPolicy = prefetchPolicy;
             this.innerQueueSupplier = innerQueueSupplier;
             this.limit = maxConcurrency - (maxConcurrency >> 2);
+            this.recycled = recycle ? new SpscArrayQueue<>(Math.min(maxConcurrency, RECYCLE_CAPACITY)) : null;
             SUBSCRIBERS.lazySet(this, EMPTY);
         }
 
@@ -202,69 +248,117 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
         void cancelAllInner() {
             PublisherFlatMapInner<R>[] a = subscribers;
             if (a != TERMINATED) {
-                a = SUBSCRIBERS.getAndSet(this, TERMINATED);
+                // swapped while holding this so a concurrent add() either finishes before or sees TERMINATED
+                synchronized (this) {
+                    a = subscribers;
+                    subscribers = TERMINATED;
+                }
                 if (a != TERMINATED) {
                     for (PublisherFlatMapInner<R> e : a) {
-                        e.cancel();
+                        if (e != null) {
+                            e.cancel();
+                        }
                     }
                 }
             }
         }
         
+        /**
+         * Puts the inner subscriber into a free slot, doubling the slot array if there is none.
+         *
+         * @param inner the inner subscriber to add
+         * @return false if the main has been terminated
+         */
+        @SuppressWarnings("unchecked")
         boolean add(PublisherFlatMapInner<R> inner) {
-            for (;;) {
+            if (subscribers == TERMINATED) {
+                return false;
+            }
+            synchronized (this) {
                 PublisherFlatMapInner<R>[] a = subscribers;
                 if (a == TERMINATED) {
                     return false;
                 }
-                
-                int n = a.length;
-                
-                @SuppressWarnings("unchecked")
-                PublisherFlatMapInner<R>[] b = new PublisherFlatMapInner[n + 1];
-                System.arraycopy(a, 0, b, 0, n);
-                b[n] = inner;
-                
-                if (SUBSCRIBERS.compareAndSet(this, a, b)) {
-                    return true;
+
+                int index = pollFree();
+                if (index < 0) {
+                    int n = a.length;
+                    PublisherFlatMapInner<R>[] b = new PublisherFlatMapInner[n != 0 ? n << 1 : 4];
+                    System.arraycopy(a, 0, b, 0, n);
+
+                    int m = b.length;
+                    int[] u = new int[m];
+                    for (int i = n + 1; i < m; i++) {
+                        u[i] = i;
+                    }
+                    free = u;
+                    freeConsumerIndex = n + 1;
+                    freeProducerIndex = m;
+
+                    index = n;
+                    a = b;
+                }
+
+                inner.slot = index;
+                a[index] = inner;
+                if (a != subscribers) {
+                    subscribers = a;
                 }
+                // publishes the slot to the drain loop which reads the size before the slots
+                SIZE.lazySet(this, size + 1);
             }
+            return true;
         }
         
-        @SuppressWarnings("unchecked")
-        void remove(PublisherFlatMapInner<R> inner) {
-            for (;;) {
+        /**
+         * Frees the slot of the inner subscriber.
+         *
+         * @param inner the inner subscriber to remove
+         * @return true if the inner subscriber was removed by this call
+         */
+        boolean remove(PublisherFlatMapInner<R> inner) {
+            synchronized (this) {
                 PublisherFlatMapInner<R>[] a = subscribers;
-                if (a == TERMINATED || a == EMPTY) {
-                    return;
+                int index = inner.slot;
+                if (index < a.length && a[index] == inner) {
+                    a[index] = null;
+                    offerFree(index);
+                    SIZE.lazySet(this, size - 1);
+                    return true;
                 }
-                
-                int n = a.length;
+                return false;
+            }
+        }
 
-                int j = -1;
-                
-                for (int i = 0; i < n; i++) {
-                    if (a[i] == inner) {
-                        j = i;
-                        break;
-                    }
-                }
-                
-                if (j < 0) {
-                    return;
-                }
-                
-                PublisherFlatMapInner<R>[] b;
-                if (n == 1) {
-                    b = EMPTY;
-                } else {
-                    b = new PublisherFlatMapInner[n - 1];
-                    System.arraycopy(a, 0, b, 0, j);
-                    System.arraycopy(a, j + 1, b, j, n - j - 1);
-                }
-                if (SUBSCRIBERS.compareAndSet(this, a, b)) {
-                    return;
-                }
+        int pollFree() {
+            int[] a = free;
+            long ci = freeConsumerIndex;
+            if (freeProducerIndex == ci) {
+                return -1;
+            }
+            freeConsumerIndex = ci + 1;
+            return a[(int)ci & (a.length - 1)];
+        }
+
+        void offerFree(int index) {
+            int[] a = free;
+            long pi = freeProducerIndex;
+            a[(int)pi & (a.length - 1)] = index;
+            freeProducerIndex = pi + 1;
+        }
+
+        /**
+         * Returns a removed inner subscriber to the free list if recycling is enabled and it is
+         * safe to reuse: not cancelled and not fused with an asynchronous source, which may still
+         * race with its terminal event. Called by the drain loop once it no longer uses the inner.
+         *
+         * @param inner the removed inner subscriber
+         */
+        void recycle(PublisherFlatMapInner<R> inner) {
+            SpscArrayQueue<PublisherFlatMapInner<R>> rq = recycled;
+            if (rq != null && inner.sourceMode != PublisherFlatMapInner.ASYNC && !inner.isCancelled()) {
+                inner.clear();
+                rq.offer(inner);
             }
         }
         
@@ -320,7 +414,13 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                 }
                 emitScalar(v);
             } else {
-                PublisherFlatMapInner<R> inner = new PublisherFlatMapInner<>(this, prefetch, unique++);
+                SpscArrayQueue<PublisherFlatMapInner<R>> rq = recycled;
+                PublisherFlatMapInner<R> inner = rq != null ? rq.poll() : null;
+                if (inner != null) {
+                    inner.id = unique++;
+                } else {
+                    inner = new PublisherFlatMapInner<>(this, prefetchPolicy, unique++);
+                }
                 if (add(inner)) {
                     
                     p.subscribe(inner);
@@ -476,20 +576,35 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
         }
         
         void drainLoop() {
+            DrainTrace trace = DrainTrace.begin(this, scalarQueue);
+            try {
+                drainLoop(trace);
+            } finally {
+                if (trace != null) {
+                    trace.end();
+                }
+            }
+        }
+
+        void drainLoop(DrainTrace trace) {
             int missed = 1;
             
             final Subscriber<? super R> a = actual;
             
             for (;;) {
                 
+                boolean d = done;
+
+                // the size has to be read after done and before the slots
+                int size = this.size;
+
                 PublisherFlatMapInner<R>[] as = subscribers;
                 
                 int n = as.length;
 
-                boolean d = done;
                 Queue<R> sq = scalarQueue;
                 
-                if (checkTerminated(d, n == 0 && (sq == null || sq.isEmpty()), a)) {
+                if (checkTerminated(d, size == 0 && (sq == null || sq.isEmpty()), a)) {
                     return;
                 }
                 
@@ -519,6 +634,9 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                             }
                             
                             a.onNext(v);
+                            if (trace != null) {
+                                trace.next();
+                            }
                             
                             e++;
                         }
@@ -534,7 +652,7 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                         
                     }
                 }
-                if (r != 0L && n != 0) {
+                if (r != 0L && size != 0) {
                     
                     int j = lastIndex;
                     if (j >= n) {
@@ -551,14 +669,25 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                         
                         PublisherFlatMapInner<R> inner = as[j];
                         
+                        if (inner == null) {
+                            if (++j == n) {
+                                j = 0;
+                            }
+                            continue;
+                        }
+                        
                         d = inner.done;
                         Queue<R> q = inner.queue;
                         if (d && q == null) {
-                            remove(inner);
-                            again = true;
-                            replenishMain++;
+                            if (remove(inner)) {
+                                again = true;
+                                replenishMain++;
+                                recycle(inner);
+                            }
                         } else 
                         if (q != null) {
+                            boolean removed = false;
+                            
                             while (e != r) {
                                 d = inner.done;
                                 
@@ -583,9 +712,7 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                                 }
 
                                 if (d && empty) {
-                                    remove(inner);
-                                    again = true;
-                                    replenishMain++;
+                                    removed = remove(inner);
                                     break;
                                 }
                                 
@@ -594,11 +721,14 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                                 }
                                 
                                 a.onNext(v);
+                                if (trace != null) {
+                                    trace.next();
+                                }
                                 
                                 e++;
                             }
                             
-                            if (e == r) {
+                            if (!removed && e == r) {
                                 d = inner.done;
                                 boolean empty;
                                 
@@ -615,14 +745,22 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                                 }
                                 
                                 if (d && empty) {
-                                    remove(inner);
-                                    again = true;
-                                    replenishMain++;
+                                    removed = remove(inner);
                                 }
                             }
                             
+                            if (removed) {
+                                again = true;
+                                replenishMain++;
+                                // the inner is not accessed by this iteration after this point
+                                recycle(inner);
+                            }
+                            
                             if (e != 0L) {
-                                if (!inner.done) {
+                                if (!removed && !inner.done) {
+                                    if (trace != null) {
+                                        trace.request(e);
+                                    }
                                     inner.request(e);
                                 }
                                 if (r != Long.MAX_VALUE) {
@@ -736,7 +874,7 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
 //                }
                 
                 
-                if (r == 0L && n != 0) {
+                if (r == 0L && size != 0) {
                     as = subscribers;
                     n = as.length;
                     
@@ -750,17 +888,24 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                         
                         PublisherFlatMapInner<R> inner = as[i];
                         
+                        if (inner == null) {
+                            continue;
+                        }
+                        
                         d = inner.done;
                         Queue<R> q = inner.queue;
-                        if (d && (q == null || q.isEmpty())) {
-                            remove(inner);
+                        if (d && (q == null || q.isEmpty()) && remove(inner)) {
                             again = true;
                             replenishMain++;
+                            recycle(inner);
                         }
                     }
                 }
                 
                 if (replenishMain != 0L && !done && !cancelled) {
+                    if (trace != null) {
+                        trace.request(replenishMain);
+                    }
                     s.request(replenishMain);
                 }
                 
@@ -941,7 +1086,7 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
 
         @Override
         public boolean isTerminated() {
-            return done && subscribers.length == 0;
+            return done && size == 0;
         }
 
         @Override
@@ -956,12 +1101,18 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
 
         @Override
         public Iterator<?> upstreams() {
-            return Arrays.asList(subscribers).iterator();
+            List<PublisherFlatMapInner<R>> list = new ArrayList<>();
+            for (PublisherFlatMapInner<R> inner : subscribers) {
+                if (inner != null) {
+                    list.add(inner);
+                }
+            }
+            return list.iterator();
         }
 
         @Override
         public long upstreamCount() {
-            return subscribers.length;
+            return size;
         }
 
         @Override
@@ -985,11 +1136,17 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
 
         final PublisherFlatMapMain<?, R> parent;
         
-        final int prefetch;
+        final PrefetchPolicy prefetchPolicy;
         
-        final int limit;
+        int prefetch;
         
-        final long id;
+        int limit;
+        
+        /** Reassigned by the main's onNext when the inner is recycled. */
+        long id;
+
+        /** The index of the slot in the main's subscribers array, guarded by the main. */
+        int slot;
         
         volatile Subscription s;
         @SuppressWarnings("rawtypes")
@@ -1017,11 +1174,12 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
         static final AtomicIntegerFieldUpdater<PublisherFlatMapInner> ONCE =
                 AtomicIntegerFieldUpdater.newUpdater(PublisherFlatMapInner.class, "once");
         
-        public PublisherFlatMapInner(PublisherFlatMapMain<?, R> parent, int prefetch, long index) {
+        public PublisherFlatMapInner(PublisherFlatMapMain<?, R> parent, PrefetchPolicy prefetchPolicy, long index) {
             this.parent = parent;
-            this.prefetch = prefetch;
+            this.prefetchPolicy = prefetchPolicy;
+            this.prefetch = prefetchPolicy.initial();
             this.id = index;
-            this.limit = prefetch - (prefetch >> 2);
+            this.limit = PrefetchPolicy.limit(prefetch);
         }
 
         @Override
@@ -1077,6 +1235,13 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
                 long p = produced + n;
                 if (p >= limit) {
                     produced = 0L;
+                    int c = prefetch;
+                    int next = prefetchPolicy.next(c, queue);
+                    if (next != c) {
+                        prefetch = next;
+                        limit = PrefetchPolicy.limit(next);
+                        p += next - c;
+                    }
                     s.request(p);
                 } else {
                     produced = p;
@@ -1089,6 +1254,28 @@ public final class PublisherFlatMap<T, R> extends PublisherSource<T, R> {
             SubscriptionHelper.terminate(S, this);
         }
 
+        /**
+         * Resets this terminated inner subscriber so that it can subscribe to another source,
+         * keeping the queue it created in normal mode.
+         */
+        void clear() {
+            Queue<R> q = queue;
+            if (sourceMode == NORMAL) {
+                if (q != null) {
+                    q.clear();
+                }
+            } else {
+                queue = null;
+            }
+            sourceMode = NORMAL;
+            produced = 0L;
+            prefetch = prefetchPolicy.initial();
+            limit = PrefetchPolicy.limit(prefetch);
+            done = false;
+            ONCE.lazySet(this, 0);
+            S.lazySet(this, null);
+        }
+
         @Override
         public long getCapacity() {
             return prefetch;
@@ -0,0 +1,624 @@
+package reactivestreams.commons.publisher;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Failurable;
+import reactivestreams.commons.state.Requestable;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.PrefetchPolicy;
+import reactivestreams.commons.util.SpscArrayQueue;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Splits a sequence of {@link ByteBuffer} chunks into frames determined by a {@link Framing}
+ * strategy: delimited, fixed-length or length-prefixed.
+ * <p>
+ * A frame that lies within a single chunk is emitted as a slice of that chunk, without copying;
+ * only frames straddling chunk boundaries are copied, into a buffer of their own. The
+ * emitted frames exclude the delimiter or length header. Frames longer than maxFrameLength
+ * bytes (including the framing overhead) are signalled as an {@link IllegalStateException}.
+ * <p>
+ * The positions of the source chunks are left untouched, but their contents must not be reused
+ * by the upstream once emitted since the frames may still reference them.
+ */
+public final class PublisherFrame extends PublisherSource<ByteBuffer, ByteBuffer> {
+
+    /**
+     * Locates the frames in the byte stream.
+     */
+    public static abstract class Framing {
+
+        final int headerSize;
+
+        final int trailerSize;
+
+        Framing(int headerSize, int trailerSize) {
+            this.headerSize = headerSize;
+            this.trailerSize = trailerSize;
+        }
+
+        /**
+         * Returns the length of the complete frame starting at the position of the buffer,
+         * including the framing overhead.
+         *
+         * @param b the buffer
+         * @return the length of the frame or -1 if the buffer doesn't hold a complete frame
+         */
+        abstract int frameLength(ByteBuffer b);
+
+        /**
+         * Returns the number of bytes of the chunk which complete the frame started by the
+         * partial bytes.
+         *
+         * @param partial the bytes of the incomplete frame, between 0 and position
+         * @param chunk the next chunk
+         * @return the number of bytes of the chunk or -1 if the chunk doesn't complete the frame
+         */
+        abstract int remainingLength(ByteBuffer partial, ByteBuffer chunk);
+
+        /**
+         * Returns true if the incomplete bytes at the end of the stream form a final frame.
+         *
+         * @return true if the incomplete bytes at the end of the stream form a final frame
+         */
+        abstract boolean lastFrameMayBeIncomplete();
+
+        /**
+         * Frames terminated by a newline (\n); a last line without a newline is emitted as well.
+         *
+         * @return the framing
+         */
+        public static Framing newline() {
+            return delimiter((byte)'\n');
+        }
+
+        /**
+         * Frames terminated by the given delimiter byte; the trailing bytes without a delimiter
+         * are emitted as the last frame.
+         *
+         * @param delimiter the delimiter byte
+         * @return the framing
+         */
+        public static Framing delimiter(byte delimiter) {
+            return new DelimiterFraming(delimiter);
+        }
+
+        /**
+         * Frames of the given fixed length.
+         *
+         * @param length the frame length
+         * @return the framing
+         */
+        public static Framing fixedLength(int length) {
+            if (length <= 0) {
+                throw new IllegalArgumentException("length > 0 required but it was " + length);
+            }
+            return new FixedLengthFraming(length);
+        }
+
+        /**
+         * Frames prefixed by their length as a 4 byte big-endian int, not counting the prefix itself.
+         *
+         * @return the framing
+         */
+        public static Framing lengthPrefixed() {
+            return LengthPrefixedFraming.INSTANCE;
+        }
+    }
+
+    static final class DelimiterFraming extends Framing {
+        final byte delimiter;
+
+        DelimiterFraming(byte delimiter) {
+            super(0, 1);
+            this.delimiter = delimiter;
+        }
+
+        int indexOf(ByteBuffer b) {
+            byte d = delimiter;
+            for (int i = b.position(), n = b.limit(); i < n; i++) {
+                if (b.get(i) == d) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        int frameLength(ByteBuffer b) {
+            int i = indexOf(b);
+            return i < 0 ? -1 : i - b.position() + 1;
+        }
+
+        @Override
+        int remainingLength(ByteBuffer partial, ByteBuffer chunk) {
+            return frameLength(chunk);
+        }
+
+        @Override
+        boolean lastFrameMayBeIncomplete() {
+            return true;
+        }
+    }
+
+    static final class FixedLengthFraming extends Framing {
+        final int length;
+
+        FixedLengthFraming(int length) {
+            super(0, 0);
+            this.length = length;
+        }
+
+        @Override
+        int frameLength(ByteBuffer b) {
+            return b.remaining() >= length ? length : -1;
+        }
+
+        @Override
+        int remainingLength(ByteBuffer partial, ByteBuffer chunk) {
+            int n = length - partial.position();
+            return chunk.remaining() >= n ? n : -1;
+        }
+
+        @Override
+        boolean lastFrameMayBeIncomplete() {
+            return false;
+        }
+    }
+
+    static final class LengthPrefixedFraming extends Framing {
+        static final LengthPrefixedFraming INSTANCE = new LengthPrefixedFraming();
+
+        LengthPrefixedFraming() {
+            super(4, 0);
+        }
+
+        static int checkLength(int len) {
+            if (len < 0) {
+                throw new IllegalStateException("Negative frame length: " + len);
+            }
+            return len;
+        }
+
+        @Override
+        int frameLength(ByteBuffer b) {
+            if (b.remaining() < 4) {
+                return -1;
+            }
+            long n = 4L + checkLength(b.getInt(b.position()));
+            return b.remaining() >= n ? (int)n : -1;
+        }
+
+        @Override
+        int remainingLength(ByteBuffer partial, ByteBuffer chunk) {
+            int p = partial.position();
+            if (p + chunk.remaining() < 4) {
+                return -1;
+            }
+            int len = 0;
+            for (int i = 0; i < 4; i++) {
+                int v = i < p ? partial.get(i) : chunk.get(chunk.position() + i - p);
+                len = (len << 8) | (v & 0xFF);
+            }
+            long n = 4L + checkLength(len) - p;
+            return chunk.remaining() >= n ? (int)n : -1;
+        }
+
+        @Override
+        boolean lastFrameMayBeIncomplete() {
+            return false;
+        }
+    }
+
+    final Framing framing;
+
+    final int maxFrameLength;
+
+    final int prefetch;
+
+    public PublisherFrame(Publisher<? extends ByteBuffer> source, Framing framing, int maxFrameLength) {
+        this(source, framing, maxFrameLength, 4);
+    }
+
+    public PublisherFrame(Publisher<? extends ByteBuffer> source, Framing framing, int maxFrameLength,
+                          int prefetch) {
+        super(source);
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("maxFrameLength > 0 required but it was " + maxFrameLength);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        this.framing = Objects.requireNonNull(framing, "framing");
+        this.maxFrameLength = maxFrameLength;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        source.subscribe(new PublisherFrameSubscriber(s, framing, maxFrameLength, prefetch));
+    }
+
+    static final class PublisherFrameSubscriber
+            implements Subscriber<ByteBuffer>, Subscription, Cancellable, Failurable, Completable, Producer,
+                       Requestable, Receiver {
+
+        final Subscriber<? super ByteBuffer> actual;
+
+        final Framing framing;
+
+        final int maxFrameLength;
+
+        final int limit;
+
+        final SpscArrayQueue<ByteBuffer> queue;
+
+        /** The chunk being split, accessed by the drain loop only. */
+        ByteBuffer current;
+
+        /** The bytes of a frame straddling chunks, accessed by the drain loop only. */
+        ByteBuffer partial;
+
+        /** The number of chunks consumed since the last replenishing request. */
+        int consumed;
+
+        Subscription s;
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherFrameSubscriber> REQUESTED =
+          AtomicLongFieldUpdater.newUpdater(PublisherFrameSubscriber.class, "requested");
+
+        volatile int wip;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherFrameSubscriber> WIP =
+          AtomicIntegerFieldUpdater.newUpdater(PublisherFrameSubscriber.class, "wip");
+
+        Throwable error;
+        volatile boolean done;
+
+        volatile boolean cancelled;
+
+        public PublisherFrameSubscriber(Subscriber<? super ByteBuffer> actual, Framing framing, int maxFrameLength,
+                                        int prefetch) {
+            this.actual = actual;
+            this.framing = framing;
+            this.maxFrameLength = maxFrameLength;
+            this.limit = PrefetchPolicy.limit(prefetch);
+            this.queue = new SpscArrayQueue<>(prefetch);
+            this.partial = ByteBuffer.allocate(Math.min(maxFrameLength, 256));
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+
+                s.request(queue.length());
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+            if (!queue.offer(t)) {
+                s.cancel();
+
+                onError(new IllegalStateException("Queue is full?!"));
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addAndGet(REQUESTED, this, n);
+
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+
+                s.cancel();
+
+                if (WIP.getAndIncrement(this) == 0) {
+                    clear();
+                }
+            }
+        }
+
+        void clear() {
+            queue.clear();
+            current = null;
+            partial = null;
+        }
+
+        void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+
+            final Subscriber<? super ByteBuffer> a = actual;
+
+            int missed = 1;
+
+            for (;;) {
+
+                long r = requested;
+                long e = 0L;
+
+                while (e != r) {
+                    if (checkCancelledOrError(a)) {
+                        return;
+                    }
+
+                    ByteBuffer c = current;
+                    if (c == null) {
+                        boolean d = done;
+                        c = queue.poll();
+
+                        if (c == null) {
+                            if (d) {
+                                finish(a);
+                                return;
+                            }
+                            break;
+                        }
+
+                        // leave the position of the source chunk untouched
+                        c = c.duplicate();
+                        current = c;
+                    }
+
+                    ByteBuffer f;
+
+                    try {
+                        f = nextFrame(c);
+                    } catch (IllegalStateException ex) {
+                        s.cancel();
+                        clear();
+
+                        a.onError(ex);
+                        return;
+                    }
+
+                    if (!c.hasRemaining()) {
+                        current = null;
+                        chunkConsumed();
+                    }
+
+                    if (f != null) {
+                        a.onNext(f);
+
+                        e++;
+                    }
+                }
+
+                if (e == r) {
+                    if (checkCancelledOrError(a)) {
+                        return;
+                    }
+
+                    if (done && current == null && queue.isEmpty() && partial.position() == 0) {
+                        clear();
+                        a.onComplete();
+                        return;
+                    }
+                }
+
+                if (e != 0L && r != Long.MAX_VALUE) {
+                    REQUESTED.addAndGet(this, -e);
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        boolean checkCancelledOrError(Subscriber<? super ByteBuffer> a) {
+            if (cancelled) {
+                clear();
+                return true;
+            }
+            if (done) {
+                Throwable ex = error;
+                if (ex != null) {
+                    clear();
+                    a.onError(ex);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void chunkConsumed() {
+            int p = consumed + 1;
+            if (p == limit) {
+                consumed = 0;
+                s.request(p);
+            } else {
+                consumed = p;
+            }
+        }
+
+        /**
+         * Emits the incomplete last frame, if the framing allows it, and completes;
+         * must be called with outstanding demand.
+         *
+         * @param a the downstream subscriber
+         */
+        void finish(Subscriber<? super ByteBuffer> a) {
+            ByteBuffer p = partial;
+            if (p.position() != 0) {
+                if (!framing.lastFrameMayBeIncomplete()) {
+                    int n = p.position();
+                    clear();
+                    a.onError(new IllegalStateException("The source completed with an incomplete frame of "
+                            + n + " bytes"));
+                    return;
+                }
+                ByteBuffer f = copyFrame(p, 0);
+                clear();
+                a.onNext(f);
+            } else {
+                clear();
+            }
+            if (!cancelled) {
+                a.onComplete();
+            }
+        }
+
+        /**
+         * Returns the next frame from the chunk or null if the rest of the chunk has been
+         * appended to the partial frame.
+         *
+         * @param c the current chunk
+         * @return the next frame or null
+         */
+        ByteBuffer nextFrame(ByteBuffer c) {
+            ByteBuffer p = partial;
+            Framing fr = framing;
+
+            if (p.position() == 0) {
+                int n = fr.frameLength(c);
+                if (n >= 0) {
+                    checkFrameLength(n);
+                    int start = c.position();
+                    ByteBuffer f = c.duplicate();
+                    f.limit(start + n - fr.trailerSize);
+                    f.position(start + fr.headerSize);
+                    c.position(start + n);
+                    return f.slice();
+                }
+                checkFrameLength(c.remaining());
+                append(c, c.remaining());
+                return null;
+            }
+
+            int n = fr.remainingLength(p, c);
+            if (n < 0) {
+                checkFrameLength(p.position() + c.remaining());
+                append(c, c.remaining());
+                return null;
+            }
+            checkFrameLength(p.position() + n);
+            append(c, n);
+
+            p = partial;
+            ByteBuffer f = copyFrame(p, fr.trailerSize);
+            p.clear();
+            return f;
+        }
+
+        ByteBuffer copyFrame(ByteBuffer p, int trailerSize) {
+            ByteBuffer src = p.duplicate();
+            src.flip();
+            src.position(framing.headerSize);
+            src.limit(src.limit() - trailerSize);
+            ByteBuffer f = ByteBuffer.allocate(src.remaining());
+            f.put(src);
+            f.flip();
+            return f;
+        }
+
+        void append(ByteBuffer c, int n) {
+            ByteBuffer p = partial;
+            if (p.remaining() < n) {
+                int cap = Math.max(p.capacity() * 2, p.position() + n);
+                ByteBuffer q = ByteBuffer.allocate(Math.min(cap, maxFrameLength));
+                p.flip();
+                q.put(p);
+                partial = q;
+                p = q;
+            }
+            ByteBuffer src = c.duplicate();
+            src.limit(src.position() + n);
+            p.put(src);
+            c.position(c.position() + n);
+        }
+
+        void checkFrameLength(int n) {
+            if (n > maxFrameLength) {
+                throw new IllegalStateException("The frame length exceeds the maximum of " + maxFrameLength + " bytes");
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !cancelled && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+
+        @Override
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+    }
+}
@@ -7,10 +7,12 @@ import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
 import reactivestreams.commons.util.BackpressureHelper;
 import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.ExceptionHelper;
 import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
 
 /**
  * Generate signals one-by-one via a function callback.
@@ -18,12 +20,17 @@ import reactivestreams.commons.util.SubscriptionHelper;
  * <p>
  * The {@code stateSupplier} may return {@code null} but your {@code stateConsumer} should be prepared to
  * handle it.
+ * <p>
+ * The subscription supports SYNC fusion, in which case each {@code poll()} calls the generator
+ * directly. Since a synchronous queue can't express a silent end, calling {@code stop()} in this mode
+ * ends the sequence like {@code onComplete()} does.
  *
  * @param <T> the value type emitted
  * @param <S> the custom state per subscriber
  */
 public final class PublisherGenerate<T, S> 
-extends PublisherBase<T> {
+extends PublisherBase<T>
+implements Fuseable {
 
     /**
      * Interface to receive generated signals from the callback function.
@@ -88,7 +95,8 @@ extends PublisherBase<T> {
     }
 
     static final class GenerateSubscription<T, S>
-      implements Subscription, PublisherGenerateOutput<T> {
+      extends SynchronousSubscription<T>
+      implements PublisherGenerateOutput<T> {
 
         final Subscriber<? super T> actual;
 
@@ -104,6 +112,15 @@ extends PublisherBase<T> {
 
         boolean hasValue;
 
+        /** True if SYNC fusion is active and the generator output is held for poll(). */
+        boolean outputFused;
+
+        /** The value generated but not yet polled in SYNC fusion mode. */
+        T generated;
+
+        /** The error signalled by the generator in SYNC fusion mode, thrown once the values are polled. */
+        Throwable error;
+
         volatile long requested;
         @SuppressWarnings("rawtypes")
         static final AtomicLongFieldUpdater<GenerateSubscription> REQUESTED =
@@ -132,7 +149,11 @@ extends PublisherBase<T> {
                 return;
             }
             hasValue = true;
-            actual.onNext(t);
+            if (outputFused) {
+                generated = t;
+            } else {
+                actual.onNext(t);
+            }
         }
 
         @Override
@@ -141,7 +162,11 @@ extends PublisherBase<T> {
                 return;
             }
             terminate = true;
-            actual.onError(e);
+            if (outputFused) {
+                error = e;
+            } else {
+                actual.onError(e);
+            }
         }
 
         @Override
@@ -150,7 +175,9 @@ extends PublisherBase<T> {
                 return;
             }
             terminate = true;
-            actual.onComplete();
+            if (!outputFused) {
+                actual.onComplete();
+            }
         }
 
         @Override
@@ -266,6 +293,122 @@ extends PublisherBase<T> {
             if (!cancelled) {
                 cancelled = true;
 
+                // in SYNC fusion mode poll() holds the requested counter while calling the generator
+                if (REQUESTED.getAndIncrement(this) == 0) {
+                    cleanup(state);
+                }
+            }
+        }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            if ((requestedMode & Fuseable.SYNC) != 0) {
+                outputFused = true;
+                return Fuseable.SYNC;
+            }
+            return Fuseable.NONE;
+        }
+
+        @Override
+        public T poll() {
+            T v = peek();
+            generated = null;
+            return v;
+        }
+
+        @Override
+        public T peek() {
+            T v = generated;
+            if (v == null) {
+                if (!terminate) {
+                    if (cancelled) {
+                        clear();
+                        return null;
+                    }
+                    generate();
+                    v = generated;
+                }
+                if (v == null) {
+                    Throwable e = error;
+                    if (e != null) {
+                        error = null;
+                        throw ExceptionHelper.propagate(e);
+                    }
+                }
+            }
+            return v;
+        }
+
+        /**
+         * Calls the generator once on behalf of poll() and cleans up the state
+         * if the generator terminated.
+         */
+        void generate() {
+            if (REQUESTED.getAndIncrement(this) != 0) {
+                // cancel() has already cleaned up the state
+                terminate = true;
+                return;
+            }
+
+            S s = state;
+
+            try {
+                s = generator.apply(s, this);
+            } catch (Throwable ex) {
+                // the value generated before the crash is polled before the error is thrown
+                if (terminate) {
+                    UnsignalledExceptions.onErrorDropped(ex);
+                } else {
+                    terminate = true;
+                    error = ex;
+                }
+                cleanup(s);
+                return;
+            }
+
+            boolean v = hasValue;
+            hasValue = false;
+
+            if (terminate) {
+                cleanup(s);
+                return;
+            }
+            if (!v) {
+                terminate = true;
+                cleanup(s);
+                throw new IllegalStateException("The generator didn't call any of the " +
+                  "PublisherGenerateOutput method");
+            }
+
+            state = s;
+
+            if (REQUESTED.decrementAndGet(this) != 0) {
+                // cancel() was called while the generator was running
+                terminate = true;
+                cleanup(s);
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public int size() {
+            return isEmpty() ? 0 : 1;
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public void clear() {
+            generated = null;
+            if (outputFused && !terminate) {
+                terminate = true;
                 if (REQUESTED.getAndIncrement(this) == 0) {
                     cleanup(state);
                 }
@@ -0,0 +1,418 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.publisher.PublisherGenerate.PublisherGenerateOutput;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Generate signals in batches via a function callback which receives the outstanding
+ * demand and may emit up to that many values per invocation.
+ * <p>
+ * Compared to {@link PublisherGenerate}, sources such as record readers can emit
+ * whatever they have at hand in a single call instead of round-tripping the state
+ * for each value.
+ * <p>
+ * The subscription supports SYNC fusion, in which case {@code poll()} calls the generator
+ * directly with a demand of up to {@link PublisherBase#BUFFER_SIZE} and buffers its output.
+ * Since a synchronous queue can't express a silent end, calling {@code stop()} in this mode
+ * ends the sequence like {@code onComplete()} does.
+ * <p>
+ * The {@code stateSupplier} may return {@code null} but your {@code stateConsumer} should be prepared to
+ * handle it.
+ *
+ * @param <T> the value type emitted
+ * @param <S> the custom state per subscriber
+ */
+public final class PublisherGenerateBatch<T, S>
+extends PublisherBase<T>
+implements Fuseable {
+
+    /**
+     * The batch generator callback.
+     *
+     * @param <S> the custom state type
+     * @param <T> the output value type
+     */
+    @FunctionalInterface
+    public interface BatchGenerator<S, T> {
+
+        /**
+         * Generates at most {@code demand} values and/or a terminal signal.
+         * <p>
+         * At least one of the output methods should be called per invocation.
+         *
+         * @param state the current state
+         * @param demand the maximum number of values to emit, Long.MAX_VALUE if unbounded
+         * @param output the output to signal the values to
+         * @return the next state
+         */
+        S apply(S state, long demand, PublisherGenerateOutput<T> output);
+    }
+
+    final Callable<S> stateSupplier;
+
+    final BatchGenerator<S, T> generator;
+
+    final Consumer<? super S> stateConsumer;
+
+    public PublisherGenerateBatch(BatchGenerator<S, T> generator) {
+        this(() -> null, generator, s -> {
+        });
+    }
+
+    public PublisherGenerateBatch(Callable<S> stateSupplier, BatchGenerator<S, T> generator) {
+        this(stateSupplier, generator, s -> {
+        });
+    }
+
+    public PublisherGenerateBatch(Callable<S> stateSupplier, BatchGenerator<S, T> generator,
+                                  Consumer<? super S> stateConsumer) {
+        this.stateSupplier = Objects.requireNonNull(stateSupplier, "stateSupplier");
+        this.generator = Objects.requireNonNull(generator, "generator");
+        this.stateConsumer = Objects.requireNonNull(stateConsumer, "stateConsumer");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        S state;
+
+        try {
+            state = stateSupplier.call();
+        } catch (Throwable e) {
+            EmptySubscription.error(s, e);
+            return;
+        }
+        s.onSubscribe(new GenerateBatchSubscription<>(s, state, generator, stateConsumer));
+    }
+
+    static final class GenerateBatchSubscription<T, S>
+      extends SynchronousSubscription<T>
+      implements PublisherGenerateOutput<T> {
+
+        final Subscriber<? super T> actual;
+
+        final BatchGenerator<S, T> generator;
+
+        final Consumer<? super S> stateConsumer;
+
+        volatile boolean cancelled;
+
+        S state;
+
+        boolean terminate;
+
+        /** The number of values the current generator invocation may still emit. */
+        long limit;
+
+        /** The number of values emitted by the current generator invocation. */
+        long emitted;
+
+        /** True if SYNC fusion is active and the generator output is buffered for poll(). */
+        boolean outputFused;
+
+        /** The values generated but not yet polled in SYNC fusion mode. */
+        Object[] buffer;
+
+        /** The index of the next value to poll from the buffer. */
+        int index;
+
+        /** The error signalled by the generator in SYNC fusion mode, thrown once the values are polled. */
+        Throwable error;
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<GenerateBatchSubscription> REQUESTED =
+          AtomicLongFieldUpdater.newUpdater(GenerateBatchSubscription.class, "requested");
+
+        public GenerateBatchSubscription(Subscriber<? super T> actual, S state,
+                                         BatchGenerator<S, T> generator, Consumer<? super S> stateConsumer) {
+            this.actual = actual;
+            this.state = state;
+            this.generator = generator;
+            this.stateConsumer = stateConsumer;
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (terminate || cancelled) {
+                return;
+            }
+            long e = emitted;
+            if (e == limit) {
+                onError(new IllegalStateException("The generator emitted more than the requested " + limit + " values"));
+                return;
+            }
+            if (t == null) {
+                onError(new NullPointerException("The generator produced a null value"));
+                return;
+            }
+            if (outputFused) {
+                buffer[(int)e] = t;
+            } else {
+                actual.onNext(t);
+            }
+            emitted = e + 1;
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (terminate) {
+                return;
+            }
+            terminate = true;
+            if (outputFused) {
+                error = e;
+            } else {
+                actual.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (terminate) {
+                return;
+            }
+            terminate = true;
+            if (!outputFused) {
+                actual.onComplete();
+            }
+        }
+
+        @Override
+        public void stop() {
+            if (terminate) {
+                return;
+            }
+            terminate = true;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (BackpressureHelper.addAndGet(REQUESTED, this, n) == 0) {
+                    drain(n);
+                }
+            }
+        }
+
+        void drain(long n) {
+            S s = state;
+
+            long e = 0L;
+
+            final BatchGenerator<S, T> g = generator;
+
+            for (; ; ) {
+                while (e != n) {
+
+                    if (cancelled) {
+                        cleanup(s);
+                        return;
+                    }
+
+                    long d = n == Long.MAX_VALUE ? Long.MAX_VALUE : n - e;
+                    limit = d;
+                    emitted = 0L;
+
+                    try {
+                        s = g.apply(s, d, this);
+                    } catch (Throwable ex) {
+                        cleanup(s);
+
+                        actual.onError(ex);
+                        return;
+                    }
+                    if (terminate || cancelled) {
+                        cleanup(s);
+                        return;
+                    }
+                    if (emitted == 0L) {
+                        cleanup(s);
+
+                        actual.onError(new IllegalStateException("The generator didn't call any of the " +
+                          "PublisherGenerateOutput method"));
+                        return;
+                    }
+
+                    if (n != Long.MAX_VALUE) {
+                        e += emitted;
+                    }
+                }
+
+                n = requested;
+
+                if (n == e) {
+                    state = s;
+                    n = REQUESTED.addAndGet(this, -e);
+                    e = 0L;
+                    if (n == 0L) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+
+                // in SYNC fusion mode poll() holds the requested counter while calling the generator
+                if (REQUESTED.getAndIncrement(this) == 0) {
+                    cleanup(state);
+                }
+            }
+        }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            if ((requestedMode & Fuseable.SYNC) != 0) {
+                outputFused = true;
+                buffer = new Object[PublisherBase.BUFFER_SIZE];
+                return Fuseable.SYNC;
+            }
+            return Fuseable.NONE;
+        }
+
+        @Override
+        public T poll() {
+            T v = peek();
+            if (v != null) {
+                buffer[index++] = null;
+            }
+            return v;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T peek() {
+            int i = index;
+            if (i == emitted) {
+                if (!terminate) {
+                    if (cancelled) {
+                        clear();
+                        return null;
+                    }
+                    generate();
+                    i = 0;
+                }
+                if (i == emitted) {
+                    Throwable e = error;
+                    if (e != null) {
+                        error = null;
+                        throw ExceptionHelper.propagate(e);
+                    }
+                    return null;
+                }
+            }
+            return (T)buffer[i];
+        }
+
+        /**
+         * Calls the generator once on behalf of poll() to refill the buffer and
+         * cleans up the state if the generator terminated.
+         */
+        void generate() {
+            index = 0;
+            limit = buffer.length;
+            emitted = 0L;
+
+            if (REQUESTED.getAndIncrement(this) != 0) {
+                // cancel() has already cleaned up the state
+                terminate = true;
+                return;
+            }
+
+            S s = state;
+
+            try {
+                s = generator.apply(s, limit, this);
+            } catch (Throwable ex) {
+                // the values emitted before the crash are polled before the error is thrown
+                if (terminate) {
+                    UnsignalledExceptions.onErrorDropped(ex);
+                } else {
+                    terminate = true;
+                    error = ex;
+                }
+                cleanup(s);
+                return;
+            }
+
+            if (terminate) {
+                cleanup(s);
+                return;
+            }
+            if (emitted == 0L) {
+                terminate = true;
+                cleanup(s);
+                throw new IllegalStateException("The generator didn't call any of the " +
+                  "PublisherGenerateOutput method");
+            }
+
+            state = s;
+
+            if (REQUESTED.decrementAndGet(this) != 0) {
+                // cancel() was called while the generator was running
+                terminate = true;
+                cleanup(s);
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public int size() {
+            if (isEmpty()) {
+                return 0;
+            }
+            return (int)(emitted - index);
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public void clear() {
+            if (outputFused) {
+                Object[] b = buffer;
+                for (int i = index; i < emitted; i++) {
+                    b[i] = null;
+                }
+                index = 0;
+                emitted = 0L;
+                if (!terminate) {
+                    terminate = true;
+                    if (REQUESTED.getAndIncrement(this) == 0) {
+                        cleanup(state);
+                    }
+                }
+            }
+        }
+
+        void cleanup(S s) {
+            try {
+                state = null;
+
+                stateConsumer.accept(s);
+            } catch (Throwable e) {
+                // FIXME this exception has nowhere to go
+            }
+        }
+    }
+}
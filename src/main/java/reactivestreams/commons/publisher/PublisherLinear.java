@@ -0,0 +1,42 @@
+package reactivestreams.commons.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Runs the upstream chain of map, filter, take and skip operators on top of a range,
+ * array, just or iterable source as a single subscription object instead of a
+ * subscription and a subscriber per stage.
+ * <p>
+ * The chain is resolved once when this operator is assembled; if it contains other
+ * operators or sources, the Subscribers subscribe to the upstream the regular way.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherLinear<T> extends PublisherSource<T, T> {
+
+    /** The resolved chain, null if the upstream can't be run as a single subscription. */
+    final LinearChain chain;
+
+    public PublisherLinear(Publisher<? extends T> source) {
+        super(source);
+        this.chain = LinearChain.resolve(source);
+    }
+
+    /**
+     * @return true if the upstream chain is run as a single subscription
+     */
+    public boolean isLinear() {
+        return chain != null;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        LinearChain c = chain;
+        if (c != null) {
+            c.subscribe(s);
+        } else {
+            source.subscribe(s);
+        }
+    }
+}
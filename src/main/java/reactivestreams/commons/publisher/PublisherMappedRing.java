@@ -0,0 +1,188 @@
+package reactivestreams.commons.publisher;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Requestable;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.MappedRingBuffer;
+import reactivestreams.commons.util.SubscriptionHelper;
+
+/**
+ * Emits the messages written into a {@link MappedRingBuffer}, typically by a
+ * {@link reactivestreams.commons.subscriber.MappedRingSubscriber} in another process, as heap
+ * {@link ByteBuffer}s.
+ * <p>
+ * A dedicated daemon thread polls the ring buffer and publishes the downstream requests
+ * through its shared demand counter, which the producer honors. The producer's failure is
+ * signalled as an {@link IllegalStateException} carrying its description, as soon as it is
+ * observed; cancellation is signalled back to the producer. Only a single subscriber is allowed.
+ */
+public final class PublisherMappedRing extends PublisherBase<ByteBuffer> {
+
+    static final AtomicLong COUNTER = new AtomicLong();
+
+    final MappedRingBuffer ring;
+
+    volatile int once;
+    static final AtomicIntegerFieldUpdater<PublisherMappedRing> ONCE =
+      AtomicIntegerFieldUpdater.newUpdater(PublisherMappedRing.class, "once");
+
+    public PublisherMappedRing(MappedRingBuffer ring) {
+        this.ring = Objects.requireNonNull(ring, "ring");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        if (once == 0 && ONCE.compareAndSet(this, 0, 1)) {
+            PublisherMappedRingSubscription parent = new PublisherMappedRingSubscription(s, ring);
+
+            Thread t = new Thread(parent, "rsc-ring-reader-" + COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            parent.thread = t;
+
+            s.onSubscribe(parent);
+
+            t.start();
+        } else {
+            EmptySubscription.error(s, new IllegalStateException("PublisherMappedRing allows only a single Subscriber"));
+        }
+    }
+
+    static final class PublisherMappedRingSubscription
+            implements Subscription, Runnable, Cancellable, Completable, Producer, Requestable {
+
+        final Subscriber<? super ByteBuffer> actual;
+
+        final MappedRingBuffer ring;
+
+        Thread thread;
+
+        /** The total amount requested by the downstream. */
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherMappedRingSubscription> REQUESTED =
+          AtomicLongFieldUpdater.newUpdater(PublisherMappedRingSubscription.class, "requested");
+
+        volatile boolean cancelled;
+
+        volatile boolean done;
+
+        public PublisherMappedRingSubscription(Subscriber<? super ByteBuffer> actual, MappedRingBuffer ring) {
+            this.actual = actual;
+            this.ring = ring;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addAndGet(REQUESTED, this, n);
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * The polling loop: publishes new demand, emits the available messages up to the demand
+         * and idles if there was nothing to do.
+         */
+        @Override
+        public void run() {
+            final Subscriber<? super ByteBuffer> a = actual;
+            final MappedRingBuffer rb = ring;
+
+            long published = 0L;
+            long emitted = 0L;
+            int idle = 0;
+
+            for (;;) {
+                if (cancelled) {
+                    rb.cancel();
+                    return;
+                }
+
+                long r = requested;
+                if (r != published) {
+                    rb.request(r == Long.MAX_VALUE ? Long.MAX_VALUE : r - published);
+                    published = r;
+                }
+
+                boolean progress = false;
+
+                while (emitted != r) {
+                    ByteBuffer m = rb.poll();
+                    if (m == null) {
+                        break;
+                    }
+
+                    a.onNext(m);
+
+                    if (cancelled) {
+                        rb.cancel();
+                        return;
+                    }
+
+                    emitted++;
+                    progress = true;
+                }
+
+                String error = rb.getError();
+                if (error != null) {
+                    done = true;
+                    a.onError(new IllegalStateException(error));
+                    return;
+                }
+
+                if (rb.isCompleted() && rb.isEmpty()) {
+                    done = true;
+                    a.onComplete();
+                    return;
+                }
+
+                idle = progress ? 0 : MappedRingBuffer.idle(idle);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+    }
+}
@@ -0,0 +1,610 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.MultiReceiver;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Backpressurable;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Failurable;
+import reactivestreams.commons.state.Introspectable;
+import reactivestreams.commons.state.Prefetchable;
+import reactivestreams.commons.state.Requestable;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Merges already sorted source Publishers into one sorted sequence by
+ * always emitting the smallest of the current source heads.
+ * <p>
+ * The heads are kept in a binary heap so picking the next value costs
+ * O(log n) comparisons. Values from different sources that compare equal
+ * are emitted in the order of the sources.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherMergeOrdered<T> extends PublisherBase<T> implements Introspectable, MultiReceiver {
+
+    final Publisher<? extends T>[] sources;
+
+    final Comparator<? super T> comparator;
+
+    final Supplier<? extends Queue<T>> queueSupplier;
+
+    final int prefetch;
+
+    public PublisherMergeOrdered(Publisher<? extends T>[] sources, Comparator<? super T> comparator,
+            Supplier<? extends Queue<T>> queueSupplier, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        this.sources = Objects.requireNonNull(sources, "sources");
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+        this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        Publisher<? extends T>[] srcs = sources;
+        int n = srcs.length;
+
+        if (n == 0) {
+            EmptySubscription.complete(s);
+            return;
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (srcs[i] == null) {
+                EmptySubscription.error(s, new NullPointerException("The sources contained a null Publisher"));
+                return;
+            }
+        }
+
+        PublisherMergeOrderedCoordinator<T> coordinator =
+                new PublisherMergeOrderedCoordinator<>(s, comparator, n, queueSupplier, prefetch);
+
+        s.onSubscribe(coordinator);
+
+        coordinator.subscribe(srcs, n);
+    }
+
+    @Override
+    public Iterator<?> upstreams() {
+        return Arrays.asList(sources).iterator();
+    }
+
+    @Override
+    public long upstreamCount() {
+        return sources.length;
+    }
+
+    static final class PublisherMergeOrderedCoordinator<T> implements Subscription, MultiReceiver, Cancellable,
+                                                                      Backpressurable, Completable, Requestable,
+                                                                      Failurable {
+
+        final Subscriber<? super T> actual;
+
+        final PublisherMergeOrderedInner<T>[] subscribers;
+
+        final Comparator<? super T> comparator;
+
+        /** The current head value of each source, null if not yet polled. */
+        final Object[] heads;
+
+        /** Binary min-heap of source indexes that have a head value. */
+        final int[] heap;
+
+        /** Indexes of sources that have no head value and haven't finished yet. */
+        final int[] missing;
+
+        int heapSize;
+
+        int missingSize;
+
+        volatile int wip;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherMergeOrderedCoordinator> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherMergeOrderedCoordinator.class, "wip");
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherMergeOrderedCoordinator> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(PublisherMergeOrderedCoordinator.class, "requested");
+
+        volatile Throwable error;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherMergeOrderedCoordinator, Throwable> ERROR =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherMergeOrderedCoordinator.class, Throwable.class, "error");
+
+        volatile boolean done;
+
+        volatile boolean cancelled;
+
+        public PublisherMergeOrderedCoordinator(Subscriber<? super T> actual, Comparator<? super T> comparator, int n,
+                Supplier<? extends Queue<T>> queueSupplier, int prefetch) {
+            this.actual = actual;
+            this.comparator = comparator;
+            @SuppressWarnings({ "rawtypes", "unchecked" })
+            PublisherMergeOrderedInner<T>[] a = new PublisherMergeOrderedInner[n];
+            int[] m = new int[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = new PublisherMergeOrderedInner<>(this, prefetch, i, queueSupplier);
+                m[i] = i;
+            }
+            this.subscribers = a;
+            this.heads = new Object[n];
+            this.heap = new int[n];
+            this.missing = m;
+            this.missingSize = n;
+        }
+
+        void subscribe(Publisher<? extends T>[] sources, int n) {
+            PublisherMergeOrderedInner<T>[] a = subscribers;
+            for (int i = 0; i < n; i++) {
+                if (done || cancelled || error != null) {
+                    return;
+                }
+                sources[i].subscribe(a[i]);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addAndGet(REQUESTED, this, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+
+                cancelAll();
+
+                if (WIP.getAndIncrement(this) == 0) {
+                    Arrays.fill(heads, null);
+                }
+            }
+        }
+
+        @Override
+        public long getCapacity() {
+            return upstreamCount();
+        }
+
+        @Override
+        public long getPending() {
+            return heapSize;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        public Iterator<?> upstreams() {
+            return Arrays.asList(subscribers).iterator();
+        }
+
+        @Override
+        public long upstreamCount() {
+            return subscribers.length;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+
+        void error(Throwable e) {
+            if (ExceptionHelper.addThrowable(ERROR, this, e)) {
+                drain();
+            } else {
+                UnsignalledExceptions.onErrorDropped(e);
+            }
+        }
+
+        void cancelAll() {
+            for (PublisherMergeOrderedInner<T> s : subscribers) {
+                s.cancel();
+            }
+        }
+
+        /**
+         * Polls a head value for each source that is missing one.
+         *
+         * @return true if every unfinished source has a head value
+         */
+        @SuppressWarnings("unchecked")
+        boolean fill() {
+            int[] m = missing;
+            int k = missingSize;
+            int j = 0;
+
+            for (int i = 0; i < k; i++) {
+                int index = m[i];
+                PublisherMergeOrderedInner<T> inner = subscribers[index];
+
+                boolean d = inner.done;
+                Queue<T> q = inner.queue;
+
+                T v = q != null ? q.poll() : null;
+
+                if (v != null) {
+                    heads[index] = v;
+                    offer(index);
+                } else
+                if (!d) {
+                    m[j++] = index;
+                }
+            }
+
+            missingSize = j;
+            return j == 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean less(int i, int j) {
+            int c = comparator.compare((T)heads[i], (T)heads[j]);
+            return c < 0 || (c == 0 && i < j);
+        }
+
+        void offer(int index) {
+            int[] h = heap;
+            int k = heapSize++;
+
+            while (k > 0) {
+                int p = (k - 1) >> 1;
+                int parent = h[p];
+                if (!less(index, parent)) {
+                    break;
+                }
+                h[k] = parent;
+                k = p;
+            }
+            h[k] = index;
+        }
+
+        int poll() {
+            int[] h = heap;
+            int result = h[0];
+            int n = --heapSize;
+
+            if (n != 0) {
+                int last = h[n];
+                int k = 0;
+                int half = n >> 1;
+
+                while (k < half) {
+                    int c = (k << 1) + 1;
+                    int child = h[c];
+                    int r = c + 1;
+                    if (r < n && less(h[r], child)) {
+                        c = r;
+                        child = h[r];
+                    }
+                    if (!less(child, last)) {
+                        break;
+                    }
+                    h[k] = child;
+                    k = c;
+                }
+                h[k] = last;
+            }
+            return result;
+        }
+
+        void drain() {
+
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+
+            final Subscriber<? super T> a = actual;
+            final Object[] hs = heads;
+
+            int missed = 1;
+
+            for (;;) {
+
+                long r = requested;
+                long e = 0L;
+
+                for (;;) {
+
+                    if (cancelled) {
+                        Arrays.fill(hs, null);
+                        return;
+                    }
+
+                    if (error != null) {
+                        cancelAll();
+                        Arrays.fill(hs, null);
+
+                        Throwable ex = ExceptionHelper.terminate(ERROR, this);
+
+                        a.onError(ex);
+
+                        return;
+                    }
+
+                    boolean ready;
+
+                    try {
+                        ready = fill();
+                    } catch (Throwable ex) {
+                        ExceptionHelper.throwIfFatal(ex);
+
+                        cancelAll();
+                        Arrays.fill(hs, null);
+
+                        ExceptionHelper.addThrowable(ERROR, this, ex);
+                        ex = ExceptionHelper.terminate(ERROR, this);
+
+                        a.onError(ex);
+
+                        return;
+                    }
+
+                    if (!ready) {
+                        break;
+                    }
+
+                    if (heapSize == 0) {
+                        done = true;
+
+                        a.onComplete();
+                        return;
+                    }
+
+                    if (e == r) {
+                        break;
+                    }
+
+                    int index;
+
+                    try {
+                        index = poll();
+                    } catch (Throwable ex) {
+                        ExceptionHelper.throwIfFatal(ex);
+
+                        cancelAll();
+                        Arrays.fill(hs, null);
+
+                        ExceptionHelper.addThrowable(ERROR, this, ex);
+                        ex = ExceptionHelper.terminate(ERROR, this);
+
+                        a.onError(ex);
+
+                        return;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    T v = (T)hs[index];
+                    hs[index] = null;
+                    missing[missingSize++] = index;
+
+                    a.onNext(v);
+
+                    subscribers[index].request(1);
+
+                    e++;
+                }
+
+                if (e != 0L && r != Long.MAX_VALUE) {
+                    REQUESTED.addAndGet(this, -e);
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    static final class PublisherMergeOrderedInner<T> implements Subscriber<T>,
+                                                                Backpressurable,
+                                                                Completable,
+                                                                Prefetchable, Receiver, Producer {
+
+        final PublisherMergeOrderedCoordinator<T> parent;
+
+        final int prefetch;
+
+        final int limit;
+
+        final int index;
+
+        final Supplier<? extends Queue<T>> queueSupplier;
+
+        volatile Queue<T> queue;
+
+        volatile Subscription s;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherMergeOrderedInner, Subscription> S =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherMergeOrderedInner.class, Subscription.class, "s");
+
+        long produced;
+
+        volatile boolean done;
+
+        int sourceMode;
+
+        /** Running with regular, arbitrary source. */
+        static final int NORMAL = 0;
+        /** Running with a source that implements SynchronousSource. */
+        static final int SYNC = 1;
+        /** Running with a source that implements AsynchronousSource. */
+        static final int ASYNC = 2;
+
+        volatile int once;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherMergeOrderedInner> ONCE =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherMergeOrderedInner.class, "once");
+
+        public PublisherMergeOrderedInner(PublisherMergeOrderedCoordinator<T> parent, int prefetch, int index,
+                Supplier<? extends Queue<T>> queueSupplier) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.index = index;
+            this.queueSupplier = queueSupplier;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(S, this, s)) {
+                if (s instanceof Fuseable.QueueSubscription) {
+                    Fuseable.QueueSubscription<T> f = (Fuseable.QueueSubscription<T>) s;
+
+                    int m = f.requestFusion(Fuseable.ANY);
+
+                    if (m == Fuseable.SYNC) {
+                        sourceMode = SYNC;
+                        queue = f;
+                        done = true;
+                        parent.drain();
+                        return;
+                    } else
+                    if (m == Fuseable.ASYNC) {
+                        sourceMode = ASYNC;
+                        queue = f;
+                        s.request(prefetch);
+                        return;
+                    }
+                }
+
+                try {
+                    queue = queueSupplier.get();
+                } catch (Throwable e) {
+                    ExceptionHelper.throwIfFatal(e);
+                    s.cancel();
+                    onError(e);
+                    return;
+                }
+
+                s.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (sourceMode != ASYNC) {
+                if (!queue.offer(t)) {
+                    cancel();
+                    onError(new IllegalStateException("Queue full?!"));
+                    return;
+                }
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (sourceMode != ASYNC || ONCE.compareAndSet(this, 0, 1)) {
+                parent.error(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public long getCapacity() {
+            return prefetch;
+        }
+
+        @Override
+        public long getPending() {
+            return queue != null ? queue.size() : -1;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done && (queue == null || queue.isEmpty());
+        }
+
+        @Override
+        public long expectedFromUpstream() {
+            return produced;
+        }
+
+        @Override
+        public long limit() {
+            return limit;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+
+        @Override
+        public Object downstream() {
+            return null;
+        }
+
+        void cancel() {
+            SubscriptionHelper.terminate(S, this);
+        }
+
+        void request(long n) {
+            if (sourceMode != SYNC) {
+                long p = produced + n;
+                if (p >= limit) {
+                    produced = 0L;
+                    s.request(p);
+                } else {
+                    produced = p;
+                }
+            }
+        }
+    }
+}
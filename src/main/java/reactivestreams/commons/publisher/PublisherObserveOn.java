@@ -24,9 +24,12 @@ import reactivestreams.commons.state.Failurable;
 import reactivestreams.commons.state.Prefetchable;
 import reactivestreams.commons.state.Requestable;
 import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.DrainTrace;
 import reactivestreams.commons.util.EmptySubscription;
 import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.PrefetchPolicy;
 import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.WorkerThreadAware;
 
 /**
  * Emits events on a different thread specified by a scheduler callback.
@@ -41,7 +44,7 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
     
     final Supplier<? extends Queue<T>> queueSupplier;
     
-    final int prefetch;
+    final PrefetchPolicy prefetchPolicy;
     
     public PublisherObserveOn(
             Publisher<? extends T> source, 
@@ -49,13 +52,19 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
             boolean delayError,
             int prefetch,
             Supplier<? extends Queue<T>> queueSupplier) {
+        this(source, schedulerFactory, delayError, PrefetchPolicy.fixed(prefetch), queueSupplier);
+    }
+
+    public PublisherObserveOn(
+            Publisher<? extends T> source, 
+            Callable<? extends Consumer<Runnable>> schedulerFactory, 
+            boolean delayError,
+            PrefetchPolicy prefetchPolicy,
+            Supplier<? extends Queue<T>> queueSupplier) {
         super(source);
-        if (prefetch <= 0) {
-            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
-        }
         this.schedulerFactory = Objects.requireNonNull(schedulerFactory, "schedulerFactory");
         this.delayError = delayError;
-        this.prefetch = prefetch;
+        this.prefetchPolicy = Objects.requireNonNull(prefetchPolicy, "prefetchPolicy");
         this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
     }
 
@@ -95,10 +104,21 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
         
         if (s instanceof Fuseable.ConditionalSubscriber) {
             Fuseable.ConditionalSubscriber<? super T> cs = (Fuseable.ConditionalSubscriber<? super T>) s;
-            source.subscribe(new PublisherObserveOnConditionalSubscriber<>(cs, scheduler, delayError, prefetch, queueSupplier));
+            source.subscribe(new PublisherObserveOnConditionalSubscriber<>(cs, scheduler, delayError, prefetchPolicy, queueSupplier));
             return;
         }
-        source.subscribe(new PublisherObserveOnSubscriber<>(s, scheduler, delayError, prefetch, queueSupplier));
+        source.subscribe(new PublisherObserveOnSubscriber<>(s, scheduler, delayError, prefetchPolicy, queueSupplier));
+    }
+
+    /**
+     * Checks if the current thread already runs tasks of the given worker, in which case
+     * the drain can run in place instead of being scheduled.
+     *
+     * @param scheduler the worker
+     * @return true if the thread hop can be skipped
+     */
+    static boolean isOnWorkerThread(Consumer<Runnable> scheduler) {
+        return scheduler instanceof WorkerThreadAware && ((WorkerThreadAware)scheduler).isOnWorkerThread();
     }
 
     @Override
@@ -124,9 +144,11 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
         
         final boolean delayError;
         
-        final int prefetch;
+        final PrefetchPolicy prefetchPolicy;
         
-        final int limit;
+        int prefetch;
+        
+        int limit;
         
         final Supplier<? extends Queue<T>> queueSupplier;
         
@@ -162,18 +184,15 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
                 Subscriber<? super T> actual,
                 Consumer<Runnable> scheduler,
                 boolean delayError,
-                int prefetch,
+                PrefetchPolicy prefetchPolicy,
                 Supplier<? extends Queue<T>> queueSupplier) {
             this.actual = actual;
             this.scheduler = scheduler;
             this.delayError = delayError;
-            this.prefetch = prefetch;
+            this.prefetchPolicy = prefetchPolicy;
+            this.prefetch = prefetchPolicy.initial();
             this.queueSupplier = queueSupplier;
-            if (prefetch != Integer.MAX_VALUE) {
-                this.limit = prefetch - (prefetch >> 2);
-            } else {
-                this.limit = Integer.MAX_VALUE;
-            }
+            this.limit = PrefetchPolicy.limit(prefetch);
         }
         
         @Override
@@ -288,10 +307,14 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
             if (WIP.getAndIncrement(this) != 0) {
                 return;
             }
-            scheduler.accept(this);
+            if (isOnWorkerThread(scheduler)) {
+                run();
+            } else {
+                scheduler.accept(this);
+            }
         }
 
-        void runSync() {
+        void runSync(DrainTrace trace) {
             int missed = 1;
 
             final Subscriber<? super T> a = actual;
@@ -327,6 +350,9 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
                     }
 
                     a.onNext(v);
+                    if (trace != null) {
+                        trace.next();
+                    }
 
                     e++;
                 }
@@ -369,7 +395,25 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
             }
         }
 
-        void runAsync() {
+        /**
+         * Computes the amount to request after consuming a limit's worth of items
+         * and adjusts the prefetch amount according to the policy.
+         * @param consumed the number of items consumed since the last replenishment
+         * @param q the queue of the not yet consumed items
+         * @return the amount to request from upstream
+         */
+        long replenish(long consumed, Queue<T> q) {
+            int p = prefetch;
+            int next = prefetchPolicy.next(p, q);
+            if (next != p) {
+                prefetch = next;
+                limit = PrefetchPolicy.limit(next);
+                return consumed + next - p;
+            }
+            return consumed;
+        }
+
+        void runAsync(DrainTrace trace) {
             int missed = 1;
 
             final Subscriber<? super T> a = actual;
@@ -409,13 +453,20 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
                     }
 
                     a.onNext(v);
+                    if (trace != null) {
+                        trace.next();
+                    }
 
                     e++;
                     if (e == limit) {
                         if (r != Long.MAX_VALUE) {
                             r = REQUESTED.addAndGet(this, -e);
                         }
-                        s.request(e);
+                        long n = replenish(e, q);
+                        if (trace != null) {
+                            trace.request(n);
+                        }
+                        s.request(n);
                         e = 0L;
                     }
                 }
@@ -456,10 +507,18 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
 
         @Override
         public void run() {
-            if (sourceMode == SYNC) {
-                runSync();
-            } else {
-                runAsync();
+            // a fused upstream queue may run user code in size(), so only the own queue is measured
+            DrainTrace trace = DrainTrace.begin(this, sourceMode == Fuseable.NONE ? queue : null);
+            try {
+                if (sourceMode == SYNC) {
+                    runSync(trace);
+                } else {
+                    runAsync(trace);
+                }
+            } finally {
+                if (trace != null) {
+                    trace.end();
+                }
             }
         }
 
@@ -577,9 +636,11 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
         
         final boolean delayError;
         
-        final int prefetch;
+        final PrefetchPolicy prefetchPolicy;
         
-        final int limit;
+        int prefetch;
+        
+        int limit;
 
         final Supplier<? extends Queue<T>> queueSupplier;
         
@@ -617,18 +678,15 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
                 Fuseable.ConditionalSubscriber<? super T> actual,
                 Consumer<Runnable> scheduler,
                 boolean delayError,
-                int prefetch,
+                PrefetchPolicy prefetchPolicy,
                 Supplier<? extends Queue<T>> queueSupplier) {
             this.actual = actual;
             this.scheduler = scheduler;
             this.delayError = delayError;
-            this.prefetch = prefetch;
+            this.prefetchPolicy = prefetchPolicy;
+            this.prefetch = prefetchPolicy.initial();
             this.queueSupplier = queueSupplier;
-            if (prefetch != Integer.MAX_VALUE) {
-                this.limit = prefetch - (prefetch >> 2);
-            } else {
-                this.limit = Integer.MAX_VALUE;
-            }
+            this.limit = PrefetchPolicy.limit(prefetch);
         }
         
         @Override
@@ -744,10 +802,14 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
                 return;
             }
             
-            scheduler.accept(this);
+            if (isOnWorkerThread(scheduler)) {
+                run();
+            } else {
+                scheduler.accept(this);
+            }
         }
         
-        void runSync() {
+        void runSync(DrainTrace trace) {
             int missed = 1;
             
             final Fuseable.ConditionalSubscriber<? super T> a = actual;
@@ -783,6 +845,9 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
                     
                     if (a.tryOnNext(v)) {
                         e++;
+                        if (trace != null) {
+                            trace.next();
+                        }
                     }
                 }
                 
@@ -824,7 +889,25 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
             }
         }
         
-        void runAsync() {
+        /**
+         * Computes the amount to request after consuming a limit's worth of items
+         * and adjusts the prefetch amount according to the policy.
+         * @param consumed the number of items consumed since the last replenishment
+         * @param q the queue of the not yet consumed items
+         * @return the amount to request from upstream
+         */
+        long replenish(long consumed, Queue<T> q) {
+            int p = prefetch;
+            int next = prefetchPolicy.next(p, q);
+            if (next != p) {
+                prefetch = next;
+                limit = PrefetchPolicy.limit(next);
+                return consumed + next - p;
+            }
+            return consumed;
+        }
+
+        void runAsync(DrainTrace trace) {
             int missed = 1;
             
             final Fuseable.ConditionalSubscriber<? super T> a = actual;
@@ -864,12 +947,19 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
 
                     if (a.tryOnNext(v)) {
                         emitted++;
+                        if (trace != null) {
+                            trace.next();
+                        }
                     }
                     
                     polled++;
                     
                     if (polled == limit) {
-                        s.request(polled);
+                        long n = replenish(polled, q);
+                        if (trace != null) {
+                            trace.request(n);
+                        }
+                        s.request(n);
                         polled = 0L;
                     }
                 }
@@ -912,10 +1002,18 @@ public final class PublisherObserveOn<T> extends PublisherSource<T, T> implement
         
         @Override
         public void run() {
-            if (sourceMode == SYNC) {
-                runSync();
-            } else {
-                runAsync();
+            // a fused upstream queue may run user code in size(), so only the own queue is measured
+            DrainTrace trace = DrainTrace.begin(this, sourceMode == Fuseable.NONE ? queue : null);
+            try {
+                if (sourceMode == SYNC) {
+                    runSync(trace);
+                } else {
+                    runAsync(trace);
+                }
+            } finally {
+                if (trace != null) {
+                    trace.end();
+                }
             }
         }
 
@@ -0,0 +1,246 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.subscriber.DeferredScalarSubscriber;
+import reactivestreams.commons.util.ExceptionHelper;
+
+/**
+ * Collects the values of the source sequence into containers returned by a supplier
+ * and emits the final container, splitting the work among the workers of the common
+ * {@link ForkJoinPool} if the source is a sized, random access sequence.
+ * <p>
+ * The splittable sources are {@link PublisherArray}, {@link PublisherRange} and
+ * {@link PublisherIterable} over a random access {@link java.util.List}; their index
+ * range is partitioned, each partition is collected into its own container and the
+ * combiner merges the right container into the left one. Any other source is collected
+ * sequentially via {@link PublisherCollect}, not calling the combiner at all.
+ * <p>
+ * Since the containers are merged in index order, the result matches the sequential
+ * collection as long as the combiner is consistent with the collector action.
+ *
+ * @param <T> the source value type
+ * @param <R> the container value type
+ */
+public final class PublisherParallelCollect<T, R> extends PublisherSource<T, R> {
+
+    /** The default minimum number of elements processed by a single leaf task. */
+    public static final int DEFAULT_MIN_PARTITION_SIZE = 4096;
+
+    final Supplier<R> supplier;
+
+    final BiConsumer<? super R, ? super T> action;
+
+    final BiConsumer<? super R, ? super R> combiner;
+
+    final int minPartitionSize;
+
+    public PublisherParallelCollect(Publisher<? extends T> source, Supplier<R> supplier,
+                                    BiConsumer<? super R, ? super T> action, BiConsumer<? super R, ? super R> combiner) {
+        this(source, supplier, action, combiner, DEFAULT_MIN_PARTITION_SIZE);
+    }
+
+    public PublisherParallelCollect(Publisher<? extends T> source, Supplier<R> supplier,
+                                    BiConsumer<? super R, ? super T> action, BiConsumer<? super R, ? super R> combiner,
+                                   int minPartitionSize) {
+        super(source);
+        if (minPartitionSize <= 0) {
+            throw new IllegalArgumentException("minPartitionSize > 0 required but it was " + minPartitionSize);
+        }
+        this.supplier = Objects.requireNonNull(supplier, "supplier");
+        this.action = Objects.requireNonNull(action, "action");
+        this.combiner = Objects.requireNonNull(combiner, "combiner");
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> s) {
+        IndexedSource<T> indexed = IndexedSource.of(source);
+
+        if (indexed == null) {
+            new PublisherCollect<>(source, supplier, action).subscribe(s);
+            return;
+        }
+
+        int partitionSize = indexed.partitionSize(minPartitionSize);
+
+        PublisherParallelCollectSubscription<T, R> parent = new PublisherParallelCollectSubscription<>(s, indexed,
+                supplier, action, combiner, partitionSize);
+
+        s.onSubscribe(parent);
+
+        if (parent.isCancelled()) {
+            return;
+        }
+
+        if (indexed.size <= partitionSize) {
+            parent.run();
+        } else {
+            ForkJoinPool.commonPool().execute(parent);
+        }
+    }
+
+    static final class PublisherParallelCollectSubscription<T, R>
+            extends DeferredScalarSubscriber<T, R>
+            implements Runnable {
+
+        final IndexedSource<T> indexed;
+
+        final Supplier<R> supplier;
+
+        final BiConsumer<? super R, ? super T> action;
+
+        final BiConsumer<? super R, ? super R> combiner;
+
+        final int partitionSize;
+
+        volatile Throwable error;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherParallelCollectSubscription, Throwable> ERROR =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherParallelCollectSubscription.class, Throwable.class, "error");
+
+        public PublisherParallelCollectSubscription(Subscriber<? super R> actual, IndexedSource<T> indexed,
+                                                    Supplier<R> supplier, BiConsumer<? super R, ? super T> action,
+                                                    BiConsumer<? super R, ? super R> combiner, int partitionSize) {
+            super(actual);
+            this.indexed = indexed;
+            this.supplier = supplier;
+            this.action = action;
+            this.combiner = combiner;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        public void run() {
+            R v = new CollectTask<>(this, 0, indexed.size).invoke();
+
+            if (isCancelled()) {
+                return;
+            }
+
+            Throwable e = error;
+            if (e != null) {
+                subscriber.onError(e);
+                return;
+            }
+
+            complete(v);
+        }
+
+        boolean isStopped() {
+            return error != null || isCancelled();
+        }
+
+        void fail(Throwable e) {
+            ExceptionHelper.throwIfFatal(e);
+            ERROR.compareAndSet(this, null, ExceptionHelper.unwrap(e));
+        }
+
+        /**
+         * Collects the elements of the given index range into a new container.
+         *
+         * @param from the start index, inclusive
+         * @param to the end index, exclusive
+         * @return the container or null if the sequence failed or was cancelled
+         */
+        R collect(int from, int to) {
+            R c;
+
+            try {
+                c = supplier.get();
+            } catch (Throwable e) {
+                fail(e);
+                return null;
+            }
+
+            if (c == null) {
+                fail(new NullPointerException("The supplier returned a null container"));
+                return null;
+            }
+
+            final IndexedSource<T> src = indexed;
+            final BiConsumer<? super R, ? super T> f = action;
+
+            for (int i = from; i < to; i++) {
+                if ((i & 1023) == 0 && isStopped()) {
+                    return null;
+                }
+
+                try {
+                    f.accept(c, src.get(i));
+                } catch (Throwable e) {
+                    fail(e);
+                    return null;
+                }
+            }
+
+            return c;
+        }
+
+        R combine(R left, R right) {
+            if (left == null || right == null || isStopped()) {
+                return null;
+            }
+
+            try {
+                combiner.accept(left, right);
+            } catch (Throwable e) {
+                fail(e);
+                return null;
+            }
+
+            return left;
+        }
+
+        @Override
+        public Object upstream() {
+            return indexed;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return action;
+        }
+    }
+
+    static final class CollectTask<T, R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 5386432904361264818L;
+
+        final PublisherParallelCollectSubscription<T, R> parent;
+
+        final int from;
+
+        final int to;
+
+        CollectTask(PublisherParallelCollectSubscription<T, R> parent, int from, int to) {
+            this.parent = parent;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            PublisherParallelCollectSubscription<T, R> p = parent;
+            if (to - from <= p.partitionSize) {
+                return p.collect(from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+
+            CollectTask<T, R> left = new CollectTask<>(p, from, mid);
+            left.fork();
+
+            R r = new CollectTask<>(p, mid, to).compute();
+            R l = left.join();
+
+            return p.combine(l, r);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.subscriber.DeferredScalarSubscriber;
+import reactivestreams.commons.util.ExceptionHelper;
+
+/**
+ * Aggregates the source values with the help of an accumulator function and emits
+ * the final accumulated value, splitting the work among the workers of the common
+ * {@link ForkJoinPool} if the source is a sized, random access sequence.
+ * <p>
+ * The splittable sources are {@link PublisherArray}, {@link PublisherRange} and
+ * {@link PublisherIterable} over a random access {@link java.util.List}; their index
+ * range is partitioned, each partition is accumulated starting from a fresh initial value
+ * and the partial results are merged with the combiner function. Any other source is
+ * reduced sequentially via {@link PublisherReduce}, not calling the combiner at all.
+ * <p>
+ * The accumulator and combiner functions have to be associative and the initial
+ * value has to be an identity for the combiner, otherwise the result depends on the
+ * partitioning.
+ *
+ * @param <T> the source value type
+ * @param <R> the accumulated result type
+ */
+public final class PublisherParallelReduce<T, R> extends PublisherSource<T, R> {
+
+    /** The default minimum number of elements processed by a single leaf task. */
+    public static final int DEFAULT_MIN_PARTITION_SIZE = 4096;
+
+    final Supplier<R> initialSupplier;
+
+    final BiFunction<R, ? super T, R> accumulator;
+
+    final BiFunction<R, R, R> combiner;
+
+    final int minPartitionSize;
+
+    public PublisherParallelReduce(Publisher<? extends T> source, Supplier<R> initialSupplier,
+                                   BiFunction<R, ? super T, R> accumulator, BiFunction<R, R, R> combiner) {
+        this(source, initialSupplier, accumulator, combiner, DEFAULT_MIN_PARTITION_SIZE);
+    }
+
+    public PublisherParallelReduce(Publisher<? extends T> source, Supplier<R> initialSupplier,
+                                   BiFunction<R, ? super T, R> accumulator, BiFunction<R, R, R> combiner,
+                                   int minPartitionSize) {
+        super(source);
+        if (minPartitionSize <= 0) {
+            throw new IllegalArgumentException("minPartitionSize > 0 required but it was " + minPartitionSize);
+        }
+        this.initialSupplier = Objects.requireNonNull(initialSupplier, "initialSupplier");
+        this.accumulator = Objects.requireNonNull(accumulator, "accumulator");
+        this.combiner = Objects.requireNonNull(combiner, "combiner");
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> s) {
+        IndexedSource<T> indexed = IndexedSource.of(source);
+
+        if (indexed == null) {
+            new PublisherReduce<>(source, initialSupplier, accumulator).subscribe(s);
+            return;
+        }
+
+        int partitionSize = indexed.partitionSize(minPartitionSize);
+
+        PublisherParallelReduceSubscription<T, R> parent = new PublisherParallelReduceSubscription<>(s, indexed,
+                initialSupplier, accumulator, combiner, partitionSize);
+
+        s.onSubscribe(parent);
+
+        if (parent.isCancelled()) {
+            return;
+        }
+
+        if (indexed.size <= partitionSize) {
+            parent.run();
+        } else {
+            ForkJoinPool.commonPool().execute(parent);
+        }
+    }
+
+    static final class PublisherParallelReduceSubscription<T, R>
+            extends DeferredScalarSubscriber<T, R>
+            implements Runnable {
+
+        final IndexedSource<T> indexed;
+
+        final Supplier<R> initialSupplier;
+
+        final BiFunction<R, ? super T, R> accumulator;
+
+        final BiFunction<R, R, R> combiner;
+
+        final int partitionSize;
+
+        volatile Throwable error;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherParallelReduceSubscription, Throwable> ERROR =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherParallelReduceSubscription.class, Throwable.class, "error");
+
+        public PublisherParallelReduceSubscription(Subscriber<? super R> actual, IndexedSource<T> indexed,
+                                                   Supplier<R> initialSupplier, BiFunction<R, ? super T, R> accumulator,
+                                                   BiFunction<R, R, R> combiner, int partitionSize) {
+            super(actual);
+            this.indexed = indexed;
+            this.initialSupplier = initialSupplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        public void run() {
+            R v = new ReduceTask<>(this, 0, indexed.size).invoke();
+
+            if (isCancelled()) {
+                return;
+            }
+
+            Throwable e = error;
+            if (e != null) {
+                subscriber.onError(e);
+                return;
+            }
+
+            complete(v);
+        }
+
+        boolean isStopped() {
+            return error != null || isCancelled();
+        }
+
+        void fail(Throwable e) {
+            ExceptionHelper.throwIfFatal(e);
+            ERROR.compareAndSet(this, null, ExceptionHelper.unwrap(e));
+        }
+
+        /**
+         * Accumulates the elements of the given index range.
+         *
+         * @param from the start index, inclusive
+         * @param to the end index, exclusive
+         * @return the partial result or null if the sequence failed or was cancelled
+         */
+        R reduce(int from, int to) {
+            R v;
+
+            try {
+                v = initialSupplier.get();
+            } catch (Throwable e) {
+                fail(e);
+                return null;
+            }
+
+            if (v == null) {
+                fail(new NullPointerException("The initial value supplied is null"));
+                return null;
+            }
+
+            final IndexedSource<T> src = indexed;
+            final BiFunction<R, ? super T, R> f = accumulator;
+
+            for (int i = from; i < to; i++) {
+                if ((i & 1023) == 0 && isStopped()) {
+                    return null;
+                }
+
+                try {
+                    v = f.apply(v, src.get(i));
+                } catch (Throwable e) {
+                    fail(e);
+                    return null;
+                }
+
+                if (v == null) {
+                    fail(new NullPointerException("The accumulator returned a null value"));
+                    return null;
+                }
+            }
+
+            return v;
+        }
+
+        R combine(R left, R right) {
+            if (left == null || right == null || isStopped()) {
+                return null;
+            }
+
+            R v;
+
+            try {
+                v = combiner.apply(left, right);
+            } catch (Throwable e) {
+                fail(e);
+                return null;
+            }
+
+            if (v == null) {
+                fail(new NullPointerException("The combiner returned a null value"));
+                return null;
+            }
+
+            return v;
+        }
+
+        @Override
+        public Object upstream() {
+            return indexed;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return accumulator;
+        }
+    }
+
+    static final class ReduceTask<T, R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = -1672316519339624187L;
+
+        final PublisherParallelReduceSubscription<T, R> parent;
+
+        final int from;
+
+        final int to;
+
+        ReduceTask(PublisherParallelReduceSubscription<T, R> parent, int from, int to) {
+            this.parent = parent;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            PublisherParallelReduceSubscription<T, R> p = parent;
+            if (to - from <= p.partitionSize) {
+                return p.reduce(from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+
+            ReduceTask<T, R> left = new ReduceTask<>(p, from, mid);
+            left.fork();
+
+            R r = new ReduceTask<>(p, mid, to).compute();
+            R l = left.join();
+
+            return p.combine(l, r);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.publisher.PublisherRetryBackoff.BackoffSubscriber;
+
+/**
+ * Resubscribes to the source sequence after an exponentially growing delay when it
+ * completes, at most a given number of times; suitable for polling loops.
+ * <p>
+ * The n-th consecutive repeat without items is delayed by firstDelay * 2^(n - 1), capped
+ * at maxDelay, and randomized by +/- jitter times the delay. The delay is reset once
+ * the source emits an item, thus a poll returning data is followed by the shortest delay. The maxRepeats == Long.MAX_VALUE is treated as infinite repeat.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherRepeatBackoff<T> extends PublisherSource<T, T> {
+
+    final long maxRepeats;
+
+    final long firstDelay;
+
+    final long maxDelay;
+
+    final TimeUnit unit;
+
+    final double jitter;
+
+    final ScheduledExecutorService executor;
+
+    public PublisherRepeatBackoff(Publisher<? extends T> source, long maxRepeats, long firstDelay, long maxDelay,
+                                  TimeUnit unit, double jitter, ScheduledExecutorService executor) {
+        super(source);
+        PublisherRetryBackoff.validate("maxRepeats", maxRepeats, firstDelay, maxDelay, jitter);
+        this.maxRepeats = maxRepeats;
+        this.firstDelay = firstDelay;
+        this.maxDelay = maxDelay;
+        this.unit = Objects.requireNonNull(unit, "unit");
+        this.jitter = jitter;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        PublisherRepeatBackoffSubscriber<T> parent = new PublisherRepeatBackoffSubscriber<>(source, s, maxRepeats,
+                unit.toNanos(firstDelay), unit.toNanos(maxDelay), jitter, executor);
+
+        s.onSubscribe(parent);
+
+        if (!parent.isCancelled()) {
+            source.subscribe(parent);
+        }
+    }
+
+    static final class PublisherRepeatBackoffSubscriber<T> extends BackoffSubscriber<T> {
+
+        public PublisherRepeatBackoffSubscriber(Publisher<? extends T> source, Subscriber<? super T> actual,
+                                                long maxRepeats, long firstNanos, long maxNanos, double jitter,
+                                                ScheduledExecutorService executor) {
+            super(source, actual, maxRepeats, firstNanos, maxNanos, jitter, executor);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!resubscribeLater()) {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.subscriber.MultiSubscriptionSubscriber;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Resubscribes to the source sequence after an exponentially growing delay if it
+ * signals an error, at most a given number of times.
+ * <p>
+ * The n-th consecutive retry without items is delayed by firstDelay * 2^(n - 1), capped
+ * at maxDelay, and randomized by +/- jitter times the delay. The delay is reset once the
+ * source emits an item. The maxRetries == Long.MAX_VALUE is treated as infinite retry.
+ * <p>
+ * Unlike {@link PublisherRetryWhen}, the resubscription is driven by the subscriber
+ * itself which occupies a single timer slot at a time, thus no companion processor
+ * is involved.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherRetryBackoff<T> extends PublisherSource<T, T> {
+
+    final long maxRetries;
+
+    final long firstDelay;
+
+    final long maxDelay;
+
+    final TimeUnit unit;
+
+    final double jitter;
+
+    final ScheduledExecutorService executor;
+
+    public PublisherRetryBackoff(Publisher<? extends T> source, long maxRetries, long firstDelay, long maxDelay,
+                                 TimeUnit unit, double jitter, ScheduledExecutorService executor) {
+        super(source);
+        validate("maxRetries", maxRetries, firstDelay, maxDelay, jitter);
+        this.maxRetries = maxRetries;
+        this.firstDelay = firstDelay;
+        this.maxDelay = maxDelay;
+        this.unit = Objects.requireNonNull(unit, "unit");
+        this.jitter = jitter;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    static void validate(String name, long maxAttempts, long firstDelay, long maxDelay, double jitter) {
+        if (maxAttempts < 0L) {
+            throw new IllegalArgumentException(name + " >= 0 required but it was " + maxAttempts);
+        }
+        if (firstDelay < 0L) {
+            throw new IllegalArgumentException("firstDelay >= 0 required but it was " + firstDelay);
+        }
+        if (maxDelay < firstDelay) {
+            throw new IllegalArgumentException("maxDelay >= firstDelay required but it was " + maxDelay);
+        }
+        if (!(jitter >= 0d && jitter <= 1d)) {
+            throw new IllegalArgumentException("0 <= jitter <= 1 required but it was " + jitter);
+        }
+    }
+
+    /**
+     * Computes the delay before the given consecutive attempt.
+     *
+     * @param attempt the attempt number, starting from 1
+     * @param firstNanos the delay of the first attempt in nanoseconds
+     * @param maxNanos the maximum delay in nanoseconds
+     * @param jitter the randomization factor between 0 and 1
+     * @return the delay in nanoseconds
+     */
+    static long backoffNanos(long attempt, long firstNanos, long maxNanos, double jitter) {
+        long delay;
+        int shift = (int)Math.min(attempt - 1, 62L);
+        if (firstNanos > (maxNanos >> shift)) {
+            delay = maxNanos;
+        } else {
+            delay = firstNanos << shift;
+        }
+
+        if (jitter != 0d && delay != 0L) {
+            double f = 1d + jitter * (2d * ThreadLocalRandom.current().nextDouble() - 1d);
+            delay = Math.min((long)(delay * f), maxNanos);
+        }
+        return delay;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        PublisherRetryBackoffSubscriber<T> parent = new PublisherRetryBackoffSubscriber<>(source, s, maxRetries,
+                unit.toNanos(firstDelay), unit.toNanos(maxDelay), jitter, executor);
+
+        s.onSubscribe(parent);
+
+        if (!parent.isCancelled()) {
+            source.subscribe(parent);
+        }
+    }
+
+    /**
+     * Base class of the backoff-resubscribing subscribers: relays the values of the
+     * current subscription and resubscribes from the single timer task.
+     *
+     * @param <T> the value type
+     */
+    static abstract class BackoffSubscriber<T> extends MultiSubscriptionSubscriber<T, T>
+    implements Runnable {
+
+        final Publisher<? extends T> source;
+
+        final long maxAttempts;
+
+        final long firstNanos;
+
+        final long maxNanos;
+
+        final double jitter;
+
+        final ScheduledExecutorService executor;
+
+        /** The number of resubscriptions so far. */
+        long attempts;
+
+        /** The number of consecutive resubscriptions since the last item. */
+        long backoff;
+
+        long produced;
+
+        volatile Future<?> future;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<BackoffSubscriber, Future> FUTURE =
+          AtomicReferenceFieldUpdater.newUpdater(BackoffSubscriber.class, Future.class, "future");
+
+        static final Future<?> CANCELLED = new FutureTask<>(() -> { }, null);
+
+        public BackoffSubscriber(Publisher<? extends T> source, Subscriber<? super T> actual, long maxAttempts,
+                                 long firstNanos, long maxNanos, double jitter, ScheduledExecutorService executor) {
+            super(actual);
+            this.source = source;
+            this.maxAttempts = maxAttempts;
+            this.firstNanos = firstNanos;
+            this.maxNanos = maxNanos;
+            this.jitter = jitter;
+            this.executor = executor;
+        }
+
+        @Override
+        public void onNext(T t) {
+            produced++;
+
+            subscriber.onNext(t);
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+
+            Future<?> a = future;
+            if (a != CANCELLED) {
+                a = FUTURE.getAndSet(this, CANCELLED);
+                if (a != null && a != CANCELLED) {
+                    a.cancel(false);
+                }
+            }
+        }
+
+        /**
+         * Schedules the next resubscription if there are attempts left.
+         *
+         * @return false if the attempts have been exhausted
+         */
+        final boolean resubscribeLater() {
+            long a = attempts;
+            if (maxAttempts != Long.MAX_VALUE) {
+                if (a == maxAttempts) {
+                    return false;
+                }
+                attempts = a + 1;
+            }
+
+            long b = produced != 0L ? 1L : backoff + 1;
+            backoff = b;
+
+            long delay = backoffNanos(b, firstNanos, maxNanos, jitter);
+
+            Future<?> f;
+            try {
+                f = executor.schedule(this, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ex) {
+                if (!isCancelled()) {
+                    subscriber.onError(ex);
+                } else {
+                    UnsignalledExceptions.onErrorDropped(ex);
+                }
+                return true;
+            }
+
+            for (;;) {
+                Future<?> c = future;
+                if (c == CANCELLED) {
+                    f.cancel(false);
+                    return true;
+                }
+                if (FUTURE.compareAndSet(this, c, f)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled()) {
+                return;
+            }
+
+            long c = produced;
+            if (c != 0L) {
+                produced = 0L;
+                produced(c);
+            }
+
+            source.subscribe(this);
+        }
+    }
+
+    static final class PublisherRetryBackoffSubscriber<T> extends BackoffSubscriber<T> {
+
+        public PublisherRetryBackoffSubscriber(Publisher<? extends T> source, Subscriber<? super T> actual,
+                                               long maxRetries, long firstNanos, long maxNanos, double jitter,
+                                               ScheduledExecutorService executor) {
+            super(source, actual, maxRetries, firstNanos, maxNanos, jitter, executor);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!resubscribeLater()) {
+                subscriber.onError(t);
+            }
+        }
+    }
+}
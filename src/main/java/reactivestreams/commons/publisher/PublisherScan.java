@@ -22,6 +22,9 @@ import java.util.function.BiFunction;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.QueueSubscription;
+import reactivestreams.commons.flow.Fuseable.SynchronousSubscription;
 import reactivestreams.commons.flow.Loopback;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.flow.Receiver;
@@ -66,6 +69,7 @@ public final class PublisherScan<T, R> extends PublisherSource<T, R> {
     }
 
     static final class PublisherScanSubscriber<T, R>
+      extends SynchronousSubscription<R>
       implements Subscriber<T>, Subscription, Producer, Receiver, Requestable, Loopback, Completable {
 
         final Subscriber<? super R> actual;
@@ -74,6 +78,13 @@ public final class PublisherScan<T, R> extends PublisherSource<T, R> {
 
         Subscription s;
 
+        /** The upstream if it supports fusion, null otherwise. */
+        QueueSubscription<T> qs;
+
+        /** The fusion mode established with the upstream. */
+        int sourceMode;
+
+        /** The value to emit next; null once the last value has been polled in fused mode. */
         R value;
 
         boolean done;
@@ -100,10 +111,14 @@ public final class PublisherScan<T, R> extends PublisherSource<T, R> {
             this.value = initialValue;
         }
 
+        @SuppressWarnings("unchecked")
         @Override
         public void onSubscribe(Subscription s) {
             if (SubscriptionHelper.validate(this.s, s)) {
                 this.s = s;
+                if (s instanceof QueueSubscription) {
+                    this.qs = (QueueSubscription<T>)s;
+                }
 
                 actual.onSubscribe(this);
             }
@@ -116,6 +131,11 @@ public final class PublisherScan<T, R> extends PublisherSource<T, R> {
                 return;
             }
 
+            if (sourceMode == Fuseable.ASYNC) {
+                actual.onNext(null);
+                return;
+            }
+
             R r = value;
 
             actual.onNext(r);
@@ -161,6 +181,11 @@ public final class PublisherScan<T, R> extends PublisherSource<T, R> {
             }
             done = true;
 
+            if (sourceMode == Fuseable.ASYNC) {
+                actual.onComplete();
+                return;
+            }
+
             R v = value;
 
             for (; ; ) {
@@ -251,5 +276,77 @@ public final class PublisherScan<T, R> extends PublisherSource<T, R> {
         public Object upstream() {
             return s;
         }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            QueueSubscription<T> a = qs;
+            if (a != null) {
+                int m = a.requestFusion(requestedMode);
+                sourceMode = m;
+                return m;
+            }
+            return Fuseable.NONE;
+        }
+
+        @Override
+        public R poll() {
+            R r = value;
+            if (r == null) {
+                return null;
+            }
+
+            boolean d = sourceMode == Fuseable.SYNC || done;
+
+            T t = qs.poll();
+
+            if (t == null) {
+                if (d) {
+                    // the source is exhausted, the last aggregate is the final value
+                    value = null;
+                    return r;
+                }
+                return null;
+            }
+
+            R u = accumulator.apply(r, t);
+            if (u == null) {
+                throw new NullPointerException("The accumulator returned a null value");
+            }
+            value = u;
+            return r;
+        }
+
+        @Override
+        public R peek() {
+            R r = value;
+            if (r == null) {
+                return null;
+            }
+            if (sourceMode == Fuseable.ASYNC && !done && qs.isEmpty()) {
+                return null;
+            }
+            return r;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public void clear() {
+            value = null;
+            qs.clear();
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public int size() {
+            return value != null ? qs.size() + 1 : 0;
+        }
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.publisher.PublisherScan.PublisherScanSubscriber;
+
+/**
+ * Aggregates the source values with the help of an accumulator function
+ * and emits the intermediate results.
+ * <p>
+ * This variant allows composing fuseable stages.
+ *
+ * @param <T> the source value type
+ * @param <R> the aggregate type
+ */
+public final class PublisherScanFuseable<T, R> extends PublisherSource<T, R>
+        implements Fuseable {
+
+    final BiFunction<R, ? super T, R> accumulator;
+
+    final R initialValue;
+
+    public PublisherScanFuseable(Publisher<? extends T> source, R initialValue, BiFunction<R, ? super T, R> accumulator) {
+        super(source);
+        if (!(source instanceof Fuseable)) {
+            throw new IllegalArgumentException("The source must implement the Fuseable interface for this operator to work");
+        }
+        this.accumulator = Objects.requireNonNull(accumulator, "accumulator");
+        this.initialValue = Objects.requireNonNull(initialValue, "initialValue");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> s) {
+        source.subscribe(new PublisherScanSubscriber<>(s, accumulator, initialValue));
+    }
+}
@@ -20,8 +20,11 @@ import java.util.Objects;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.publisher.PublisherSkipFuseable.PublisherSkipFuseableSubscriber;
 import reactivestreams.commons.state.Backpressurable;
 import reactivestreams.commons.state.Completable;
 import reactivestreams.commons.state.Prefetchable;
@@ -55,12 +58,18 @@ public final class PublisherSkip<T> extends PublisherSource<T, T> {
     public void subscribe(Subscriber<? super T> s) {
         if (n == 0) {
             source.subscribe(s);
+        } else
+        if (source instanceof Fuseable) {
+            source.subscribe(new PublisherSkipFuseableSubscriber<>(s, n));
+        } else
+        if (s instanceof ConditionalSubscriber) {
+            source.subscribe(new PublisherSkipConditionalSubscriber<>((ConditionalSubscriber<? super T>)s, n));
         } else {
             source.subscribe(new PublisherSkipSubscriber<>(s, n));
         }
     }
 
-    static final class PublisherSkipSubscriber<T> implements Subscriber<T>, Receiver, Producer, Prefetchable,
+    static final class PublisherSkipSubscriber<T> implements ConditionalSubscriber<T>, Receiver, Producer, Prefetchable,
                                                              Backpressurable, Completable, Subscription {
 
         final Subscriber<? super T> actual;
@@ -98,6 +107,128 @@ public final class PublisherSkip<T> extends PublisherSource<T, T> {
             }
         }
 
+        @Override
+        public boolean tryOnNext(T t) {
+            long r = remaining;
+            if (r == 0L) {
+                actual.onNext(t);
+            } else {
+                // the skipped values have been requested upfront
+                remaining = r - 1;
+            }
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return remaining != n;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return remaining == 0;
+        }
+
+        @Override
+        public long getCapacity() {
+            return n;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public long expectedFromUpstream() {
+            return remaining;
+        }
+
+        @Override
+        public long getPending() {
+            return -1L;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+
+        @Override
+        public long limit() {
+            return 0;
+        }
+        
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+        
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+    }
+
+    static final class PublisherSkipConditionalSubscriber<T> implements ConditionalSubscriber<T>, Receiver, Producer, Prefetchable,
+                                                             Backpressurable, Completable, Subscription {
+
+        final ConditionalSubscriber<? super T> actual;
+
+        final long n;
+
+        long remaining;
+        
+        Subscription s;
+
+        public PublisherSkipConditionalSubscriber(ConditionalSubscriber<? super T> actual, long n) {
+            this.actual = actual;
+            this.n = n;
+            this.remaining = n;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+                
+                actual.onSubscribe(this);
+    
+                s.request(n);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            long r = remaining;
+            if (r == 0L) {
+                actual.onNext(t);
+            } else {
+                remaining = r - 1;
+            }
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            long r = remaining;
+            if (r == 0L) {
+                return actual.tryOnNext(t);
+            }
+            // the skipped values have been requested upfront
+            remaining = r - 1;
+            return true;
+        }
+
         @Override
         public void onError(Throwable t) {
             actual.onError(t);
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactivestreams.commons.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Backpressurable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Prefetchable;
+import reactivestreams.commons.util.SubscriptionHelper;
+
+/**
+ * Skips the first N elements from a reactive stream.
+ * <p>
+ * This variant allows composing fuseable stages.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherSkipFuseable<T> extends PublisherSource<T, T>
+        implements Fuseable {
+
+    final long n;
+
+    public PublisherSkipFuseable(Publisher<? extends T> source, long n) {
+        super(source);
+        if (!(source instanceof Fuseable)) {
+            throw new IllegalArgumentException("The source must implement the Fuseable interface for this operator to work");
+        }
+        if (n < 0) {
+            throw new IllegalArgumentException("n >= 0 required but it was " + n);
+        }
+        this.n = n;
+    }
+
+    public long n() {
+        return n;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        if (n == 0) {
+            source.subscribe(s);
+        } else {
+            source.subscribe(new PublisherSkipFuseableSubscriber<>(s, n));
+        }
+    }
+
+    static final class PublisherSkipFuseableSubscriber<T>
+    extends SynchronousSubscription<T>
+    implements ConditionalSubscriber<T>, Receiver, Producer, Prefetchable, Backpressurable, Completable {
+
+        final Subscriber<? super T> actual;
+
+        /** The actual subscriber if it is a conditional one, null otherwise. */
+        final ConditionalSubscriber<? super T> conditional;
+
+        final long n;
+
+        long remaining;
+
+        QueueSubscription<T> s;
+
+        int sourceMode;
+
+        @SuppressWarnings("unchecked")
+        public PublisherSkipFuseableSubscriber(Subscriber<? super T> actual, long n) {
+            this.actual = actual;
+            this.conditional = actual instanceof ConditionalSubscriber ? (ConditionalSubscriber<? super T>)actual : null;
+            this.n = n;
+            this.remaining = n;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = (QueueSubscription<T>)s;
+
+                actual.onSubscribe(this);
+
+                if (sourceMode != SYNC) {
+                    s.request(n);
+                }
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (sourceMode == ASYNC) {
+                actual.onNext(null);
+                return;
+            }
+            long r = remaining;
+            if (r == 0L) {
+                actual.onNext(t);
+            } else {
+                remaining = r - 1;
+            }
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            ConditionalSubscriber<? super T> a = conditional;
+            if (a != null && sourceMode != ASYNC && remaining == 0L) {
+                return a.tryOnNext(t);
+            }
+            onNext(t);
+            // the skipped values have been requested upfront
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return remaining != n;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return remaining == 0;
+        }
+
+        @Override
+        public long getCapacity() {
+            return n;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public long expectedFromUpstream() {
+            return remaining;
+        }
+
+        @Override
+        public long getPending() {
+            return -1L;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+
+        @Override
+        public long limit() {
+            return 0;
+        }
+
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            int m = s.requestFusion(requestedMode);
+            sourceMode = m;
+            return m;
+        }
+
+        @Override
+        public T poll() {
+            long r = remaining;
+            while (r != 0L) {
+                if (s.poll() == null) {
+                    remaining = r;
+                    return null;
+                }
+                r--;
+            }
+            remaining = 0L;
+            return s.poll();
+        }
+
+        @Override
+        public T peek() {
+            long r = remaining;
+            while (r != 0L) {
+                if (s.peek() == null) {
+                    remaining = r;
+                    return null;
+                }
+                s.drop();
+                r--;
+            }
+            remaining = 0L;
+            return s.peek();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+
+        @Override
+        public void clear() {
+            s.clear();
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public int size() {
+            return (int)Math.max(0L, s.size() - remaining);
+        }
+    }
+}
@@ -21,9 +21,12 @@ import java.util.function.Predicate;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.flow.Loopback;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.publisher.PublisherSkipWhileFuseable.PublisherSkipWhileFuseableSubscriber;
 import reactivestreams.commons.state.Completable;
 import reactivestreams.commons.util.ExceptionHelper;
 import reactivestreams.commons.util.SubscriptionHelper;
@@ -54,10 +57,18 @@ public final class PublisherSkipWhile<T> extends PublisherSource<T, T> {
 
     @Override
     public void subscribe(Subscriber<? super T> s) {
+        if (source instanceof Fuseable) {
+            source.subscribe(new PublisherSkipWhileFuseableSubscriber<>(s, predicate));
+            return;
+        }
+        if (s instanceof ConditionalSubscriber) {
+            source.subscribe(new PublisherSkipWhileConditionalSubscriber<>((ConditionalSubscriber<? super T>)s, predicate));
+            return;
+        }
         source.subscribe(new PublisherSkipWhileSubscriber<>(s, predicate));
     }
 
-    static final class PublisherSkipWhileSubscriber<T> implements Subscriber<T>, Receiver, Producer, Loopback,
+    static final class PublisherSkipWhileSubscriber<T> implements ConditionalSubscriber<T>, Receiver, Producer, Loopback,
                                                                   Completable, Subscription {
         final Subscriber<? super T> actual;
 
@@ -115,6 +126,188 @@ public final class PublisherSkipWhile<T> extends PublisherSource<T, T> {
             actual.onNext(t);
         }
 
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            if (skipped) {
+                actual.onNext(t);
+                return true;
+            }
+            boolean b;
+
+            try {
+                b = predicate.test(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+
+                return false;
+            }
+
+            if (b) {
+                return false;
+            }
+
+            skipped = true;
+            actual.onNext(t);
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return predicate;
+        }
+
+        @Override
+        public Object connectedOutput() {
+            return null;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+        
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+        
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+    }
+
+    static final class PublisherSkipWhileConditionalSubscriber<T> implements ConditionalSubscriber<T>, Receiver, Producer, Loopback,
+                                                                  Completable, Subscription {
+        final ConditionalSubscriber<? super T> actual;
+
+        final Predicate<? super T> predicate;
+
+        Subscription s;
+
+        boolean done;
+
+        boolean skipped;
+
+        public PublisherSkipWhileConditionalSubscriber(ConditionalSubscriber<? super T> actual, Predicate<? super T> predicate) {
+            this.actual = actual;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            if (skipped){
+                actual.onNext(t);
+                return;
+            }
+            boolean b;
+
+            try {
+                b = predicate.test(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+
+                return;
+            }
+
+            if (b) {
+                s.request(1);
+
+                return;
+            }
+
+            skipped = true;
+            actual.onNext(t);
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            if (skipped) {
+                return actual.tryOnNext(t);
+            }
+            boolean b;
+
+            try {
+                b = predicate.test(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+
+                return false;
+            }
+
+            if (b) {
+                return false;
+            }
+
+            skipped = true;
+            return actual.tryOnNext(t);
+        }
+
         @Override
         public void onError(Throwable t) {
             if (done) {
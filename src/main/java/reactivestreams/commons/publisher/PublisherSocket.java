@@ -0,0 +1,237 @@
+package reactivestreams.commons.publisher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Producer;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Requestable;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.NioEventLoop;
+import reactivestreams.commons.util.SubscriptionHelper;
+
+/**
+ * Emits the bytes received on a connected {@link SocketChannel} as {@link ByteBuffer} chunks of
+ * at most chunkSize bytes, reading on a {@link NioEventLoop}.
+ * <p>
+ * The channel is only read while there is outstanding demand: the read interest is dropped
+ * when the requests are exhausted, letting the TCP receive window throttle the remote writer.
+ * The sequence completes when the peer shuts down its output. The channel is not closed
+ * on termination or cancellation and only a single subscriber is allowed.
+ */
+public final class PublisherSocket extends PublisherBase<ByteBuffer> {
+
+    final SocketChannel channel;
+
+    final NioEventLoop loop;
+
+    final int chunkSize;
+
+    volatile int once;
+    static final AtomicIntegerFieldUpdater<PublisherSocket> ONCE =
+      AtomicIntegerFieldUpdater.newUpdater(PublisherSocket.class, "once");
+
+    public PublisherSocket(SocketChannel channel, NioEventLoop loop, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.loop = Objects.requireNonNull(loop, "loop");
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        if (once == 0 && ONCE.compareAndSet(this, 0, 1)) {
+            s.onSubscribe(new PublisherSocketSubscription(s, channel, loop, chunkSize));
+        } else {
+            EmptySubscription.error(s, new IllegalStateException("PublisherSocket allows only a single Subscriber"));
+        }
+    }
+
+    static final class PublisherSocketSubscription
+            implements Subscription, Runnable, Cancellable, Completable, Producer, Requestable {
+
+        final Subscriber<? super ByteBuffer> actual;
+
+        final SocketChannel channel;
+
+        final NioEventLoop loop;
+
+        final int chunkSize;
+
+        /** Accessed by the event loop thread only. */
+        boolean nonBlocking;
+
+        /**
+         * Set on the event loop thread once a terminal signal has been emitted, or by the
+         * requesting or cancelling thread if the event loop has been shut down.
+         */
+        volatile boolean done;
+
+        volatile boolean cancelled;
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherSocketSubscription> REQUESTED =
+          AtomicLongFieldUpdater.newUpdater(PublisherSocketSubscription.class, "requested");
+
+        public PublisherSocketSubscription(Subscriber<? super ByteBuffer> actual, SocketChannel channel,
+                                           NioEventLoop loop, int chunkSize) {
+            this.actual = actual;
+            this.channel = channel;
+            this.loop = loop;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (BackpressureHelper.addAndGet(REQUESTED, this, n) == 0L) {
+                    try {
+                        loop.execute(this);
+                    } catch (RejectedExecutionException ex) {
+                        if (!done && !cancelled) {
+                            done = true;
+                            actual.onError(ex);
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                try {
+                    loop.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    // the event loop no longer reads the channel
+                    done = true;
+                }
+            }
+        }
+
+        /**
+         * Reads while there is demand and the socket has data, then arms or disarms
+         * the read interest; runs on the event loop thread only.
+         */
+        @Override
+        public void run() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                done = true;
+                loop.clearInterest(channel, SelectionKey.OP_READ);
+                return;
+            }
+
+            final Subscriber<? super ByteBuffer> a = actual;
+
+            if (!nonBlocking) {
+                try {
+                    NioEventLoop.nonBlocking(channel);
+                } catch (IOException ex) {
+                    fail(a, ex);
+                    return;
+                }
+                nonBlocking = true;
+            }
+
+            long r = requested;
+            long e = 0L;
+
+            while (e != r) {
+                ByteBuffer b = ByteBuffer.allocate(chunkSize);
+
+                int n;
+
+                try {
+                    n = channel.read(b);
+                } catch (IOException ex) {
+                    fail(a, ex);
+                    return;
+                }
+
+                if (n < 0) {
+                    done = true;
+                    loop.clearInterest(channel, SelectionKey.OP_READ);
+                    a.onComplete();
+                    return;
+                }
+
+                if (n == 0) {
+                    break;
+                }
+
+                b.flip();
+                a.onNext(b);
+
+                if (cancelled) {
+                    done = true;
+                    loop.clearInterest(channel, SelectionKey.OP_READ);
+                    return;
+                }
+
+                e++;
+            }
+
+            if (e != 0L && r != Long.MAX_VALUE) {
+                r = REQUESTED.addAndGet(this, -e);
+            }
+
+            if (r == 0L) {
+                loop.clearInterest(channel, SelectionKey.OP_READ);
+            } else {
+                try {
+                    loop.interest(channel, SelectionKey.OP_READ, this);
+                } catch (IOException ex) {
+                    fail(a, ex);
+                }
+            }
+        }
+
+        void fail(Subscriber<? super ByteBuffer> a, Throwable ex) {
+            done = true;
+            loop.clearInterest(channel, SelectionKey.OP_READ);
+            a.onError(ex);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public long requestedFromDownstream() {
+            return requested;
+        }
+    }
+}
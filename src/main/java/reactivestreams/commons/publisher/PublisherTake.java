@@ -20,6 +20,9 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.QueueSubscription;
+import reactivestreams.commons.flow.Fuseable.SynchronousSubscription;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.flow.Receiver;
 import reactivestreams.commons.state.Backpressurable;
@@ -67,6 +70,7 @@ public final class PublisherTake<T> extends PublisherSource<T, T> {
     }
 
     static final class PublisherTakeSubscriber<T>
+      extends SynchronousSubscription<T>
       implements Subscriber<T>, Subscription, Completable, Receiver, Prefetchable, Backpressurable, Producer {
 
         final Subscriber<? super T> actual;
@@ -77,6 +81,12 @@ public final class PublisherTake<T> extends PublisherSource<T, T> {
 
         Subscription s;
 
+        /** The upstream if it supports fusion, null otherwise. */
+        QueueSubscription<T> qs;
+
+        /** The fusion mode established with the upstream. */
+        int sourceMode;
+
         boolean done;
 
         volatile int wip;
@@ -90,10 +100,14 @@ public final class PublisherTake<T> extends PublisherSource<T, T> {
             this.remaining = n;
         }
 
+        @SuppressWarnings("unchecked")
         @Override
         public void onSubscribe(Subscription s) {
             if (SubscriptionHelper.validate(this.s, s)) {
                 this.s = s;
+                if (s instanceof QueueSubscription) {
+                    this.qs = (QueueSubscription<T>)s;
+                }
                 actual.onSubscribe(this);
                 if (n == 0 && wip == 0) {
                     request(Long.MAX_VALUE);
@@ -108,6 +122,11 @@ public final class PublisherTake<T> extends PublisherSource<T, T> {
                 return;
             }
 
+            if (sourceMode == Fuseable.ASYNC) {
+                actual.onNext(null);
+                return;
+            }
+
             long r = remaining;
 
             if (r == 0) {
@@ -202,5 +221,63 @@ public final class PublisherTake<T> extends PublisherSource<T, T> {
         public long limit() {
             return 0;
         }
+
+        @Override
+        public int requestFusion(int requestedMode) {
+            QueueSubscription<T> a = qs;
+            if (a != null && n != 0L) {
+                int m = a.requestFusion(requestedMode);
+                sourceMode = m;
+                return m;
+            }
+            return Fuseable.NONE;
+        }
+
+        @Override
+        public T poll() {
+            long r = remaining;
+            if (r == 0L) {
+                return null;
+            }
+            T v = qs.poll();
+            if (v != null) {
+                remaining = --r;
+                if (r == 0L && sourceMode == Fuseable.ASYNC && !done) {
+                    // the upstream is cancelled so the completion has to be signalled here
+                    done = true;
+                    qs.cancel();
+                    actual.onComplete();
+                } else if (r == 0L && sourceMode == Fuseable.SYNC) {
+                    // nobody polls the upstream anymore, let it release its resources
+                    qs.clear();
+                }
+            }
+            return v;
+        }
+
+        @Override
+        public T peek() {
+            return remaining != 0L ? qs.peek() : null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return remaining == 0L || qs.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            qs.clear();
+        }
+
+        @Override
+        public void drop() {
+            poll();
+        }
+
+        @Override
+        public int size() {
+            return (int)Math.min(remaining, qs.size());
+        }
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactivestreams.commons.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.publisher.PublisherTake.PublisherTakeSubscriber;
+
+/**
+ * Takes only the first N values from the source Publisher.
+ * <p>
+ * This variant allows composing fuseable stages.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherTakeFuseable<T> extends PublisherSource<T, T>
+        implements Fuseable {
+
+    final long n;
+
+    public PublisherTakeFuseable(Publisher<? extends T> source, long n) {
+        super(source);
+        if (!(source instanceof Fuseable)) {
+            throw new IllegalArgumentException("The source must implement the Fuseable interface for this operator to work");
+        }
+        if (n < 0) {
+            throw new IllegalArgumentException("n >= 0 required but it was " + n);
+        }
+        this.n = n;
+    }
+
+    public long n() {
+        return n;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        source.subscribe(new PublisherTakeSubscriber<>(s, n));
+    }
+
+    @Override
+    public long getCapacity() {
+        return n;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.function.Predicate;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.flow.Loopback;
 import reactivestreams.commons.flow.Producer;
 import reactivestreams.commons.flow.Receiver;
@@ -50,6 +51,10 @@ public final class PublisherTakeWhile<T> extends PublisherSource<T, T> {
 
     @Override
     public void subscribe(Subscriber<? super T> s) {
+        if (s instanceof ConditionalSubscriber) {
+            source.subscribe(new PublisherTakeWhileConditionalSubscriber<>((ConditionalSubscriber<? super T>)s, predicate));
+            return;
+        }
         source.subscribe(new PublisherTakeWhileSubscriber<>(s, predicate));
     }
 
@@ -167,4 +172,149 @@ public final class PublisherTakeWhile<T> extends PublisherSource<T, T> {
             s.cancel();
         }
     }
+
+    static final class PublisherTakeWhileConditionalSubscriber<T> implements ConditionalSubscriber<T>, Producer, Receiver, Completable,
+                                                                  Loopback, Subscription {
+        final ConditionalSubscriber<? super T> actual;
+
+        final Predicate<? super T> predicate;
+
+        Subscription s;
+
+        boolean done;
+
+        public PublisherTakeWhileConditionalSubscriber(ConditionalSubscriber<? super T> actual, Predicate<? super T> predicate) {
+            this.actual = actual;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            boolean b;
+
+            try {
+                b = predicate.test(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+
+                return;
+            }
+
+            if (!b) {
+                s.cancel();
+
+                onComplete();
+
+                return;
+            }
+
+            actual.onNext(t);
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return false;
+            }
+
+            boolean b;
+
+            try {
+                b = predicate.test(t);
+            } catch (Throwable e) {
+                s.cancel();
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+
+                return false;
+            }
+
+            if (!b) {
+                s.cancel();
+
+                onComplete();
+
+                return false;
+            }
+
+            return actual.tryOnNext(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            done = true;
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            actual.onComplete();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return s != null && !done;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return done;
+        }
+
+        @Override
+        public Object downstream() {
+            return actual;
+        }
+
+        @Override
+        public Object connectedInput() {
+            return predicate;
+        }
+
+        @Override
+        public Object connectedOutput() {
+            return null;
+        }
+
+        @Override
+        public Object upstream() {
+            return s;
+        }
+        
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+        
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+    }
 }
@@ -0,0 +1,274 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.publisher.PublisherTimeout.PublisherTimeoutOtherSubscriber;
+import reactivestreams.commons.subscriber.MultiSubscriptionSubscriber;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Signals a timeout (or switches to another sequence) in case the main source
+ * doesn't produce the next item within the given time window after the previous one
+ * (or after the subscription for the very first item).
+ * <p>
+ * Each subscriber keeps a single timer task scheduled at a time. Items only bump
+ * the generation index and record their arrival time; when the timer fires and
+ * an item arrived in the meantime, the same task is re-armed for the remainder of
+ * the window instead of cancelling and rescheduling a timer for each item.
+ * <p>
+ * The time spent by the downstream in onNext is not counted towards the timeout.
+ *
+ * @param <T> the value type
+ */
+public final class PublisherTimeoutTimed<T> extends PublisherSource<T, T> {
+
+    final long timeout;
+
+    final TimeUnit unit;
+
+    final ScheduledExecutorService executor;
+
+    final Publisher<? extends T> other;
+
+    public PublisherTimeoutTimed(Publisher<? extends T> source, long timeout, TimeUnit unit,
+                                 ScheduledExecutorService executor) {
+        super(source);
+        if (timeout <= 0L) {
+            throw new IllegalArgumentException("timeout > 0 required but it was " + timeout);
+        }
+        this.timeout = timeout;
+        this.unit = Objects.requireNonNull(unit, "unit");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.other = null;
+    }
+
+    public PublisherTimeoutTimed(Publisher<? extends T> source, long timeout, TimeUnit unit,
+                                 ScheduledExecutorService executor, Publisher<? extends T> other) {
+        super(source);
+        if (timeout <= 0L) {
+            throw new IllegalArgumentException("timeout > 0 required but it was " + timeout);
+        }
+        this.timeout = timeout;
+        this.unit = Objects.requireNonNull(unit, "unit");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.other = Objects.requireNonNull(other, "other");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        PublisherTimeoutTimedSubscriber<T> parent = new PublisherTimeoutTimedSubscriber<>(s,
+                unit.toNanos(timeout), executor, other);
+
+        s.onSubscribe(parent);
+
+        if (parent.start()) {
+            source.subscribe(parent);
+        }
+    }
+
+    static final class PublisherTimeoutTimedSubscriber<T> extends MultiSubscriptionSubscriber<T, T>
+    implements Runnable {
+
+        final long timeoutNanos;
+
+        final ScheduledExecutorService executor;
+
+        final Publisher<? extends T> other;
+
+        Subscription s;
+
+        /**
+         * The arrival time of the last item, written before the index is moved back
+         * to even and thus visible to the timer task after it reads the index.
+         */
+        long lastTime;
+
+        /**
+         * The generation index: even while idle, odd while an item is being emitted,
+         * Long.MIN_VALUE once terminated, cancelled or timed out.
+         */
+        volatile long index;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherTimeoutTimedSubscriber> INDEX =
+          AtomicLongFieldUpdater.newUpdater(PublisherTimeoutTimedSubscriber.class, "index");
+
+        volatile Future<?> future;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherTimeoutTimedSubscriber, Future> FUTURE =
+          AtomicReferenceFieldUpdater.newUpdater(PublisherTimeoutTimedSubscriber.class, Future.class, "future");
+
+        static final Future<?> CANCELLED = new FutureTask<>(() -> { }, null);
+
+        public PublisherTimeoutTimedSubscriber(Subscriber<? super T> actual, long timeoutNanos,
+                                               ScheduledExecutorService executor, Publisher<? extends T> other) {
+            super(actual);
+            this.timeoutNanos = timeoutNanos;
+            this.executor = executor;
+            this.other = other;
+        }
+
+        boolean start() {
+            lastTime = System.nanoTime();
+            return schedule(timeoutNanos);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                set(s);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            long idx = index;
+            if (idx == Long.MIN_VALUE || !INDEX.compareAndSet(this, idx, idx + 1)) {
+                s.cancel();
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+
+            subscriber.onNext(t);
+
+            producedOne();
+
+            lastTime = System.nanoTime();
+
+            INDEX.compareAndSet(this, idx + 1, idx + 2);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            long idx = index;
+            if (idx == Long.MIN_VALUE || !INDEX.compareAndSet(this, idx, Long.MIN_VALUE)) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+
+            cancelTimer();
+
+            subscriber.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            long idx = index;
+            if (idx == Long.MIN_VALUE || !INDEX.compareAndSet(this, idx, Long.MIN_VALUE)) {
+                return;
+            }
+
+            cancelTimer();
+
+            subscriber.onComplete();
+        }
+
+        @Override
+        public void cancel() {
+            index = Long.MIN_VALUE;
+            cancelTimer();
+            super.cancel();
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                long idx = index;
+                if (idx == Long.MIN_VALUE) {
+                    return;
+                }
+
+                long delay;
+                if ((idx & 1L) != 0L) {
+                    // an item is being emitted, the window restarts after it
+                    delay = timeoutNanos;
+                } else {
+                    delay = lastTime + timeoutNanos - System.nanoTime();
+                }
+
+                if (delay > 0L) {
+                    schedule(delay);
+                    return;
+                }
+
+                if (INDEX.compareAndSet(this, idx, Long.MIN_VALUE)) {
+                    handleTimeout();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Schedules this subscriber as the timer task after the given delay,
+         * replacing the previous (already run) future.
+         *
+         * @param delayNanos the delay in nanoseconds
+         * @return true if the timer was scheduled, false if the subscriber was cancelled
+         *         or the executor rejected the task
+         */
+        boolean schedule(long delayNanos) {
+            Future<?> f;
+            try {
+                f = executor.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ex) {
+                long idx = index;
+                if (idx != Long.MIN_VALUE && INDEX.compareAndSet(this, idx, Long.MIN_VALUE)) {
+                    super.cancel();
+                    subscriber.onError(ex);
+                } else {
+                    UnsignalledExceptions.onErrorDropped(ex);
+                }
+                return false;
+            }
+
+            for (;;) {
+                Future<?> a = future;
+                if (a == CANCELLED) {
+                    f.cancel(false);
+                    return false;
+                }
+                if (FUTURE.compareAndSet(this, a, f)) {
+                    return true;
+                }
+            }
+        }
+
+        void cancelTimer() {
+            Future<?> a = future;
+            if (a != CANCELLED) {
+                a = FUTURE.getAndSet(this, CANCELLED);
+                if (a != null && a != CANCELLED) {
+                    a.cancel(false);
+                }
+            }
+        }
+
+        void handleTimeout() {
+            FUTURE.lazySet(this, CANCELLED);
+
+            if (other == null) {
+                super.cancel();
+
+                subscriber.onError(new TimeoutException());
+            } else {
+                set(EmptySubscription.INSTANCE);
+
+                other.subscribe(new PublisherTimeoutOtherSubscriber<>(subscriber, this));
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.util.DeferredSubscription;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.ResourcePool;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Uses a resource, borrowed from a {@link ResourcePool} for each individual Subscriber,
+ * while streaming the values from a Publisher derived from the same resource and makes
+ * sure the resource is returned to the pool if the sequence terminates or the Subscriber cancels.
+ * <p>
+ * The Subscriber receives its Subscription right away and its requests are accumulated
+ * while the resource is not yet available because the pool is exhausted.
+ * <p>
+ * Eager release happens just before the source termination, non-eager release just after it.
+ *
+ * @param <T> the value type streamed
+ * @param <S> the resource type
+ */
+public final class PublisherUsingPooled<T, S>
+extends PublisherBase<T>
+        implements Receiver {
+
+    final ResourcePool<S> pool;
+
+    final Function<? super S, ? extends Publisher<? extends T>> sourceFactory;
+
+    final boolean eager;
+
+    public PublisherUsingPooled(ResourcePool<S> pool,
+                                Function<? super S, ? extends Publisher<? extends T>> sourceFactory,
+                                boolean eager) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.sourceFactory = Objects.requireNonNull(sourceFactory, "sourceFactory");
+        this.eager = eager;
+    }
+
+    @Override
+    public Object upstream() {
+        return pool;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        PublisherUsingPooledSubscriber<T, S> parent = new PublisherUsingPooledSubscriber<>(s, pool, sourceFactory, eager);
+
+        s.onSubscribe(parent);
+
+        pool.acquire(parent);
+    }
+
+    static final class PublisherUsingPooledSubscriber<T, S>
+    extends DeferredSubscription
+    implements Subscriber<T>, ResourcePool.Borrower<S> {
+
+        final Subscriber<? super T> actual;
+
+        final ResourcePool<S> pool;
+
+        final Function<? super S, ? extends Publisher<? extends T>> sourceFactory;
+
+        final boolean eager;
+
+        S resource;
+
+        volatile int state;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherUsingPooledSubscriber> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherUsingPooledSubscriber.class, "state");
+
+        /** Waiting for the resource. */
+        static final int WAITING = 0;
+        /** The resource has been borrowed. */
+        static final int BORROWED = 1;
+        /** The resource has been released or the subscriber cancelled. */
+        static final int RELEASED = 2;
+
+        public PublisherUsingPooledSubscriber(Subscriber<? super T> actual, ResourcePool<S> pool,
+                Function<? super S, ? extends Publisher<? extends T>> sourceFactory, boolean eager) {
+            this.actual = actual;
+            this.pool = pool;
+            this.sourceFactory = sourceFactory;
+            this.eager = eager;
+        }
+
+        @Override
+        public boolean onResource(S resource) {
+            this.resource = resource;
+            if (!STATE.compareAndSet(this, WAITING, BORROWED)) {
+                this.resource = null;
+                return false;
+            }
+
+            Publisher<? extends T> p;
+
+            try {
+                p = sourceFactory.apply(resource);
+            } catch (Throwable e) {
+                ExceptionHelper.throwIfFatal(e);
+                onError(ExceptionHelper.unwrap(e));
+                return true;
+            }
+
+            if (p == null) {
+                onError(new NullPointerException("The sourceFactory returned a null value"));
+                return true;
+            }
+
+            p.subscribe(this);
+            return true;
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+
+            release();
+        }
+
+        void release() {
+            int s = STATE.getAndSet(this, RELEASED);
+            if (s == BORROWED) {
+                S r = resource;
+                resource = null;
+                pool.release(r);
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            set(s);
+        }
+
+        @Override
+        public void onNext(T t) {
+            actual.onNext(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (state == RELEASED) {
+                // the subscriber cancelled or the source violated the protocol
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+
+            if (eager) {
+                release();
+            }
+
+            actual.onError(t);
+
+            if (!eager) {
+                release();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (state == RELEASED) {
+                return;
+            }
+
+            if (eager) {
+                release();
+            }
+
+            actual.onComplete();
+
+            if (!eager) {
+                release();
+            }
+        }
+    }
+}
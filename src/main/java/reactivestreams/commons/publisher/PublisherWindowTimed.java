@@ -0,0 +1,420 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.processor.UnicastProcessor;
+import reactivestreams.commons.util.BackpressureHelper;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Splits the source sequence into continuous, non-overlapping windows
+ * where a new window is started periodically by a timer.
+ * <p>
+ * The periodic timer runs on the given ScheduledExecutorService. The current window
+ * is owned by whoever holds the work-in-progress counter: the main source signals it
+ * directly when it finds the counter zero and only queues items if the timer is busy
+ * rolling the window.
+ *
+ * @param <T> the input value type
+ */
+public final class PublisherWindowTimed<T> extends PublisherSource<T, PublisherBase<T>> {
+
+    final long timespan;
+
+    final TimeUnit unit;
+
+    final ScheduledExecutorService executor;
+
+    final Supplier<? extends Queue<T>> processorQueueSupplier;
+
+    final Supplier<? extends Queue<T>> drainQueueSupplier;
+
+    public PublisherWindowTimed(Publisher<? extends T> source, long timespan, TimeUnit unit,
+            ScheduledExecutorService executor,
+            Supplier<? extends Queue<T>> processorQueueSupplier,
+                    Supplier<? extends Queue<T>> drainQueueSupplier) {
+        super(source);
+        if (timespan <= 0L) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        this.timespan = timespan;
+        this.unit = Objects.requireNonNull(unit, "unit");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.processorQueueSupplier = Objects.requireNonNull(processorQueueSupplier, "processorQueueSupplier");
+        this.drainQueueSupplier = Objects.requireNonNull(drainQueueSupplier, "drainQueueSupplier");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super PublisherBase<T>> s) {
+
+        Queue<T> q;
+
+        try {
+            q = processorQueueSupplier.get();
+        } catch (Throwable e) {
+            EmptySubscription.error(s, e);
+            return;
+        }
+
+        if (q == null) {
+            EmptySubscription.error(s, new NullPointerException("The processorQueueSupplier returned a null queue"));
+            return;
+        }
+
+        Queue<T> dq;
+
+        try {
+            dq = drainQueueSupplier.get();
+        } catch (Throwable e) {
+            EmptySubscription.error(s, e);
+            return;
+        }
+
+        if (dq == null) {
+            EmptySubscription.error(s, new NullPointerException("The drainQueueSupplier returned a null queue"));
+            return;
+        }
+
+        PublisherWindowTimedMain<T> main = new PublisherWindowTimedMain<>(s, processorQueueSupplier, q, dq);
+
+        s.onSubscribe(main);
+
+        if (main.emit(main.window)) {
+            Future<?> f;
+            try {
+                f = executor.scheduleAtFixedRate(main::tick, timespan, timespan, unit);
+            } catch (Throwable e) {
+                ExceptionHelper.throwIfFatal(e);
+                main.timerError(ExceptionHelper.unwrap(e));
+                return;
+            }
+
+            if (main.setTimer(f)) {
+                source.subscribe(main);
+            }
+        }
+    }
+
+    static final class PublisherWindowTimedMain<T>
+    implements Subscriber<T>, Subscription, Runnable {
+
+        final Subscriber<? super PublisherBase<T>> actual;
+
+        final Supplier<? extends Queue<T>> processorQueueSupplier;
+
+        /** Holds the items arriving while the timer owns the window. */
+        final Queue<T> queue;
+
+        /** The current window, accessed only by the owner of the wip counter. */
+        UnicastProcessor<T> window;
+
+        /** The timer ticks consumed by the owner of the wip counter. */
+        long consumedTicks;
+
+        /** Set by the owner of the wip counter once no more windows are signalled. */
+        boolean terminated;
+
+        volatile Subscription s;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherWindowTimedMain, Subscription> S =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherWindowTimedMain.class, Subscription.class, "s");
+
+        volatile Future<?> timer;
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<PublisherWindowTimedMain, Future> TIMER =
+                AtomicReferenceFieldUpdater.newUpdater(PublisherWindowTimedMain.class, Future.class, "timer");
+
+        static final Future<?> CANCELLED = new FutureTask<>(() -> { }, null);
+
+        volatile long requested;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherWindowTimedMain> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(PublisherWindowTimedMain.class, "requested");
+
+        volatile long ticks;
+        @SuppressWarnings("rawtypes")
+        static final AtomicLongFieldUpdater<PublisherWindowTimedMain> TICKS =
+                AtomicLongFieldUpdater.newUpdater(PublisherWindowTimedMain.class, "ticks");
+
+        volatile int wip;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherWindowTimedMain> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherWindowTimedMain.class, "wip");
+
+        volatile boolean done;
+        Throwable error;
+
+        volatile boolean cancelled;
+
+        volatile int open;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherWindowTimedMain> OPEN =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherWindowTimedMain.class, "open");
+
+        volatile int once;
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<PublisherWindowTimedMain> ONCE =
+                AtomicIntegerFieldUpdater.newUpdater(PublisherWindowTimedMain.class, "once");
+
+        public PublisherWindowTimedMain(Subscriber<? super PublisherBase<T>> actual,
+                Supplier<? extends Queue<T>> processorQueueSupplier,
+                        Queue<T> processorQueue, Queue<T> queue) {
+            this.actual = actual;
+            this.processorQueueSupplier = processorQueueSupplier;
+            this.window = new UnicastProcessor<>(processorQueue, this);
+            this.open = 2;
+            this.queue = queue;
+        }
+
+        boolean setTimer(Future<?> f) {
+            if (!TIMER.compareAndSet(this, null, f)) {
+                f.cancel(false);
+                return false;
+            }
+            return true;
+        }
+
+        void cancelTimer() {
+            Future<?> f = timer;
+            if (f != CANCELLED) {
+                f = TIMER.getAndSet(this, CANCELLED);
+                if (f != null && f != CANCELLED) {
+                    f.cancel(false);
+                }
+            }
+        }
+
+        void timerError(Throwable e) {
+            mainDone();
+            window.onError(e);
+            actual.onError(e);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(S, this, s)) {
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                UnsignalledExceptions.onNextDropped(t);
+                return;
+            }
+            if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+                if (!terminated) {
+                    window.onNext(t);
+                }
+                if (WIP.decrementAndGet(this) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(t);
+                if (WIP.getAndIncrement(this) != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                UnsignalledExceptions.onErrorDropped(t);
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void run() {
+            if (OPEN.decrementAndGet(this) == 0) {
+                cancelMain();
+                cancelTimer();
+            }
+        }
+
+        void tick() {
+            TICKS.getAndIncrement(this);
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addAndGet(REQUESTED, this, n);
+            }
+        }
+
+        void cancelMain() {
+            SubscriptionHelper.terminate(S, this);
+        }
+
+        void mainDone() {
+            if (ONCE.compareAndSet(this, 0, 1)) {
+                run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            mainDone();
+        }
+
+        void drain() {
+            if (WIP.getAndIncrement(this) == 0) {
+                drainLoop();
+            }
+        }
+
+        void drainLoop() {
+            final Queue<T> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                if (terminated) {
+                    q.clear();
+                } else {
+                    boolean d = done;
+
+                    UnicastProcessor<T> w = window;
+
+                    T t;
+                    while ((t = q.poll()) != null) {
+                        w.onNext(t);
+                    }
+
+                    long tk = ticks;
+                    if (tk != consumedTicks) {
+                        consumedTicks = tk;
+                        roll();
+                    }
+
+                    if (d && !terminated) {
+                        terminated = true;
+                        w = window;
+                        window = null;
+
+                        cancelTimer();
+                        mainDone();
+
+                        Throwable e = error;
+                        if (e != null) {
+                            w.onError(e);
+                            actual.onError(e);
+                        } else {
+                            w.onComplete();
+                            actual.onComplete();
+                        }
+                    }
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Completes the current window and, unless the sequence has been cancelled,
+         * starts and emits a new one.
+         */
+        void roll() {
+            UnicastProcessor<T> w = window;
+
+            if (cancelled) {
+                terminated = true;
+                window = null;
+                w.onComplete();
+                return;
+            }
+
+            Queue<T> pq;
+
+            try {
+                pq = processorQueueSupplier.get();
+            } catch (Throwable e) {
+                ExceptionHelper.throwIfFatal(e);
+                fail(ExceptionHelper.unwrap(e));
+                return;
+            }
+
+            if (pq == null) {
+                fail(new NullPointerException("The processorQueueSupplier returned a null queue"));
+                return;
+            }
+
+            OPEN.getAndIncrement(this);
+
+            window = new UnicastProcessor<>(pq, this);
+
+            w.onComplete();
+
+            if (!emit(window)) {
+                terminated = true;
+                window = null;
+            }
+        }
+
+        void fail(Throwable e) {
+            terminated = true;
+            UnicastProcessor<T> w = window;
+            window = null;
+
+            cancelMain();
+            cancelTimer();
+
+            w.onError(e);
+            actual.onError(e);
+        }
+
+        boolean emit(UnicastProcessor<T> w) {
+            long r = requested;
+            if (r != 0L) {
+                actual.onNext(w);
+                if (r != Long.MAX_VALUE) {
+                    REQUESTED.decrementAndGet(this);
+                }
+                return true;
+            } else {
+                cancelMain();
+                cancelTimer();
+
+                w.onError(new IllegalStateException("Could not emit window due to lack of requests"));
+                actual.onError(new IllegalStateException("Could not emit window due to lack of requests"));
+
+                return false;
+            }
+        }
+    }
+}
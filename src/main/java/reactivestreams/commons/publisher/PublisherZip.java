@@ -42,8 +42,10 @@ import reactivestreams.commons.state.Requestable;
 import reactivestreams.commons.subscriber.DeferredScalarSubscriber;
 import reactivestreams.commons.util.BackpressureHelper;
 import reactivestreams.commons.util.CancelledSubscription;
+import reactivestreams.commons.util.DrainTrace;
 import reactivestreams.commons.util.EmptySubscription;
 import reactivestreams.commons.util.ExceptionHelper;
+import reactivestreams.commons.util.PrefetchPolicy;
 import reactivestreams.commons.util.SubscriptionHelper;
 import reactivestreams.commons.util.UnsignalledExceptions;
 
@@ -64,30 +66,34 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
     
     final Supplier<? extends Queue<T>> queueSupplier;
     
-    final int prefetch;
+    final PrefetchPolicy prefetchPolicy;
 
     public PublisherZip(Publisher<? extends T>[] sources,
             Function<? super Object[], ? extends R> zipper, Supplier<? extends Queue<T>> queueSupplier, int prefetch) {
-        if (prefetch <= 0) {
-            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
-        }
+        this(sources, zipper, queueSupplier, PrefetchPolicy.fixed(prefetch));
+    }
+
+    public PublisherZip(Publisher<? extends T>[] sources,
+            Function<? super Object[], ? extends R> zipper, Supplier<? extends Queue<T>> queueSupplier, PrefetchPolicy prefetchPolicy) {
         this.sources = Objects.requireNonNull(sources, "sources");
         this.sourcesIterable = null;
         this.zipper = Objects.requireNonNull(zipper, "zipper");
         this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
-        this.prefetch = prefetch;
+        this.prefetchPolicy = Objects.requireNonNull(prefetchPolicy, "prefetchPolicy");
     }
     
     public PublisherZip(Iterable<? extends Publisher<? extends T>> sourcesIterable,
             Function<? super Object[], ? extends R> zipper, Supplier<? extends Queue<T>> queueSupplier, int prefetch) {
-        if (prefetch <= 0) {
-            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
-        }
+        this(sourcesIterable, zipper, queueSupplier, PrefetchPolicy.fixed(prefetch));
+    }
+
+    public PublisherZip(Iterable<? extends Publisher<? extends T>> sourcesIterable,
+            Function<? super Object[], ? extends R> zipper, Supplier<? extends Queue<T>> queueSupplier, PrefetchPolicy prefetchPolicy) {
         this.sources = null;
         this.sourcesIterable = Objects.requireNonNull(sourcesIterable, "sourcesIterable");
         this.zipper = Objects.requireNonNull(zipper, "zipper");
         this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
-        this.prefetch = prefetch;
+        this.prefetchPolicy = Objects.requireNonNull(prefetchPolicy, "prefetchPolicy");
     }
     
     
@@ -251,7 +257,7 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
             
         } else {
             
-            PublisherZipCoordinator<T, R> coordinator = new PublisherZipCoordinator<>(s, zipper, n, queueSupplier, prefetch);
+            PublisherZipCoordinator<T, R> coordinator = new PublisherZipCoordinator<>(s, zipper, n, queueSupplier, prefetchPolicy);
             
             s.onSubscribe(coordinator);
             
@@ -521,13 +527,13 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
         
         public PublisherZipCoordinator(Subscriber<? super R> actual, 
                 Function<? super Object[], ? extends R> zipper, int n, 
-                Supplier<? extends Queue<T>> queueSupplier, int prefetch) {
+                Supplier<? extends Queue<T>> queueSupplier, PrefetchPolicy prefetchPolicy) {
             this.actual = actual;
             this.zipper = zipper;
             @SuppressWarnings("unchecked")
             PublisherZipInner<T>[] a = new PublisherZipInner[n];
             for (int i = 0; i < n; i++) {
-                a[i] = new PublisherZipInner<>(this, prefetch, i, queueSupplier); 
+                a[i] = new PublisherZipInner<>(this, prefetchPolicy, i, queueSupplier); 
             }
             this.subscribers = a;
         }
@@ -630,6 +636,17 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
                 return;
             }
 
+            DrainTrace trace = DrainTrace.begin(this, null);
+            try {
+                drainLoop(trace);
+            } finally {
+                if (trace != null) {
+                    trace.end();
+                }
+            }
+        }
+
+        void drainLoop(DrainTrace trace) {
             final Subscriber<? super R> a = actual;
             final PublisherZipInner<T>[] qs = subscribers;
             final int n = qs.length;
@@ -758,6 +775,9 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
                     }
                     
                     a.onNext(v);
+                    if (trace != null) {
+                        trace.next();
+                    }
                     
                     e++;
                 }
@@ -819,6 +839,9 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
                 }
                 
                 if (e != 0) {
+                    if (trace != null) {
+                        trace.request(e);
+                    }
                     
                     for (int j = 0; j < n; j++) {
                         PublisherZipInner<T> inner = qs[j];
@@ -845,9 +868,11 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
         
         final PublisherZipCoordinator<T, ?> parent;
 
-        final int prefetch;
+        final PrefetchPolicy prefetchPolicy;
+
+        int prefetch;
         
-        final int limit;
+        int limit;
         
         final int index;
         
@@ -878,12 +903,13 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
         static final AtomicIntegerFieldUpdater<PublisherZipInner> ONCE =
                 AtomicIntegerFieldUpdater.newUpdater(PublisherZipInner.class, "once");
         
-        public PublisherZipInner(PublisherZipCoordinator<T, ?> parent, int prefetch, int index, Supplier<? extends Queue<T>> queueSupplier) {
+        public PublisherZipInner(PublisherZipCoordinator<T, ?> parent, PrefetchPolicy prefetchPolicy, int index, Supplier<? extends Queue<T>> queueSupplier) {
             this.parent = parent;
-            this.prefetch = prefetch;
+            this.prefetchPolicy = prefetchPolicy;
+            this.prefetch = prefetchPolicy.initial();
             this.index = index;
             this.queueSupplier = queueSupplier;
-            this.limit = prefetch - (prefetch >> 2);
+            this.limit = PrefetchPolicy.limit(prefetch);
         }
 
         @SuppressWarnings("unchecked")
@@ -1001,6 +1027,13 @@ public final class PublisherZip<T, R> extends PublisherBase<R> implements Intros
                 long p = produced + n;
                 if (p >= limit) {
                     produced = 0L;
+                    int c = prefetch;
+                    int next = prefetchPolicy.next(c, queue);
+                    if (next != c) {
+                        prefetch = next;
+                        limit = PrefetchPolicy.limit(next);
+                        p += next - c;
+                    }
                     s.request(p);
                 } else {
                     produced = p;
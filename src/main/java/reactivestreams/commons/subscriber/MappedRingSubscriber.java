@@ -0,0 +1,260 @@
+package reactivestreams.commons.subscriber;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Failurable;
+import reactivestreams.commons.util.MappedRingBuffer;
+import reactivestreams.commons.util.PrefetchPolicy;
+import reactivestreams.commons.util.SpscArrayQueue;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Writes the received {@link ByteBuffer}s as messages into a {@link MappedRingBuffer}, to be
+ * read by a {@link reactivestreams.commons.publisher.PublisherMappedRing} possibly in another
+ * process.
+ * <p>
+ * A dedicated daemon thread moves the prefetched buffers into the ring buffer as long as the
+ * consumer has requested more messages than written and there is enough free space, and
+ * replenishes the upstream requests as buffers are written, so the consumer's demand limits
+ * the upstream. The upstream is cancelled if the consumer cancels. A buffer longer than
+ * {@link MappedRingBuffer#maxMessageLength()} fails the sequence.
+ */
+public final class MappedRingSubscriber
+        implements Subscriber<ByteBuffer>, Runnable, Cancellable, Completable, Failurable, Receiver {
+
+    static final AtomicLong COUNTER = new AtomicLong();
+
+    final MappedRingBuffer ring;
+
+    final SpscArrayQueue<ByteBuffer> queue;
+
+    final int limit;
+
+    Subscription s;
+
+    Thread thread;
+
+    Throwable error;
+    volatile boolean done;
+
+    volatile boolean cancelled;
+
+    /** Set while the writer thread may be parked waiting for new buffers. */
+    volatile boolean waiting;
+
+    volatile boolean terminated;
+
+    public MappedRingSubscriber(MappedRingBuffer ring, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        this.ring = Objects.requireNonNull(ring, "ring");
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.limit = PrefetchPolicy.limit(queue.length());
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (SubscriptionHelper.validate(this.s, s)) {
+            this.s = s;
+
+            Thread t = new Thread(this, "rsc-ring-writer-" + COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            thread = t;
+            t.start();
+
+            s.request(queue.length());
+        }
+    }
+
+    @Override
+    public void onNext(ByteBuffer t) {
+        if (done) {
+            UnsignalledExceptions.onNextDropped(t);
+            return;
+        }
+        if (!queue.offer(t)) {
+            s.cancel();
+
+            onError(new IllegalStateException("Queue is full?!"));
+            return;
+        }
+        signal();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            UnsignalledExceptions.onErrorDropped(t);
+            return;
+        }
+        error = t;
+        done = true;
+        signal();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        signal();
+    }
+
+    /**
+     * Cancels the upstream and stops writing without signalling the consumer.
+     */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            Subscription a = s;
+            if (a != null) {
+                a.cancel();
+            }
+            signal();
+        }
+    }
+
+    void signal() {
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * The writer loop: moves the prefetched buffers into the ring buffer within the consumer's
+     * demand and idles if there was nothing to do.
+     */
+    @Override
+    public void run() {
+        final MappedRingBuffer rb = ring;
+        final SpscArrayQueue<ByteBuffer> q = queue;
+
+        ByteBuffer current = null;
+        long written = 0L;
+        int produced = 0;
+        int idle = 0;
+
+        for (;;) {
+            if (cancelled) {
+                terminate(q);
+                return;
+            }
+
+            if (rb.isCancelled()) {
+                s.cancel();
+                terminate(q);
+                return;
+            }
+
+            boolean d = done;
+            if (d && error != null) {
+                rb.fail(error);
+                terminate(q);
+                return;
+            }
+
+            boolean progress = false;
+            long r = rb.requested();
+
+            while (written != r) {
+                ByteBuffer m = current;
+                if (m == null) {
+                    m = q.poll();
+                    if (m == null) {
+                        break;
+                    }
+                }
+
+                boolean offered;
+
+                try {
+                    offered = rb.offer(m);
+                } catch (IllegalArgumentException ex) {
+                    s.cancel();
+                    error = ex;
+                    rb.fail(ex);
+                    terminate(q);
+                    return;
+                }
+
+                if (!offered) {
+                    current = m;
+                    break;
+                }
+
+                current = null;
+                written++;
+                progress = true;
+
+                if (++produced == limit) {
+                    produced = 0;
+                    s.request(limit);
+                }
+            }
+
+            if (d && current == null && q.isEmpty()) {
+                rb.complete();
+                terminate(q);
+                return;
+            }
+
+            if (progress) {
+                idle = 0;
+            } else if (idle >= 200) {
+                waiting = true;
+                // don't park if a buffer or signal arrived meanwhile while only the input was missing
+                boolean starved = current == null && written != r;
+                if (!cancelled && !(starved && (done || !q.isEmpty()))) {
+                    idle = MappedRingBuffer.idle(idle);
+                }
+                waiting = false;
+            } else {
+                idle = MappedRingBuffer.idle(idle);
+            }
+        }
+    }
+
+    void terminate(SpscArrayQueue<ByteBuffer> q) {
+        terminated = true;
+        q.clear();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isStarted() {
+        return s != null && !terminated;
+    }
+
+    /**
+     * @return true once the writer thread has stopped
+     */
+    @Override
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    @Override
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public Object upstream() {
+        return s;
+    }
+}
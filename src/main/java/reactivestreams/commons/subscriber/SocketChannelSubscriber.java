@@ -0,0 +1,314 @@
+package reactivestreams.commons.subscriber;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Receiver;
+import reactivestreams.commons.state.Cancellable;
+import reactivestreams.commons.state.Completable;
+import reactivestreams.commons.state.Failurable;
+import reactivestreams.commons.util.NioEventLoop;
+import reactivestreams.commons.util.PrefetchPolicy;
+import reactivestreams.commons.util.SpscArrayQueue;
+import reactivestreams.commons.util.SubscriptionHelper;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+/**
+ * Writes the received {@link ByteBuffer}s to a connected {@link SocketChannel} from a
+ * {@link NioEventLoop}.
+ * <p>
+ * At most prefetch buffers are requested ahead; new ones are only requested once earlier
+ * buffers have been written completely, and a partially written buffer waits for the
+ * channel to become writable again, so a slow peer throttles the upstream. The buffers
+ * are written from their position to their limit and must not be modified afterwards.
+ * <p>
+ * On completion the output side of the channel is shut down once the buffers have been written;
+ * on error or {@link #cancel()} the channel is closed right away, dropping the buffers not yet
+ * written.
+ */
+public final class SocketChannelSubscriber
+        implements Subscriber<ByteBuffer>, Runnable, Cancellable, Completable, Failurable, Receiver {
+
+    final SocketChannel channel;
+
+    final NioEventLoop loop;
+
+    final SpscArrayQueue<ByteBuffer> queue;
+
+    final int limit;
+
+    /** Resumes the writes once the channel is writable again; registered for one readiness event. */
+    final Runnable writable;
+
+    Subscription s;
+
+    /** The buffer being written, accessed by the event loop thread only. */
+    ByteBuffer current;
+
+    /** Accessed by the event loop thread only. */
+    boolean nonBlocking;
+
+    /** The number of buffers written since the last replenishing request. */
+    int produced;
+
+    Throwable error;
+    volatile boolean done;
+
+    volatile boolean cancelled;
+
+    /** Set once the channel has been shut down or closed. */
+    volatile boolean terminated;
+
+    volatile int wip;
+    static final AtomicIntegerFieldUpdater<SocketChannelSubscriber> WIP =
+      AtomicIntegerFieldUpdater.newUpdater(SocketChannelSubscriber.class, "wip");
+
+    public SocketChannelSubscriber(SocketChannel channel, NioEventLoop loop, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.loop = Objects.requireNonNull(loop, "loop");
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.limit = PrefetchPolicy.limit(queue.length());
+        this.writable = () -> {
+            loop.clearInterest(channel, SelectionKey.OP_WRITE);
+            schedule();
+        };
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (SubscriptionHelper.validate(this.s, s)) {
+            this.s = s;
+
+            s.request(queue.length());
+        }
+    }
+
+    @Override
+    public void onNext(ByteBuffer t) {
+        if (done) {
+            UnsignalledExceptions.onNextDropped(t);
+            return;
+        }
+        if (!queue.offer(t)) {
+            s.cancel();
+
+            onError(new IllegalStateException("Queue is full?!"));
+            return;
+        }
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            UnsignalledExceptions.onErrorDropped(t);
+            return;
+        }
+        error = t;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        schedule();
+    }
+
+    /**
+     * Cancels the upstream and closes the channel, dropping the buffers not yet written.
+     */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            Subscription a = s;
+            if (a != null) {
+                a.cancel();
+            }
+            schedule();
+        }
+    }
+
+    void schedule() {
+        if (WIP.getAndIncrement(this) == 0) {
+            try {
+                loop.execute(this);
+            } catch (RejectedExecutionException ex) {
+                rejected(ex);
+            }
+        }
+    }
+
+    /**
+     * Closes the channel in place as the event loop has been shut down; the work-in-progress
+     * counter is never released, so later signals can't schedule anything either.
+     */
+    void rejected(RejectedExecutionException ex) {
+        Subscription a = s;
+        if (a != null) {
+            a.cancel();
+        }
+        if (!cancelled && error == null) {
+            error = ex;
+            UnsignalledExceptions.onErrorDropped(ex);
+        }
+        done = true;
+        close();
+    }
+
+    /**
+     * Writes the queued buffers until the socket buffer is full; runs on the event loop thread,
+     * either scheduled by a signal or by the write readiness of the channel. While waiting for
+     * the latter the work-in-progress counter is released so cancel() and the terminal signals
+     * still get onto the event loop.
+     */
+    @Override
+    public void run() {
+        final SpscArrayQueue<ByteBuffer> q = queue;
+
+        int missed = wip;
+
+        for (;;) {
+            for (;;) {
+                if (terminated) {
+                    current = null;
+                    q.clear();
+                    return;
+                }
+
+                if (cancelled) {
+                    close();
+                    return;
+                }
+
+                if (done && error != null) {
+                    close();
+                    return;
+                }
+
+                ByteBuffer b = current;
+                if (b == null) {
+                    boolean d = done;
+                    b = q.poll();
+
+                    if (b == null) {
+                        if (d) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+
+                    current = b;
+                }
+
+                try {
+                    if (!nonBlocking) {
+                        NioEventLoop.nonBlocking(channel);
+                        nonBlocking = true;
+                    }
+                    channel.write(b);
+                } catch (IOException ex) {
+                    s.cancel();
+                    error = ex;
+                    close();
+                    return;
+                }
+
+                if (b.hasRemaining()) {
+                    try {
+                        loop.interest(channel, SelectionKey.OP_WRITE, writable);
+                    } catch (IOException ex) {
+                        s.cancel();
+                        error = ex;
+                        close();
+                        return;
+                    }
+                    break;
+                }
+
+                current = null;
+
+                int p = produced + 1;
+                if (p == limit) {
+                    produced = 0;
+                    s.request(p);
+                } else {
+                    produced = p;
+                }
+            }
+
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    void terminate() {
+        if (error != null) {
+            close();
+            return;
+        }
+        terminated = true;
+        loop.clearInterest(channel, SelectionKey.OP_WRITE);
+        try {
+            channel.shutdownOutput();
+        } catch (IOException ex) {
+            error = ex;
+            close();
+        }
+    }
+
+    void close() {
+        terminated = true;
+        current = null;
+        queue.clear();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            UnsignalledExceptions.onErrorDropped(ex);
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isStarted() {
+        return s != null && !terminated;
+    }
+
+    /**
+     * @return true once the output has been shut down or the channel closed
+     */
+    @Override
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    @Override
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public Object upstream() {
+        return s;
+    }
+}
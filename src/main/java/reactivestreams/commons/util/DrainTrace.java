@@ -0,0 +1,53 @@
+package reactivestreams.commons.util;
+
+import java.util.Queue;
+
+/**
+ * Records a sampled drain loop run of an operator: the number of items processed (emitted
+ * downstream or, for concatMap, mapped into inner Publishers), the amount requested from
+ * upstream, the queue depth at entry and the time spent.
+ * <p>
+ * This is the Java 8 version which never samples, thus {@link #begin(Object, Queue)}
+ * returns null and the instrumented operators skip all of the recording. The multi-release
+ * jar replaces it with the Java Flight Recorder based one (src/main/java11) when running on
+ * Java 11 or newer; there, the events are recorded if the
+ * {@code reactivestreams.commons.Drain} event is enabled in the recording, for one in every
+ * {@code rsc.drainTrace.sampling} (default 16) drain runs.
+ */
+public final class DrainTrace {
+
+    DrainTrace() {
+    }
+
+    /**
+     * Starts recording a drain loop run if this run is sampled.
+     *
+     * @param operator the operator running the drain loop
+     * @param queue the operator's own queue being drained, null if not applicable or if it is a fused
+     * upstream queue whose size() may run user code
+     * @return the trace to update and end or null if the run is not sampled
+     */
+    public static DrainTrace begin(Object operator, Queue<?> queue) {
+        return null;
+    }
+
+    /**
+     * Indicates an item has been processed by the drain loop.
+     */
+    public void next() {
+    }
+
+    /**
+     * Indicates an amount has been requested from upstream.
+     *
+     * @param n the amount requested
+     */
+    public void request(long n) {
+    }
+
+    /**
+     * Ends the recording of the drain loop run.
+     */
+    public void end() {
+    }
+}
@@ -25,6 +25,12 @@ public final class ExecutorServiceScheduler implements Callable<Consumer<Runnabl
 
     static final Future<?> FINISHED = new FutureTask<>(EMPTY, null);
 
+    /**
+     * The worker whose task the current thread is running, if any; other threads of the same
+     * executor run tasks of other workers and must not count as this worker's thread.
+     */
+    static final ThreadLocal<ExecutorServiceWorker> CURRENT = new ThreadLocal<>();
+
     final ExecutorService executor;
 
     public ExecutorServiceScheduler(ExecutorService executor) {
@@ -36,7 +42,7 @@ public final class ExecutorServiceScheduler implements Callable<Consumer<Runnabl
         return new ExecutorServiceWorker(executor);
     }
 
-    static final class ExecutorServiceWorker implements Consumer<Runnable> {
+    static final class ExecutorServiceWorker implements Consumer<Runnable>, WorkerThreadAware {
         
         final ExecutorService executor;
         
@@ -62,6 +68,11 @@ public final class ExecutorServiceScheduler implements Callable<Consumer<Runnabl
             }
         }
         
+        @Override
+        public boolean isOnWorkerThread() {
+            return CURRENT.get() == this;
+        }
+
         boolean add(ScheduledRunnable sr) {
             if (!terminated) {
                 synchronized (this) {
@@ -119,6 +130,8 @@ public final class ExecutorServiceScheduler implements Callable<Consumer<Runnabl
         
         @Override
         public void run() {
+            ExecutorServiceWorker prev = CURRENT.get();
+            CURRENT.set(parent);
             try {
                 try {
                     task.run();
@@ -126,6 +139,12 @@ public final class ExecutorServiceScheduler implements Callable<Consumer<Runnabl
                     UnsignalledExceptions.onErrorDropped(e);
                 }
             } finally {
+                if (prev == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(prev);
+                }
+
                 for (;;) {
                     Future<?> a = get();
                     if (a == CANCELLED) {
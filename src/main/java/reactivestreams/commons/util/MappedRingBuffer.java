@@ -0,0 +1,379 @@
+package reactivestreams.commons.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single-producer single-consumer ring buffer of byte messages laid out in a memory-mapped
+ * file so that two processes on the same host can exchange messages without a system call per
+ * message.
+ * <p>
+ * The file starts with a header page holding, each on its own cache line, the number of bytes
+ * written by the producer (tail), the number of bytes consumed by the consumer (head), the total
+ * number of messages requested by the consumer and the termination states of both sides, followed
+ * by the data area of capacity bytes. A message is stored as its length and its bytes, padded to
+ * 8 bytes; a message that doesn't fit before the end of the data area is preceded by a padding
+ * marker and starts over at the beginning. The counters are published with release stores and
+ * read with acquire loads, thus the contents of a message are visible once the tail covers it.
+ * <p>
+ * The producer methods ({@link #offer(ByteBuffer)}, {@link #requested()}, {@link #complete()},
+ * {@link #fail(Throwable)}, {@link #isCancelled()}) must be called from a single thread at a time
+ * of a single process, as must the consumer methods ({@link #poll()}, {@link #isEmpty()},
+ * {@link #request(long)}, {@link #cancel()}, {@link #isCompleted()}, {@link #getError()}).
+ */
+public final class MappedRingBuffer implements Closeable {
+
+    static final int MAGIC = 0x52534352;
+
+    static final int CAPACITY_OFFSET = 4;
+
+    static final int TAIL_OFFSET = 128;
+
+    static final int HEAD_OFFSET = 256;
+
+    static final int REQUESTED_OFFSET = 384;
+
+    static final int PRODUCER_STATE_OFFSET = 512;
+
+    static final int CONSUMER_STATE_OFFSET = 640;
+
+    static final int ERROR_OFFSET = 768;
+
+    static final int HEADER_SIZE = 4096;
+
+    static final int MAX_ERROR_LENGTH = HEADER_SIZE - ERROR_OFFSET - 4;
+
+    static final int PADDING = -1;
+
+    static final int RUNNING = 0;
+
+    static final int COMPLETED = 1;
+
+    static final int FAILED = 2;
+
+    static final int CANCELLED = 1;
+
+    final FileChannel channel;
+
+    final MappedByteBuffer buffer;
+
+    final int capacity;
+
+    final int mask;
+
+    /** Producer side: the bytes written, the last known consumer head and a view for bulk copies. */
+    long tail;
+    long headCache;
+    final ByteBuffer writeView;
+
+    /** Consumer side: the bytes consumed, the last known producer tail, the total requested and a view. */
+    long head;
+    final ByteBuffer readView;
+    long tailCache;
+    long requested;
+
+    MappedRingBuffer(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.tail = OrderedAccess.getLongAcquire(buffer, TAIL_OFFSET);
+        this.head = OrderedAccess.getLongAcquire(buffer, HEAD_OFFSET);
+        this.headCache = head;
+        this.tailCache = tail;
+        this.requested = OrderedAccess.getLongAcquire(buffer, REQUESTED_OFFSET);
+        this.writeView = buffer.duplicate();
+        this.readView = buffer.duplicate();
+    }
+
+    /**
+     * Creates or truncates the file and lays out an empty ring buffer in it.
+     *
+     * @param file the file to create
+     * @param capacity the size of the data area, rounded up to the next power of 2, at least 64
+     * @return the ring buffer
+     * @throws IOException if the file could not be created or mapped
+     */
+    public static MappedRingBuffer create(Path file, int capacity) throws IOException {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity in (0, 2^30] required but it was " + capacity);
+        }
+        int c = Math.max(64, roundToPowerOfTwo(capacity));
+
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + c);
+            b.order(ByteOrder.nativeOrder());
+            b.putInt(CAPACITY_OFFSET, c);
+            OrderedAccess.putIntRelease(b, 0, MAGIC);
+            return new MappedRingBuffer(ch, b, c);
+        } catch (IOException | RuntimeException ex) {
+            ch.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Maps a ring buffer created by {@link #create(Path, int)}, possibly by another process.
+     *
+     * @param file the file to map
+     * @return the ring buffer
+     * @throws IOException if the file could not be mapped or doesn't contain a ring buffer
+     */
+    public static MappedRingBuffer open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = ch.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a ring buffer file: " + file);
+            }
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            b.order(ByteOrder.nativeOrder());
+            int c = b.getInt(CAPACITY_OFFSET);
+            if (OrderedAccess.getIntAcquire(b, 0) != MAGIC || Integer.bitCount(c) != 1 || size != HEADER_SIZE + c) {
+                throw new IOException("Not a ring buffer file: " + file);
+            }
+            return new MappedRingBuffer(ch, b, c);
+        } catch (IOException | RuntimeException ex) {
+            ch.close();
+            throw ex;
+        }
+    }
+
+    static int roundToPowerOfTwo(int v) {
+        return 1 << (32 - Integer.numberOfLeadingZeros(v - 1));
+    }
+
+    static int align(int v) {
+        return (v + 7) & ~7;
+    }
+
+    /**
+     * @return the size of the data area in bytes
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the maximum length of a single message in bytes
+     */
+    public int maxMessageLength() {
+        return capacity / 2 - 4;
+    }
+
+    // -------------------------------------------------------------------------------------------
+    // producer side
+
+    /**
+     * Appends the remaining bytes of the message if there is enough free space;
+     * the position of the message is left unchanged.
+     *
+     * @param message the message
+     * @return true if the message was appended, false if the ring buffer is full
+     * @throws IllegalArgumentException if the message is longer than {@link #maxMessageLength()}
+     */
+    public boolean offer(ByteBuffer message) {
+        int len = message.remaining();
+        if (len > maxMessageLength()) {
+            throw new IllegalArgumentException("The message length " + len + " exceeds the maximum of "
+                    + maxMessageLength());
+        }
+        int size = align(4 + len);
+
+        long t = tail;
+        int index = (int)t & mask;
+        int toEnd = capacity - index;
+        int required = size > toEnd ? toEnd + size : size;
+
+        if (t + required - headCache > capacity) {
+            headCache = OrderedAccess.getLongAcquire(buffer, HEAD_OFFSET);
+            if (t + required - headCache > capacity) {
+                return false;
+            }
+        }
+
+        final MappedByteBuffer b = buffer;
+        if (size > toEnd) {
+            b.putInt(HEADER_SIZE + index, PADDING);
+            index = 0;
+        }
+
+        b.putInt(HEADER_SIZE + index, len);
+        ByteBuffer w = writeView;
+        w.clear();
+        w.position(HEADER_SIZE + index + 4);
+        int p = message.position();
+        w.put(message);
+        message.position(p);
+
+        t += required;
+        tail = t;
+        OrderedAccess.putLongRelease(b, TAIL_OFFSET, t);
+        return true;
+    }
+
+    /**
+     * @return the total number of messages requested by the consumer, Long.MAX_VALUE if unbounded
+     */
+    public long requested() {
+        return OrderedAccess.getLongAcquire(buffer, REQUESTED_OFFSET);
+    }
+
+    /**
+     * Signals the consumer that no more messages follow.
+     */
+    public void complete() {
+        OrderedAccess.putIntRelease(buffer, PRODUCER_STATE_OFFSET, COMPLETED);
+    }
+
+    /**
+     * Signals the consumer that no more messages follow due to an error, described by its
+     * string representation truncated to the space available in the header.
+     *
+     * @param error the error
+     */
+    public void fail(Throwable error) {
+        byte[] msg = String.valueOf(error).getBytes(StandardCharsets.UTF_8);
+        int n = Math.min(msg.length, MAX_ERROR_LENGTH);
+        final MappedByteBuffer b = buffer;
+        b.putInt(ERROR_OFFSET, n);
+        for (int i = 0; i < n; i++) {
+            b.put(ERROR_OFFSET + 4 + i, msg[i]);
+        }
+        OrderedAccess.putIntRelease(b, PRODUCER_STATE_OFFSET, FAILED);
+    }
+
+    /**
+     * @return true if the consumer has cancelled
+     */
+    public boolean isCancelled() {
+        return OrderedAccess.getIntAcquire(buffer, CONSUMER_STATE_OFFSET) == CANCELLED;
+    }
+
+    // -------------------------------------------------------------------------------------------
+    // consumer side
+
+    /**
+     * Removes the next message and returns a copy of it.
+     *
+     * @return the next message in a heap buffer or null if the ring buffer is empty
+     */
+    public ByteBuffer poll() {
+        long h = head;
+        if (h == tailCache) {
+            tailCache = OrderedAccess.getLongAcquire(buffer, TAIL_OFFSET);
+            if (h == tailCache) {
+                return null;
+            }
+        }
+
+        final MappedByteBuffer b = buffer;
+        int index = (int)h & mask;
+        int len = b.getInt(HEADER_SIZE + index);
+        if (len == PADDING) {
+            h += capacity - index;
+            index = 0;
+            len = b.getInt(HEADER_SIZE);
+        }
+
+        byte[] a = new byte[len];
+        ByteBuffer r = readView;
+        int o = HEADER_SIZE + index + 4;
+        r.limit(o + len);
+        r.position(o);
+        r.get(a);
+
+        h += align(4 + len);
+        head = h;
+        OrderedAccess.putLongRelease(b, HEAD_OFFSET, h);
+        return ByteBuffer.wrap(a);
+    }
+
+    /**
+     * @return true if there are no messages to consume
+     */
+    public boolean isEmpty() {
+        long h = head;
+        if (h == tailCache) {
+            tailCache = OrderedAccess.getLongAcquire(buffer, TAIL_OFFSET);
+            return h == tailCache;
+        }
+        return false;
+    }
+
+    /**
+     * Publishes additional demand to the producer.
+     *
+     * @param n the number of additional messages requested, Long.MAX_VALUE for unbounded
+     */
+    public void request(long n) {
+        long r = BackpressureHelper.addCap(requested, n);
+        requested = r;
+        OrderedAccess.putLongRelease(buffer, REQUESTED_OFFSET, r);
+    }
+
+    /**
+     * Signals the producer to stop.
+     */
+    public void cancel() {
+        OrderedAccess.putIntRelease(buffer, CONSUMER_STATE_OFFSET, CANCELLED);
+    }
+
+    /**
+     * @return true if the producer has completed normally
+     */
+    public boolean isCompleted() {
+        return OrderedAccess.getIntAcquire(buffer, PRODUCER_STATE_OFFSET) == COMPLETED;
+    }
+
+    /**
+     * @return the description of the error the producer failed with or null if it hasn't failed
+     */
+    public String getError() {
+        final MappedByteBuffer b = buffer;
+        if (OrderedAccess.getIntAcquire(b, PRODUCER_STATE_OFFSET) != FAILED) {
+            return null;
+        }
+        byte[] msg = new byte[b.getInt(ERROR_OFFSET)];
+        for (int i = 0; i < msg.length; i++) {
+            msg[i] = b.get(ERROR_OFFSET + 4 + i);
+        }
+        return new String(msg, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the file; the mapping itself is released once the buffer is garbage collected.
+     *
+     * @throws IOException if closing the file failed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Waits for the other side while idling: busy spins first, then yields and finally parks with
+     * an exponentially growing timeout of at most a millisecond.
+     *
+     * @param idleCount the number of consecutive idle rounds so far
+     * @return the next idle count
+     */
+    public static int idle(int idleCount) {
+        if (idleCount >= 200) {
+            LockSupport.parkNanos(1000L << Math.min(idleCount - 200, 10));
+        } else if (idleCount >= 100) {
+            Thread.yield();
+        }
+        return idleCount + 1;
+    }
+}
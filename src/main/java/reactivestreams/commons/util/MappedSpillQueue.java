@@ -0,0 +1,243 @@
+package reactivestreams.commons.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * An unbounded, file-backed FIFO queue which serializes its elements with a codec
+ * into fixed size memory-mapped segment files.
+ * <p>
+ * Each record is stored as its length followed by the encoded bytes; a record never
+ * straddles two segments. Segments are created in the given directory as the writer
+ * needs them and deleted once the reader has consumed them, or when the queue is closed.
+ * <p>
+ * The methods are synchronized, so one producer and one consumer thread may use the
+ * queue concurrently; it is meant to be an overflow tier behind an in-memory queue
+ * where the cost of the disk access dominates anyway.
+ *
+ * @param <T> the element type
+ */
+public final class MappedSpillQueue<T> {
+
+    /**
+     * Converts the elements to and from their serialized form.
+     *
+     * @param <T> the element type
+     */
+    public interface Codec<T> {
+
+        /**
+         * Serializes the value.
+         *
+         * @param value the value to serialize, never null
+         * @return the serialized form, not null
+         */
+        byte[] encode(T value);
+
+        /**
+         * Deserializes a value.
+         *
+         * @param data the serialized form as returned by {@link #encode(Object)}
+         * @return the value, not null
+         */
+        T decode(byte[] data);
+    }
+
+    /** The length value marking the unused remainder of a segment. */
+    static final int END_OF_SEGMENT = -1;
+
+    final Path directory;
+
+    final int segmentSize;
+
+    final Codec<T> codec;
+
+    /** The segments in write order, the head being read, the tail being written. */
+    final ArrayDeque<Segment> segments;
+
+    long size;
+
+    boolean closed;
+
+    public MappedSpillQueue(Path directory, int segmentSize, Codec<T> codec) {
+        if (segmentSize < 8) {
+            throw new IllegalArgumentException("segmentSize >= 8 required but it was " + segmentSize);
+        }
+        this.directory = Objects.requireNonNull(directory, "directory");
+        this.segmentSize = segmentSize;
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.segments = new ArrayDeque<>();
+    }
+
+    /**
+     * Appends the value to the end of the queue.
+     *
+     * @param value the value to append, not null
+     * @return false if the queue has been closed
+     * @throws UncheckedIOException if a new segment couldn't be created
+     * @throws IllegalArgumentException if the encoded value doesn't fit into a segment
+     */
+    public synchronized boolean offer(T value) {
+        if (closed) {
+            return false;
+        }
+        byte[] data = codec.encode(value);
+        if (data == null) {
+            throw new NullPointerException("The codec encoded a value into null");
+        }
+
+        int len = data.length;
+        if (len > segmentSize - 4) {
+            throw new IllegalArgumentException("The encoded value of " + len +
+                    " bytes doesn't fit into a segment of " + segmentSize + " bytes");
+        }
+
+        Segment s = segments.peekLast();
+        if (s == null || s.buffer.remaining() < 4 + len) {
+            if (s != null && s.buffer.remaining() >= 4) {
+                s.buffer.putInt(END_OF_SEGMENT);
+            }
+            s = newSegment();
+            segments.offerLast(s);
+        }
+
+        s.buffer.putInt(len);
+        s.buffer.put(data);
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes and returns the value at the head of the queue.
+     *
+     * @return the value or null if the queue is empty or closed
+     */
+    public synchronized T poll() {
+        if (size == 0L || closed) {
+            return null;
+        }
+
+        Segment s = segments.peekFirst();
+        int len;
+        for (;;) {
+            if (s.readIndex + 4 <= segmentSize) {
+                len = s.buffer.getInt(s.readIndex);
+                if (len != END_OF_SEGMENT) {
+                    break;
+                }
+            }
+            segments.pollFirst();
+            s.delete();
+            s = segments.peekFirst();
+        }
+
+        byte[] data = new byte[len];
+        ByteBuffer b = s.buffer.duplicate();
+        b.position(s.readIndex + 4);
+        b.get(data);
+        s.readIndex += 4 + len;
+        size--;
+
+        if (size == 0L) {
+            // everything written has been read, start over with the tail segment
+            Segment t = segments.peekLast();
+            while (segments.peekFirst() != t) {
+                segments.pollFirst().delete();
+            }
+            t.buffer.clear();
+            t.readIndex = 0;
+        }
+
+        return codec.decode(data);
+    }
+
+    /**
+     * Returns the number of values in the queue.
+     *
+     * @return the number of values in the queue
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the queue holds no values.
+     *
+     * @return true if the queue holds no values
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0L;
+    }
+
+    /**
+     * Returns the number of segment files currently in use.
+     *
+     * @return the number of segment files currently in use
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Drops all values and deletes the segment files; subsequent offers are ignored.
+     */
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            size = 0L;
+            Segment s;
+            while ((s = segments.pollFirst()) != null) {
+                s.delete();
+            }
+        }
+    }
+
+    Segment newSegment() {
+        Path file;
+        try {
+            file = Files.createTempFile(directory, "rsc-spill-", ".seg");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(file, ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException ex) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex2) {
+                ex.addSuppressed(ex2);
+            }
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static final class Segment {
+        final Path file;
+
+        final MappedByteBuffer buffer;
+
+        /** The absolute read position; the buffer's own position is the write position. */
+        int readIndex;
+
+        Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                // the mapping is released once the buffer is garbage collected
+            }
+        }
+    }
+}
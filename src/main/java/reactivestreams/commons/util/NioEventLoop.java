@@ -0,0 +1,225 @@
+package reactivestreams.commons.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single daemon thread multiplexing non-blocking channels over a {@link Selector}.
+ * <p>
+ * Channels are driven by read and write handlers whose interest is toggled from the event
+ * loop thread, typically in reaction to downstream requests and upstream emissions, so the
+ * kernel socket buffers propagate backpressure to the remote peer. Other threads hand over
+ * work via {@link #execute(Runnable)}.
+ */
+public final class NioEventLoop {
+
+    static final AtomicLong COUNTER = new AtomicLong();
+
+    final Selector selector;
+
+    final Queue<Runnable> tasks;
+
+    final Thread thread;
+
+    volatile boolean shutdown;
+
+    volatile int wakeup;
+    static final AtomicIntegerFieldUpdater<NioEventLoop> WAKEUP =
+      AtomicIntegerFieldUpdater.newUpdater(NioEventLoop.class, "wakeup");
+
+    /**
+     * Opens a selector and starts the event loop thread.
+     *
+     * @throws UncheckedIOException if the selector could not be opened
+     */
+    public NioEventLoop() {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.thread = new Thread(this::loop, "rsc-nio-" + COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return true if the caller runs on the event loop thread
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Runs the task on the event loop thread after the current batch of selected keys and tasks,
+     * even if called from the event loop thread itself.
+     * <p>
+     * A task accepted before the shutdown is run before the event loop thread stops.
+     *
+     * @param task the task to run
+     * @throws RejectedExecutionException if the event loop has been shut down
+     */
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw rejected();
+        }
+        tasks.offer(task);
+        // the loop may have drained its final batch between the check and the offer
+        if (shutdown && tasks.remove(task)) {
+            throw rejected();
+        }
+        if (wakeup == 0 && WAKEUP.compareAndSet(this, 0, 1)) {
+            selector.wakeup();
+        }
+    }
+
+    static RejectedExecutionException rejected() {
+        return new RejectedExecutionException("The event loop has been shut down");
+    }
+
+    /**
+     * Registers the handler for the given readiness operation and adds it to the interest set
+     * of the channel, switching the channel to non-blocking mode on first use.
+     * <p>
+     * Must be called from the event loop thread.
+     *
+     * @param channel the channel
+     * @param op {@link SelectionKey#OP_READ} or {@link SelectionKey#OP_WRITE}
+     * @param handler the handler called on the event loop thread when the channel is ready
+     * @throws IOException if the channel is closed
+     */
+    public void interest(SelectableChannel channel, int op, Runnable handler) throws IOException {
+        SelectionKey key = channel.keyFor(selector);
+        Handlers h;
+        if (key == null || !key.isValid()) {
+            nonBlocking(channel);
+            h = new Handlers();
+            key = channel.register(selector, 0, h);
+        } else {
+            h = (Handlers)key.attachment();
+        }
+        if (op == SelectionKey.OP_READ) {
+            h.read = handler;
+        } else if (op == SelectionKey.OP_WRITE) {
+            h.write = handler;
+        } else {
+            throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+        int ops = key.interestOps();
+        if ((ops & op) == 0) {
+            key.interestOps(ops | op);
+        }
+    }
+
+    /**
+     * Switches the channel to non-blocking mode before its first read or write from the
+     * event loop thread.
+     *
+     * @param channel the channel
+     * @throws IOException if the channel is closed
+     */
+    public static void nonBlocking(SelectableChannel channel) throws IOException {
+        if (channel.isBlocking()) {
+            channel.configureBlocking(false);
+        }
+    }
+
+    /**
+     * Removes the operation from the interest set of the channel, if registered.
+     * <p>
+     * Must be called from the event loop thread.
+     *
+     * @param channel the channel
+     * @param op {@link SelectionKey#OP_READ} or {@link SelectionKey#OP_WRITE}
+     */
+    public void clearInterest(SelectableChannel channel, int op) {
+        SelectionKey key = channel.keyFor(selector);
+        if (key != null && key.isValid()) {
+            int ops = key.interestOps();
+            if ((ops & op) != 0) {
+                key.interestOps(ops & ~op);
+            }
+        }
+    }
+
+    /**
+     * Stops the event loop thread and closes the selector once the tasks already accepted have run;
+     * the channels are left open.
+     */
+    public void shutdown() {
+        shutdown = true;
+        selector.wakeup();
+    }
+
+    void loop() {
+        final Selector sel = selector;
+        try {
+            while (!shutdown) {
+                if (tasks.isEmpty()) {
+                    sel.select();
+                } else {
+                    sel.selectNow();
+                }
+                wakeup = 0;
+
+                Iterator<SelectionKey> it = sel.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+
+                    Handlers h = (Handlers)key.attachment();
+                    if (key.isValid() && key.isWritable() && h.write != null) {
+                        run(h.write);
+                    }
+                    if (key.isValid() && key.isReadable() && h.read != null) {
+                        run(h.read);
+                    }
+                }
+
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    run(task);
+                }
+            }
+        } catch (IOException ex) {
+            UnsignalledExceptions.onErrorDropped(ex);
+        } finally {
+            shutdown = true;
+            // pending tasks may be cancellations which close their channel
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                run(task);
+            }
+            try {
+                sel.close();
+            } catch (IOException ex) {
+                UnsignalledExceptions.onErrorDropped(ex);
+            }
+        }
+    }
+
+    static void run(Runnable r) {
+        try {
+            r.run();
+        } catch (Throwable ex) {
+            ExceptionHelper.throwIfFatal(ex);
+            UnsignalledExceptions.onErrorDropped(ex);
+        }
+    }
+
+    static final class Handlers {
+        Runnable read;
+
+        Runnable write;
+    }
+}
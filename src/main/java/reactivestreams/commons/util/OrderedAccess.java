@@ -0,0 +1,96 @@
+package reactivestreams.commons.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+/**
+ * Acquire loads and release stores of aligned longs and ints in direct (typically memory-mapped)
+ * buffers, used to publish data between threads or processes sharing the memory.
+ * <p>
+ * This is the Java 8 version which brackets plain buffer accesses with the fences of
+ * {@code sun.misc.Unsafe} (looked up reflectively) and falls back to a volatile field access
+ * if they are not available; the multi-release jar replaces it with a VarHandle based one
+ * (src/main/java11) when running on Java 11 or newer.
+ */
+enum OrderedAccess {
+    ;
+
+    static final MethodHandle LOAD_FENCE;
+
+    static final MethodHandle STORE_FENCE;
+
+    static volatile int fallback;
+
+    static {
+        MethodHandle load = null;
+        MethodHandle store = null;
+        try {
+            Class<?> c = Class.forName("sun.misc.Unsafe");
+            Field f = c.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            Object unsafe = f.get(null);
+            MethodType t = MethodType.methodType(void.class);
+            load = MethodHandles.lookup().findVirtual(c, "loadFence", t).bindTo(unsafe);
+            store = MethodHandles.lookup().findVirtual(c, "storeFence", t).bindTo(unsafe);
+        } catch (Throwable ex) {
+            ExceptionHelper.throwIfFatal(ex);
+            load = null;
+            store = null;
+        }
+        LOAD_FENCE = load;
+        STORE_FENCE = store;
+    }
+
+    static void loadFence() {
+        MethodHandle h = LOAD_FENCE;
+        if (h != null) {
+            try {
+                h.invokeExact();
+            } catch (Throwable ex) {
+                throw ExceptionHelper.propagate(ex);
+            }
+        } else {
+            if (fallback != 0) {
+                fallback = 0;
+            }
+        }
+    }
+
+    static void storeFence() {
+        MethodHandle h = STORE_FENCE;
+        if (h != null) {
+            try {
+                h.invokeExact();
+            } catch (Throwable ex) {
+                throw ExceptionHelper.propagate(ex);
+            }
+        } else {
+            fallback = 0;
+        }
+    }
+
+    static long getLongAcquire(ByteBuffer b, int index) {
+        long v = b.getLong(index);
+        loadFence();
+        return v;
+    }
+
+    static void putLongRelease(ByteBuffer b, int index, long v) {
+        storeFence();
+        b.putLong(index, v);
+    }
+
+    static int getIntAcquire(ByteBuffer b, int index) {
+        int v = b.getInt(index);
+        loadFence();
+        return v;
+    }
+
+    static void putIntRelease(ByteBuffer b, int index, int v) {
+        storeFence();
+        b.putInt(index, v);
+    }
+}
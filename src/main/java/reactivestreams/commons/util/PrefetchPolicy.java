@@ -0,0 +1,146 @@
+package reactivestreams.commons.util;
+
+import java.util.Queue;
+
+/**
+ * Determines how many items a queue-draining operator keeps requested from
+ * its upstream.
+ * <p>
+ * Operators request {@link #initial()} items upfront and replenish once the
+ * {@link #limit(int)} of the current prefetch amount has been consumed. At that point,
+ * they ask the policy for the next prefetch amount via {@link #next(int, Queue)}
+ * and request enough to have that many items outstanding again.
+ * <p>
+ * A fixed policy always returns the same amount. An adaptive policy looks at the
+ * queue at the time of replenishment: if the consumer has drained it fully, the
+ * prefetch amount is doubled (up to the maximum) to save request round-trips; if at
+ * least half of the still outstanding items are sitting in the queue, the consumer
+ * is the slow side and the prefetch amount is halved (down to the minimum) to
+ * retain fewer items.
+ * <p>
+ * Policies are immutable and can be shared between operators and subscribers; the
+ * current prefetch amount is held by the individual subscribers. Since the amount
+ * can grow up to {@link #max()}, queues used with an adaptive policy should be
+ * able to hold that many items.
+ */
+public final class PrefetchPolicy {
+
+    final int min;
+
+    final int initial;
+
+    final int max;
+
+    PrefetchPolicy(int min, int initial, int max) {
+        this.min = min;
+        this.initial = initial;
+        this.max = max;
+    }
+
+    /**
+     * Returns a policy which always prefetches the given amount.
+     *
+     * @param prefetch the prefetch amount, Integer.MAX_VALUE means unbounded
+     * @return the policy
+     */
+    public static PrefetchPolicy fixed(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return new PrefetchPolicy(prefetch, prefetch, prefetch);
+    }
+
+    /**
+     * Returns a policy which starts with the given initial amount and adjusts it
+     * between the minimum and maximum based on the observed queue occupancy.
+     *
+     * @param minPrefetch the minimum prefetch amount
+     * @param initialPrefetch the initial prefetch amount
+     * @param maxPrefetch the maximum prefetch amount
+     * @return the policy
+     */
+    public static PrefetchPolicy adaptive(int minPrefetch, int initialPrefetch, int maxPrefetch) {
+        if (minPrefetch <= 0) {
+            throw new IllegalArgumentException("minPrefetch > 0 required but it was " + minPrefetch);
+        }
+        if (initialPrefetch < minPrefetch) {
+            throw new IllegalArgumentException("initialPrefetch >= minPrefetch required but it was " + initialPrefetch);
+        }
+        if (maxPrefetch < initialPrefetch) {
+            throw new IllegalArgumentException("maxPrefetch >= initialPrefetch required but it was " + maxPrefetch);
+        }
+        return new PrefetchPolicy(minPrefetch, initialPrefetch, maxPrefetch);
+    }
+
+    /**
+     * Returns the number of items to consume before replenishing, given the current prefetch amount.
+     *
+     * @param prefetch the current prefetch amount
+     * @return the replenishment limit
+     */
+    public static int limit(int prefetch) {
+        if (prefetch == Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        return prefetch - (prefetch >> 2);
+    }
+
+    public int min() {
+        return min;
+    }
+
+    public int initial() {
+        return initial;
+    }
+
+    public int max() {
+        return max;
+    }
+
+    public boolean isAdaptive() {
+        return min != max;
+    }
+
+    /**
+     * Returns the prefetch amount to use after a replenishment.
+     * <p>
+     * Should be called once the {@link #limit(int)} of the current amount has been consumed;
+     * the caller should then request {@code consumed + next - prefetch} items, which is
+     * always positive.
+     *
+     * @param prefetch the current prefetch amount
+     * @param queue the queue holding the received but not yet consumed items, may be null
+     * @return the next prefetch amount
+     */
+    public int next(int prefetch, Queue<?> queue) {
+        int min = this.min;
+        int max = this.max;
+        if (min == max) {
+            return prefetch;
+        }
+
+        int backlog = queue != null ? queue.size() : 0;
+
+        if (backlog == 0) {
+            if (prefetch >= (max >> 1)) {
+                return max;
+            }
+            return prefetch << 1;
+        }
+
+        int outstanding = prefetch - limit(prefetch);
+        if (backlog << 1 >= outstanding) {
+            int p = prefetch >> 1;
+            return p < min ? min : p;
+        }
+        return prefetch;
+    }
+
+    @Override
+    public String toString() {
+        if (min == max) {
+            return "PrefetchPolicy{fixed=" + initial + "}";
+        }
+        return "PrefetchPolicy{min=" + min + ", initial=" + initial + ", max=" + max + "}";
+    }
+}
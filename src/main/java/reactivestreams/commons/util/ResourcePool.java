@@ -0,0 +1,350 @@
+package reactivestreams.commons.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * A bounded pool of expensive resources handed out asynchronously to borrowers.
+ * <p>
+ * Borrowers are queued in arrival order and served by a work-in-progress drain loop from the idle
+ * resources, creating new ones with the factory while fewer than maxSize exist; if neither is
+ * possible, the borrower waits until a resource is released. Neither borrowing nor releasing
+ * blocks or takes a lock. The borrower callbacks are invoked by whichever thread ran the drain
+ * loop, which may be the thread releasing a resource, but only after it has left the loop so
+ * a slow borrower doesn't hold up the other borrowers.
+ * <p>
+ * The pool keeps some metrics: the number of resources handed out, the number of borrowers that
+ * had to wait, and the total and maximum time between a borrow request and the
+ * delivery of the resource.
+ *
+ * @param <S> the resource type
+ */
+public final class ResourcePool<S> {
+
+    /**
+     * Receives the resource borrowed from a pool or the reason it couldn't be borrowed.
+     *
+     * @param <S> the resource type
+     */
+    public interface Borrower<S> {
+
+        /**
+         * Called with the borrowed resource which then has to be released to the pool.
+         *
+         * @param resource the resource, never null
+         * @return false if the borrower no longer needs the resource, which stays in the pool
+         */
+        boolean onResource(S resource);
+
+        /**
+         * Called if the factory failed or the pool has been disposed.
+         *
+         * @param e the error, never null
+         */
+        void onError(Throwable e);
+    }
+
+    final Callable<? extends S> factory;
+
+    final Consumer<? super S> disposer;
+
+    final int maxSize;
+
+    final Queue<S> idle;
+
+    final Queue<Waiter<S>> waiters;
+
+    volatile boolean disposed;
+
+    volatile int wip;
+    @SuppressWarnings("rawtypes")
+    static final AtomicIntegerFieldUpdater<ResourcePool> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(ResourcePool.class, "wip");
+
+    volatile long exhaustedCount;
+    @SuppressWarnings("rawtypes")
+    static final AtomicLongFieldUpdater<ResourcePool> EXHAUSTED_COUNT =
+            AtomicLongFieldUpdater.newUpdater(ResourcePool.class, "exhaustedCount");
+
+    /** Written only by the drain loop. */
+    volatile int created;
+
+    volatile long borrowCount;
+    @SuppressWarnings("rawtypes")
+    static final AtomicLongFieldUpdater<ResourcePool> BORROW_COUNT =
+            AtomicLongFieldUpdater.newUpdater(ResourcePool.class, "borrowCount");
+
+    volatile long borrowLatencyNanos;
+    @SuppressWarnings("rawtypes")
+    static final AtomicLongFieldUpdater<ResourcePool> BORROW_LATENCY_NANOS =
+            AtomicLongFieldUpdater.newUpdater(ResourcePool.class, "borrowLatencyNanos");
+
+    volatile long maxBorrowLatencyNanos;
+    @SuppressWarnings("rawtypes")
+    static final AtomicLongFieldUpdater<ResourcePool> MAX_BORROW_LATENCY_NANOS =
+            AtomicLongFieldUpdater.newUpdater(ResourcePool.class, "maxBorrowLatencyNanos");
+
+    /**
+     * Constructs a pool.
+     *
+     * @param factory creates a resource, called while holding the drain loop
+     * @param disposer disposes a resource once the pool has been disposed
+     * @param maxSize the maximum number of resources created by this pool
+     */
+    public ResourcePool(Callable<? extends S> factory, Consumer<? super S> disposer, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        this.factory = Objects.requireNonNull(factory, "factory");
+        this.disposer = Objects.requireNonNull(disposer, "disposer");
+        this.maxSize = maxSize;
+        this.idle = new ConcurrentLinkedQueue<>();
+        this.waiters = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Queues the borrower and hands it a resource as soon as one is available.
+     *
+     * @param borrower the borrower to serve
+     */
+    public void acquire(Borrower<? super S> borrower) {
+        Waiter<S> w = new Waiter<>(borrower, System.nanoTime());
+        waiters.offer(w);
+        drain();
+        if (!w.served) {
+            EXHAUSTED_COUNT.incrementAndGet(this);
+        }
+    }
+
+    /**
+     * Returns a borrowed resource to the pool, serving the next waiting borrower if any.
+     *
+     * @param resource the resource previously handed to a borrower
+     */
+    public void release(S resource) {
+        idle.offer(Objects.requireNonNull(resource, "resource"));
+        drain();
+    }
+
+    /**
+     * Disposes the idle resources and those released later, and fails the waiting and future
+     * borrowers.
+     */
+    public void dispose() {
+        disposed = true;
+        drain();
+    }
+
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** @return the number of resources created and not yet disposed */
+    public int getCreatedCount() {
+        return created;
+    }
+
+    /** @return the number of resources currently in the pool, an O(n) operation */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /** @return the number of borrowers waiting, including those that gave up, an O(n) operation */
+    public int getPendingCount() {
+        return waiters.size();
+    }
+
+    /** @return the number of resources handed out to borrowers */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * @return the number of borrowers not served during their acquire call because the pool was
+     * exhausted or other borrowers were queued before them
+     */
+    public long getExhaustedCount() {
+        return exhaustedCount;
+    }
+
+    /** @return the total time between the borrow requests and the delivery of the resources */
+    public long getBorrowLatencyNanos() {
+        return borrowLatencyNanos;
+    }
+
+    /** @return the longest time between a borrow request and the delivery of the resource */
+    public long getMaxBorrowLatencyNanos() {
+        return maxBorrowLatencyNanos;
+    }
+
+    void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        int missed = 1;
+
+        final Queue<S> idle = this.idle;
+        final Queue<Waiter<S>> waiters = this.waiters;
+
+        List<Waiter<S>> served = null;
+
+        for (;;) {
+
+            for (;;) {
+                if (disposed) {
+                    S r;
+                    while ((r = idle.poll()) != null) {
+                        created--;
+                        try {
+                            disposer.accept(r);
+                        } catch (Throwable e) {
+                            ExceptionHelper.throwIfFatal(e);
+                            UnsignalledExceptions.onErrorDropped(ExceptionHelper.unwrap(e));
+                        }
+                    }
+                    Waiter<S> w;
+                    while ((w = waiters.poll()) != null) {
+                        w.error = new IllegalStateException("The ResourcePool has been disposed");
+                        served = serve(served, w);
+                    }
+                    break;
+                }
+
+                // only the drain loop removes waiters, thus the head stays the same until polled
+                Waiter<S> w = waiters.peek();
+                if (w == null) {
+                    break;
+                }
+
+                S r = idle.poll();
+
+                if (r == null) {
+                    int c = created;
+                    if (c == maxSize) {
+                        break;
+                    }
+
+                    try {
+                        r = factory.call();
+                    } catch (Throwable e) {
+                        ExceptionHelper.throwIfFatal(e);
+                        waiters.poll();
+                        w.error = ExceptionHelper.unwrap(e);
+                        served = serve(served, w);
+                        continue;
+                    }
+
+                    if (r == null) {
+                        waiters.poll();
+                        w.error = new NullPointerException("The factory returned a null resource");
+                        served = serve(served, w);
+                        continue;
+                    }
+
+                    created = c + 1;
+                }
+
+                waiters.poll();
+                w.resource = r;
+                served = serve(served, w);
+            }
+
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+
+        if (served != null) {
+            deliver(served);
+        }
+    }
+
+    static <S> List<Waiter<S>> serve(List<Waiter<S>> served, Waiter<S> w) {
+        w.served = true;
+        if (served == null) {
+            served = new ArrayList<>();
+        }
+        served.add(w);
+        return served;
+    }
+
+    /**
+     * Calls the borrowers served by the drain loop once it has been left, returning the
+     * declined resources to the pool.
+     */
+    void deliver(List<Waiter<S>> served) {
+        for (Waiter<S> w : served) {
+            S r = w.resource;
+            if (r == null) {
+                try {
+                    w.borrower.onError(w.error);
+                } catch (Throwable e) {
+                    ExceptionHelper.throwIfFatal(e);
+                    UnsignalledExceptions.onErrorDropped(e);
+                }
+                continue;
+            }
+
+            long latency = System.nanoTime() - w.start;
+
+            // counted upfront as the borrower may release the resource before returning
+            BORROW_COUNT.incrementAndGet(this);
+            BORROW_LATENCY_NANOS.addAndGet(this, latency);
+
+            boolean accepted;
+            try {
+                accepted = w.borrower.onResource(r);
+            } catch (Throwable e) {
+                ExceptionHelper.throwIfFatal(e);
+                UnsignalledExceptions.onErrorDropped(e);
+                // the borrower may have used the resource before failing
+                accepted = true;
+            }
+
+            if (accepted) {
+                for (;;) {
+                    long m = maxBorrowLatencyNanos;
+                    if (latency <= m || MAX_BORROW_LATENCY_NANOS.compareAndSet(this, m, latency)) {
+                        break;
+                    }
+                }
+            } else {
+                BORROW_COUNT.decrementAndGet(this);
+                BORROW_LATENCY_NANOS.addAndGet(this, -latency);
+                release(r);
+            }
+        }
+    }
+
+    static final class Waiter<S> {
+        final Borrower<? super S> borrower;
+
+        final long start;
+
+        /** Set by the drain loop before calling the borrower. */
+        volatile boolean served;
+
+        /** The resource handed to the borrower, set by the drain loop. */
+        S resource;
+
+        /** The error signalled to the borrower if it got no resource, set by the drain loop. */
+        Throwable error;
+
+        Waiter(Borrower<? super S> borrower, long start) {
+            this.borrower = borrower;
+            this.start = start;
+        }
+    }
+}
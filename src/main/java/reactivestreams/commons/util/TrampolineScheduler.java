@@ -0,0 +1,98 @@
+package reactivestreams.commons.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * An Rsc scheduler which runs tasks on the caller thread; tasks scheduled while another
+ * task is running on the same thread are queued in a per-thread queue and run after it
+ * instead of growing the stack.
+ */
+public final class TrampolineScheduler implements Callable<Consumer<Runnable>> {
+
+    static final TrampolineScheduler INSTANCE = new TrampolineScheduler();
+
+    static final ThreadLocal<TrampolineQueue> QUEUE = new ThreadLocal<TrampolineQueue>() {
+        @Override
+        protected TrampolineQueue initialValue() {
+            return new TrampolineQueue();
+        }
+    };
+
+    TrampolineScheduler() {
+    }
+
+    public static TrampolineScheduler instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Consumer<Runnable> call() throws Exception {
+        return new TrampolineWorker();
+    }
+
+    static final class TrampolineWorker implements Consumer<Runnable>, WorkerThreadAware {
+
+        volatile boolean terminated;
+
+        @Override
+        public void accept(Runnable t) {
+            if (t == null) {
+                terminated = true;
+                return;
+            }
+            if (terminated) {
+                return;
+            }
+
+            TrampolineQueue q = QUEUE.get();
+
+            if (q.draining) {
+                q.tasks.offer(this);
+                q.tasks.offer(t);
+                return;
+            }
+
+            q.draining = true;
+            try {
+                run(t);
+
+                for (;;) {
+                    TrampolineWorker w = (TrampolineWorker)q.tasks.poll();
+                    if (w == null) {
+                        break;
+                    }
+                    Runnable r = (Runnable)q.tasks.poll();
+                    if (!w.terminated) {
+                        run(r);
+                    }
+                }
+            } finally {
+                q.tasks.clear();
+                q.draining = false;
+            }
+        }
+
+        static void run(Runnable r) {
+            try {
+                r.run();
+            } catch (Throwable e) {
+                ExceptionHelper.throwIfFatal(e);
+                UnsignalledExceptions.onErrorDropped(e);
+            }
+        }
+
+        @Override
+        public boolean isOnWorkerThread() {
+            return true;
+        }
+    }
+
+    /** The tasks queued on a thread, stored as worker, task pairs. */
+    static final class TrampolineQueue {
+        final ArrayDeque<Object> tasks = new ArrayDeque<>();
+
+        boolean draining;
+    }
+}
@@ -0,0 +1,52 @@
+package reactivestreams.commons.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An Rsc scheduler which runs each task on its own virtual thread so blocking sources
+ * and bridges park cheaply instead of tying up platform threads.
+ * <p>
+ * This is the Java 8 version which falls back to a cached pool of daemon platform threads;
+ * the multi-release jar replaces it with the virtual thread based one (src/main/java21)
+ * when running on Java 21 or newer.
+ */
+public final class VirtualThreadScheduler implements Callable<Consumer<Runnable>> {
+
+    static final AtomicLong COUNTER = new AtomicLong();
+
+    final ExecutorService executor;
+
+    final ExecutorServiceScheduler scheduler;
+
+    public VirtualThreadScheduler() {
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "rsc-virtual-fallback-" + COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler = new ExecutorServiceScheduler(executor);
+    }
+
+    /**
+     * @return true if the tasks run on virtual threads, false if on the platform thread fallback
+     */
+    public static boolean isVirtual() {
+        return false;
+    }
+
+    @Override
+    public Consumer<Runnable> call() throws Exception {
+        return scheduler.call();
+    }
+
+    /**
+     * Interrupts the running tasks and rejects any further ones.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package reactivestreams.commons.util;
+
+/**
+ * Implemented by scheduler workers (the {@code Consumer<Runnable>}s returned by Rsc schedulers)
+ * which can tell whether the current thread already runs tasks on their behalf, allowing
+ * async operators to skip the thread hop.
+ */
+public interface WorkerThreadAware {
+
+    /**
+     * @return true if the current thread is already running a task of this worker
+     */
+    boolean isOnWorkerThread();
+}
@@ -0,0 +1,103 @@
+package reactivestreams.commons.util;
+
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records a sampled drain loop run of an operator: the number of items processed (emitted
+ * downstream or, for concatMap, mapped into inner Publishers), the amount requested from
+ * upstream, the queue depth at entry and the time spent.
+ * <p>
+ * This is the Java 11 version packaged under META-INF/versions/11 of the multi-release jar
+ * which records the runs as Java Flight Recorder events if the
+ * {@code reactivestreams.commons.Drain} event is enabled in the recording, for one in every
+ * {@code rsc.drainTrace.sampling} (default 16) drain runs.
+ */
+public final class DrainTrace {
+
+    static final int SAMPLING = Math.max(1, Integer.getInteger("rsc.drainTrace.sampling", 16));
+
+    static final EventType TYPE = EventType.getEventType(DrainEvent.class);
+
+    final DrainEvent event;
+
+    DrainTrace(DrainEvent event) {
+        this.event = event;
+    }
+
+    /**
+     * Starts recording a drain loop run if this run is sampled.
+     *
+     * @param operator the operator running the drain loop
+     * @param queue the operator's own queue being drained, null if not applicable or if it is a fused
+     * upstream queue whose size() may run user code
+     * @return the trace to update and end or null if the run is not sampled
+     */
+    public static DrainTrace begin(Object operator, Queue<?> queue) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        if (SAMPLING != 1 && ThreadLocalRandom.current().nextInt(SAMPLING) != 0) {
+            return null;
+        }
+        DrainEvent e = new DrainEvent();
+        e.operator = operator.getClass().getName();
+        e.queueDepth = queue != null ? queue.size() : 0;
+        e.begin();
+        return new DrainTrace(e);
+    }
+
+    /**
+     * Indicates an item has been processed by the drain loop.
+     */
+    public void next() {
+        event.batch++;
+    }
+
+    /**
+     * Indicates an amount has been requested from upstream.
+     *
+     * @param n the amount requested
+     */
+    public void request(long n) {
+        event.requested = BackpressureHelper.addCap(event.requested, n);
+    }
+
+    /**
+     * Ends the recording of the drain loop run.
+     */
+    public void end() {
+        event.commit();
+    }
+
+    @Name("reactivestreams.commons.Drain")
+    @Label("Drain Loop")
+    @Category("Reactive Streams Commons")
+    @Description("A sampled run of an operator's drain loop")
+    @StackTrace(false)
+    static final class DrainEvent extends Event {
+
+        @Label("Operator")
+        String operator;
+
+        @Label("Batch Size")
+        @Description("The number of items processed")
+        long batch;
+
+        @Label("Requested")
+        @Description("The amount requested from upstream")
+        long requested;
+
+        @Label("Queue Depth")
+        @Description("The queue size at entry")
+        int queueDepth;
+    }
+}
@@ -0,0 +1,37 @@
+package reactivestreams.commons.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Acquire loads and release stores of aligned longs and ints in direct (typically memory-mapped)
+ * buffers, used to publish data between threads or processes sharing the memory.
+ * <p>
+ * This is the Java 11 version packaged under META-INF/versions/11 of the multi-release jar
+ * which uses byte buffer view VarHandles in the native byte order.
+ */
+enum OrderedAccess {
+    ;
+
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    static long getLongAcquire(ByteBuffer b, int index) {
+        return (long)LONG.getAcquire(b, index);
+    }
+
+    static void putLongRelease(ByteBuffer b, int index, long v) {
+        LONG.setRelease(b, index, v);
+    }
+
+    static int getIntAcquire(ByteBuffer b, int index) {
+        return (int)INT.getAcquire(b, index);
+    }
+
+    static void putIntRelease(ByteBuffer b, int index, int v) {
+        INT.setRelease(b, index, v);
+    }
+}
@@ -0,0 +1,43 @@
+package reactivestreams.commons.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * An Rsc scheduler which runs each task on its own virtual thread so blocking sources
+ * and bridges park cheaply instead of tying up platform threads.
+ * <p>
+ * This is the Java 21 version packaged under META-INF/versions/21 of the multi-release jar.
+ */
+public final class VirtualThreadScheduler implements Callable<Consumer<Runnable>> {
+
+    final ExecutorService executor;
+
+    final ExecutorServiceScheduler scheduler;
+
+    public VirtualThreadScheduler() {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rsc-virtual-", 1).factory());
+        this.scheduler = new ExecutorServiceScheduler(executor);
+    }
+
+    /**
+     * @return true if the tasks run on virtual threads, false if on the platform thread fallback
+     */
+    public static boolean isVirtual() {
+        return true;
+    }
+
+    @Override
+    public Consumer<Runnable> call() throws Exception {
+        return scheduler.call();
+    }
+
+    /**
+     * Interrupts the running tasks and rejects any further ones.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
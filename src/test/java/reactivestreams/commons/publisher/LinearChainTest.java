@@ -0,0 +1,260 @@
+package reactivestreams.commons.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.QueueSubscription;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class LinearChainTest {
+
+    @Test
+    public void resolved() {
+        PublisherBase<Integer> p = PublisherBase.range(1, 10).map(v -> v + 1).filter(v -> true).skip(1).take(5);
+
+        Assert.assertTrue(new PublisherLinear<>(p).isLinear());
+    }
+
+    @Test
+    public void notResolvedForOtherOperators() {
+        PublisherBase<Integer> p = PublisherBase.range(1, 10).hide().map(v -> v + 1);
+
+        Assert.assertFalse(new PublisherLinear<>(p).isLinear());
+    }
+
+    @Test
+    public void notResolvedWithoutStages() {
+        Assert.assertFalse(new PublisherLinear<>(PublisherBase.range(1, 10)).isLinear());
+    }
+
+    @Test
+    public void notLinearSubscribesRegularly() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 10).hide().map(v -> v + 1).linear().subscribe(ts);
+
+        ts.assertValues(2, 3, 4, 5, 6, 7, 8, 9, 10, 11)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void notLinearWithoutOperator() {
+        List<Subscription> subscriptions = new ArrayList<>();
+
+        PublisherBase.range(1, 10).map(v -> v + 1).subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscriptions.add(s);
+            }
+
+            @Override
+            public void onNext(Integer t) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        Assert.assertFalse(subscriptions.get(0) instanceof LinearChain.ChainSubscription);
+    }
+
+    @Test
+    public void range() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 10).map(v -> v * 2).filter(v -> v % 3 != 0).linear().subscribe(ts);
+
+        ts.assertValues(2, 4, 8, 10, 14, 16, 20)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void rangeBackpressured() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        PublisherBase.range(1, 10).map(v -> v * 2).filter(v -> v % 3 != 0).linear().subscribe(ts);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertValues(2, 4, 8)
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(4);
+
+        ts.assertValues(2, 4, 8, 10, 14, 16, 20)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void array() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        PublisherBase.fromArray(1, 2, 3, 4, 5).skip(2).map(v -> "" + v).linear().subscribe(ts);
+
+        ts.assertValues("3", "4", "5")
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void arrayNullElement() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.fromArray(1, null, 3).map(v -> v).linear().subscribe(ts);
+
+        ts.assertValue(1)
+        .assertError(NullPointerException.class)
+        .assertNotComplete();
+    }
+
+    @Test
+    public void just() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.just(1).map(v -> v + 1).linear().subscribe(ts);
+
+        ts.assertValue(2)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void iterable() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.fromIterable(Arrays.asList(1, 2, 3, 4, 5)).filter(v -> v != 3).take(3).linear().subscribe(ts);
+
+        ts.assertValues(1, 2, 4)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void takeCompletesWithoutFurtherRequest() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        PublisherBase.range(1, 10).take(3).map(v -> v).linear().subscribe(ts);
+
+        ts.request(3);
+
+        ts.assertValues(1, 2, 3)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void takeLastValueFiltered() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 10).take(3).filter(v -> v != 3).linear().subscribe(ts);
+
+        ts.assertValues(1, 2)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void mapperReturnsNull() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 10).map(v -> v == 3 ? null : v).linear().subscribe(ts);
+
+        ts.assertValues(1, 2)
+        .assertError(NullPointerException.class)
+        .assertNotComplete();
+    }
+
+    @Test
+    public void filterThrows() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 10).filter(v -> {
+            throw new RuntimeException("forced failure");
+        }).linear().subscribe(ts);
+
+        ts.assertNoValues()
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+    }
+
+    @Test
+    public void cancel() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>() {
+            @Override
+            public void onNext(Integer t) {
+                super.onNext(t);
+                if (t == 3) {
+                    cancel();
+                }
+            }
+        };
+
+        PublisherBase.range(1, 10).map(v -> v).linear().subscribe(ts);
+
+        ts.assertValues(1, 2, 3)
+        .assertNoError()
+        .assertNotComplete();
+    }
+
+    @Test
+    public void syncFused() {
+        List<Object> values = new ArrayList<>();
+
+        PublisherBase.range(1, 10).map(v -> v * 2).filter(v -> v % 3 != 0).skip(1).take(3).linear()
+        .subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                @SuppressWarnings("unchecked")
+                QueueSubscription<Integer> qs = (QueueSubscription<Integer>)s;
+
+                Assert.assertEquals(Fuseable.SYNC, qs.requestFusion(Fuseable.ANY));
+
+                values.add(qs.peek());
+                qs.drop();
+
+                Integer v;
+                while ((v = qs.poll()) != null) {
+                    values.add(v);
+                }
+                Assert.assertTrue(qs.isEmpty());
+            }
+
+            @Override
+            public void onNext(Integer t) {
+                values.add(t);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                values.add(t);
+            }
+
+            @Override
+            public void onComplete() {
+                values.add("complete");
+            }
+        });
+
+        Assert.assertEquals(Arrays.asList(4, 8, 10), values);
+    }
+}
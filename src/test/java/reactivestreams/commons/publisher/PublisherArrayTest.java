@@ -1,6 +1,7 @@
 package reactivestreams.commons.publisher;
 
 import org.junit.Test;
+import reactivestreams.commons.flow.Fuseable.ConditionalSubscriber;
 import reactivestreams.commons.test.TestSubscriber;
 
 public class PublisherArrayTest {
@@ -78,4 +79,48 @@ public class PublisherArrayTest {
           .assertValues(1, 2, 3, 4, 5)
           .assertNotComplete();
     }
+
+    @Test
+    public void conditional() {
+        EvenSubscriber ts = new EvenSubscriber(2);
+
+        new PublisherArray<>(1, 2, 3, 4, 5, 6, 7, 8).subscribe(ts);
+
+        ts.assertValues(2, 4)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertValues(2, 4, 6, 8)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void conditionalUnbounded() {
+        EvenSubscriber ts = new EvenSubscriber(Long.MAX_VALUE);
+
+        new PublisherArray<>(1, 2, 3, 4, 5, 6, 7, 8).subscribe(ts);
+
+        ts.assertValues(2, 4, 6, 8)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    static final class EvenSubscriber extends TestSubscriber<Integer> implements ConditionalSubscriber<Integer> {
+
+        public EvenSubscriber(long initialRequest) {
+            super(initialRequest);
+        }
+
+        @Override
+        public boolean tryOnNext(Integer t) {
+            if (t % 2 == 0) {
+                onNext(t);
+                return true;
+            }
+            return false;
+        }
+    }
 }
@@ -0,0 +1,221 @@
+package reactivestreams.commons.publisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.MappedSpillQueue;
+
+public class PublisherBackpressureBufferTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static final MappedSpillQueue.Codec<Integer> CODEC = new MappedSpillQueue.Codec<Integer>() {
+        @Override
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(4).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(byte[] data) {
+            return ByteBuffer.wrap(data).getInt();
+        }
+    };
+
+    long files(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.count();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void sourceNull() {
+        new PublisherBackpressureBuffer<>(null, 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityInvalid() {
+        new PublisherBackpressureBuffer<>(PublisherNever.instance(), 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void codecNull() {
+        new PublisherBackpressureBuffer<Integer>(PublisherNever.instance(), 16, folder.getRoot().toPath(), 64, null);
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherBackpressureBuffer<>(new PublisherRange(1, 10), 16).subscribe(ts);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherBackpressureBuffer<>(new PublisherRange(1, 10), 16).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertValues(1, 2, 3)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(7);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void overflowWithoutSpill() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherBackpressureBuffer<>(new PublisherRange(1, 10), 4).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertValues(1, 2, 3, 4)
+          .assertError(IllegalStateException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void errorDelayed() {
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherBackpressureBuffer<>(sp, 16).subscribe(ts);
+
+        sp.onNext(1);
+        sp.onNext(2);
+        sp.onError(new RuntimeException("forced failure"));
+
+        ts.assertNoValues()
+          .assertNoError();
+
+        ts.request(2);
+
+        ts.assertValues(1, 2)
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure")
+          .assertNotComplete();
+    }
+
+    @Test
+    public void spillKeepsOrder() throws IOException {
+        Path dir = folder.getRoot().toPath();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherBackpressureBuffer<>(new PublisherRange(1, 1000), 16, dir, 64, CODEC).subscribe(ts);
+
+        Assert.assertTrue(files(dir) > 1);
+
+        ts.request(10);
+
+        ts.assertValueCount(10)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(Long.MAX_VALUE);
+
+        ts.assertValueCount(1000)
+          .assertNoError()
+          .assertComplete();
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i + 1, ts.values().get(i).intValue());
+        }
+
+        Assert.assertEquals(0L, files(dir));
+    }
+
+    @Test
+    public void spillInterleavedWithDemand() {
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherBackpressureBuffer<>(sp, 2, folder.getRoot().toPath(), 64, CODEC).subscribe(ts);
+
+        for (int i = 1; i <= 5; i++) {
+            sp.onNext(i);
+        }
+
+        ts.request(4);
+
+        ts.assertValues(1, 2, 3, 4);
+
+        sp.onNext(6);
+        sp.onNext(7);
+
+        ts.request(2);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6);
+
+        sp.onComplete();
+
+        ts.assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void cancelDeletesSpill() throws IOException {
+        Path dir = folder.getRoot().toPath();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherBackpressureBuffer<>(new PublisherRange(1, 100), 4, dir, 32, CODEC).subscribe(ts);
+
+        Assert.assertTrue(files(dir) > 0);
+
+        ts.cancel();
+
+        Assert.assertEquals(0L, files(dir));
+    }
+
+    @Test
+    public void spillDirectoryMissing() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherBackpressureBuffer<>(new PublisherRange(1, 10), 4, folder.getRoot().toPath().resolve("missing"),
+                32, CODEC).subscribe(ts);
+
+        ts.request(10);
+
+        ts.assertValues(1, 2, 3, 4)
+          .assertError(UncheckedIOException.class)
+          .assertNotComplete();
+    }
+}
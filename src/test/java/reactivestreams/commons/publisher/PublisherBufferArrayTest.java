@@ -0,0 +1,186 @@
+package reactivestreams.commons.publisher;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherBufferArrayTest {
+
+    @Test(expected = NullPointerException.class)
+    public void sourceNull() {
+        new PublisherBufferArray<>(null, 1, Integer[]::new);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void arrayFactoryNull() {
+        new PublisherBufferArray<>(PublisherNever.instance(), 1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sizeZero() {
+        new PublisherBufferArray<>(PublisherNever.instance(), 0, Object[]::new);
+    }
+
+    static void assertChunks(TestSubscriber<Integer[]> ts, Integer[]... expected) {
+        List<Integer[]> values = ts.values();
+        Assert.assertEquals(expected.length, values.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertArrayEquals(expected[i], values.get(i));
+        }
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).hide().bufferArray(2, Integer[]::new).subscribe(ts);
+
+        assertChunks(ts, new Integer[] { 1, 2 }, new Integer[] { 3, 4 }, new Integer[] { 5 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalSyncFused() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).bufferArray(2, Integer[]::new).subscribe(ts);
+
+        assertChunks(ts, new Integer[] { 1, 2 }, new Integer[] { 3, 4 }, new Integer[] { 5 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void exactMultipleSyncFused() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>();
+
+        PublisherBase.fromArray(1, 2, 3, 4).bufferArray(2, Integer[]::new).subscribe(ts);
+
+        assertChunks(ts, new Integer[] { 1, 2 }, new Integer[] { 3, 4 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void exactDemandSyncFused() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>(2);
+
+        PublisherBase.range(1, 10).bufferArray(5, Integer[]::new).subscribe(ts);
+
+        assertChunks(ts, new Integer[] { 1, 2, 3, 4, 5 }, new Integer[] { 6, 7, 8, 9, 10 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void exactDemand() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>(2);
+
+        PublisherBase.range(1, 10).hide().bufferArray(5, Integer[]::new).subscribe(ts);
+
+        assertChunks(ts, new Integer[] { 1, 2, 3, 4, 5 }, new Integer[] { 6, 7, 8, 9, 10 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>(0);
+
+        PublisherBase.range(1, 5).hide().bufferArray(2, Integer[]::new).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        assertChunks(ts, new Integer[] { 1, 2 });
+
+        ts.assertNoError()
+        .assertNotComplete();
+
+        ts.request(2);
+
+        assertChunks(ts, new Integer[] { 1, 2 }, new Integer[] { 3, 4 }, new Integer[] { 5 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void backpressuredSyncFused() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>(0);
+
+        PublisherBase.range(1, 5).bufferArray(2, Integer[]::new).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        assertChunks(ts, new Integer[] { 1, 2 });
+
+        ts.assertNoError()
+        .assertNotComplete();
+
+        ts.request(2);
+
+        assertChunks(ts, new Integer[] { 1, 2 }, new Integer[] { 3, 4 }, new Integer[] { 5 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void largeSyncFused() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(0, 1_000_000).bufferArray(1000, Integer[]::new).subscribe(ts);
+
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertComplete();
+
+        Assert.assertEquals(999_999, ts.values().get(999)[999].intValue());
+    }
+
+    @Test
+    public void sourceError() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.bufferArray(2, Integer[]::new).subscribe(ts);
+
+        sp.onNext(1);
+        sp.onError(new RuntimeException("forced failure"));
+
+        ts.assertNoValues()
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+    }
+
+    @Test
+    public void arrayFactoryReturnsNull() {
+        TestSubscriber<Integer[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).hide().bufferArray(2, n -> null).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertError(NullPointerException.class)
+        .assertNotComplete();
+    }
+}
@@ -228,4 +228,45 @@ public class PublisherBufferBoundaryTest {
         .assertNotComplete();
     }
 
+    @Test
+    public void concurrentBoundary() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+            
+            SimpleProcessor<Integer> sp1 = new SimpleProcessor<>();
+            SimpleProcessor<Integer> sp2 = new SimpleProcessor<>();
+            
+            sp1.buffer(sp2).subscribe(ts);
+            
+            Thread t = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    sp2.onNext(j);
+                }
+            });
+            t.start();
+            
+            for (int j = 0; j < 1000; j++) {
+                sp1.onNext(j);
+            }
+            
+            t.join();
+            
+            sp1.onComplete();
+            
+            ts.assertNoError()
+            .assertComplete();
+            
+            List<Integer> all = new ArrayList<>();
+            for (List<Integer> b : ts.values()) {
+                all.addAll(b);
+            }
+            
+            Assert.assertEquals(1001, ts.values().size());
+            Assert.assertEquals(1000, all.size());
+            for (int j = 0; j < 1000; j++) {
+                Assert.assertEquals(j, all.get(j).intValue());
+            }
+        }
+    }
+
 }
@@ -0,0 +1,89 @@
+package reactivestreams.commons.publisher;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherBufferIntsTest {
+
+    @Test(expected = NullPointerException.class)
+    public void mapperNull() {
+        new PublisherBufferInts<>(PublisherNever.instance(), 1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sizeZero() {
+        new PublisherBufferInts<Integer>(PublisherNever.instance(), 0, v -> v);
+    }
+
+    static void assertChunks(TestSubscriber<int[]> ts, int[]... expected) {
+        List<int[]> values = ts.values();
+        Assert.assertEquals(expected.length, values.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertArrayEquals(expected[i], values.get(i));
+        }
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<int[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).hide().bufferInts(2, v -> v).subscribe(ts);
+
+        assertChunks(ts, new int[] { 1, 2 }, new int[] { 3, 4 }, new int[] { 5 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalSyncFused() {
+        TestSubscriber<int[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).bufferInts(2, v -> v * 10).subscribe(ts);
+
+        assertChunks(ts, new int[] { 10, 20 }, new int[] { 30, 40 }, new int[] { 50 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void exactDemandSyncFused() {
+        TestSubscriber<int[]> ts = new TestSubscriber<>(2);
+
+        PublisherBase.range(1, 4).bufferInts(2, v -> v).subscribe(ts);
+
+        assertChunks(ts, new int[] { 1, 2 }, new int[] { 3, 4 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void mapperThrows() {
+        TestSubscriber<int[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).hide().bufferInts(2, v -> { throw new RuntimeException("forced failure"); }).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+    }
+
+    @Test
+    public void mapperThrowsSyncFused() {
+        TestSubscriber<int[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).bufferInts(2, v -> { throw new RuntimeException("forced failure"); }).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+    }
+}
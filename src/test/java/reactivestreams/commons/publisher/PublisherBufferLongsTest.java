@@ -0,0 +1,53 @@
+package reactivestreams.commons.publisher;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherBufferLongsTest {
+
+    @Test(expected = NullPointerException.class)
+    public void mapperNull() {
+        new PublisherBufferLongs<>(PublisherNever.instance(), 1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sizeZero() {
+        new PublisherBufferLongs<Integer>(PublisherNever.instance(), 0, v -> v);
+    }
+
+    static void assertChunks(TestSubscriber<long[]> ts, long[]... expected) {
+        List<long[]> values = ts.values();
+        Assert.assertEquals(expected.length, values.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertArrayEquals(expected[i], values.get(i));
+        }
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<long[]> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 5).hide().bufferLongs(3, v -> v).subscribe(ts);
+
+        assertChunks(ts, new long[] { 1, 2, 3 }, new long[] { 4, 5 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalSyncFused() {
+        TestSubscriber<long[]> ts = new TestSubscriber<>();
+
+        PublisherBase.fromArray(1L, 2L, 3L).bufferLongs(3, v -> v).subscribe(ts);
+
+        assertChunks(ts, new long[] { 1, 2, 3 });
+
+        ts.assertNoError()
+        .assertComplete();
+    }
+}
@@ -0,0 +1,274 @@
+package reactivestreams.commons.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.ConstructorTestBuilder;
+
+public class PublisherBufferTimedTest {
+
+    ScheduledThreadPoolExecutor exec;
+
+    @Before
+    public void before() {
+        exec = new ScheduledThreadPoolExecutor(1);
+        exec.setRemoveOnCancelPolicy(true);
+    }
+
+    @After
+    public void after() {
+        exec.shutdownNow();
+    }
+
+    /** Runs the pending periodic timer task on the current thread. */
+    void tick() {
+        RunnableScheduledFuture<?> task = (RunnableScheduledFuture<?>)exec.getQueue().peek();
+        exec.remove(task);
+        task.run();
+    }
+
+    @Test
+    public void constructors() {
+        ConstructorTestBuilder ctb = new ConstructorTestBuilder(PublisherBufferTimed.class);
+
+        ctb.addRef("source", PublisherNever.instance());
+        ctb.addLong("timespan", 1, Long.MAX_VALUE);
+        ctb.addRef("unit", TimeUnit.SECONDS);
+        ctb.addRef("executor", exec);
+        ctb.addInt("maxSize", 1, Integer.MAX_VALUE);
+        ctb.addRef("bufferSupplier", (Supplier<List<Object>>)() -> new ArrayList<>());
+        ctb.addRef("queueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
+
+        ctb.test();
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        sp.onNext(1);
+        sp.onNext(2);
+
+        ts.assertNoValues();
+
+        tick();
+
+        ts.assertValue(Arrays.asList(1, 2))
+          .assertNoError()
+          .assertNotComplete();
+
+        sp.onNext(3);
+        sp.onComplete();
+
+        ts.assertValues(Arrays.asList(1, 2), Arrays.asList(3))
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void emptyPeriodSkipped() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        tick();
+        tick();
+
+        ts.assertNoValues();
+
+        sp.onNext(1);
+
+        tick();
+
+        ts.assertValue(Arrays.asList(1));
+
+        sp.onComplete();
+
+        ts.assertValue(Arrays.asList(1))
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void maxSize() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, 2, exec).subscribe(ts);
+
+        sp.onNext(1);
+        sp.onNext(2);
+        sp.onNext(3);
+
+        ts.assertValue(Arrays.asList(1, 2));
+
+        tick();
+
+        ts.assertValues(Arrays.asList(1, 2), Arrays.asList(3));
+
+        sp.onNext(4);
+        sp.onNext(5);
+        sp.onComplete();
+
+        ts.assertValues(Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(4, 5))
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void syncSourceCompletesWithRemainder() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        new PublisherRange(1, 5).buffer(1, TimeUnit.MINUTES, 2, exec).subscribe(ts);
+
+        ts.assertValues(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5))
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void mainError() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        sp.onNext(1);
+        sp.onError(new RuntimeException("forced failure"));
+
+        ts.assertNoValues()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure")
+          .assertNotComplete();
+
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void bufferSupplierThrows() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, 2, exec, (Supplier<List<Integer>>)() -> {
+            throw new RuntimeException("forced failure");
+        }).subscribe(ts);
+
+        sp.onNext(1);
+
+        ts.assertNoValues()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure")
+          .assertNotComplete();
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void bufferSupplierReturnsNull() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, 2, exec, (Supplier<List<Integer>>)() -> null).subscribe(ts);
+
+        sp.onNext(1);
+
+        ts.assertNoValues()
+          .assertError(NullPointerException.class)
+          .assertNotComplete();
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+    }
+
+    @Test
+    public void lackOfRequests() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>(0);
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        sp.onNext(1);
+
+        tick();
+
+        ts.assertNoValues()
+          .assertError(IllegalStateException.class)
+          .assertNotComplete();
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void cancel() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        Assert.assertTrue("sp has no subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(1, exec.getQueue().size());
+
+        ts.cancel();
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void realTimer() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.buffer(10, TimeUnit.MILLISECONDS, 1000, exec).subscribe(ts);
+
+        for (int i = 0; i < 100_000; i++) {
+            sp.onNext(i);
+        }
+        sp.onComplete();
+
+        ts.await(5, TimeUnit.SECONDS);
+
+        ts.assertNoError()
+          .assertComplete();
+
+        int expected = 0;
+        for (List<Integer> list : ts.values()) {
+            Assert.assertTrue("Buffer too big: " + list.size(), list.size() <= 1000);
+            for (Integer v : list) {
+                Assert.assertEquals(expected++, v.intValue());
+            }
+        }
+        Assert.assertEquals(100_000, expected);
+    }
+}
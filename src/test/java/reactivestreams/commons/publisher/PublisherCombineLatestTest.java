@@ -398,4 +398,132 @@ public class PublisherCombineLatestTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void conflateKeepsOnlyLatest() {
+        SimpleProcessor<Integer> sp1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> sp2 = new SimpleProcessor<>();
+
+        TestSubscriber<List<Object>> ts = new TestSubscriber<>(0);
+
+        PublisherBase.combineLatestArray(new Publisher[] { sp1, sp2 }, a -> Arrays.asList(a), true).subscribe(ts);
+
+        sp1.onNext(1);
+        sp2.onNext(1);
+        sp1.onNext(2);
+        sp2.onNext(2);
+        sp1.onNext(3);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValue(Arrays.asList(3, 2))
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValue(Arrays.asList(3, 2))
+        .assertNoError()
+        .assertNotComplete();
+
+        sp2.onNext(3);
+
+        ts.assertValues(Arrays.asList(3, 2), Arrays.asList(3, 3))
+        .assertNoError()
+        .assertNotComplete();
+
+        sp1.onNext(4);
+        sp1.onComplete();
+        sp2.onComplete();
+
+        ts.assertValues(Arrays.asList(3, 2), Arrays.asList(3, 3))
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(Arrays.asList(3, 2), Arrays.asList(3, 3), Arrays.asList(4, 3))
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void conflateUnboundedEmitsAll() {
+        SimpleProcessor<Integer> sp1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> sp2 = new SimpleProcessor<>();
+
+        TestSubscriber<List<Object>> ts = new TestSubscriber<>();
+
+        new PublisherCombineLatest<>(new Publisher[] { sp1, sp2 }, a -> Arrays.asList(a), qs, 128, true).subscribe(ts);
+
+        sp1.onNext(1);
+        sp2.onNext(1);
+        sp2.onNext(2);
+        sp1.onComplete();
+        sp2.onComplete();
+
+        ts.assertValues(Arrays.asList(1, 1), Arrays.asList(1, 2))
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void conflateManySources() {
+        int n = 24;
+        Publisher<Integer>[] sources = new Publisher[n];
+        for (int i = 0; i < n; i++) {
+            sources[i] = PublisherBase.range(1, 1000);
+        }
+
+        TestSubscriber<Object> ts = new TestSubscriber<>(0);
+
+        PublisherBase.combineLatestArray(sources, a -> a[0], true).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValue(1000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void conflateSingleSource() {
+        TestSubscriber<Object> ts = new TestSubscriber<>(0);
+
+        new PublisherCombineLatest<>(Collections.singletonList(PublisherBase.range(1, 10)), a -> a[0], qs, 128, true).subscribe(ts);
+
+        ts.request(1);
+
+        ts.assertValue(10)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void conflateError() {
+        SimpleProcessor<Integer> sp1 = new SimpleProcessor<>();
+
+        TestSubscriber<Object> ts = new TestSubscriber<>(0);
+
+        PublisherBase.combineLatestArray(new Publisher[] { sp1, PublisherBase.just(1) }, a -> a[0], true).subscribe(ts);
+
+        sp1.onNext(1);
+        sp1.onError(new RuntimeException("forced failure"));
+
+        ts.assertNoValues()
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+    }
 }
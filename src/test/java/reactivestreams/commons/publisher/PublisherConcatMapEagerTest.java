@@ -0,0 +1,312 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.publisher.PublisherConcatMap.ErrorMode;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.ConstructorTestBuilder;
+
+public class PublisherConcatMapEagerTest {
+
+    @Test
+    public void constructors() {
+        ConstructorTestBuilder ctb = new ConstructorTestBuilder(PublisherConcatMapEager.class);
+
+        ctb.addRef("source", PublisherNever.instance());
+        ctb.addRef("mapper", (Function<Object, Publisher<Object>>)v -> PublisherNever.instance());
+        ctb.addInt("maxConcurrency", 1, Integer.MAX_VALUE);
+        ctb.addInt("prefetch", 1, Integer.MAX_VALUE);
+        ctb.addRef("queueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
+        ctb.addRef("errorMode", ErrorMode.IMMEDIATE);
+
+        ctb.test();
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 2).concatMapEager(v -> PublisherBase.range(v, 2)).subscribe(ts);
+
+        ts.assertValues(1, 2, 2, 3)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalHidden() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 2).hide().concatMapEager(v -> PublisherBase.range(v, 2).hide()).subscribe(ts);
+
+        ts.assertValues(1, 2, 2, 3)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalBackpressured() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        PublisherBase.range(1, 2).concatMapEager(v -> PublisherBase.range(v, 2)).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertValues(1, 2, 2)
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(1, 2, 2, 3)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalLongRun() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 1000).concatMapEager(v -> PublisherBase.range(v, 1000), 4, 32).subscribe(ts);
+
+        ts.assertValueCount(1_000_000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalLongRunHidden() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 1000).hide().concatMapEager(v -> PublisherBase.range(v, 1000).hide(), 4, 32).subscribe(ts);
+
+        ts.assertValueCount(1_000_000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void subscribesEagerlyAndKeepsOrder() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> source = new SimpleProcessor<>();
+
+        SimpleProcessor<Integer> source1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> source2 = new SimpleProcessor<>();
+
+        source.concatMapEager(v -> v == 1 ? source1 : source2).subscribe(ts);
+
+        source.onNext(1);
+        source.onNext(2);
+
+        Assert.assertTrue("source1 no subscribers?", source1.hasSubscribers());
+        Assert.assertTrue("source2 no subscribers?", source2.hasSubscribers());
+
+        source2.onNext(10);
+        source2.onNext(20);
+        source1.onNext(1);
+
+        ts.assertValues(1)
+        .assertNoError()
+        .assertNotComplete();
+
+        source2.onComplete();
+        source1.onNext(2);
+        source1.onComplete();
+        source.onComplete();
+
+        ts.assertValues(1, 2, 10, 20)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void maxConcurrencyRespected() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> source = new SimpleProcessor<>();
+
+        SimpleProcessor<Integer> source1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> source2 = new SimpleProcessor<>();
+
+        source.concatMapEager(v -> v == 1 ? source1 : source2, 1, 16).subscribe(ts);
+
+        source.onNext(1);
+
+        Assert.assertTrue("source1 no subscribers?", source1.hasSubscribers());
+        Assert.assertFalse("source2 has subscribers?", source2.hasSubscribers());
+
+        source1.onNext(1);
+        source1.onComplete();
+
+        source.onNext(2);
+
+        Assert.assertTrue("source2 no subscribers?", source2.hasSubscribers());
+
+        source2.onNext(2);
+        source2.onComplete();
+        source.onComplete();
+
+        ts.assertValues(1, 2)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void mainErrorsImmediate() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> source = new SimpleProcessor<>();
+
+        SimpleProcessor<Integer> source1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> source2 = new SimpleProcessor<>();
+
+        source.concatMapEager(v -> v == 1 ? source1 : source2).subscribe(ts);
+
+        source.onNext(1);
+        source.onNext(2);
+
+        source1.onNext(1);
+
+        source.onError(new RuntimeException("Forced failure"));
+
+        ts.assertValue(1)
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("Forced failure")
+        .assertNotComplete();
+
+        Assert.assertFalse("source1 has subscribers?", source1.hasSubscribers());
+        Assert.assertFalse("source2 has subscribers?", source2.hasSubscribers());
+    }
+
+    @Test
+    public void mainErrorsBoundary() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> source = new SimpleProcessor<>();
+
+        SimpleProcessor<Integer> source1 = new SimpleProcessor<>();
+
+        source.concatMapEager(v -> source1, ErrorMode.BOUNDARY, Integer.MAX_VALUE, 16).subscribe(ts);
+
+        source.onNext(1);
+
+        source1.onNext(1);
+
+        source.onError(new RuntimeException("Forced failure"));
+
+        ts.assertValues(1)
+        .assertNoError()
+        .assertNotComplete();
+
+        source1.onNext(2);
+        source1.onComplete();
+
+        ts.assertValues(1, 2)
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("Forced failure")
+        .assertNotComplete();
+    }
+
+    @Test
+    public void innerErrorsImmediate() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> source = new SimpleProcessor<>();
+
+        SimpleProcessor<Integer> source1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> source2 = new SimpleProcessor<>();
+
+        source.concatMapEager(v -> v == 1 ? source1 : source2).subscribe(ts);
+
+        source.onNext(1);
+        source.onNext(2);
+
+        source1.onNext(1);
+
+        source2.onError(new RuntimeException("Forced failure"));
+
+        ts.assertValues(1)
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("Forced failure")
+        .assertNotComplete();
+
+        Assert.assertFalse("source has subscribers?", source.hasSubscribers());
+        Assert.assertFalse("source1 has subscribers?", source1.hasSubscribers());
+    }
+
+    @Test
+    public void innerErrorsEnd() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> source = new SimpleProcessor<>();
+
+        SimpleProcessor<Integer> source1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> source2 = new SimpleProcessor<>();
+
+        source.concatMapEager(v -> v == 1 ? source1 : source2, ErrorMode.END, Integer.MAX_VALUE, 16).subscribe(ts);
+
+        source.onNext(1);
+
+        source1.onNext(1);
+        source1.onError(new RuntimeException("Forced failure"));
+
+        source.onNext(2);
+
+        Assert.assertTrue("source2 no subscribers?", source2.hasSubscribers());
+
+        source2.onNext(2);
+        source2.onComplete();
+
+        source.onComplete();
+
+        ts.assertValues(1, 2)
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("Forced failure")
+        .assertNotComplete();
+    }
+
+    @Test
+    public void cancelCancelsAllInner() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> source = new SimpleProcessor<>();
+
+        SimpleProcessor<Integer> source1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> source2 = new SimpleProcessor<>();
+
+        source.concatMapEager(v -> v == 1 ? source1 : source2).subscribe(ts);
+
+        source.onNext(1);
+        source.onNext(2);
+
+        ts.cancel();
+
+        Assert.assertFalse("source has subscribers?", source.hasSubscribers());
+        Assert.assertFalse("source1 has subscribers?", source1.hasSubscribers());
+        Assert.assertFalse("source2 has subscribers?", source2.hasSubscribers());
+    }
+
+    @Test
+    public void mapperReturnsNull() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 2).concatMapEager(v -> (Publisher<Integer>)null).subscribe(ts);
+
+        ts.assertNoValues()
+        .assertError(NullPointerException.class)
+        .assertNotComplete();
+    }
+}
@@ -1,5 +1,8 @@
 package reactivestreams.commons.publisher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
@@ -24,6 +27,7 @@ public class PublisherConcatMapTest {
         ctb.addRef("mapper", (Function<Object, Publisher<Object>>)v -> PublisherNever.instance());
         ctb.addRef("queueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
         ctb.addInt("prefetch", 1, Integer.MAX_VALUE);
+        ctb.addRef("prefetchPolicy", PrefetchPolicy.fixed(16));
         ctb.addRef("errorMode", PublisherConcatMap.ErrorMode.IMMEDIATE);
         
         ctb.test();
@@ -449,5 +453,34 @@ public class PublisherConcatMapTest {
         .assertError(NullPointerException.class)
         .assertNotComplete();
     }
-    
+
+    @Test
+    public void adaptivePrefetchLongRun() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 1000).hide()
+        .concatMap(v -> PublisherBase.range(v, 1000).hide(), ErrorMode.IMMEDIATE, PrefetchPolicy.adaptive(2, 8, 128))
+        .subscribe(ts);
+
+        ts.assertValueCount(1_000_000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void adaptivePrefetchGrowsWithFastConsumer() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        List<Long> requests = new ArrayList<>();
+
+        PublisherBase.range(1, 1000).hide().doOnRequest(requests::add)
+        .concatMap(PublisherBase::just, ErrorMode.END, PrefetchPolicy.adaptive(4, 4, 64))
+        .subscribe(ts);
+
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertComplete();
+
+        Assert.assertEquals(Arrays.asList(4L, 7L, 14L, 28L, 56L, 48L), requests.subList(0, 6));
+    }
 }
@@ -0,0 +1,63 @@
+package reactivestreams.commons.publisher;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherDecodeTest {
+
+    @Test(expected = NullPointerException.class)
+    public void charsetNull() {
+        new PublisherDecode(PublisherNever.instance(), null);
+    }
+
+    @Test
+    public void normal() {
+        ByteBuffer b = ByteBuffer.wrap("héllo".getBytes(StandardCharsets.UTF_8));
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        new PublisherDecode(new PublisherJust<>(b), StandardCharsets.UTF_8).subscribe(ts);
+
+        ts.assertValues("héllo")
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(0, b.position());
+    }
+
+    @Test
+    public void malformedReplaced() {
+        ByteBuffer b = ByteBuffer.wrap(new byte[] { 'a', (byte)0xFF, 'b' });
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        new PublisherDecode(new PublisherJust<>(b), StandardCharsets.UTF_8).subscribe(ts);
+
+        ts.assertValues("a�b")
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<String> ts = new TestSubscriber<>(0);
+
+        new PublisherDecode(new PublisherArray<>(ByteBuffer.wrap(new byte[] { 'a' }),
+                ByteBuffer.wrap(new byte[] { 'b' })), StandardCharsets.US_ASCII).subscribe(ts);
+
+        ts.assertNoValues();
+
+        ts.request(1);
+
+        ts.assertValues("a")
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues("a", "b")
+          .assertNoError()
+          .assertComplete();
+    }
+}
@@ -1,9 +1,17 @@
 package reactivestreams.commons.publisher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.junit.Assert;
 import org.junit.Test;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.FuseableTestSubscriber;
 
 public class PublisherDistinctTest {
 
@@ -213,4 +221,77 @@ public class PublisherDistinctTest {
           .assertNotComplete()
           .assertError(NullPointerException.class);
     }
+
+    @Test
+    public void conditionalNoRequestPerDropped() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(3);
+
+        List<Long> requests = new ArrayList<>();
+
+        new PublisherDistinct<>(PublisherBase.range(1, 10).map(v -> v / 2).doOnRequest(requests::add),
+                k -> k, HashSet::new).subscribe(ts);
+
+        ts.assertValues(0, 1, 2)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertValues(0, 1, 2, 3, 4, 5)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(Arrays.asList(3L, 10L), requests);
+    }
+
+    @Test
+    public void conditionalDownstream() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(2);
+
+        new PublisherDistinct<>(PublisherBase.fromArray(1, 2, 2, 3, 4, 4, 5, 6), k -> k, HashSet::new)
+        .filter(v -> v % 2 == 0)
+        .subscribe(ts);
+
+        ts.assertValues(2, 4)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(2, 4, 6)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        PublisherBase.fromArray(1, 2, 1, 3, 2, 4).distinct().subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1, 2, 3, 4)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void asyncFusion() {
+        UnicastProcessor<Integer> up = new UnicastProcessor<>(new ConcurrentLinkedQueue<>());
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        up.distinct().subscribe(ts);
+
+        up.onNext(1);
+        up.onNext(2);
+        up.onNext(1);
+        up.onNext(3);
+        up.onComplete();
+
+        ts.assertFusionMode(Fuseable.ASYNC)
+          .assertValues(1, 2, 3)
+          .assertNoError()
+          .assertComplete();
+    }
 }
@@ -1,7 +1,16 @@
 package reactivestreams.commons.publisher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.Assert;
 import org.junit.Test;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.FuseableTestSubscriber;
 
 public class PublisherDistinctUntilChangedTest {
 
@@ -122,4 +131,57 @@ public class PublisherDistinctUntilChangedTest {
           .assertErrorMessage("forced failure");
     }
 
+    @Test
+    public void conditionalNoRequestPerDropped() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(2);
+
+        List<Long> requests = new ArrayList<>();
+
+        new PublisherDistinctUntilChanged<>(PublisherBase.range(1, 10).map(v -> v / 3).doOnRequest(requests::add),
+                k -> k).subscribe(ts);
+
+        ts.assertValues(0, 1)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertValues(0, 1, 2, 3)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(Arrays.asList(2L, 10L), requests);
+    }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        PublisherBase.fromArray(1, 1, 2, 2, 3, 1).distinctUntilChanged().subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1, 2, 3, 1)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void asyncFusion() {
+        UnicastProcessor<Integer> up = new UnicastProcessor<>(new ConcurrentLinkedQueue<>());
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        up.distinctUntilChanged().subscribe(ts);
+
+        up.onNext(1);
+        up.onNext(1);
+        up.onNext(2);
+        up.onNext(1);
+        up.onComplete();
+
+        ts.assertFusionMode(Fuseable.ASYNC)
+          .assertValues(1, 2, 1)
+          .assertNoError()
+          .assertComplete();
+    }
 }
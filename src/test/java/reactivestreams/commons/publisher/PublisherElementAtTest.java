@@ -205,4 +205,15 @@ public class PublisherElementAtTest {
           .assertErrorMessage("forced failure")
           .assertNotComplete();
     }
+
+    @Test
+    public void conditionalUpstream() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherElementAt<>(PublisherBase.range(1, 10).hide().filter(v -> v % 2 == 0), 2).subscribe(ts);
+
+        ts.assertValues(6)
+          .assertNoError()
+          .assertComplete();
+    }
 }
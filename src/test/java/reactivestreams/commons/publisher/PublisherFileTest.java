@@ -0,0 +1,208 @@
+package reactivestreams.commons.publisher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.FuseableTestSubscriber;
+
+public class PublisherFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    byte[] data;
+
+    Path createFile(int size) throws IOException {
+        data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte)i;
+        }
+        Path p = folder.newFile().toPath();
+        Files.write(p, data);
+        return p;
+    }
+
+    static byte[] concat(List<ByteBuffer> chunks, int chunkSize) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer b : chunks) {
+            Assert.assertTrue(b.remaining() <= chunkSize);
+            byte[] a = new byte[b.remaining()];
+            b.get(a);
+            out.write(a, 0, a.length);
+        }
+        return out.toByteArray();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void pathNull() {
+        new PublisherFile(null, 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void chunkSizeInvalid() throws IOException {
+        new PublisherFile(folder.newFile().toPath(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readAheadInvalid() throws IOException {
+        new PublisherFile(folder.newFile().toPath(), 16, 0, false);
+    }
+
+    @Test
+    public void normal() throws IOException {
+        Path p = createFile(10_000);
+
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherFile(p, 1024).subscribe(ts);
+
+        ts.assertValueCount(10)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertArrayEquals(data, concat(ts.values(), 1024));
+    }
+
+    @Test
+    public void readAhead() throws IOException {
+        Path p = createFile(10_000);
+
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherFile(p, 1000, 4, false).subscribe(ts);
+
+        ts.assertValueCount(10)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertArrayEquals(data, concat(ts.values(), 1000));
+    }
+
+    @Test
+    public void mapped() throws IOException {
+        Path p = createFile(10_000);
+
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherFile(p, 1024, 3, true).subscribe(ts);
+
+        ts.assertValueCount(10)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertArrayEquals(data, concat(ts.values(), 1024));
+    }
+
+    @Test
+    public void backpressured() throws IOException {
+        Path p = createFile(10_000);
+
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>(0);
+
+        new PublisherFile(p, 1024, 2, false).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertValueCount(3)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(7);
+
+        ts.assertValueCount(10)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValueCount(10)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertArrayEquals(data, concat(ts.values(), 1024));
+    }
+
+    @Test
+    public void empty() throws IOException {
+        Path p = createFile(0);
+
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherFile(p, 1024, 2, true).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void missingFile() {
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherFile(folder.getRoot().toPath().resolve("missing"), 1024).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertError(NoSuchFileException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void syncFusion() throws IOException {
+        Path p = createFile(10_000);
+
+        FuseableTestSubscriber<ByteBuffer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherFile(p, 4096, 2, true).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void syncFusionCancelClosesFile() throws IOException {
+        Path p = createFile(10_000);
+
+        PublisherFile.FileSubscription fs = new PublisherFile.FileSubscription(new TestSubscriber<>(),
+          FileChannel.open(p, StandardOpenOption.READ), 4096, 1, false);
+
+        Assert.assertEquals(Fuseable.SYNC, fs.requestFusion(Fuseable.ANY));
+        Assert.assertEquals(4096, fs.poll().remaining());
+
+        fs.cancel();
+
+        Assert.assertFalse("File not closed", fs.channel.isOpen());
+        Assert.assertNull(fs.poll());
+    }
+
+    @Test
+    public void syncFusionThroughMap() throws IOException {
+        Path p = createFile(10_000);
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherFile(p, 4096).map(ByteBuffer::remaining).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(4096, 4096, 1808)
+          .assertNoError()
+          .assertComplete();
+    }
+}
@@ -2,8 +2,11 @@ package reactivestreams.commons.publisher;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -20,6 +23,8 @@ import reactivestreams.commons.processor.SimpleProcessor;
 import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
 import reactivestreams.commons.util.ConstructorTestBuilder;
+import reactivestreams.commons.util.PrefetchPolicy;
+import reactivestreams.commons.util.TestHelper;
 
 public class PublisherFlatMapTest {
 
@@ -30,6 +35,7 @@ public class PublisherFlatMapTest {
         ctb.addRef("source", PublisherNever.instance());
         ctb.addRef("mapper", (Function<Object, Publisher<Object>>)v -> PublisherNever.instance());
         ctb.addInt("prefetch", 1, Integer.MAX_VALUE);
+        ctb.addRef("prefetchPolicy", PrefetchPolicy.fixed(16));
         ctb.addInt("maxConcurrency", 1, Integer.MAX_VALUE);
         ctb.addRef("mainQueueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
         ctb.addRef("innerQueueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
@@ -650,4 +656,222 @@ public class PublisherFlatMapTest {
         .assertError(NullPointerException.class)
         .assertNotComplete();
     }
+
+    @Test
+    public void adaptivePrefetchGrowsWithFastConsumer() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        List<Long> requests = new ArrayList<>();
+
+        PublisherBase.just(1).hide()
+        .flatMap(v -> PublisherBase.range(1, 1000).hide().doOnRequest(requests::add), false, 1, PrefetchPolicy.adaptive(4, 4, 64))
+        .subscribe(ts);
+
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertComplete();
+
+        Assert.assertEquals(Arrays.asList(4L, 7L, 14L, 28L, 56L, 48L), requests.subList(0, 6));
+    }
+
+    @Test
+    public void adaptivePrefetchLongRun() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 1000).hide()
+        .flatMap(v -> PublisherBase.range(v, 1000).hide(), false, 8, PrefetchPolicy.adaptive(2, 16, 256))
+        .subscribe(ts);
+
+        ts.assertValueCount(1_000_000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void recycleReusesInnerSubscriber() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        Set<Object> inners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        PublisherBase.range(1, 100).hide()
+        .<Integer>flatMap(v -> s -> {
+            inners.add(s);
+            PublisherBase.range(v, 10).hide().subscribe(s);
+        }, false, 1, 4, true)
+        .subscribe(ts);
+
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertComplete();
+
+        Assert.assertEquals(1, inners.size());
+    }
+
+    @Test
+    public void noRecycleAllocatesInnerSubscribers() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        Set<Object> inners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        PublisherBase.range(1, 100).hide()
+        .<Integer>flatMap(v -> s -> {
+            inners.add(s);
+            PublisherBase.range(v, 10).hide().subscribe(s);
+        }, false, 1, 4, false)
+        .subscribe(ts);
+
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertComplete();
+
+        Assert.assertEquals(100, inners.size());
+    }
+
+    @Test
+    public void recycleBackpressured() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        PublisherBase.range(1, 100).hide()
+        .flatMap(v -> PublisherBase.range(v, 10).hide(), false, 4, 4, true)
+        .subscribe(ts);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        for (int i = 0; i < 99; i++) {
+            ts.request(10);
+        }
+
+        ts.assertValueCount(990)
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void recycleSyncFused() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        PublisherBase.range(1, 1000).hide()
+        .flatMap(v -> PublisherBase.range(v, 2), false, 8, 4, true)
+        .subscribe(ts);
+
+        ts.request(1000);
+
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1000);
+
+        ts.assertValueCount(2000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void recycleScalarAndEmpty() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 1000).hide()
+        .flatMap(v -> (v & 1) == 0 ? PublisherBase.just(v).hide() : PublisherBase.<Integer>empty().hide(), false, 2, 4, true)
+        .subscribe(ts);
+
+        ts.assertValueCount(500)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void recycleInnerError() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 10).hide()
+        .flatMap(v -> v == 5 ? new PublisherError<Integer>(new RuntimeException("Forced failure")) : PublisherBase.range(v, 2).hide(), false, 1, 4, true)
+        .subscribe(ts);
+
+        ts.assertValueCount(8)
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("Forced failure")
+        .assertNotComplete();
+    }
+
+    @Test
+    public void cancelRacesInnerSubscribe() {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                SimpleProcessor<Integer> main = new SimpleProcessor<>();
+                SimpleProcessor<Integer> inner = new SimpleProcessor<>();
+
+                TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+                main.flatMap(v -> inner, false, 16, 4, true).subscribe(ts);
+
+                TestHelper.race(() -> main.onNext(1), ts::cancel, exec);
+
+                Assert.assertFalse("Inner not cancelled in round " + i, inner.hasSubscribers());
+            }
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void recycleAsync() {
+        ExecutorService exec = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 20; i++) {
+                TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+                PublisherBase.range(1, 1000).hide()
+                .flatMap(v -> PublisherBase.range(v, 10).hide().subscribeOn(exec), false, 16, 4, true)
+                .subscribe(ts);
+
+                Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+                ts.assertValueCount(10_000)
+                .assertNoError()
+                .assertComplete();
+            }
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void innersCompleteOutOfOrder() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        List<SimpleProcessor<Integer>> processors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            processors.add(new SimpleProcessor<>());
+        }
+
+        PublisherBase.range(0, 10)
+        .flatMap(processors::get, false, Integer.MAX_VALUE, 4, true)
+        .subscribe(ts);
+
+        for (int i : new int[] { 3, 7, 0, 9, 1, 5, 2, 8, 6 }) {
+            SimpleProcessor<Integer> sp = processors.get(i);
+            Assert.assertTrue(sp.hasSubscribers());
+            sp.onNext(i);
+            sp.onComplete();
+            ts.assertNotComplete();
+        }
+
+        SimpleProcessor<Integer> sp = processors.get(4);
+        sp.onNext(4);
+        sp.onComplete();
+
+        ts.assertValues(3, 7, 0, 9, 1, 5, 2, 8, 6, 4)
+        .assertNoError()
+        .assertComplete();
+    }
 }
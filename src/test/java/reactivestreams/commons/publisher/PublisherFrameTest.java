@@ -0,0 +1,250 @@
+package reactivestreams.commons.publisher;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.publisher.PublisherFrame.Framing;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherFrameTest {
+
+    static ByteBuffer[] chunks(String... s) {
+        ByteBuffer[] a = new ByteBuffer[s.length];
+        for (int i = 0; i < s.length; i++) {
+            a[i] = ByteBuffer.wrap(s[i].getBytes(StandardCharsets.UTF_8));
+        }
+        return a;
+    }
+
+    static ByteBuffer prefixed(String... s) {
+        ByteBuffer b = ByteBuffer.allocate(1024);
+        for (String v : s) {
+            byte[] a = v.getBytes(StandardCharsets.UTF_8);
+            b.putInt(a.length);
+            b.put(a);
+        }
+        b.flip();
+        return b;
+    }
+
+    static ByteBuffer[] split(ByteBuffer b, int size) {
+        int n = (b.remaining() + size - 1) / size;
+        ByteBuffer[] a = new ByteBuffer[n];
+        for (int i = 0; i < n; i++) {
+            ByteBuffer c = b.duplicate();
+            c.position(i * size);
+            c.limit(Math.min(c.position() + size, b.limit()));
+            a[i] = c.slice();
+        }
+        return a;
+    }
+
+    static PublisherBase<String> lines(Framing framing, int maxFrameLength, ByteBuffer... chunks) {
+        return PublisherBase.decode(
+                new PublisherFrame(new PublisherArray<>(chunks), framing, maxFrameLength), StandardCharsets.UTF_8);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void framingNull() {
+        new PublisherFrame(PublisherNever.instance(), null, 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxFrameLengthInvalid() {
+        new PublisherFrame(PublisherNever.instance(), Framing.newline(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void prefetchInvalid() {
+        new PublisherFrame(PublisherNever.instance(), Framing.newline(), 16, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixedLengthInvalid() {
+        Framing.fixedLength(0);
+    }
+
+    @Test
+    public void newlineWithinChunks() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.newline(), 16, chunks("a\nbb\n", "ccc\n", "\n")).subscribe(ts);
+
+        ts.assertValues("a", "bb", "ccc", "")
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void newlineStraddling() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.newline(), 16, chunks("a\nb", "b", "b\ncc", "c\nd")).subscribe(ts);
+
+        ts.assertValues("a", "bbb", "ccc", "d")
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void delimiter() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.delimiter((byte)','), 16, chunks("1,22", ",333,")).subscribe(ts);
+
+        ts.assertValues("1", "22", "333")
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void framesWithinChunkAreSlices() {
+        ByteBuffer chunk = ByteBuffer.wrap("ab\ncd\n".getBytes(StandardCharsets.UTF_8));
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherFrame(new PublisherJust<>(chunk), Framing.newline(), 16).subscribe(ts);
+
+        ts.assertValueCount(2)
+          .assertNoError()
+          .assertComplete();
+
+        ByteBuffer f = ts.values().get(1);
+        Assert.assertSame(chunk.array(), f.array());
+        Assert.assertEquals(3, f.arrayOffset());
+        Assert.assertEquals(2, f.remaining());
+        Assert.assertEquals(0, chunk.position());
+    }
+
+    @Test
+    public void fixedLength() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.fixedLength(3), 16, chunks("abcd", "ef", "ghi")).subscribe(ts);
+
+        ts.assertValues("abc", "def", "ghi")
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void fixedLengthIncomplete() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.fixedLength(3), 16, chunks("abcd")).subscribe(ts);
+
+        ts.assertValues("abc")
+          .assertError(IllegalStateException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void lengthPrefixed() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.lengthPrefixed(), 16, prefixed("hello", "", "world!")).subscribe(ts);
+
+        ts.assertValues("hello", "", "world!")
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void lengthPrefixedStraddlingHeader() {
+        for (int size = 1; size < 8; size++) {
+            TestSubscriber<String> ts = new TestSubscriber<>();
+
+            lines(Framing.lengthPrefixed(), 16, split(prefixed("hello", "", "world!"), size)).subscribe(ts);
+
+            ts.assertValues("hello", "", "world!")
+              .assertNoError()
+              .assertComplete();
+        }
+    }
+
+    @Test
+    public void maxFrameLengthExceeded() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.newline(), 4, chunks("abc\nab", "cde\n")).subscribe(ts);
+
+        ts.assertValues("abc")
+          .assertError(IllegalStateException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<String> ts = new TestSubscriber<>(0);
+
+        lines(Framing.newline(), 16, chunks("a\nb\nc", "\nd", "\n", "e")).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(2);
+
+        ts.assertValues("a", "b")
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(2);
+
+        ts.assertValues("a", "b", "c", "d")
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues("a", "b", "c", "d", "e")
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void manyChunksReplenished() {
+        ByteBuffer[] a = new ByteBuffer[1000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = ByteBuffer.wrap((i % 2 == 0 ? "x" : "y\n").getBytes(StandardCharsets.UTF_8));
+        }
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        lines(Framing.newline(), 16, a).subscribe(ts);
+
+        ts.assertValueCount(500)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void error() {
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherFrame(new PublisherError<>(new RuntimeException("forced failure")), Framing.newline(), 16)
+          .subscribe(ts);
+
+        ts.assertNoValues()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure")
+          .assertNotComplete();
+    }
+
+    @Test
+    public void cancelStopsSource() {
+        SimpleProcessor<ByteBuffer> sp = new SimpleProcessor<>();
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        PublisherBase.decode(new PublisherFrame(sp, Framing.newline(), 16), StandardCharsets.UTF_8).subscribe(ts);
+
+        sp.onNext(ByteBuffer.wrap("a\nb".getBytes(StandardCharsets.UTF_8)));
+
+        ts.assertValues("a");
+
+        ts.cancel();
+
+        Assert.assertFalse("Has subscribers?", sp.hasSubscribers());
+    }
+}
@@ -0,0 +1,285 @@
+package reactivestreams.commons.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.publisher.PublisherGenerateBatch.BatchGenerator;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.FuseableTestSubscriber;
+
+public class PublisherGenerateBatchTest {
+
+    /**
+     * Emits 1..max, as many values as the demand allows per call, and records the demands.
+     */
+    static BatchGenerator<Integer, Integer> upTo(int max, List<Long> demands) {
+        return (s, n, o) -> {
+            demands.add(n);
+            if (s > max) {
+                o.onComplete();
+                return s;
+            }
+            for (long i = 0; i < n && s <= max; i++) {
+                o.onNext(s++);
+            }
+            return s;
+        };
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void stateSupplierNull() {
+        new PublisherGenerateBatch<Integer, Integer>(null, (s, n, o) -> s, s -> {
+        });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void generatorNull() {
+        new PublisherGenerateBatch<Integer, Integer>(() -> 1, null, s -> {
+        });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void stateConsumerNull() {
+        new PublisherGenerateBatch<Integer, Integer>(() -> 1, (s, n, o) -> s, null);
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        List<Long> demands = new ArrayList<>();
+
+        new PublisherGenerateBatch<>(() -> 1, upTo(5, demands)).subscribe(ts);
+
+        ts.assertValues(1, 2, 3, 4, 5)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(2, demands.size());
+        Assert.assertEquals(Long.MAX_VALUE, demands.get(0).longValue());
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        List<Long> demands = new ArrayList<>();
+
+        new PublisherGenerateBatch<>(() -> 1, upTo(10, demands)).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertValues(1, 2, 3)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(4);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(3L, demands.get(0).longValue());
+        Assert.assertEquals(4L, demands.get(1).longValue());
+        Assert.assertEquals(10L, demands.get(2).longValue());
+    }
+
+    @Test
+    public void partialBatches() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherGenerateBatch<Integer, Integer>(() -> 1, (s, n, o) -> {
+            if (s > 5) {
+                o.onComplete();
+            } else {
+                o.onNext(s);
+            }
+            return s + 1;
+        }).subscribe(ts);
+
+        ts.request(3);
+
+        ts.assertValues(1, 2, 3)
+          .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertValues(1, 2, 3, 4, 5)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void tooManyValues() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(2);
+
+        new PublisherGenerateBatch<Integer, Integer>((s, n, o) -> {
+            o.onNext(1);
+            o.onNext(2);
+            o.onNext(3);
+            return s;
+        }).subscribe(ts);
+
+        ts.assertValues(1, 2)
+          .assertNotComplete()
+          .assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void noSignal() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherGenerateBatch<Integer, Integer>((s, n, o) -> s).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void generatorThrows() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherGenerateBatch<Integer, Integer>((s, n, o) -> {
+            throw new RuntimeException("forced failure");
+        }).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure");
+    }
+
+    @Test
+    public void stateConsumerCalledOnCancel() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        AtomicInteger stateConsumer = new AtomicInteger();
+
+        new PublisherGenerateBatch<>(() -> 1, upTo(10, new ArrayList<>()), stateConsumer::set).subscribe(ts);
+
+        ts.request(2);
+        ts.cancel();
+
+        ts.assertValues(1, 2)
+          .assertNoError()
+          .assertNotComplete();
+
+        Assert.assertEquals(3, stateConsumer.get());
+    }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        List<Long> demands = new ArrayList<>();
+
+        AtomicInteger stateConsumer = new AtomicInteger();
+
+        new PublisherGenerateBatch<>(() -> 1, upTo(300, demands), stateConsumer::set).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(4, demands.size());
+        Assert.assertEquals((long)PublisherBase.BUFFER_SIZE, demands.get(0).longValue());
+        Assert.assertEquals(301, stateConsumer.get());
+    }
+
+    @Test
+    public void syncFusionValuesThenError() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerateBatch<Integer, Integer>((s, n, o) -> {
+            o.onNext(1);
+            o.onNext(2);
+            o.onError(new RuntimeException("forced failure"));
+            return s;
+        }).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1, 2)
+          .assertError(RuntimeException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void syncFusionValuesThenThrow() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerateBatch<Integer, Integer>((s, n, o) -> {
+            o.onNext(1);
+            o.onNext(2);
+            throw new RuntimeException("forced failure");
+        }).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1, 2)
+          .assertError(RuntimeException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void syncFusionCancelCleansUp() {
+        AtomicInteger stateConsumer = new AtomicInteger();
+
+        PublisherGenerateBatch.GenerateBatchSubscription<Integer, Integer> gs =
+          new PublisherGenerateBatch.GenerateBatchSubscription<>(new TestSubscriber<>(), 1,
+            upTo(10, new ArrayList<>()), s -> stateConsumer.incrementAndGet());
+
+        Assert.assertEquals(Fuseable.SYNC, gs.requestFusion(Fuseable.ANY));
+        Assert.assertEquals(1, gs.poll().intValue());
+
+        gs.cancel();
+
+        Assert.assertEquals(1, stateConsumer.get());
+
+        gs.clear();
+        Assert.assertNull(gs.poll());
+
+        Assert.assertEquals(1, stateConsumer.get());
+    }
+
+    @Test
+    public void cancelStopsBatch() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherGenerateBatch<Integer, Integer>((s, n, o) -> {
+            o.onNext(1);
+            ts.cancel();
+            o.onNext(2);
+            return s;
+        }).subscribe(ts);
+
+        ts.assertValues(1)
+          .assertNoError()
+          .assertNotComplete();
+    }
+
+    @Test
+    public void syncFusionThroughMap() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerateBatch<>(() -> 1, upTo(3, new ArrayList<>())).map(v -> v * 10).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(10, 20, 30)
+          .assertNoError()
+          .assertComplete();
+    }
+}
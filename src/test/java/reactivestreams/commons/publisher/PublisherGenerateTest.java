@@ -8,6 +8,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
 import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.util.FuseableTestSubscriber;
 
 public class PublisherGenerateTest {
 
@@ -313,4 +315,114 @@ public class PublisherGenerateTest {
           .assertComplete()
           .assertNoError();
     }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        AtomicInteger stateConsumer = new AtomicInteger();
+
+        new PublisherGenerate<Integer, Integer>(() -> 1, (s, o) -> {
+            if (s < 4) {
+                o.onNext(s);
+            } else {
+                o.onComplete();
+            }
+            return s + 1;
+        }, stateConsumer::set).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1, 2, 3)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(5, stateConsumer.get());
+    }
+
+    @Test
+    public void syncFusionValueThenError() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerate<Integer, Void>((s, o) -> {
+            o.onNext(1);
+            o.onError(new RuntimeException("forced failure"));
+            return s;
+        }).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1)
+          .assertError(RuntimeException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void syncFusionValueThenThrow() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerate<Integer, Void>((s, o) -> {
+            o.onNext(1);
+            throw new RuntimeException("forced failure");
+        }).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1)
+          .assertError(RuntimeException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void syncFusionCancelCleansUp() {
+        AtomicInteger stateConsumer = new AtomicInteger();
+
+        PublisherGenerate.GenerateSubscription<Integer, Integer> gs = new PublisherGenerate.GenerateSubscription<>(
+          new TestSubscriber<>(), 1, (s, o) -> {
+              o.onNext(s);
+              return s + 1;
+          }, s -> stateConsumer.incrementAndGet());
+
+        Assert.assertEquals(Fuseable.SYNC, gs.requestFusion(Fuseable.ANY));
+        Assert.assertEquals(1, gs.poll().intValue());
+
+        gs.cancel();
+
+        Assert.assertEquals(1, stateConsumer.get());
+
+        Assert.assertNull(gs.poll());
+        gs.clear();
+
+        Assert.assertEquals(1, stateConsumer.get());
+    }
+
+    @Test
+    public void syncFusionGeneratorThrows() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerate<Integer, Void>((s, o) -> {
+            throw new RuntimeException("forced failure");
+        }).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues()
+          .assertError(RuntimeException.class)
+          .assertNotComplete();
+    }
+
+    @Test
+    public void syncFusionThroughMap() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerate<Integer, Integer>(() -> 1, (s, o) -> {
+            if (s < 4) {
+                o.onNext(s);
+            } else {
+                o.onComplete();
+            }
+            return s + 1;
+        }).map(v -> v * 10).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(10, 20, 30)
+          .assertNoError()
+          .assertComplete();
+    }
 }
@@ -0,0 +1,226 @@
+package reactivestreams.commons.publisher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.subscriber.MappedRingSubscriber;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.MappedRingBuffer;
+
+public class PublisherMappedRingTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    MappedRingBuffer producer;
+
+    MappedRingBuffer consumer;
+
+    @Before
+    public void before() throws IOException {
+        Path p = folder.newFile().toPath();
+        producer = MappedRingBuffer.create(p, 4096);
+        consumer = MappedRingBuffer.open(p);
+    }
+
+    @After
+    public void after() throws IOException {
+        producer.close();
+        consumer.close();
+    }
+
+    static PublisherBase<ByteBuffer> ints(int count) {
+        return PublisherBase.range(0, count).map(v -> {
+            ByteBuffer b = ByteBuffer.allocate(4);
+            b.putInt(0, v);
+            return b;
+        });
+    }
+
+    static void assertInts(List<ByteBuffer> values, int count) {
+        Assert.assertEquals(count, values.size());
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(i, values.get(i).getInt(0));
+        }
+    }
+
+    static void awaitTrue(String message, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(message, condition.getAsBoolean());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void ringNull() {
+        new PublisherMappedRing(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void prefetchInvalid() {
+        new MappedRingSubscriber(producer, 0);
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherMappedRing(consumer).subscribe(ts);
+
+        ints(100_000).subscribe(new MappedRingSubscriber(producer, 256));
+
+        Assert.assertTrue("Timed out", ts.await(10, TimeUnit.SECONDS));
+
+        ts.assertNoError()
+          .assertComplete();
+
+        assertInts(ts.values(), 100_000);
+    }
+
+    @Test
+    public void normalBackpressured() {
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<ByteBuffer>(0) {
+            @Override
+            public void onNext(ByteBuffer t) {
+                super.onNext(t);
+                request(1);
+            }
+        };
+
+        new PublisherMappedRing(consumer).subscribe(ts);
+
+        ints(10_000).subscribe(new MappedRingSubscriber(producer, 16));
+
+        ts.request(1);
+
+        Assert.assertTrue("Timed out", ts.await(10, TimeUnit.SECONDS));
+
+        ts.assertNoError()
+          .assertComplete();
+
+        assertInts(ts.values(), 10_000);
+    }
+
+    @Test
+    public void demandLimitsProducer() throws InterruptedException {
+        AtomicInteger emitted = new AtomicInteger();
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>(0);
+
+        new PublisherMappedRing(consumer).subscribe(ts);
+
+        PublisherBase.range(0, 1000).map(v -> {
+            emitted.getAndIncrement();
+            ByteBuffer b = ByteBuffer.allocate(4);
+            b.putInt(0, v);
+            return b;
+        }).subscribe(new MappedRingSubscriber(producer, 4));
+
+        ts.request(5);
+
+        awaitTrue("5 values expected", () -> ts.values().size() == 5);
+
+        Thread.sleep(100);
+
+        ts.assertValueCount(5)
+          .assertNoError()
+          .assertNotComplete();
+
+        // 5 written and at most 4 prefetched
+        Assert.assertTrue("Too many emitted: " + emitted.get(), emitted.get() <= 9);
+
+        ts.request(Long.MAX_VALUE);
+
+        Assert.assertTrue("Timed out", ts.await(10, TimeUnit.SECONDS));
+
+        ts.assertNoError()
+          .assertComplete();
+
+        assertInts(ts.values(), 1000);
+    }
+
+    @Test
+    public void error() throws InterruptedException {
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherMappedRing(consumer).subscribe(ts);
+
+        MappedRingSubscriber writer = new MappedRingSubscriber(producer, 16);
+
+        new PublisherError<ByteBuffer>(new RuntimeException("forced failure")).subscribe(writer);
+
+        Assert.assertTrue("Timed out", ts.await(10, TimeUnit.SECONDS));
+
+        ts.assertNoValues()
+          .assertError(IllegalStateException.class)
+          .assertErrorMessage("java.lang.RuntimeException: forced failure")
+          .assertNotComplete();
+
+        awaitTrue("Writer not terminated", writer::isTerminated);
+    }
+
+    @Test
+    public void messageTooLong() throws InterruptedException {
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherMappedRing(consumer).subscribe(ts);
+
+        MappedRingSubscriber writer = new MappedRingSubscriber(producer, 16);
+
+        new PublisherJust<>(ByteBuffer.allocate(producer.maxMessageLength() + 1)).subscribe(writer);
+
+        Assert.assertTrue("Timed out", ts.await(10, TimeUnit.SECONDS));
+
+        ts.assertNoValues()
+          .assertError(IllegalStateException.class)
+          .assertNotComplete();
+
+        awaitTrue("Writer not terminated", writer::isTerminated);
+        Assert.assertTrue(writer.getError() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void cancelStopsProducer() throws InterruptedException {
+        SimpleProcessor<ByteBuffer> sp = new SimpleProcessor<>();
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        new PublisherMappedRing(consumer).subscribe(ts);
+
+        sp.subscribe(new MappedRingSubscriber(producer, 16));
+
+        Assert.assertTrue(sp.hasSubscribers());
+
+        sp.onNext(ByteBuffer.allocate(1));
+
+        awaitTrue("1 value expected", () -> ts.values().size() == 1);
+
+        ts.cancel();
+
+        awaitTrue("Upstream not cancelled", () -> !sp.hasSubscribers());
+    }
+
+    @Test
+    public void singleSubscriber() {
+        PublisherMappedRing p = new PublisherMappedRing(consumer);
+
+        p.subscribe(new TestSubscriber<>(0));
+
+        TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+        p.subscribe(ts);
+
+        ts.assertError(IllegalStateException.class);
+    }
+}
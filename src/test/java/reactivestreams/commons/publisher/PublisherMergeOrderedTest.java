@@ -0,0 +1,194 @@
+package reactivestreams.commons.publisher;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.ConstructorTestBuilder;
+
+public class PublisherMergeOrderedTest {
+
+    @Test
+    public void constructors() {
+        ConstructorTestBuilder ctb = new ConstructorTestBuilder(PublisherMergeOrdered.class);
+
+        ctb.addRef("sources", new Publisher[0]);
+        ctb.addRef("comparator", Comparator.naturalOrder());
+        ctb.addRef("queueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
+        ctb.addInt("prefetch", 1, Integer.MAX_VALUE);
+
+        ctb.test();
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.mergeOrdered(Comparator.<Integer>naturalOrder(),
+                PublisherBase.fromArray(1, 4, 7), PublisherBase.fromArray(2, 5, 8), PublisherBase.fromArray(3, 6, 9))
+        .subscribe(ts);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void normalHidden() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.mergeOrdered(Comparator.<Integer>naturalOrder(),
+                PublisherBase.fromArray(1, 4, 7).hide(), PublisherBase.fromArray(2, 5, 8).hide(), PublisherBase.fromArray(3, 6, 9).hide())
+        .subscribe(ts);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void differentLengthAndEmpty() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.mergeOrdered(Comparator.<Integer>naturalOrder(),
+                PublisherBase.range(1, 5), PublisherBase.<Integer>empty(), PublisherBase.just(3))
+        .subscribe(ts);
+
+        ts.assertValues(1, 2, 3, 3, 4, 5)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void equalValuesInSourceOrder() {
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        PublisherBase.mergeOrdered(Comparator.comparing(String::length),
+                PublisherBase.fromArray("b", "bb"), PublisherBase.fromArray("a", "aa"))
+        .subscribe(ts);
+
+        ts.assertValues("b", "a", "bb", "aa")
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        PublisherBase.mergeOrdered(Comparator.<Integer>naturalOrder(),
+                PublisherBase.fromArray(1, 3), PublisherBase.fromArray(2, 4))
+        .subscribe(ts);
+
+        ts.assertNoValues()
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertValues(1, 2, 3)
+        .assertNoError()
+        .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(1, 2, 3, 4)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void longRun() {
+        int n = 16;
+        @SuppressWarnings("unchecked")
+        Publisher<Integer>[] sources = new Publisher[n];
+        for (int i = 0; i < n; i++) {
+            int k = i;
+            sources[i] = PublisherBase.range(0, 10_000).map(v -> v * n + k);
+        }
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.mergeOrderedArray(sources, Comparator.<Integer>naturalOrder(), 16).subscribe(ts);
+
+        ts.assertValueCount(n * 10_000)
+        .assertNoError()
+        .assertComplete();
+
+        List<Integer> values = ts.values();
+        for (int i = 0; i < values.size(); i++) {
+            Assert.assertEquals(i, values.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void waitsForAllHeads() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> sp2 = new SimpleProcessor<>();
+
+        PublisherBase.mergeOrdered(Comparator.<Integer>naturalOrder(), sp1, sp2).subscribe(ts);
+
+        sp1.onNext(1);
+        sp1.onNext(5);
+
+        ts.assertNoValues();
+
+        sp2.onNext(2);
+
+        ts.assertValues(1, 2);
+
+        sp2.onComplete();
+
+        ts.assertValues(1, 2, 5)
+        .assertNotComplete();
+
+        sp1.onComplete();
+
+        ts.assertValues(1, 2, 5)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void sourceError() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp1 = new SimpleProcessor<>();
+        SimpleProcessor<Integer> sp2 = new SimpleProcessor<>();
+
+        PublisherBase.mergeOrdered(Comparator.<Integer>naturalOrder(), sp1, sp2).subscribe(ts);
+
+        sp1.onNext(1);
+
+        sp2.onError(new RuntimeException("forced failure"));
+
+        ts.assertNoValues()
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+
+        Assert.assertFalse("sp1 has subscribers?", sp1.hasSubscribers());
+    }
+
+    @Test
+    public void comparatorThrows() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.mergeOrdered((a, b) -> { throw new RuntimeException("forced failure"); },
+                PublisherBase.range(1, 2), PublisherBase.range(1, 2))
+        .subscribe(ts);
+
+        ts.assertNoValues()
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+    }
+}
@@ -1,6 +1,8 @@
 package reactivestreams.commons.publisher;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
@@ -18,7 +20,9 @@ import reactivestreams.commons.processor.SimpleProcessor;
 import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
 import reactivestreams.commons.util.ConstructorTestBuilder;
+import reactivestreams.commons.util.PrefetchPolicy;
 import reactivestreams.commons.util.SpscArrayQueue;
+import reactivestreams.commons.util.TrampolineScheduler;
 
 public class PublisherObserveOnTest {
 
@@ -42,6 +46,7 @@ public class PublisherObserveOnTest {
         ctb.addRef("executor", exec);
         ctb.addRef("schedulerFactory", (Callable<? extends Consumer<Runnable>>)() -> r -> { });
         ctb.addInt("prefetch", 1, Integer.MAX_VALUE);
+        ctb.addRef("prefetchPolicy", PrefetchPolicy.fixed(16));
         ctb.addRef("queueSupplier", PublisherBase.defaultQueueSupplier(Integer.MAX_VALUE));
         
         ctb.test();
@@ -734,4 +739,116 @@ public class PublisherObserveOnTest {
         .assertNoError()
         .assertComplete();
     }
+
+    @Test
+    public void adaptivePrefetchBoundedQueue() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+        
+        PublisherBase.range(1, 100_000).hide()
+        .observeOn(PublisherBase.fromExecutor(exec), true, PrefetchPolicy.adaptive(4, 16, 256))
+        .subscribe(ts);
+        
+        ts.await(5, TimeUnit.SECONDS);
+        
+        ts.assertValueCount(100_000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void adaptivePrefetchBoundedQueueFilter() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+        
+        PublisherBase.range(1, 100_000).hide()
+        .observeOn(PublisherBase.fromExecutor(exec), true, PrefetchPolicy.adaptive(4, 16, 256))
+        .filter(v -> (v & 1) == 0)
+        .subscribe(ts);
+        
+        ts.await(5, TimeUnit.SECONDS);
+        
+        ts.assertValueCount(50_000)
+        .assertNoError()
+        .assertComplete();
+    }
+
+    @Test
+    public void sameExecutorOtherWorkerStillHops() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+        
+        AtomicInteger hops = new AtomicInteger();
+        
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        
+        ExecutorService counting = new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                hops.getAndIncrement();
+                pool.execute(command);
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return null;
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) {
+                return false;
+            }
+        };
+        
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        
+        try {
+            PublisherBase.range(1, 1000).hide()
+            .subscribeOn(counting, false, false)
+            .observeOn(counting)
+            .doOnNext(v -> {
+                if (inside.getAndIncrement() != 0) {
+                    overlaps.getAndIncrement();
+                }
+                inside.getAndDecrement();
+            })
+            .subscribe(ts);
+            
+            ts.await(5, TimeUnit.SECONDS);
+            
+            ts.assertValueCount(1000)
+            .assertNoError()
+            .assertComplete();
+            
+            Assert.assertEquals(0, overlaps.get());
+            Assert.assertTrue("" + hops.get(), hops.get() > 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void trampoline() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+        
+        PublisherBase.range(1, 1000).hide()
+        .observeOn(TrampolineScheduler.instance())
+        .subscribe(ts);
+        
+        ts.assertValueCount(1000)
+        .assertNoError()
+        .assertComplete();
+    }
 }
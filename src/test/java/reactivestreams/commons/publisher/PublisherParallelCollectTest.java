@@ -0,0 +1,100 @@
+package reactivestreams.commons.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherParallelCollectTest {
+
+    @Test(expected = NullPointerException.class)
+    public void sourceNull() {
+        new PublisherParallelCollect<Integer, List<Integer>>(null, ArrayList::new, List::add, List::addAll);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void supplierNull() {
+        new PublisherParallelCollect<Integer, List<Integer>>(PublisherNever.instance(), null, List::add, List::addAll);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void actionNull() {
+        new PublisherParallelCollect<Integer, List<Integer>>(PublisherNever.instance(), ArrayList::new, null, List::addAll);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void combinerNull() {
+        new PublisherParallelCollect<Integer, List<Integer>>(PublisherNever.instance(), ArrayList::new, List::add, null);
+    }
+
+    @Test
+    public void rangeSplitKeepsOrder() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        new PublisherParallelCollect<Integer, List<Integer>>(new PublisherRange(0, 10_000), ArrayList::new, List::add,
+                List::addAll, 10)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValueCount(1)
+          .assertComplete()
+          .assertNoError();
+
+        List<Integer> list = ts.values().get(0);
+        Assert.assertEquals(10_000, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assert.assertEquals(i, list.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void unsizedFallsBackToSequential() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        new PublisherParallelCollect<Integer, List<Integer>>(new PublisherIterable<>(new HashSet<>(Arrays.asList(1, 2, 3))),
+                ArrayList::new, List::add, (a, b) -> {
+                    throw new IllegalStateException("combiner called");
+                }, 1)
+        .subscribe(ts);
+
+        ts.assertValue(Arrays.asList(1, 2, 3))
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void supplierReturnsNull() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        new PublisherParallelCollect<Integer, List<Integer>>(new PublisherRange(0, 10), () -> null, List::add,
+                List::addAll)
+        .subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void actionThrows() {
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+        new PublisherParallelCollect<Integer, List<Integer>>(new PublisherRange(0, 1000), ArrayList::new, (a, b) -> {
+            throw new RuntimeException("forced failure");
+        }, List::addAll, 10)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure");
+    }
+}
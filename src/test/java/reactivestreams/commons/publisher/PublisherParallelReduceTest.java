@@ -0,0 +1,212 @@
+package reactivestreams.commons.publisher;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherParallelReduceTest {
+
+    @Test(expected = NullPointerException.class)
+    public void sourceNull() {
+        new PublisherParallelReduce<>(null, () -> 1, (a, b) -> (Integer) b, (a, b) -> a);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void supplierNull() {
+        new PublisherParallelReduce<>(PublisherNever.instance(), null, (a, b) -> b, (a, b) -> a);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void accumulatorNull() {
+        new PublisherParallelReduce<>(PublisherNever.instance(), () -> 1, null, (a, b) -> a);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void combinerNull() {
+        new PublisherParallelReduce<>(PublisherNever.instance(), () -> 1, (a, b) -> (Integer) b, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void minPartitionSizeInvalid() {
+        new PublisherParallelReduce<>(PublisherNever.instance(), () -> 1, (a, b) -> (Integer) b, (a, b) -> a, 0);
+    }
+
+    @Test
+    public void rangeSmall() {
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherRange(1, 10), () -> 0L, (a, b) -> a + b, (a, b) -> a + b)
+        .subscribe(ts);
+
+        ts.assertValue(55L)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void rangeSplit() {
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherRange(1, 100_000), () -> 0L, (a, b) -> a + b,
+                (a, b) -> a + b, 16)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValue(5_000_050_000L)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void arraySplitKeepsOrder() {
+        Integer[] array = new Integer[10_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+
+        TestSubscriber<String> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherArray<>(array), () -> "", (a, b) -> b % 1000 == 0 ? a + b + "," : a,
+                (a, b) -> a + b, 7)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValue("0,1000,2000,3000,4000,5000,6000,7000,8000,9000,")
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void listSplit() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            list.add(i);
+        }
+
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherIterable<>(list), () -> 0L, (a, b) -> a + b, (a, b) -> a + b, 100)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValue(50_005_000L)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void unsizedFallsBackToSequential() {
+        List<Integer> list = new LinkedList<>();
+        for (int i = 1; i <= 100; i++) {
+            list.add(i);
+        }
+
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherIterable<>(list), () -> 0L, (a, b) -> a + b, (a, b) -> {
+            throw new IllegalStateException("combiner called");
+        }, 1)
+        .subscribe(ts);
+
+        ts.assertValue(5050L)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void empty() {
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherArray<Integer>(), () -> 0L, (a, b) -> a + b, (a, b) -> a + b)
+        .subscribe(ts);
+
+        ts.assertValue(0L)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<Long> ts = new TestSubscriber<>(0);
+
+        new PublisherParallelReduce<>(new PublisherRange(1, 10), () -> 0L, (a, b) -> a + b, (a, b) -> a + b)
+        .subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValue(55L)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void accumulatorThrows() {
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<Integer, Long>(new PublisherRange(1, 10_000), () -> 0L, (a, b) -> {
+            if (b == 5_000) {
+                throw new RuntimeException("forced failure");
+            }
+            return a + b;
+        }, (a, b) -> a + b, 16)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure");
+    }
+
+    @Test
+    public void combinerReturnsNull() {
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherRange(1, 10_000), () -> 0L, (a, b) -> a + b, (a, b) -> null, 16)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void arrayNullElement() {
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+
+        new PublisherParallelReduce<>(new PublisherArray<>(1, null, 3), () -> 0L, (a, b) -> a + b, (a, b) -> a + b)
+        .subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void cancelledUpfront() {
+        TestSubscriber<Long> ts = new TestSubscriber<>();
+        ts.cancel();
+
+        new PublisherParallelReduce<>(new PublisherRange(1, 10), () -> 0L, (a, b) -> a + b, (a, b) -> a + b)
+        .subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+    }
+}
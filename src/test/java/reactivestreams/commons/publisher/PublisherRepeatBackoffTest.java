@@ -0,0 +1,125 @@
+package reactivestreams.commons.publisher;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherRepeatBackoffTest {
+
+    ScheduledExecutorService exec;
+
+    @Before
+    public void before() {
+        exec = Executors.newScheduledThreadPool(1);
+    }
+
+    @After
+    public void after() {
+        exec.shutdownNow();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void sourceNull() {
+        new PublisherRepeatBackoff<>(null, 1, 1, 1, TimeUnit.MILLISECONDS, 0d, exec);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxRepeatsNegative() {
+        new PublisherRepeatBackoff<>(PublisherNever.instance(), -1, 1, 1, TimeUnit.MILLISECONDS, 0d, exec);
+    }
+
+    @Test
+    public void repeatsThenCompletes() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRepeatBackoff<>(new PublisherDefer<>(() -> new PublisherJust<>(subscriptions.incrementAndGet())),
+                2, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValues(1, 2, 3)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void zeroRepeats() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRepeatBackoff<>(new PublisherRange(1, 2), 0, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        ts.assertValues(1, 2)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void emptyPollsExhaustRepeats() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRepeatBackoff<>(new PublisherDefer<>(() -> {
+            subscriptions.incrementAndGet();
+            return PublisherEmpty.<Integer>instance();
+        }), 3, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertNoValues()
+          .assertComplete()
+          .assertNoError();
+
+        Assert.assertEquals(4, subscriptions.get());
+    }
+
+    @Test
+    public void mixedPolls() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRepeatBackoff<>(new PublisherDefer<>(() -> {
+            int n = subscriptions.incrementAndGet();
+            if (n % 2 == 0) {
+                return new PublisherJust<>(n);
+            }
+            return PublisherEmpty.<Integer>instance();
+        }), 6, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValues(2, 4, 6)
+          .assertComplete()
+          .assertNoError();
+
+        Assert.assertEquals(7, subscriptions.get());
+    }
+
+    @Test
+    public void errorIsRelayed() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRepeatBackoff<>(new PublisherError<Integer>(new RuntimeException("forced failure")),
+                3, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure");
+    }
+}
@@ -0,0 +1,212 @@
+package reactivestreams.commons.publisher;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class PublisherRetryBackoffTest {
+
+    ScheduledExecutorService exec;
+
+    @Before
+    public void before() {
+        exec = Executors.newScheduledThreadPool(1);
+    }
+
+    @After
+    public void after() {
+        exec.shutdownNow();
+    }
+
+    PublisherBase<Integer> failing(AtomicInteger subscriptions, int failures) {
+        return new PublisherDefer<>(() -> {
+            if (subscriptions.incrementAndGet() <= failures) {
+                return new PublisherError<>(new IOException("forced failure"));
+            }
+            return new PublisherRange(1, 3);
+        });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void sourceNull() {
+        new PublisherRetryBackoff<>(null, 1, 1, 1, TimeUnit.MILLISECONDS, 0d, exec);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void executorNull() {
+        new PublisherRetryBackoff<>(PublisherNever.instance(), 1, 1, 1, TimeUnit.MILLISECONDS, 0d, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxRetriesNegative() {
+        new PublisherRetryBackoff<>(PublisherNever.instance(), -1, 1, 1, TimeUnit.MILLISECONDS, 0d, exec);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxDelayLessThanFirstDelay() {
+        new PublisherRetryBackoff<>(PublisherNever.instance(), 1, 2, 1, TimeUnit.MILLISECONDS, 0d, exec);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void jitterInvalid() {
+        new PublisherRetryBackoff<>(PublisherNever.instance(), 1, 1, 1, TimeUnit.MILLISECONDS, 1.5d, exec);
+    }
+
+    @Test
+    public void backoffNanos() {
+        Assert.assertEquals(10L, PublisherRetryBackoff.backoffNanos(1, 10, 100, 0d));
+        Assert.assertEquals(20L, PublisherRetryBackoff.backoffNanos(2, 10, 100, 0d));
+        Assert.assertEquals(80L, PublisherRetryBackoff.backoffNanos(4, 10, 100, 0d));
+        Assert.assertEquals(100L, PublisherRetryBackoff.backoffNanos(5, 10, 100, 0d));
+        Assert.assertEquals(Long.MAX_VALUE, PublisherRetryBackoff.backoffNanos(1000, 10, Long.MAX_VALUE, 0d));
+
+        for (int i = 0; i < 100; i++) {
+            long d = PublisherRetryBackoff.backoffNanos(2, 100, 1000, 0.5d);
+            Assert.assertTrue("" + d, d >= 100 && d <= 300);
+        }
+    }
+
+    @Test
+    public void noFailure() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRetryBackoff<>(new PublisherRange(1, 3), 3, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        ts.assertValues(1, 2, 3)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void recoversAfterFailures() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRetryBackoff<>(failing(subscriptions, 2), 3, 1, 10, TimeUnit.MILLISECONDS, 0.2d, exec)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValues(1, 2, 3)
+          .assertComplete()
+          .assertNoError();
+
+        Assert.assertEquals(3, subscriptions.get());
+    }
+
+    @Test
+    public void retriesExhausted() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRetryBackoff<>(failing(subscriptions, 10), 2, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(IOException.class);
+
+        Assert.assertEquals(3, subscriptions.get());
+    }
+
+    @Test
+    public void delayGrows() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        long start = System.nanoTime();
+
+        new PublisherRetryBackoff<>(failing(subscriptions, 3), 3, 20, 1000, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValues(1, 2, 3)
+          .assertComplete()
+          .assertNoError();
+
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 20 + 40 + 80);
+    }
+
+    @Test
+    public void backpressuredAcrossRetries() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherRetryBackoff<>(new PublisherDefer<>(() -> {
+            if (subscriptions.incrementAndGet() == 1) {
+                return new PublisherConcatArray<>(new PublisherJust<>(1), new PublisherError<>(new IOException()));
+            }
+            return new PublisherRange(2, 2);
+        }), 1, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        ts.request(2);
+
+        while (subscriptions.get() != 2) {
+            Thread.yield();
+        }
+
+        ts.assertValues(1, 2)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        Assert.assertTrue(ts.await(5, TimeUnit.SECONDS));
+
+        ts.assertValues(1, 2, 3)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void cancelDuringDelay() throws Exception {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRetryBackoff<>(failing(subscriptions, 10), 3, 100, 1000, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        ts.cancel();
+
+        Thread.sleep(200);
+
+        Assert.assertEquals(1, subscriptions.get());
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+    }
+
+    @Test
+    public void executorRejects() {
+        exec.shutdown();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherRetryBackoff<>(failing(new AtomicInteger(), 10), 3, 1, 10, TimeUnit.MILLISECONDS, 0d, exec)
+        .subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(RejectedExecutionException.class);
+    }
+}
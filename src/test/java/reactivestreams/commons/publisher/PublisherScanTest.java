@@ -1,7 +1,12 @@
 package reactivestreams.commons.publisher;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import org.junit.Test;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.FuseableTestSubscriber;
 
 public class PublisherScanTest {
 
@@ -84,4 +89,34 @@ public class PublisherScanTest {
           .assertNotComplete()
           .assertError(NullPointerException.class);
     }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        PublisherBase.range(1, 3).scan(0, (a, b) -> a + b).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(0, 1, 3, 6)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void asyncFusion() {
+        UnicastProcessor<Integer> up = new UnicastProcessor<>(new ConcurrentLinkedQueue<>());
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        up.scan(0, (a, b) -> a + b).subscribe(ts);
+
+        up.onNext(1);
+        up.onNext(2);
+        up.onComplete();
+
+        ts.assertFusionMode(Fuseable.ASYNC)
+          .assertValues(0, 1, 3)
+          .assertNoError()
+          .assertComplete();
+    }
 }
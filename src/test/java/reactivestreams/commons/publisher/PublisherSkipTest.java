@@ -1,7 +1,16 @@
 package reactivestreams.commons.publisher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.Assert;
 import org.junit.Test;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.FuseableTestSubscriber;
 
 public class PublisherSkipTest {
 
@@ -59,4 +68,59 @@ public class PublisherSkipTest {
           .assertComplete()
           .assertNoError();
     }
+
+    @Test
+    public void conditionalDownstream() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(2);
+
+        List<Long> requests = new ArrayList<>();
+
+        new PublisherSkip<>(PublisherBase.range(1, 10).doOnRequest(requests::add), 3)
+        .filter(v -> v % 2 == 0)
+        .subscribe(ts);
+
+        ts.assertValues(4, 6)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(4, 6, 8)
+          .assertNoError()
+          .assertNotComplete();
+
+        Assert.assertEquals(Arrays.asList(2L, 3L, 1L), requests);
+    }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        PublisherBase.range(1, 10).doOnNext(v -> { }).skip(7).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(8, 9, 10)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void asyncFusion() {
+        UnicastProcessor<Integer> up = new UnicastProcessor<>(new ConcurrentLinkedQueue<>());
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        up.skip(2).subscribe(ts);
+
+        up.onNext(1);
+        up.onNext(2);
+        up.onNext(3);
+        up.onNext(4);
+        up.onComplete();
+
+        ts.assertFusionMode(Fuseable.ASYNC)
+          .assertValues(3, 4)
+          .assertNoError()
+          .assertComplete();
+    }
 }
@@ -1,7 +1,16 @@
 package reactivestreams.commons.publisher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.Assert;
 import org.junit.Test;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.FuseableTestSubscriber;
 
 public class PublisherSkipWhileTest {
 
@@ -126,4 +135,50 @@ public class PublisherSkipWhileTest {
 
     }
 
+    @Test
+    public void conditionalNoRequestPerDropped() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(2);
+
+        List<Long> requests = new ArrayList<>();
+
+        new PublisherSkipWhile<>(PublisherBase.range(1, 10).doOnRequest(requests::add), v -> v < 6).subscribe(ts);
+
+        ts.assertValues(6, 7)
+          .assertNoError()
+          .assertNotComplete();
+
+        Assert.assertEquals(Arrays.asList(2L), requests);
+    }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        PublisherBase.range(1, 10).skipWhile(v -> v < 8).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(8, 9, 10)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void asyncFusion() {
+        UnicastProcessor<Integer> up = new UnicastProcessor<>(new ConcurrentLinkedQueue<>());
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        up.skipWhile(v -> v < 3).subscribe(ts);
+
+        up.onNext(1);
+        up.onNext(2);
+        up.onNext(3);
+        up.onNext(1);
+        up.onComplete();
+
+        ts.assertFusionMode(Fuseable.ASYNC)
+          .assertValues(3, 1)
+          .assertNoError()
+          .assertComplete();
+    }
 }
@@ -0,0 +1,421 @@
+package reactivestreams.commons.publisher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactivestreams.commons.subscriber.SocketChannelSubscriber;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.NioEventLoop;
+import reactivestreams.commons.util.UnsignalledExceptions;
+
+public class PublisherSocketTest {
+
+    NioEventLoop loop;
+
+    ServerSocketChannel server;
+
+    @Before
+    public void before() throws IOException {
+        loop = new NioEventLoop();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    @After
+    public void after() throws IOException {
+        loop.shutdown();
+        server.close();
+    }
+
+    /**
+     * Accepts a single connection and echoes the bytes back with blocking I/O until the client
+     * shuts down its output.
+     */
+    void echoServer() {
+        Thread t = new Thread(() -> {
+            try (SocketChannel c = server.accept()) {
+                ByteBuffer b = ByteBuffer.allocate(8192);
+                while (c.read(b) >= 0) {
+                    b.flip();
+                    while (b.hasRemaining()) {
+                        c.write(b);
+                    }
+                    b.clear();
+                }
+            } catch (IOException ex) {
+                // the test fails on missing data
+            }
+        }, "echo-server");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Accepts a single connection and writes the given amount of bytes with blocking I/O,
+     * counting the bytes the kernel accepted.
+     */
+    void producerServer(long total, AtomicLong written) {
+        Thread t = new Thread(() -> {
+            try (SocketChannel c = server.accept()) {
+                ByteBuffer b = ByteBuffer.allocate(8192);
+                while (written.get() < total) {
+                    b.clear();
+                    b.limit((int)Math.min(b.capacity(), total - written.get()));
+                    written.addAndGet(c.write(b));
+                }
+            } catch (IOException ex) {
+                // the test fails on missing data
+            }
+        }, "producer-server");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Accepts a single connection and holds it open without ever reading from it.
+     */
+    void stalledServer() {
+        Thread t = new Thread(() -> {
+            try (SocketChannel c = server.accept()) {
+                while (c.isOpen()) {
+                    Thread.sleep(100);
+                }
+            } catch (IOException | InterruptedException ex) {
+                // the test fails on the client side
+            }
+        }, "stalled-server");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    static void awaitTerminated(SocketChannelSubscriber sub) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!sub.isTerminated() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    SocketChannel connect() throws IOException {
+        return SocketChannel.open(server.getLocalAddress());
+    }
+
+    static ByteBuffer[] chunks(int count, int size) {
+        ByteBuffer[] a = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            byte[] b = new byte[size];
+            for (int j = 0; j < size; j++) {
+                b[j] = (byte)(i * size + j);
+            }
+            a[i] = ByteBuffer.wrap(b);
+        }
+        return a;
+    }
+
+    static byte[] concat(List<ByteBuffer> chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer b : chunks) {
+            byte[] a = new byte[b.remaining()];
+            b.duplicate().get(a);
+            out.write(a, 0, a.length);
+        }
+        return out.toByteArray();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void channelNull() {
+        new PublisherSocket(null, loop, 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void chunkSizeInvalid() throws IOException {
+        echoServer();
+        try (SocketChannel c = connect()) {
+            new PublisherSocket(c, loop, 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void prefetchInvalid() throws IOException {
+        echoServer();
+        try (SocketChannel c = connect()) {
+            new SocketChannelSubscriber(c, loop, 0);
+        }
+    }
+
+    @Test
+    public void echo() throws IOException {
+        echoServer();
+
+        try (SocketChannel c = connect()) {
+            TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+            new PublisherSocket(c, loop, 1000).subscribe(ts);
+
+            ByteBuffer[] out = chunks(100, 10_000);
+            byte[] expected = concat(Arrays.asList(chunks(100, 10_000)));
+
+            SocketChannelSubscriber sub = new SocketChannelSubscriber(c, loop, 4);
+            new PublisherArray<>(out).subscribe(sub);
+
+            Assert.assertTrue("Timed out", ts.await(10, TimeUnit.SECONDS));
+
+            ts.assertNoError()
+              .assertComplete();
+
+            Assert.assertArrayEquals(expected, concat(ts.values()));
+            for (ByteBuffer b : ts.values()) {
+                Assert.assertTrue(b.remaining() <= 1000);
+            }
+            Assert.assertTrue(sub.isTerminated());
+            Assert.assertNull(sub.getError());
+        }
+    }
+
+    @Test
+    public void requestDrivenReads() throws Exception {
+        long total = 64L * 1024 * 1024;
+        AtomicLong written = new AtomicLong();
+        producerServer(total, written);
+
+        try (SocketChannel c = connect()) {
+            TestSubscriber<ByteBuffer> ts = new TestSubscriber<>(0);
+
+            new PublisherSocket(c, loop, 4096).subscribe(ts);
+
+            ts.request(2);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (ts.values().size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Thread.sleep(200);
+
+            ts.assertValueCount(2)
+              .assertNoError()
+              .assertNotComplete();
+
+            Assert.assertTrue("Server wasn't throttled: " + written.get(), written.get() < total);
+
+            ts.request(Long.MAX_VALUE);
+
+            Assert.assertTrue("Timed out", ts.await(20, TimeUnit.SECONDS));
+
+            ts.assertNoError()
+              .assertComplete();
+
+            long received = 0L;
+            for (ByteBuffer b : ts.values()) {
+                received += b.remaining();
+            }
+            Assert.assertEquals(total, received);
+        }
+    }
+
+    @Test
+    public void cancelStopsReading() throws Exception {
+        AtomicLong written = new AtomicLong();
+        producerServer(64L * 1024 * 1024, written);
+
+        try (SocketChannel c = connect()) {
+            TestSubscriber<ByteBuffer> ts = new TestSubscriber<>(Long.MAX_VALUE);
+
+            new PublisherSocket(c, loop, 4096).subscribe(ts);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (ts.values().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            ts.cancel();
+
+            Thread.sleep(100);
+            int n = ts.values().size();
+            Thread.sleep(100);
+
+            Assert.assertEquals(n, ts.values().size());
+            ts.assertNotComplete()
+              .assertNoError();
+        }
+    }
+
+    @Test
+    public void singleSubscriber() throws IOException {
+        echoServer();
+
+        try (SocketChannel c = connect()) {
+            PublisherSocket p = new PublisherSocket(c, loop, 16);
+
+            p.subscribe(new TestSubscriber<>(0));
+
+            TestSubscriber<ByteBuffer> ts = new TestSubscriber<>();
+
+            p.subscribe(ts);
+
+            ts.assertError(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void cancelWhileWaitingForWritable() throws Exception {
+        stalledServer();
+
+        try (SocketChannel c = connect()) {
+            SocketChannelSubscriber sub = new SocketChannelSubscriber(c, loop, 4);
+
+            new PublisherArray<>(chunks(64, 1024 * 1024)).subscribe(sub);
+
+            // let the socket buffers fill up
+            Thread.sleep(200);
+
+            Assert.assertFalse(sub.isTerminated());
+
+            sub.cancel();
+
+            awaitTerminated(sub);
+
+            Assert.assertTrue(sub.isTerminated());
+            Assert.assertFalse(c.isOpen());
+        }
+    }
+
+    @Test
+    public void errorWhileWaitingForWritable() throws Exception {
+        stalledServer();
+
+        try (SocketChannel c = connect()) {
+            SocketChannelSubscriber sub = new SocketChannelSubscriber(c, loop, 4);
+
+            sub.onSubscribe(EmptySubscription.INSTANCE);
+            sub.onNext(ByteBuffer.allocate(64 * 1024 * 1024));
+
+            Thread.sleep(200);
+
+            Assert.assertFalse(sub.isTerminated());
+
+            sub.onError(new RuntimeException("forced failure"));
+
+            awaitTerminated(sub);
+
+            Assert.assertTrue(sub.isTerminated());
+            Assert.assertFalse(c.isOpen());
+            Assert.assertEquals("forced failure", sub.getError().getMessage());
+        }
+    }
+
+    @Test
+    public void subscriberErrorClosesChannel() throws Exception {
+        echoServer();
+
+        try (SocketChannel c = connect()) {
+            SocketChannelSubscriber sub = new SocketChannelSubscriber(c, loop, 4);
+
+            new PublisherError<ByteBuffer>(new RuntimeException("forced failure")).subscribe(sub);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!sub.isTerminated() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Assert.assertTrue(sub.isTerminated());
+            Assert.assertFalse(c.isOpen());
+            Assert.assertEquals("forced failure", sub.getError().getMessage());
+        }
+    }
+
+    @Test
+    public void requestAfterShutdownSignalsError() throws IOException {
+        echoServer();
+
+        try (SocketChannel c = connect()) {
+            TestSubscriber<ByteBuffer> ts = new TestSubscriber<>(0);
+
+            new PublisherSocket(c, loop, 16).subscribe(ts);
+
+            loop.shutdown();
+
+            ts.request(1);
+
+            ts.assertNoValues()
+              .assertError(RejectedExecutionException.class);
+        }
+    }
+
+    @Test
+    public void cancelAfterShutdownReturns() throws IOException {
+        echoServer();
+
+        try (SocketChannel c = connect()) {
+            TestSubscriber<ByteBuffer> ts = new TestSubscriber<>(0);
+
+            new PublisherSocket(c, loop, 16).subscribe(ts);
+
+            loop.shutdown();
+
+            ts.cancel();
+            ts.request(1);
+
+            ts.assertNoValues()
+              .assertNoError();
+        }
+    }
+
+    @Test
+    public void subscriberAfterShutdownClosesChannel() throws IOException {
+        echoServer();
+
+        AtomicReference<Throwable> dropped = new AtomicReference<>();
+        UnsignalledExceptions.setErrorConsumer(dropped::set);
+
+        try (SocketChannel c = connect()) {
+            loop.shutdown();
+
+            SocketChannelSubscriber sub = new SocketChannelSubscriber(c, loop, 4);
+
+            new PublisherArray<>(chunks(8, 16)).subscribe(sub);
+
+            Assert.assertTrue(sub.isTerminated());
+            Assert.assertFalse(c.isOpen());
+            Assert.assertTrue(String.valueOf(sub.getError()), sub.getError() instanceof RejectedExecutionException);
+            Assert.assertSame(sub.getError(), dropped.get());
+        } finally {
+            UnsignalledExceptions.setErrorConsumer(null);
+        }
+    }
+
+    @Test
+    public void pendingCancelRunsOnShutdown() throws Exception {
+        stalledServer();
+
+        try (SocketChannel c = connect()) {
+            SocketChannelSubscriber sub = new SocketChannelSubscriber(c, loop, 4);
+
+            new PublisherArray<>(chunks(64, 1024 * 1024)).subscribe(sub);
+
+            Thread.sleep(200);
+
+            sub.cancel();
+            loop.shutdown();
+
+            awaitTerminated(sub);
+
+            Assert.assertTrue(sub.isTerminated());
+            Assert.assertFalse(c.isOpen());
+        }
+    }
+}
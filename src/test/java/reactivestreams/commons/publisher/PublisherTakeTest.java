@@ -1,9 +1,16 @@
 package reactivestreams.commons.publisher;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.reactivestreams.Publisher;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
 import reactivestreams.commons.util.EmptySubscription;
+import reactivestreams.commons.util.FuseableTestSubscriber;
 
 public class PublisherTakeTest {
 
@@ -79,4 +86,74 @@ public class PublisherTakeTest {
         .assertNoError()
         .assertComplete();
     }
+
+    @Test
+    public void syncFusion() {
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        PublisherBase.range(1, 10).doOnNext(v -> { }).take(3).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1, 2, 3)
+          .assertNoError()
+          .assertComplete();
+    }
+
+    @Test
+    public void syncFusionCleansUpSource() {
+        AtomicInteger cleanup = new AtomicInteger();
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        new PublisherGenerate<Integer, Integer>(() -> 1, (s, o) -> {
+            o.onNext(s);
+            return s + 1;
+        }, s -> cleanup.incrementAndGet()).take(3).subscribe(ts);
+
+        ts.assertFusionMode(Fuseable.SYNC)
+          .assertValues(1, 2, 3)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(1, cleanup.get());
+    }
+
+    @Test
+    public void syncFusionConcatMapCleansUpSource() {
+        AtomicInteger cleanup = new AtomicInteger();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherGenerate<Integer, Integer>(() -> 1, (s, o) -> {
+            o.onNext(s);
+            return s + 1;
+        }, s -> cleanup.incrementAndGet()).take(3).concatMap(PublisherBase::just).subscribe(ts);
+
+        ts.assertValues(1, 2, 3)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(1, cleanup.get());
+    }
+
+    @Test
+    public void asyncFusion() {
+        UnicastProcessor<Integer> up = new UnicastProcessor<>(new ConcurrentLinkedQueue<>());
+
+        FuseableTestSubscriber<Integer> ts = new FuseableTestSubscriber<>(Fuseable.ANY);
+
+        up.take(2).subscribe(ts);
+
+        up.onNext(1);
+        up.onNext(2);
+        up.onNext(3);
+        up.onComplete();
+
+        ts.assertFusionMode(Fuseable.ASYNC)
+          .assertValues(1, 2)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertTrue("Upstream not cancelled", up.isCancelled());
+    }
 }
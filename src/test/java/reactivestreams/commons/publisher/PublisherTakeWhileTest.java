@@ -1,5 +1,10 @@
 package reactivestreams.commons.publisher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
 import org.junit.Test;
 import reactivestreams.commons.test.TestSubscriber;
 
@@ -126,4 +131,32 @@ public class PublisherTakeWhileTest {
 
     }
 
+    @Test
+    public void conditionalDownstream() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(2);
+
+        List<Long> requests = new ArrayList<>();
+
+        new PublisherTakeWhile<>(PublisherBase.range(1, 10).doOnRequest(requests::add), v -> v < 8)
+        .filter(v -> v % 2 == 0)
+        .subscribe(ts);
+
+        ts.assertValues(2, 4)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(2, 4, 6)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertValues(2, 4, 6)
+          .assertNoError()
+          .assertComplete();
+
+        Assert.assertEquals(Arrays.asList(2L, 1L, 1L), requests);
+    }
 }
@@ -0,0 +1,226 @@
+package reactivestreams.commons.publisher;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.ConstructorTestBuilder;
+
+public class PublisherTimeoutTimedTest {
+
+    ScheduledExecutorService exec;
+
+    @Before
+    public void before() {
+        exec = Executors.newScheduledThreadPool(1);
+    }
+
+    @After
+    public void after() {
+        exec.shutdownNow();
+    }
+
+    @Test
+    public void constructors() {
+        ConstructorTestBuilder ctb = new ConstructorTestBuilder(PublisherTimeoutTimed.class);
+
+        ctb.addRef("source", PublisherNever.instance());
+        ctb.addLong("timeout", 1, Long.MAX_VALUE);
+        ctb.addRef("unit", TimeUnit.SECONDS);
+        ctb.addRef("executor", exec);
+        ctb.addRef("other", PublisherNever.instance());
+
+        ctb.test();
+    }
+
+    @Test
+    public void noTimeout() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherTimeoutTimed<>(new PublisherRange(1, 10), 1, TimeUnit.SECONDS, exec).subscribe(ts);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void noTimeoutBackpressured() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+        new PublisherTimeoutTimed<>(new PublisherRange(1, 10), 1, TimeUnit.SECONDS, exec).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(5);
+
+        ts.assertValues(1, 2, 3, 4, 5)
+          .assertNoError()
+          .assertNotComplete();
+
+        ts.request(5);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void firstItemTimeout() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherTimeoutTimed<>(PublisherNever.<Integer>instance(), 50, TimeUnit.MILLISECONDS, exec).subscribe(ts);
+
+        ts.await(5, TimeUnit.SECONDS);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(TimeoutException.class);
+    }
+
+    @Test
+    public void itemTimeout() {
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherTimeoutTimed<>(sp, 200, TimeUnit.MILLISECONDS, exec).subscribe(ts);
+
+        sp.onNext(1);
+        sp.onNext(2);
+
+        ts.await(5, TimeUnit.SECONDS);
+
+        ts.assertValues(1, 2)
+          .assertNotComplete()
+          .assertError(TimeoutException.class);
+
+        Assert.assertFalse("Has subscribers?", sp.hasSubscribers());
+    }
+
+    @Test
+    public void timerRearmedByItems() throws Exception {
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherTimeoutTimed<>(sp, 300, TimeUnit.MILLISECONDS, exec).subscribe(ts);
+
+        for (int i = 1; i <= 5; i++) {
+            Thread.sleep(100);
+            sp.onNext(i);
+        }
+        sp.onComplete();
+
+        ts.assertValues(1, 2, 3, 4, 5)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void timeoutResume() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherTimeoutTimed<>(PublisherNever.<Integer>instance(), 50, TimeUnit.MILLISECONDS, exec,
+                new PublisherRange(1, 10)).subscribe(ts);
+
+        ts.await(5, TimeUnit.SECONDS);
+
+        ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void timeoutResumeBackpressured() {
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>(3);
+
+        new PublisherTimeoutTimed<>(sp, 50, TimeUnit.MILLISECONDS, exec, new PublisherRange(10, 10)).subscribe(ts);
+
+        sp.onNext(1);
+
+        long end = System.currentTimeMillis() + 5000;
+        while (ts.values().size() != 3 && System.currentTimeMillis() < end) {
+            Thread.yield();
+        }
+
+        ts.assertValues(1, 10, 11)
+          .assertNotComplete()
+          .assertNoError();
+
+        ts.request(8);
+
+        ts.assertValues(1, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19)
+          .assertComplete()
+          .assertNoError();
+    }
+
+    @Test
+    public void cancelRemovesTimer() {
+        ScheduledThreadPoolExecutor stpe = new ScheduledThreadPoolExecutor(1);
+        stpe.setRemoveOnCancelPolicy(true);
+        try {
+            TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+            new PublisherTimeoutTimed<>(PublisherNever.<Integer>instance(), 1, TimeUnit.MINUTES, stpe).subscribe(ts);
+
+            Assert.assertEquals(1, stpe.getQueue().size());
+
+            ts.cancel();
+
+            Assert.assertEquals(0, stpe.getQueue().size());
+
+            ts.assertNoValues()
+              .assertNoError()
+              .assertNotComplete();
+        } finally {
+            stpe.shutdownNow();
+        }
+    }
+
+    @Test
+    public void completeRemovesTimer() {
+        ScheduledThreadPoolExecutor stpe = new ScheduledThreadPoolExecutor(1);
+        stpe.setRemoveOnCancelPolicy(true);
+        try {
+            TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+            new PublisherTimeoutTimed<>(new PublisherRange(1, 5), 1, TimeUnit.MINUTES, stpe).subscribe(ts);
+
+            ts.assertValues(1, 2, 3, 4, 5)
+              .assertComplete()
+              .assertNoError();
+
+            Assert.assertEquals(0, stpe.getQueue().size());
+        } finally {
+            stpe.shutdownNow();
+        }
+    }
+
+    @Test
+    public void rejectedSchedule() {
+        ScheduledExecutorService shut = Executors.newScheduledThreadPool(1);
+        shut.shutdown();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherTimeoutTimed<>(new PublisherRange(1, 5), 1, TimeUnit.MINUTES, shut).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertNotComplete()
+          .assertError(RejectedExecutionException.class);
+    }
+}
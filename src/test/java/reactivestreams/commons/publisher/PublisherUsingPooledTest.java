@@ -0,0 +1,229 @@
+package reactivestreams.commons.publisher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.ResourcePool;
+
+public class PublisherUsingPooledTest {
+
+    @Test(expected = NullPointerException.class)
+    public void poolNull() {
+        new PublisherUsingPooled<>(null, r -> PublisherEmpty.instance(), false);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void sourceFactoryNull() {
+        new PublisherUsingPooled<>(new ResourcePool<>(() -> 1, r -> { }, 1), null, false);
+    }
+
+    @Test
+    public void normal() {
+        AtomicInteger created = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(created::incrementAndGet, r -> { }, 1);
+
+        PublisherUsingPooled<Integer, Integer> source = new PublisherUsingPooled<>(pool, r -> new PublisherRange(r, 10), false);
+
+        for (int i = 0; i < 3; i++) {
+            TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+            source.subscribe(ts);
+
+            ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+              .assertComplete()
+              .assertNoError();
+
+            Assert.assertEquals(1, pool.getIdleCount());
+        }
+
+        Assert.assertEquals(1, created.get());
+        Assert.assertEquals(3, pool.getBorrowCount());
+    }
+
+    void checkReleaseTime(boolean eager, boolean fail) {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        AtomicInteger idleAtTermination = new AtomicInteger(-1);
+
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>() {
+            @Override
+            public void onError(Throwable t) {
+                idleAtTermination.set(pool.getIdleCount());
+                super.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                idleAtTermination.set(pool.getIdleCount());
+                super.onComplete();
+            }
+        };
+
+        new PublisherUsingPooled<>(pool, r -> fail ? new PublisherError<Integer>(new RuntimeException("Forced failure"))
+                : new PublisherRange(r, 2), eager).subscribe(ts);
+
+        ts.assertTerminated();
+
+        Assert.assertEquals(eager ? 1 : 0, idleAtTermination.get());
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void releaseAfterComplete() {
+        checkReleaseTime(false, false);
+    }
+
+    @Test
+    public void releaseBeforeComplete() {
+        checkReleaseTime(true, false);
+    }
+
+    @Test
+    public void releaseAfterError() {
+        checkReleaseTime(false, true);
+    }
+
+    @Test
+    public void releaseBeforeError() {
+        checkReleaseTime(true, true);
+    }
+
+    @Test
+    public void waitsWhenExhausted() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts1 = new TestSubscriber<>();
+        TestSubscriber<Integer> ts2 = new TestSubscriber<>(0);
+
+        new PublisherUsingPooled<>(pool, r -> sp, false).subscribe(ts1);
+        new PublisherUsingPooled<>(pool, r -> new PublisherRange(r, 5), false).subscribe(ts2);
+
+        ts2.request(3);
+
+        ts2.assertNoValues()
+           .assertNotComplete();
+
+        Assert.assertEquals(1, pool.getExhaustedCount());
+
+        sp.onNext(1);
+        sp.onComplete();
+
+        ts1.assertValue(1)
+           .assertComplete();
+
+        ts2.assertValues(1, 2, 3)
+           .assertNotComplete();
+
+        ts2.request(2);
+
+        ts2.assertValues(1, 2, 3, 4, 5)
+           .assertComplete()
+           .assertNoError();
+
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void cancelReleases() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherUsingPooled<>(pool, r -> sp, false).subscribe(ts);
+
+        Assert.assertTrue(sp.hasSubscribers());
+        Assert.assertEquals(0, pool.getIdleCount());
+
+        ts.cancel();
+
+        Assert.assertFalse(sp.hasSubscribers());
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void cancelWhileWaiting() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        TestSubscriber<Integer> ts1 = new TestSubscriber<>();
+        TestSubscriber<Integer> ts2 = new TestSubscriber<>();
+        TestSubscriber<Integer> ts3 = new TestSubscriber<>();
+
+        AtomicInteger factoryCalls = new AtomicInteger();
+
+        new PublisherUsingPooled<>(pool, r -> sp, false).subscribe(ts1);
+        new PublisherUsingPooled<>(pool, r -> {
+            factoryCalls.incrementAndGet();
+            return new PublisherRange(r, 1);
+        }, false).subscribe(ts2);
+        new PublisherUsingPooled<>(pool, r -> new PublisherRange(r, 1), false).subscribe(ts3);
+
+        ts2.cancel();
+
+        sp.onComplete();
+
+        Assert.assertEquals(0, factoryCalls.get());
+
+        ts2.assertNoValues()
+           .assertNotComplete()
+           .assertNoError();
+
+        ts3.assertValue(1)
+           .assertComplete();
+
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void sourceFactoryThrows() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherUsingPooled<Integer, Integer>(pool, r -> {
+            throw new RuntimeException("Forced failure");
+        }, false).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("Forced failure");
+
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void sourceFactoryReturnsNull() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherUsingPooled<Integer, Integer>(pool, r -> null, false).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertError(NullPointerException.class);
+
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void poolDisposed() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        pool.dispose();
+
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        new PublisherUsingPooled<>(pool, r -> new PublisherRange(r, 1), false).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertError(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,243 @@
+package reactivestreams.commons.publisher;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import reactivestreams.commons.processor.SimpleProcessor;
+import reactivestreams.commons.test.TestSubscriber;
+import reactivestreams.commons.util.ConstructorTestBuilder;
+
+public class PublisherWindowTimedTest {
+
+    ScheduledThreadPoolExecutor exec;
+
+    @Before
+    public void before() {
+        exec = new ScheduledThreadPoolExecutor(1);
+        exec.setRemoveOnCancelPolicy(true);
+    }
+
+    @After
+    public void after() {
+        exec.shutdownNow();
+    }
+
+    /** Runs the pending periodic timer task on the current thread. */
+    void tick() {
+        RunnableScheduledFuture<?> task = (RunnableScheduledFuture<?>)exec.getQueue().peek();
+        exec.remove(task);
+        task.run();
+    }
+
+    @Test
+    public void constructors() {
+        ConstructorTestBuilder ctb = new ConstructorTestBuilder(PublisherWindowTimed.class);
+
+        ctb.addRef("source", PublisherNever.instance());
+        ctb.addLong("timespan", 1, Long.MAX_VALUE);
+        ctb.addRef("unit", TimeUnit.SECONDS);
+        ctb.addRef("executor", exec);
+        ctb.addRef("processorQueueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
+        ctb.addRef("drainQueueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
+
+        ctb.test();
+    }
+
+    static <T> TestSubscriber<T> toList(Publisher<T> windows) {
+        TestSubscriber<T> ts = new TestSubscriber<>();
+        windows.subscribe(ts);
+        return ts;
+    }
+
+    @SafeVarargs
+    static <T> void expect(TestSubscriber<PublisherBase<T>> ts, int index, T... values) {
+        toList(ts.values().get(index))
+        .assertValues(values)
+        .assertComplete()
+        .assertNoError();
+    }
+
+    @Test
+    public void normal() {
+        TestSubscriber<PublisherBase<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.window(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        ts.assertValueCount(1);
+
+        sp.onNext(1);
+        sp.onNext(2);
+        sp.onNext(3);
+
+        tick();
+
+        ts.assertValueCount(2);
+
+        tick();
+
+        ts.assertValueCount(3);
+
+        sp.onNext(4);
+        sp.onNext(5);
+
+        sp.onComplete();
+
+        ts.assertValueCount(3);
+
+        expect(ts, 0, 1, 2, 3);
+        expect(ts, 1);
+        expect(ts, 2, 4, 5);
+
+        ts.assertNoError()
+          .assertComplete();
+
+        Assert.assertFalse("sp has subscribers", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void mainError() {
+        TestSubscriber<PublisherBase<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.window(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        sp.onNext(1);
+        sp.onNext(2);
+
+        sp.onError(new RuntimeException("forced failure"));
+
+        ts.assertValueCount(1)
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure")
+          .assertNotComplete();
+
+        toList(ts.values().get(0))
+        .assertValues(1, 2)
+        .assertError(RuntimeException.class)
+        .assertErrorMessage("forced failure")
+        .assertNotComplete();
+
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void lackOfRequests() {
+        TestSubscriber<PublisherBase<Integer>> ts = new TestSubscriber<>(1);
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.window(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        ts.assertValueCount(1);
+
+        tick();
+
+        ts.assertValueCount(1)
+          .assertError(IllegalStateException.class)
+          .assertNotComplete();
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void noRequestsAtAll() {
+        TestSubscriber<PublisherBase<Integer>> ts = new TestSubscriber<>(0);
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.window(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        ts.assertNoValues()
+          .assertError(IllegalStateException.class)
+          .assertNotComplete();
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void cancelOuterKeepsWindowOpen() {
+        TestSubscriber<PublisherBase<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.window(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        TestSubscriber<Integer> ts1 = toList(ts.values().get(0));
+
+        ts.cancel();
+
+        Assert.assertTrue("sp has no subscribers?", sp.hasSubscribers());
+
+        sp.onNext(1);
+
+        ts1.assertValue(1)
+           .assertNotComplete();
+
+        tick();
+
+        ts1.assertValue(1)
+           .assertNoError()
+           .assertComplete();
+
+        ts.assertValueCount(1);
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void cancelAll() {
+        TestSubscriber<PublisherBase<Integer>> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.window(1, TimeUnit.MINUTES, exec).subscribe(ts);
+
+        TestSubscriber<Integer> ts1 = toList(ts.values().get(0));
+
+        ts.cancel();
+        ts1.cancel();
+
+        Assert.assertFalse("sp has subscribers?", sp.hasSubscribers());
+        Assert.assertEquals(0, exec.getQueue().size());
+    }
+
+    @Test
+    public void realTimer() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        sp.window(1, TimeUnit.MILLISECONDS, exec).concatMap(w -> w).subscribe(ts);
+
+        for (int i = 0; i < 100_000; i++) {
+            sp.onNext(i);
+        }
+        sp.onComplete();
+
+        ts.await(5, TimeUnit.SECONDS);
+
+        ts.assertValueCount(100_000)
+          .assertNoError()
+          .assertComplete();
+
+        for (int i = 0; i < 100_000; i++) {
+            Assert.assertEquals(i, ts.values().get(i).intValue());
+        }
+    }
+}
@@ -4,9 +4,11 @@ import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.*;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.reactivestreams.Publisher;
 
+import reactivestreams.commons.processor.SimpleProcessor;
 import reactivestreams.commons.processor.UnicastProcessor;
 import reactivestreams.commons.test.TestSubscriber;
 import reactivestreams.commons.util.*;
@@ -21,6 +23,7 @@ public class PublisherZipTest {
         ctb.addRef("sourcesIterable", Collections.emptyList());
         ctb.addRef("queueSupplier", (Supplier<Queue<Object>>)() -> new ConcurrentLinkedQueue<>());
         ctb.addInt("prefetch", 1, Integer.MAX_VALUE);
+        ctb.addRef("prefetchPolicy", PrefetchPolicy.fixed(16));
         ctb.addRef("zipper", (Function<Object[], Object>)v -> v);
         
         ctb.test();
@@ -487,4 +490,47 @@ public class PublisherZipTest {
         .assertNotComplete();
     }
 
+    @Test
+    public void adaptivePrefetchShrinksWithSlowConsumer() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        List<Long> requests = new ArrayList<>();
+
+        SimpleProcessor<Integer> sp = new SimpleProcessor<>();
+
+        PublisherBase.zipArray(new Publisher[] { PublisherBase.range(1, 100).hide().doOnRequest(requests::add), sp },
+                a -> (Integer)a[0] + (Integer)a[1], PrefetchPolicy.adaptive(2, 16, 64))
+        .subscribe(ts);
+
+        Assert.assertEquals(Arrays.asList(16L), requests);
+
+        for (int i = 0; i < 12; i++) {
+            sp.onNext(0);
+        }
+
+        Assert.assertEquals(Arrays.asList(16L, 4L), requests);
+
+        for (int i = 0; i < 6; i++) {
+            sp.onNext(0);
+        }
+
+        Assert.assertEquals(Arrays.asList(16L, 4L, 2L), requests);
+
+        ts.assertValueCount(18)
+        .assertNoError()
+        .assertNotComplete();
+    }
+
+    @Test
+    public void adaptivePrefetchLongRun() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.zipArray(new Publisher[] { PublisherBase.range(1, 100_000).hide(), PublisherBase.range(1, 100_000) },
+                a -> (Integer)a[0] + (Integer)a[1], PrefetchPolicy.adaptive(4, 16, 256))
+        .subscribe(ts);
+
+        ts.assertValueCount(100_000)
+        .assertNoError()
+        .assertComplete();
+    }
 }
@@ -0,0 +1,25 @@
+package reactivestreams.commons.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.publisher.PublisherBase;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class DrainTraceTest {
+
+    @Test
+    public void neverSamples() {
+        Assert.assertNull(DrainTrace.begin(this, null));
+    }
+
+    @Test
+    public void instrumentedOperatorsRunWithoutTrace() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        PublisherBase.range(1, 1000).hide().concatMap(PublisherBase::just).subscribe(ts);
+
+        ts.assertValueCount(1000)
+          .assertNoError()
+          .assertComplete();
+    }
+}
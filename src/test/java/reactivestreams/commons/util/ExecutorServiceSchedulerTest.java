@@ -0,0 +1,59 @@
+package reactivestreams.commons.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExecutorServiceSchedulerTest {
+
+    @Test
+    public void onWorkerThreadOnlyForOwnTasks() throws Exception {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            ExecutorServiceScheduler scheduler = new ExecutorServiceScheduler(exec);
+
+            Consumer<Runnable> w1 = scheduler.call();
+            Consumer<Runnable> w2 = scheduler.call();
+
+            boolean[] result = { false, true };
+            CountDownLatch cdl = new CountDownLatch(1);
+
+            w1.accept(() -> {
+                result[0] = ((WorkerThreadAware)w1).isOnWorkerThread();
+                result[1] = ((WorkerThreadAware)w2).isOnWorkerThread();
+                cdl.countDown();
+            });
+
+            Assert.assertTrue(cdl.await(5, TimeUnit.SECONDS));
+
+            Assert.assertTrue("own worker", result[0]);
+            Assert.assertFalse("other worker of the same executor", result[1]);
+            Assert.assertFalse("caller thread", ((WorkerThreadAware)w1).isOnWorkerThread());
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void currentWorkerClearedAfterTask() throws Exception {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            Consumer<Runnable> w = new ExecutorServiceScheduler(exec).call();
+
+            w.accept(() -> { });
+
+            Object[] current = { this };
+
+            exec.submit(() -> current[0] = ExecutorServiceScheduler.CURRENT.get()).get(5, TimeUnit.SECONDS);
+
+            Assert.assertNull(current[0]);
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package reactivestreams.commons.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactivestreams.commons.flow.Fuseable;
+import reactivestreams.commons.flow.Fuseable.QueueSubscription;
+
+/**
+ * Requests a fusion mode from the upstream and consumes it via poll() if fusion
+ * was established or via onNext otherwise, recording the values for assertions.
+ *
+ * @param <T> the value type
+ */
+public final class FuseableTestSubscriber<T> implements Subscriber<T> {
+
+    final int requestedMode;
+
+    final List<T> values = new ArrayList<>();
+
+    final List<Throwable> errors = new ArrayList<>();
+
+    QueueSubscription<T> qs;
+
+    int establishedMode = -1;
+
+    int completions;
+
+    public FuseableTestSubscriber(int requestedMode) {
+        this.requestedMode = requestedMode;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (s instanceof QueueSubscription) {
+            qs = (QueueSubscription<T>)s;
+            establishedMode = qs.requestFusion(requestedMode);
+        } else {
+            establishedMode = Fuseable.NONE;
+        }
+
+        if (establishedMode == Fuseable.SYNC) {
+            if (drain()) {
+                completions++;
+            }
+        } else {
+            s.request(Long.MAX_VALUE);
+        }
+    }
+
+    boolean drain() {
+        try {
+            T v;
+            while ((v = qs.poll()) != null) {
+                values.add(v);
+            }
+            return true;
+        } catch (Throwable e) {
+            errors.add(e);
+            return false;
+        }
+    }
+
+    @Override
+    public void onNext(T t) {
+        if (establishedMode == Fuseable.ASYNC) {
+            drain();
+        } else {
+            values.add(t);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        errors.add(t);
+    }
+
+    @Override
+    public void onComplete() {
+        if (establishedMode == Fuseable.ASYNC) {
+            drain();
+        }
+        completions++;
+    }
+
+    public FuseableTestSubscriber<T> assertFusionMode(int mode) {
+        Assert.assertEquals("Fusion mode", mode, establishedMode);
+        return this;
+    }
+
+    @SafeVarargs
+    public final FuseableTestSubscriber<T> assertValues(T... expected) {
+        Assert.assertEquals(Arrays.asList(expected), values);
+        return this;
+    }
+
+    public FuseableTestSubscriber<T> assertNoError() {
+        Assert.assertEquals("Errors", 0, errors.size());
+        return this;
+    }
+
+    public FuseableTestSubscriber<T> assertError(Class<? extends Throwable> clazz) {
+        Assert.assertEquals("Errors", 1, errors.size());
+        Assert.assertTrue(errors.get(0).toString(), clazz.isInstance(errors.get(0)));
+        return this;
+    }
+
+    public FuseableTestSubscriber<T> assertComplete() {
+        Assert.assertEquals("Completions", 1, completions);
+        return this;
+    }
+
+    public FuseableTestSubscriber<T> assertNotComplete() {
+        Assert.assertEquals("Completions", 0, completions);
+        return this;
+    }
+}
@@ -0,0 +1,129 @@
+package reactivestreams.commons.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedRingBufferTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static ByteBuffer message(int value, int length) {
+        ByteBuffer b = ByteBuffer.allocate(length);
+        for (int i = 0; i < length; i++) {
+            b.put((byte)(value + i));
+        }
+        b.flip();
+        return b;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityInvalid() throws IOException {
+        MappedRingBuffer.create(folder.newFile().toPath(), 0);
+    }
+
+    @Test
+    public void capacityRounded() throws IOException {
+        try (MappedRingBuffer rb = MappedRingBuffer.create(folder.newFile().toPath(), 1000)) {
+            Assert.assertEquals(1024, rb.capacity());
+            Assert.assertEquals(508, rb.maxMessageLength());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void openNotARingBuffer() throws IOException {
+        Path p = folder.newFile().toPath();
+        Files.write(p, new byte[8192]);
+        MappedRingBuffer.open(p);
+    }
+
+    @Test
+    public void offerPollAcrossMappings() throws IOException {
+        Path p = folder.newFile().toPath();
+        try (MappedRingBuffer producer = MappedRingBuffer.create(p, 1024);
+             MappedRingBuffer consumer = MappedRingBuffer.open(p)) {
+
+            Assert.assertTrue(consumer.isEmpty());
+            Assert.assertNull(consumer.poll());
+
+            ByteBuffer m = message(1, 10);
+            Assert.assertTrue(producer.offer(m));
+            Assert.assertEquals(0, m.position());
+            Assert.assertTrue(producer.offer(message(2, 0)));
+
+            Assert.assertFalse(consumer.isEmpty());
+            Assert.assertEquals(message(1, 10), consumer.poll());
+            Assert.assertEquals(message(2, 0), consumer.poll());
+            Assert.assertNull(consumer.poll());
+        }
+    }
+
+    @Test
+    public void fullAndWrapAround() throws IOException {
+        Path p = folder.newFile().toPath();
+        try (MappedRingBuffer producer = MappedRingBuffer.create(p, 256);
+             MappedRingBuffer consumer = MappedRingBuffer.open(p)) {
+
+            int offered = 0;
+            int polled = 0;
+
+            for (int round = 0; round < 200; round++) {
+                while (producer.offer(message(offered, 13 + offered % 50))) {
+                    offered++;
+                }
+                for (int i = 0; i < 3 && polled < offered; i++) {
+                    ByteBuffer b = consumer.poll();
+                    Assert.assertEquals(message(polled, 13 + polled % 50), b);
+                    polled++;
+                }
+            }
+
+            ByteBuffer b;
+            while ((b = consumer.poll()) != null) {
+                Assert.assertEquals(message(polled, 13 + polled % 50), b);
+                polled++;
+            }
+            Assert.assertEquals(offered, polled);
+            Assert.assertTrue(offered > 300);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void messageTooLong() throws IOException {
+        try (MappedRingBuffer rb = MappedRingBuffer.create(folder.newFile().toPath(), 256)) {
+            rb.offer(ByteBuffer.allocate(rb.maxMessageLength() + 1));
+        }
+    }
+
+    @Test
+    public void signals() throws IOException {
+        Path p = folder.newFile().toPath();
+        try (MappedRingBuffer producer = MappedRingBuffer.create(p, 256);
+             MappedRingBuffer consumer = MappedRingBuffer.open(p)) {
+
+            Assert.assertEquals(0L, producer.requested());
+            consumer.request(5);
+            consumer.request(3);
+            Assert.assertEquals(8L, producer.requested());
+            consumer.request(Long.MAX_VALUE);
+            Assert.assertEquals(Long.MAX_VALUE, producer.requested());
+
+            Assert.assertFalse(producer.isCancelled());
+            consumer.cancel();
+            Assert.assertTrue(producer.isCancelled());
+
+            Assert.assertFalse(consumer.isCompleted());
+            Assert.assertNull(consumer.getError());
+            producer.fail(new RuntimeException("forced failure"));
+            Assert.assertFalse(consumer.isCompleted());
+            Assert.assertEquals("java.lang.RuntimeException: forced failure", consumer.getError());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package reactivestreams.commons.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedSpillQueueTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static final MappedSpillQueue.Codec<String> CODEC = new MappedSpillQueue.Codec<String>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] data) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    };
+
+    long files(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.count();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void segmentSizeTooSmall() throws IOException {
+        new MappedSpillQueue<>(folder.getRoot().toPath(), 4, CODEC);
+    }
+
+    @Test
+    public void fifoAcrossSegments() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        MappedSpillQueue<String> q = new MappedSpillQueue<>(dir, 32, CODEC);
+
+        Assert.assertTrue(q.isEmpty());
+        Assert.assertNull(q.poll());
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(q.offer("value-" + i));
+        }
+
+        Assert.assertEquals(100L, q.size());
+        Assert.assertTrue(q.segmentCount() > 1);
+        Assert.assertEquals(q.segmentCount(), files(dir));
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("value-" + i, q.poll());
+        }
+
+        Assert.assertNull(q.poll());
+        Assert.assertTrue(q.isEmpty());
+        Assert.assertEquals(1, q.segmentCount());
+        Assert.assertEquals(1L, files(dir));
+    }
+
+    @Test
+    public void interleaved() throws IOException {
+        MappedSpillQueue<String> q = new MappedSpillQueue<>(folder.getRoot().toPath(), 24, CODEC);
+
+        int next = 0;
+        for (int i = 0; i < 50; i++) {
+            q.offer("a" + i);
+            q.offer("b" + i);
+            Assert.assertEquals(next % 2 == 0 ? "a" + next / 2 : "b" + next / 2, q.poll());
+            next++;
+        }
+        while (!q.isEmpty()) {
+            Assert.assertEquals(next % 2 == 0 ? "a" + next / 2 : "b" + next / 2, q.poll());
+            next++;
+        }
+        Assert.assertEquals(100, next);
+    }
+
+    @Test
+    public void emptyValue() {
+        MappedSpillQueue<String> q = new MappedSpillQueue<>(folder.getRoot().toPath(), 16, CODEC);
+
+        q.offer("");
+        q.offer("x");
+
+        Assert.assertEquals("", q.poll());
+        Assert.assertEquals("x", q.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueTooLarge() {
+        MappedSpillQueue<String> q = new MappedSpillQueue<>(folder.getRoot().toPath(), 16, CODEC);
+
+        q.offer("0123456789abcdef");
+    }
+
+    @Test
+    public void closeDeletesSegments() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        MappedSpillQueue<String> q = new MappedSpillQueue<>(dir, 16, CODEC);
+
+        for (int i = 0; i < 10; i++) {
+            q.offer("value-" + i);
+        }
+
+        q.close();
+
+        Assert.assertEquals(0L, files(dir));
+        Assert.assertNull(q.poll());
+        Assert.assertFalse(q.offer("more"));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void directoryMissing() {
+        MappedSpillQueue<String> q = new MappedSpillQueue<>(folder.getRoot().toPath().resolve("missing"), 16, CODEC);
+
+        q.offer("value");
+    }
+}
@@ -0,0 +1,274 @@
+package reactivestreams.commons.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourcePoolTest {
+
+    static final class ListBorrower<S> implements ResourcePool.Borrower<S> {
+        final List<S> resources = new ArrayList<>();
+
+        final List<Throwable> errors = new ArrayList<>();
+
+        boolean decline;
+
+        @Override
+        public boolean onResource(S resource) {
+            if (decline) {
+                return false;
+            }
+            resources.add(resource);
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            errors.add(e);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxSizeInvalid() {
+        new ResourcePool<>(() -> 1, r -> { }, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void factoryNull() {
+        new ResourcePool<>(null, r -> { }, 1);
+    }
+
+    @Test
+    public void reusesReleasedResource() {
+        AtomicInteger count = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(count::incrementAndGet, r -> { }, 4);
+
+        ListBorrower<Integer> b = new ListBorrower<>();
+
+        for (int i = 0; i < 10; i++) {
+            pool.acquire(b);
+            pool.release(b.resources.get(i));
+        }
+
+        Assert.assertEquals(1, count.get());
+        Assert.assertEquals(1, pool.getCreatedCount());
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertEquals(10, pool.getBorrowCount());
+        Assert.assertEquals(0, pool.getExhaustedCount());
+    }
+
+    @Test
+    public void exhaustedBorrowerWaits() {
+        AtomicInteger count = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(count::incrementAndGet, r -> { }, 2);
+
+        ListBorrower<Integer> b1 = new ListBorrower<>();
+        ListBorrower<Integer> b2 = new ListBorrower<>();
+        ListBorrower<Integer> b3 = new ListBorrower<>();
+
+        pool.acquire(b1);
+        pool.acquire(b2);
+        pool.acquire(b3);
+
+        Assert.assertEquals(1, b1.resources.size());
+        Assert.assertEquals(1, b2.resources.size());
+        Assert.assertTrue(b3.resources.isEmpty());
+        Assert.assertEquals(1, pool.getPendingCount());
+        Assert.assertEquals(1, pool.getExhaustedCount());
+
+        pool.release(b2.resources.get(0));
+
+        Assert.assertEquals(b2.resources, b3.resources);
+        Assert.assertEquals(0, pool.getPendingCount());
+        Assert.assertEquals(2, count.get());
+        Assert.assertEquals(3, pool.getBorrowCount());
+        Assert.assertTrue(pool.getMaxBorrowLatencyNanos() <= pool.getBorrowLatencyNanos());
+    }
+
+    @Test
+    public void decliningBorrowerLeavesResourceInPool() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> 1, r -> { }, 1);
+
+        ListBorrower<Integer> b1 = new ListBorrower<>();
+        ListBorrower<Integer> b2 = new ListBorrower<>();
+        ListBorrower<Integer> b3 = new ListBorrower<>();
+
+        pool.acquire(b1);
+        pool.acquire(b2);
+        pool.acquire(b3);
+
+        b2.decline = true;
+
+        pool.release(1);
+
+        Assert.assertTrue(b2.resources.isEmpty());
+        Assert.assertEquals(1, b3.resources.size());
+        Assert.assertEquals(2, pool.getBorrowCount());
+        Assert.assertEquals(2, pool.getExhaustedCount());
+    }
+
+    @Test
+    public void factoryFails() {
+        AtomicInteger count = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> {
+            if (count.incrementAndGet() == 1) {
+                throw new RuntimeException("Forced failure");
+            }
+            return count.get();
+        }, r -> { }, 1);
+
+        ListBorrower<Integer> b1 = new ListBorrower<>();
+        ListBorrower<Integer> b2 = new ListBorrower<>();
+
+        pool.acquire(b1);
+        pool.acquire(b2);
+
+        Assert.assertEquals(1, b1.errors.size());
+        Assert.assertEquals("Forced failure", b1.errors.get(0).getMessage());
+        Assert.assertEquals(1, b2.resources.size());
+        Assert.assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    public void factoryReturnsNull() {
+        ResourcePool<Integer> pool = new ResourcePool<>(() -> null, r -> { }, 1);
+
+        ListBorrower<Integer> b = new ListBorrower<>();
+
+        pool.acquire(b);
+
+        Assert.assertTrue(b.errors.get(0) instanceof NullPointerException);
+        Assert.assertEquals(0, pool.getCreatedCount());
+    }
+
+    @Test
+    public void disposeDisposesIdleAndReleasedAndFailsWaiters() {
+        AtomicInteger count = new AtomicInteger();
+        List<Integer> disposed = new ArrayList<>();
+        ResourcePool<Integer> pool = new ResourcePool<>(count::incrementAndGet, disposed::add, 2);
+
+        ListBorrower<Integer> b1 = new ListBorrower<>();
+        ListBorrower<Integer> b2 = new ListBorrower<>();
+        ListBorrower<Integer> b3 = new ListBorrower<>();
+
+        pool.acquire(b1);
+        pool.acquire(b2);
+        pool.release(1);
+        pool.acquire(b3);
+
+        pool.dispose();
+
+        Assert.assertTrue(pool.isDisposed());
+        Assert.assertTrue(b3.errors.isEmpty());
+        Assert.assertEquals(1, b3.resources.size());
+
+        ListBorrower<Integer> b4 = new ListBorrower<>();
+        pool.acquire(b4);
+        Assert.assertTrue(b4.errors.get(0) instanceof IllegalStateException);
+
+        pool.release(b2.resources.get(0));
+        pool.release(b3.resources.get(0));
+
+        Assert.assertEquals(2, disposed.size());
+        Assert.assertEquals(0, pool.getCreatedCount());
+    }
+
+    @Test
+    public void slowBorrowerDoesntHoldUpOthers() throws Exception {
+        ResourcePool<Integer> pool = new ResourcePool<>(new AtomicInteger()::incrementAndGet, r -> { }, 2);
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch block = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Thread t = new Thread(() -> pool.acquire(new ResourcePool.Borrower<Integer>() {
+            @Override
+            public boolean onResource(Integer resource) {
+                entered.countDown();
+                try {
+                    block.await();
+                } catch (InterruptedException ex) {
+                    // the test is over
+                }
+                return true;
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                error.set(e);
+                entered.countDown();
+            }
+        }), "slow-borrower");
+        t.setDaemon(true);
+        t.start();
+
+        try {
+            Assert.assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Assert.assertNull(error.get());
+
+            ListBorrower<Integer> b = new ListBorrower<>();
+
+            pool.acquire(b);
+
+            Assert.assertEquals(1, b.resources.size());
+            Assert.assertEquals(0, pool.getExhaustedCount());
+        } finally {
+            block.countDown();
+        }
+    }
+
+    @Test
+    public void concurrentBorrowers() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        ResourcePool<Integer> pool = new ResourcePool<>(count::incrementAndGet, r -> { }, 4);
+
+        int n = 10_000;
+        CountDownLatch cdl = new CountDownLatch(n);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        ExecutorService exec = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < n; i++) {
+                exec.execute(() -> pool.acquire(new ResourcePool.Borrower<Integer>() {
+                    @Override
+                    public boolean onResource(Integer resource) {
+                        int a = active.incrementAndGet();
+                        maxActive.accumulateAndGet(a, Math::max);
+                        exec.execute(() -> {
+                            active.decrementAndGet();
+                            pool.release(resource);
+                            cdl.countDown();
+                        });
+                        return true;
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        error.compareAndSet(null, e);
+                        cdl.countDown();
+                    }
+                }));
+            }
+
+            Assert.assertTrue(cdl.await(10, TimeUnit.SECONDS));
+            Assert.assertNull(error.get());
+        } finally {
+            exec.shutdownNow();
+        }
+
+        Assert.assertTrue("" + count.get(), count.get() <= 4);
+        Assert.assertTrue("" + maxActive.get(), maxActive.get() <= 4);
+        Assert.assertEquals(n, pool.getBorrowCount());
+        Assert.assertEquals(0, pool.getPendingCount());
+    }
+}
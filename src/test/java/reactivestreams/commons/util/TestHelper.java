@@ -0,0 +1,47 @@
+package reactivestreams.commons.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers for concurrency tests.
+ */
+public final class TestHelper {
+
+    private TestHelper() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    /**
+     * Runs the two actions at roughly the same time, the first on the current thread and
+     * the second on the executor, and waits for both to finish.
+     *
+     * @param r1 the first action
+     * @param r2 the second action
+     * @param executor the executor running the second action
+     */
+    public static void race(Runnable r1, Runnable r2, ExecutorService executor) {
+        AtomicInteger ready = new AtomicInteger(2);
+
+        Future<?> f = executor.submit(() -> {
+            if (ready.decrementAndGet() != 0) {
+                while (ready.get() != 0) { }
+            }
+            r2.run();
+        });
+
+        if (ready.decrementAndGet() != 0) {
+            while (ready.get() != 0) { }
+        }
+
+        r1.run();
+
+        try {
+            f.get(5, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package reactivestreams.commons.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TrampolineSchedulerTest {
+
+    @Test
+    public void runsOnCallerThread() throws Exception {
+        Consumer<Runnable> w = TrampolineScheduler.instance().call();
+
+        Thread[] thread = { null };
+
+        w.accept(() -> thread[0] = Thread.currentThread());
+
+        Assert.assertSame(Thread.currentThread(), thread[0]);
+    }
+
+    @Test
+    public void reentrantTasksAreQueued() throws Exception {
+        Consumer<Runnable> w = TrampolineScheduler.instance().call();
+
+        List<Integer> list = new ArrayList<>();
+
+        w.accept(() -> {
+            w.accept(() -> list.add(2));
+            list.add(1);
+        });
+
+        Assert.assertEquals(Arrays.asList(1, 2), list);
+    }
+
+    @Test
+    public void deepRecursionDoesNotOverflow() throws Exception {
+        Consumer<Runnable> w = TrampolineScheduler.instance().call();
+
+        int[] count = { 0 };
+
+        Runnable[] task = { null };
+        task[0] = () -> {
+            if (++count[0] < 1_000_000) {
+                w.accept(task[0]);
+            }
+        };
+
+        w.accept(task[0]);
+
+        Assert.assertEquals(1_000_000, count[0]);
+    }
+
+    @Test
+    public void terminatedWorkerDropsTasks() throws Exception {
+        Consumer<Runnable> w = TrampolineScheduler.instance().call();
+
+        List<Integer> list = new ArrayList<>();
+
+        w.accept(() -> {
+            w.accept(() -> list.add(2));
+            w.accept(null);
+            list.add(1);
+        });
+
+        w.accept(() -> list.add(3));
+
+        Assert.assertEquals(Arrays.asList(1), list);
+    }
+}
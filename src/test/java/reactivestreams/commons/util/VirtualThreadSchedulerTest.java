@@ -0,0 +1,60 @@
+package reactivestreams.commons.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import reactivestreams.commons.publisher.PublisherBase;
+import reactivestreams.commons.publisher.PublisherSubscribeOn;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class VirtualThreadSchedulerTest {
+
+    @Test
+    public void normal() {
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler();
+        try {
+            TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+            new PublisherSubscribeOn<>(PublisherBase.range(1, 1000), scheduler).subscribe(ts);
+
+            ts.await(5, TimeUnit.SECONDS);
+
+            ts.assertValueCount(1000)
+            .assertNoError()
+            .assertComplete();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void manyBlockingSources() {
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler();
+        try {
+            List<TestSubscriber<Integer>> list = new ArrayList<>();
+
+            for (int i = 0; i < 200; i++) {
+                TestSubscriber<Integer> ts = new TestSubscriber<>();
+                list.add(ts);
+
+                new PublisherSubscribeOn<>(PublisherBase.fromCallable(() -> {
+                    Thread.sleep(100);
+                    return 1;
+                }), scheduler).subscribe(ts);
+            }
+
+            for (TestSubscriber<Integer> ts : list) {
+                ts.await(5, TimeUnit.SECONDS);
+
+                ts.assertValue(1)
+                .assertNoError()
+                .assertComplete();
+            }
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package reactivestreams.commons.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+import reactivestreams.commons.publisher.PublisherBase;
+import reactivestreams.commons.publisher.PublisherConcatMap;
+import reactivestreams.commons.publisher.PublisherGenerate;
+import reactivestreams.commons.test.TestSubscriber;
+
+public class DrainTraceTest {
+
+    static {
+        // records every drain loop run
+        System.setProperty("rsc.drainTrace.sampling", "1");
+    }
+
+    static List<RecordedEvent> record(Runnable r) throws IOException {
+        Path f = Files.createTempFile("drain", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("reactivestreams.commons.Drain");
+                recording.start();
+                r.run();
+                recording.stop();
+                recording.dump(f);
+            }
+            return RecordingFile.readAllEvents(f);
+        } finally {
+            Files.delete(f);
+        }
+    }
+
+    @Test
+    public void disabled() {
+        Assert.assertNull(DrainTrace.begin(this, null));
+    }
+
+    @Test
+    public void concatMap() throws IOException {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        List<RecordedEvent> events = record(() -> PublisherBase.range(1, 1000).hide()
+          .concatMap(PublisherBase::just).subscribe(ts));
+
+        ts.assertValueCount(1000)
+          .assertNoError()
+          .assertComplete();
+
+        long batch = 0L;
+        long requested = 0L;
+        for (RecordedEvent e : events) {
+            if (e.getString("operator").startsWith(PublisherConcatMap.class.getName())) {
+                batch += e.getLong("batch");
+                requested += e.getLong("requested");
+            }
+        }
+
+        Assert.assertEquals(1000, batch);
+        // the initial prefetch is requested in onSubscribe, outside of the drain loop
+        Assert.assertTrue("" + requested, requested > 0L && requested < 1000L);
+    }
+
+    @Test
+    public void fusedUpstreamNotPolledBySampling() throws IOException {
+        TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+        record(() -> new PublisherGenerate<Integer, Void>((s, o) -> {
+            throw new RuntimeException("forced failure");
+        }).concatMap(PublisherBase::just).subscribe(ts));
+
+        ts.assertNoValues()
+          .assertError(RuntimeException.class)
+          .assertErrorMessage("forced failure")
+          .assertNotComplete();
+    }
+}